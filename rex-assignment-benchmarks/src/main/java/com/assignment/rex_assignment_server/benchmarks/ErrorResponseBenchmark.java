@@ -0,0 +1,53 @@
+package com.assignment.rex_assignment_server.benchmarks;
+
+import com.assignment.rex_assignment_server.exception.GlobalExceptionHandler;
+import com.assignment.rex_assignment_server.exception.RecipeNotFoundException;
+import com.assignment.rex_assignment_server.exception.SpoonacularApiException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building error bodies in {@link GlobalExceptionHandler}, which every 404 and 503 goes
+ * through. The exceptions are created once, so only the handler is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ErrorResponseBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private RecipeNotFoundException notFound;
+    private SpoonacularApiException upstreamFailure;
+
+    @Setup
+    public void setUp() {
+        handler = new GlobalExceptionHandler();
+        notFound = new RecipeNotFoundException("Recipe not found with id: 999");
+        upstreamFailure = new SpoonacularApiException("API unavailable");
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> recipeNotFound() {
+        return handler.handleRecipeNotFound(notFound);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> upstreamFailure() {
+        return handler.handleSpoonacularApiException(upstreamFailure);
+    }
+}
@@ -0,0 +1,34 @@
+package com.assignment.rex_assignment_server.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Checked-in Spoonacular payloads under {@code src/main/resources/fixtures}.
+ * <ul>
+ *     <li>{@code recipe-detail.json} - an {@code /information?includeNutrition=true}
+ *     response with 12 ingredients, each carrying its full nutrient list (~47 KB compact);</li>
+ *     <li>{@code search-response.json} - a 100-result {@code complexSearch} window with
+ *     {@code addRecipeNutrition=true}, most of which the DTOs ignore (~217 KB).</li>
+ * </ul>
+ */
+public final class Fixtures {
+
+    public static final String RECIPE_DETAIL = "recipe-detail.json";
+    public static final String SEARCH_RESPONSE = "search-response.json";
+
+    private Fixtures() {
+    }
+
+    public static byte[] load(String name) {
+        try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + name)) {
+            if (in == null) {
+                throw new IllegalArgumentException("No fixture named " + name);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
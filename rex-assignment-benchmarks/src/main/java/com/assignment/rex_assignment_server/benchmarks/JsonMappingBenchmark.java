@@ -0,0 +1,65 @@
+package com.assignment.rex_assignment_server.benchmarks;
+
+import com.assignment.rex_assignment_server.dto.RecipeDetailResponse;
+import com.assignment.rex_assignment_server.dto.RecipeSearchResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson reading upstream payloads into the DTOs, and writing the DTOs back out as the
+ * bytes the controller serves.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JsonMappingBenchmark {
+
+    private JsonMapper jsonMapper;
+    private byte[] detailJson;
+    private byte[] searchJson;
+    private RecipeDetailResponse detail;
+    private RecipeSearchResponse search;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = JsonMapper.builder().build();
+        detailJson = Fixtures.load(Fixtures.RECIPE_DETAIL);
+        searchJson = Fixtures.load(Fixtures.SEARCH_RESPONSE);
+        detail = jsonMapper.readValue(detailJson, RecipeDetailResponse.class);
+        search = jsonMapper.readValue(searchJson, RecipeSearchResponse.class);
+    }
+
+    @Benchmark
+    public RecipeDetailResponse readRecipeDetail() {
+        return jsonMapper.readValue(detailJson, RecipeDetailResponse.class);
+    }
+
+    @Benchmark
+    public RecipeSearchResponse readSearchWindow() {
+        return jsonMapper.readValue(searchJson, RecipeSearchResponse.class);
+    }
+
+    @Benchmark
+    public byte[] writeRecipeDetail() {
+        return jsonMapper.writeValueAsBytes(detail);
+    }
+
+    @Benchmark
+    public byte[] writeSearchWindow() {
+        return jsonMapper.writeValueAsBytes(search);
+    }
+}
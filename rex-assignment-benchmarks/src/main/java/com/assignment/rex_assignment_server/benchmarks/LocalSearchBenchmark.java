@@ -0,0 +1,94 @@
+package com.assignment.rex_assignment_server.benchmarks;
+
+import com.assignment.rex_assignment_server.dto.RecipeDetailResponse;
+import com.assignment.rex_assignment_server.dto.RecipeSearchResponse;
+import com.assignment.rex_assignment_server.index.LocalSearchEngine;
+import com.assignment.rex_assignment_server.index.LocalSearchMode;
+import com.assignment.rex_assignment_server.store.RecipeStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queries against the {@link LocalSearchEngine} index. The index is filled with copies of
+ * the detail fixture given varied titles, cuisines, diets and dish types.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LocalSearchBenchmark {
+
+    private static final List<String> WORDS = List.of("creamy", "spicy", "lemon", "garlic", "roasted", "smoky",
+            "pasta", "chicken", "salad", "soup", "curry", "tacos", "risotto", "burger", "pancakes", "tofu");
+    private static final List<String> CUISINES = List.of("Italian", "Mexican", "Indian", "Thai", "French", "Greek");
+    private static final List<String> DIETS = List.of("vegetarian", "vegan", "gluten free", "ketogenic", "paleo");
+    private static final List<String> TYPES = List.of("main course", "side dish", "dessert", "breakfast", "soup");
+
+    @Param({"10000", "100000"})
+    public int recipes;
+
+    private LocalSearchEngine engine;
+
+    @Setup
+    public void setUp() {
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+        byte[] fixture = Fixtures.load(Fixtures.RECIPE_DETAIL);
+        RecipeStore store = new RecipeStore(jsonMapper, false, Path.of("unused"), DataSize.ofMegabytes(1),
+                Duration.ofDays(7), Duration.ofHours(1));
+        engine = new LocalSearchEngine(store, LocalSearchMode.AUTO, 0, recipes, 0.5);
+
+        Random random = new Random(42);
+        RecipeDetailResponse template = jsonMapper.readValue(fixture, RecipeDetailResponse.class);
+        for (int i = 0; i < recipes; i++) {
+            RecipeDetailResponse recipe = RecipeDetailResponse.builder()
+                    .id((long) i)
+                    .title(pick(random, WORDS) + " " + pick(random, WORDS) + " " + pick(random, WORDS))
+                    .cuisines(List.of(pick(random, CUISINES)))
+                    .diets(random.nextBoolean() ? List.of(pick(random, DIETS)) : List.of())
+                    .dishTypes(List.of(pick(random, TYPES)))
+                    .summary(template.getSummary())
+                    .extendedIngredients(template.getExtendedIngredients())
+                    .readyInMinutes(10 + random.nextInt(80))
+                    .build();
+            engine.index(recipe);
+        }
+    }
+
+    @Benchmark
+    public RecipeSearchResponse textQuery() {
+        return engine.search("creamy pasta", null, null, null, 0, 12);
+    }
+
+    @Benchmark
+    public RecipeSearchResponse filteredQuery() {
+        return engine.search("chicken", "vegetarian", "italian,thai", "main course", 12, 12);
+    }
+
+    @Benchmark
+    public LocalSearchEngine.FacetCounts facets() {
+        return engine.facets("soup", null, "indian", null);
+    }
+
+    private static String pick(Random random, List<String> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
@@ -0,0 +1,115 @@
+package com.assignment.rex_assignment_server.benchmarks;
+
+import com.assignment.rex_assignment_server.upstream.MicroBatcher;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Detail lookups through the {@link MicroBatcher} the detail loader uses. One operation is
+ * {@code callers} concurrent requests for different recipes, each on its own virtual
+ * thread, answered by a loader that takes {@code upstreamMillis} per call whatever its
+ * size. The score is how long the slowest caller waited; the {@code roundTrips} and
+ * {@code lookups} counters give the upstream calls made for the requests. A window of 0
+ * dispatches every key on its own, the batching-off baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class MicroBatcherBenchmark {
+
+    private static final int MAX_BATCH_SIZE = 25;
+
+    @Param({"0", "1", "3", "10"})
+    public int windowMillis;
+
+    @Param({"1", "8", "32"})
+    public int callers;
+
+    @Param({"5"})
+    public int upstreamMillis;
+
+    private final AtomicLong roundTrips = new AtomicLong();
+    private ScheduledExecutorService scheduler;
+    private ExecutorService executor;
+    private ExecutorService requests;
+    private MicroBatcher<Long, Long> batcher;
+    private long nextKey;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        requests = Executors.newVirtualThreadPerTaskExecutor();
+        batcher = new MicroBatcher<>("benchmark", MAX_BATCH_SIZE, Duration.ofMillis(windowMillis), this::upstream,
+                key -> new IllegalStateException("Missing " + key), scheduler, executor);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        requests.shutdownNow();
+        executor.shutdownNow();
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Upstream calls made and keys requested during the iteration; keys per round trip is
+     * their ratio.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Calls {
+        public long roundTrips;
+        public long lookups;
+    }
+
+    @Benchmark
+    public void concurrentLookups(Calls calls) throws Exception {
+        long tripsBefore = roundTrips.get();
+        List<Future<Long>> pending = new ArrayList<>(callers);
+        for (int i = 0; i < callers; i++) {
+            long key = nextKey++;
+            pending.add(requests.submit(() -> batcher.load(key).join()));
+        }
+        for (Future<Long> future : pending) {
+            future.get();
+        }
+        calls.roundTrips += roundTrips.get() - tripsBefore;
+        calls.lookups += callers;
+    }
+
+    private Map<Long, Long> upstream(List<Long> keys) {
+        roundTrips.incrementAndGet();
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(upstreamMillis));
+        Map<Long, Long> results = new HashMap<>(keys.size() * 2);
+        keys.forEach(key -> results.put(key, key));
+        return results;
+    }
+}
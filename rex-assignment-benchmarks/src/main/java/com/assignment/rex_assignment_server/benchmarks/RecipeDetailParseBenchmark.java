@@ -0,0 +1,60 @@
+package com.assignment.rex_assignment_server.benchmarks;
+
+import com.assignment.rex_assignment_server.dto.RecipeDetailResponse;
+import com.assignment.rex_assignment_server.upstream.FieldProjection;
+import com.assignment.rex_assignment_server.upstream.ProjectingJsonConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpInputMessage;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Spoonacular client's recipe detail read: the nutrition-laden fixture parsed off a
+ * stream by {@link ProjectingJsonConverter}, in full and with the ingredient nutrient lists
+ * (or all of nutrition but the recipe totals) pruned. Run with {@code -prof gc} for
+ * allocation per read.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class RecipeDetailParseBenchmark {
+
+    @Param({"", "nutrition.ingredients.nutrients",
+            "nutrition.ingredients,nutrition.properties,nutrition.flavonoids"})
+    public String exclude;
+
+    private ProjectingJsonConverter converter;
+    private byte[] detailJson;
+
+    @Setup
+    public void setUp() {
+        converter = new ProjectingJsonConverter(JsonMapper.builder().build(),
+                FieldProjection.excluding(Arrays.asList(exclude.split(","))), Set.of(RecipeDetailResponse.class));
+        detailJson = Fixtures.load(Fixtures.RECIPE_DETAIL);
+    }
+
+    @Benchmark
+    public Object readRecipeDetail() throws IOException {
+        MockHttpInputMessage message = new MockHttpInputMessage(detailJson);
+        message.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return converter.read(RecipeDetailResponse.class, message);
+    }
+}
@@ -0,0 +1,87 @@
+package com.assignment.rex_assignment_server.benchmarks;
+
+import com.assignment.rex_assignment_server.cache.CachedResponse;
+import com.assignment.rex_assignment_server.cache.ResponseEncoder;
+import com.assignment.rex_assignment_server.dto.RecipeDetailResponse;
+import com.assignment.rex_assignment_server.dto.RecipeSearchResponse;
+import com.assignment.rex_assignment_server.service.SearchKey;
+import com.assignment.rex_assignment_server.service.SearchWindows;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The work behind a {@code RecipeController} response: building a cache entry (JSON plus
+ * ETag), cutting and serializing a search page out of a window, and choosing the encoding
+ * of a cached entry, both the first gzip request that compresses it and later hits.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ResponseBenchmark {
+
+    private JsonMapper jsonMapper;
+    private RecipeDetailResponse detail;
+    private SearchWindows searchWindows;
+    private SearchKey page;
+    private List<SearchKey> windows;
+    private List<RecipeSearchResponse> windowResponses;
+    private ResponseEncoder responseEncoder;
+    private CachedResponse<RecipeDetailResponse> cachedDetail;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = JsonMapper.builder().build();
+        detail = jsonMapper.readValue(Fixtures.load(Fixtures.RECIPE_DETAIL), RecipeDetailResponse.class);
+        searchWindows = new SearchWindows(100);
+        page = SearchKey.normalized("pasta", null, null, null, 24, 12);
+        windows = searchWindows.covering(page);
+        windowResponses = List.of(jsonMapper.readValue(Fixtures.load(Fixtures.SEARCH_RESPONSE),
+                RecipeSearchResponse.class));
+        responseEncoder = new ResponseEncoder(DataSize.ofKilobytes(1), 6);
+        cachedDetail = CachedResponse.serialize(detail, jsonMapper, System.currentTimeMillis());
+        responseEncoder.encode(cachedDetail, "gzip");
+    }
+
+    @Benchmark
+    public CachedResponse<RecipeDetailResponse> cacheRecipeDetail() {
+        return CachedResponse.serialize(detail, jsonMapper, System.currentTimeMillis());
+    }
+
+    @Benchmark
+    public CachedResponse<RecipeSearchResponse> serveSearchPage() {
+        RecipeSearchResponse slice = searchWindows.slice(page, windows, windowResponses);
+        return CachedResponse.serialize(slice, jsonMapper, System.currentTimeMillis());
+    }
+
+    @Benchmark
+    public ResponseEncoder.Encoded gzipFirstRequest() {
+        CachedResponse<RecipeDetailResponse> entry = CachedResponse.of(detail, cachedDetail.getJson(), 0L);
+        return responseEncoder.encode(entry, "gzip, deflate, br");
+    }
+
+    @Benchmark
+    public ResponseEncoder.Encoded gzipCachedHit() {
+        return responseEncoder.encode(cachedDetail, "gzip, deflate, br");
+    }
+
+    @Benchmark
+    public ResponseEncoder.Encoded identityCachedHit() {
+        return responseEncoder.encode(cachedDetail, null);
+    }
+}
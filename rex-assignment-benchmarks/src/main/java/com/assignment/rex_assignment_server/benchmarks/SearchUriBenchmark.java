@@ -0,0 +1,50 @@
+package com.assignment.rex_assignment_server.benchmarks;
+
+import com.assignment.rex_assignment_server.service.SearchKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turning search request parameters into the upstream complexSearch URI: normalizing the
+ * key, then expanding and encoding the template the way {@code RestClient} does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class SearchUriBenchmark {
+
+    private DefaultUriBuilderFactory uriBuilderFactory;
+    private SearchKey key;
+
+    @Setup
+    public void setUp() {
+        uriBuilderFactory = new DefaultUriBuilderFactory("https://api.spoonacular.com");
+        key = normalizeKey();
+    }
+
+    @Benchmark
+    public SearchKey normalizeKey() {
+        return SearchKey.normalized("  Creamy  Pasta ", "Vegetarian,gluten free", "Italian|mediterranean",
+                "main course", 24, 12);
+    }
+
+    @Benchmark
+    public URI expandUri() {
+        return uriBuilderFactory.expand(key.complexSearchUri(), key.uriVariables());
+    }
+}
@@ -0,0 +1,56 @@
+package com.assignment.rex_assignment_server.config;
+
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CorsFilter}, which runs first on every request. Lives in the filter's package
+ * because the filter is package-private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class CorsFilterBenchmark {
+
+    private static final FilterChain CHAIN = (request, response) -> {
+    };
+
+    @Param({"*", "http://localhost:5173,https://rex.example.com"})
+    public String allowedOrigins;
+
+    @Param({"GET", "OPTIONS"})
+    public String method;
+
+    private CorsFilter filter;
+
+    @Setup
+    public void setUp() {
+        filter = new CorsFilter(allowedOrigins);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse crossOriginRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/recipes/search");
+        request.addHeader("Origin", "https://rex.example.com");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, CHAIN);
+        return response;
+    }
+}
@@ -1,4 +1,4 @@
-function FilterSelect({ label, id, value, onChange, options, placeholder }) {
+function FilterSelect({ label, id, value, onChange, options, placeholder, counts }) {
   return (
     <div className="flex flex-col gap-1.5">
       <label 
@@ -15,11 +15,15 @@ function FilterSelect({ label, id, value, onChange, options, placeholder }) {
         aria-label={label}
       >
         <option value="">{placeholder}</option>
-        {options.map((option) => (
-          <option key={option.value} value={option.value}>
-            {option.label}
-          </option>
-        ))}
+        {options.map((option) => {
+          // Counts are only known for recipes the server has indexed, so they are a hint
+          const count = counts ? counts[option.value] ?? 0 : null
+          return (
+            <option key={option.value} value={option.value}>
+              {count === null ? option.label : `${option.label} (${count})`}
+            </option>
+          )
+        })}
       </select>
     </div>
   )
@@ -1,6 +1,19 @@
-function NutritionPanel({ nutrition, hasExclusions }) {
+import LoadingSpinner from '../common/LoadingSpinner'
+
+function NutritionPanel({ nutrition, hasExclusions, loading = false }) {
   if (!nutrition) {
-    return null
+    if (!loading) {
+      return null
+    }
+    // Nutrition is fetched separately from the recipe, so hold its place meanwhile
+    return (
+      <div>
+        <h2 className="font-display text-2xl font-bold text-default mb-4">
+          Nutrition Facts
+        </h2>
+        <LoadingSpinner size="small" message="Loading nutrition..." />
+      </div>
+    )
   }
 
   // Helper to find nutrient by name from the nutrients array
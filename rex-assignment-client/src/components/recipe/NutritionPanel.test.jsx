@@ -0,0 +1,28 @@
+import { describe, it, expect } from 'vitest'
+import { render, screen } from '../../test/test-utils'
+import NutritionPanel from './NutritionPanel'
+import { mockRecipeDetail } from '../../test/mocks/handlers'
+
+describe('NutritionPanel', () => {
+  it('renders nothing without nutrition', () => {
+    const { container } = render(<NutritionPanel nutrition={null} />)
+
+    expect(container).toBeEmptyDOMElement()
+  })
+
+  it('holds its place while nutrition is loading', () => {
+    render(<NutritionPanel nutrition={null} loading />)
+
+    expect(screen.getByRole('heading', { name: 'Nutrition Facts' })).toBeInTheDocument()
+    expect(screen.getByRole('status')).toHaveTextContent('Loading nutrition...')
+  })
+
+  it('renders the main nutrients', () => {
+    render(<NutritionPanel nutrition={mockRecipeDetail.nutrition} />)
+
+    expect(screen.getByRole('heading', { name: 'Nutrition Facts' })).toBeInTheDocument()
+    expect(screen.getByText('550')).toBeInTheDocument()
+    expect(screen.getByText('Calories')).toBeInTheDocument()
+    expect(screen.queryByRole('status')).not.toBeInTheDocument()
+  })
+})
@@ -1,4 +1,4 @@
-import { useState, useCallback } from 'react'
+import { useState, useCallback, useEffect } from 'react'
 import { recipeApi } from '../services/api'
 
 export function useRecipeSearch() {
@@ -49,12 +49,12 @@ export function useRecipeDetail() {
   const [loading, setLoading] = useState(false)
   const [error, setError] = useState(null)
 
-  const fetchRecipe = useCallback(async (id) => {
+  const fetchRecipe = useCallback(async (id, options) => {
     setLoading(true)
     setError(null)
 
     try {
-      const data = await recipeApi.getRecipeById(id)
+      const data = await recipeApi.getRecipeById(id, options)
       setRecipe(data)
     } catch (err) {
       setError(err.response?.data?.message || 'Failed to load recipe details.')
@@ -71,3 +71,58 @@ export function useRecipeDetail() {
     fetchRecipe,
   }
 }
+
+/**
+ * A recipe's nutrition, fetched separately from the recipe itself so the rest of the
+ * page doesn't wait for it. Stays null on errors; the page renders without it.
+ */
+export function useRecipeNutrition() {
+  const [nutrition, setNutrition] = useState(null)
+  const [loading, setLoading] = useState(false)
+
+  const fetchNutrition = useCallback(async (id) => {
+    setLoading(true)
+    setNutrition(null)
+
+    try {
+      setNutrition(await recipeApi.getRecipeNutrition(id))
+    } catch {
+      setNutrition(null)
+    } finally {
+      setLoading(false)
+    }
+  }, [])
+
+  return {
+    nutrition,
+    loading,
+    fetchNutrition,
+  }
+}
+
+/**
+ * Recipe counts per filter value for the current search. Stays null until the server
+ * has recipes indexed, and on errors - counts are a hint, never a blocker.
+ */
+export function useFacets({ query, diet, cuisine, type }) {
+  const [facets, setFacets] = useState(null)
+
+  useEffect(() => {
+    let cancelled = false
+
+    recipeApi
+      .getFacets({ query, diet, cuisine, type })
+      .then((data) => {
+        if (!cancelled) setFacets(data.indexedRecipes > 0 ? data : null)
+      })
+      .catch(() => {
+        if (!cancelled) setFacets(null)
+      })
+
+    return () => {
+      cancelled = true
+    }
+  }, [query, diet, cuisine, type])
+
+  return facets
+}
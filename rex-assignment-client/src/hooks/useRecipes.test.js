@@ -1,6 +1,6 @@
 import { describe, it, expect } from 'vitest'
 import { renderHook, waitFor, act } from '@testing-library/react'
-import { useRecipeSearch, useRecipeDetail } from './useRecipes'
+import { useRecipeSearch, useRecipeDetail, useRecipeNutrition } from './useRecipes'
 
 describe('useRecipeSearch', () => {
   describe('initial state', () => {
@@ -225,3 +225,31 @@ describe('useRecipeDetail', () => {
     })
   })
 })
+
+describe('useRecipeNutrition', () => {
+  it('fetches nutrition by recipe id', async () => {
+    const { result } = renderHook(() => useRecipeNutrition())
+
+    await act(async () => {
+      await result.current.fetchNutrition(1)
+    })
+
+    await waitFor(() => {
+      expect(result.current.loading).toBe(false)
+      expect(result.current.nutrition.nutrients.length).toBeGreaterThan(0)
+    })
+  })
+
+  it('leaves nutrition empty when the recipe is not found', async () => {
+    const { result } = renderHook(() => useRecipeNutrition())
+
+    await act(async () => {
+      await result.current.fetchNutrition(999)
+    })
+
+    await waitFor(() => {
+      expect(result.current.loading).toBe(false)
+      expect(result.current.nutrition).toBeNull()
+    })
+  })
+})
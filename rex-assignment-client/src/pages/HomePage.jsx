@@ -7,7 +7,7 @@ import LoadingSpinner from '../components/common/LoadingSpinner'
 import ErrorMessage from '../components/common/ErrorMessage'
 import Pagination from '../components/common/Pagination'
 import RecipeList from '../components/recipe/RecipeList'
-import { useRecipeSearch } from '../hooks/useRecipes'
+import { useRecipeSearch, useFacets } from '../hooks/useRecipes'
 
 const RECIPES_PER_PAGE = 12
 
@@ -64,6 +64,7 @@ function HomePage() {
   const [currentPage, setCurrentPage] = useState(parseInt(searchParams.get('page')) || 1)
 
   const { recipes, totalResults, loading, error, hasSearched, searchRecipes } = useRecipeSearch()
+  const facets = useFacets({ query, diet, cuisine, type })
 
   const totalPages = Math.ceil(totalResults / RECIPES_PER_PAGE)
 
@@ -208,6 +209,7 @@ function HomePage() {
                     value={diet}
                     onChange={(value) => handleFilterChange('diet', value)}
                     options={DIET_OPTIONS}
+                    counts={facets?.diets}
                     placeholder="All Diets"
                   />
                   <FilterSelect
@@ -216,6 +218,7 @@ function HomePage() {
                     value={cuisine}
                     onChange={(value) => handleFilterChange('cuisine', value)}
                     options={CUISINE_OPTIONS}
+                    counts={facets?.cuisines}
                     placeholder="All Cuisines"
                   />
                   <FilterSelect
@@ -224,6 +227,7 @@ function HomePage() {
                     value={type}
                     onChange={(value) => handleFilterChange('type', value)}
                     options={TYPE_OPTIONS}
+                    counts={facets?.types}
                     placeholder="All Types"
                   />
                 </div>
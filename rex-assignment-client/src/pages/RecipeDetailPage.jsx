@@ -5,20 +5,36 @@ import LoadingSpinner from '../components/common/LoadingSpinner'
 import ErrorMessage from '../components/common/ErrorMessage'
 import IngredientList from '../components/recipe/IngredientList'
 import NutritionPanel from '../components/recipe/NutritionPanel'
-import { useRecipeDetail } from '../hooks/useRecipes'
+import { useRecipeDetail, useRecipeNutrition } from '../hooks/useRecipes'
 import { getImageUrl, IMAGE_SIZES } from '../utils/imageUtils'
 
+/**
+ * Recipe fields this page renders. Nutrition, the bulk of a recipe's JSON, is left out
+ * and fetched on its own so the header, ingredients and instructions can render first.
+ */
+const RECIPE_FIELDS = [
+  'id', 'title', 'image', 'readyInMinutes', 'servings', 'healthScore',
+  'vegetarian', 'vegan', 'glutenFree', 'dairyFree', 'veryHealthy',
+  'cuisines', 'dishTypes', 'extendedIngredients', 'summary', 'instructions', 'sourceUrl',
+]
+
 function RecipeDetailPage() {
   const { id } = useParams()
   const { recipe, loading, error, fetchRecipe } = useRecipeDetail()
+  const { nutrition, loading: nutritionLoading, fetchNutrition } = useRecipeNutrition()
   const [excludedIngredientIds, setExcludedIngredientIds] = useState(new Set())
 
+  const loadRecipe = useCallback(() => {
+    fetchRecipe(id, { fields: RECIPE_FIELDS })
+    fetchNutrition(id)
+  }, [id, fetchRecipe, fetchNutrition])
+
   useEffect(() => {
     if (id) {
-      fetchRecipe(id)
+      loadRecipe()
       setExcludedIngredientIds(new Set())
     }
-  }, [id, fetchRecipe])
+  }, [id, loadRecipe])
 
   /**
    * Toggle ingredient exclusion - instant, no API call needed
@@ -38,13 +54,13 @@ function RecipeDetailPage() {
   }, [])
 
   /**
-   * Build a map of ingredient nutrition from the recipe's nutrition.ingredients array
-   * This data comes from Spoonacular when we fetch the recipe with includeNutrition=true
+   * Build a map of ingredient nutrition from the nutrition.ingredients array
+   * This data comes from Spoonacular when the server fetches the recipe with includeNutrition=true
    */
   const ingredientNutritionMap = useMemo(() => {
     const map = {}
-    if (recipe?.nutrition?.ingredients) {
-      recipe.nutrition.ingredients.forEach(ing => {
+    if (nutrition?.ingredients) {
+      nutrition.ingredients.forEach(ing => {
         if (ing.id) {
           map[ing.id] = ing
         }
@@ -55,20 +71,20 @@ function RecipeDetailPage() {
       })
     }
     return map
-  }, [recipe?.nutrition?.ingredients])
+  }, [nutrition?.ingredients])
 
   /**
    * Calculate adjusted nutrition by subtracting excluded ingredients
-   * Uses the nutrition.ingredients data already in the recipe response
+   * Uses the nutrition.ingredients data already in the nutrition response
    */
   const adjustedNutrition = useMemo(() => {
-    if (!recipe?.nutrition?.nutrients) {
-      return recipe?.nutrition || null
+    if (!nutrition?.nutrients) {
+      return nutrition || null
     }
 
     // If no exclusions, return original nutrition
     if (excludedIngredientIds.size === 0) {
-      return recipe.nutrition
+      return nutrition
     }
 
     // Create a map of nutrient adjustments to subtract
@@ -80,7 +96,7 @@ function RecipeDetailPage() {
       let ingredientNutrition = ingredientNutritionMap[ingredientId]
 
       // If not found by ID, try to match by name from extendedIngredients
-      if (!ingredientNutrition && recipe.extendedIngredients) {
+      if (!ingredientNutrition && recipe?.extendedIngredients) {
         const ingredient = recipe.extendedIngredients.find(ing => ing.id === ingredientId)
         if (ingredient?.name) {
           ingredientNutrition = ingredientNutritionMap[ingredient.name.toLowerCase()]
@@ -99,7 +115,7 @@ function RecipeDetailPage() {
     })
 
     // Create adjusted nutrients array
-    const adjustedNutrients = recipe.nutrition.nutrients.map(nutrient => {
+    const adjustedNutrients = nutrition.nutrients.map(nutrient => {
       const key = nutrient.name.toLowerCase()
       const adjustment = nutrientAdjustments[key] || 0
       const adjustedAmount = Math.max(0, (nutrient.amount || 0) - adjustment)
@@ -118,10 +134,10 @@ function RecipeDetailPage() {
     })
 
     return {
-      ...recipe.nutrition,
+      ...nutrition,
       nutrients: adjustedNutrients,
     }
-  }, [recipe?.nutrition, recipe?.extendedIngredients, excludedIngredientIds, ingredientNutritionMap])
+  }, [nutrition, recipe?.extendedIngredients, excludedIngredientIds, ingredientNutritionMap])
 
   /**
    * Check if an ingredient is excluded
@@ -144,7 +160,7 @@ function RecipeDetailPage() {
         <ErrorMessage
           title="Recipe Not Found"
           message={error}
-          onRetry={() => fetchRecipe(id)}
+          onRetry={loadRecipe}
         />
       </div>
     )
@@ -283,6 +299,7 @@ function RecipeDetailPage() {
             <NutritionPanel
               nutrition={adjustedNutrition}
               hasExclusions={excludedIngredientIds.size > 0}
+              loading={nutritionLoading}
             />
 
             {/* Summary */}
@@ -0,0 +1,88 @@
+import { describe, it, expect } from 'vitest'
+import { render, screen, waitFor } from '@testing-library/react'
+import userEvent from '@testing-library/user-event'
+import { MemoryRouter, Routes, Route } from 'react-router-dom'
+import { http, HttpResponse } from 'msw'
+import { server } from '../test/mocks/server'
+import { mockRecipeDetail } from '../test/mocks/handlers'
+import RecipeDetailPage from './RecipeDetailPage'
+
+function renderPage(id = 1) {
+  return render(
+    <MemoryRouter initialEntries={[`/recipe/${id}`]}>
+      <Routes>
+        <Route path="/recipe/:id" element={<RecipeDetailPage />} />
+      </Routes>
+    </MemoryRouter>
+  )
+}
+
+describe('RecipeDetailPage', () => {
+  it('requests the recipe without its nutrition', async () => {
+    let fields = null
+    server.use(
+      http.get(/\/api\/recipes\/(\d+)$/, ({ request }) => {
+        fields = new URL(request.url).searchParams.get('fields')
+        const { nutrition, ...recipe } = mockRecipeDetail
+        return HttpResponse.json(recipe)
+      })
+    )
+
+    renderPage()
+
+    await screen.findByRole('heading', { name: 'Pasta Carbonara' })
+    expect(fields.split(',')).toContain('extendedIngredients')
+    expect(fields.split(',')).not.toContain('nutrition')
+  })
+
+  it('renders nutrition loaded separately', async () => {
+    renderPage()
+
+    await screen.findByRole('heading', { name: 'Pasta Carbonara' })
+    expect(await screen.findByText('550')).toBeInTheDocument()
+    expect(screen.getByRole('heading', { name: 'Nutrition Facts' })).toBeInTheDocument()
+  })
+
+  it('renders the recipe when nutrition fails', async () => {
+    server.use(
+      http.get(/\/api\/recipes\/(\d+)\/nutrition$/, () =>
+        HttpResponse.json({ message: 'Unavailable' }, { status: 503 })
+      )
+    )
+
+    renderPage()
+
+    await screen.findByRole('heading', { name: 'Pasta Carbonara' })
+    await waitFor(() => {
+      expect(screen.queryByRole('heading', { name: 'Nutrition Facts' })).not.toBeInTheDocument()
+    })
+    expect(screen.getByRole('heading', { name: 'Instructions' })).toBeInTheDocument()
+  })
+
+  it('shows an error for a missing recipe', async () => {
+    renderPage(999)
+
+    expect(await screen.findByText('Recipe Not Found')).toBeInTheDocument()
+  })
+
+  it('retries the recipe and its nutrition with the same fields', async () => {
+    const requests = []
+    server.use(
+      http.get(/\/api\/recipes\/(\d+)$/, () =>
+        HttpResponse.json({ message: 'Unavailable' }, { status: 503 }),
+        { once: true }
+      ),
+      http.get(/\/api\/recipes\/(\d+)(\/nutrition)?$/, ({ request }) => {
+        requests.push(new URL(request.url))
+      })
+    )
+
+    renderPage()
+    await userEvent.click(await screen.findByRole('button', { name: 'Try Again' }))
+
+    await screen.findByRole('heading', { name: 'Pasta Carbonara' })
+    expect(await screen.findByText('550')).toBeInTheDocument()
+    const recipe = requests.findLast(url => !url.pathname.endsWith('/nutrition'))
+    expect(recipe.searchParams.get('fields')).toContain('title')
+  })
+})
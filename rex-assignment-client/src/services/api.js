@@ -50,10 +50,34 @@ export const recipeApi = {
   },
 
   /**
-   * Get detailed recipe information by ID
+   * Get detailed recipe information by ID, optionally only the given top-level fields
    */
-  getRecipeById: async (id) => {
-    const response = await api.get(`/recipes/${id}`)
+  getRecipeById: async (id, { fields } = {}) => {
+    const query = fields?.length ? `?fields=${encodeURIComponent(fields.join(','))}` : ''
+    const response = await api.get(`/recipes/${id}${query}`)
+    return response.data
+  },
+
+  /**
+   * Get a recipe's nutrition on its own
+   */
+  getRecipeNutrition: async (id) => {
+    const response = await api.get(`/recipes/${id}/nutrition`)
+    return response.data
+  },
+
+  /**
+   * Get recipe counts per diet, cuisine and meal type for a query and filters
+   */
+  getFacets: async ({ query = '', diet, cuisine, type }) => {
+    const params = new URLSearchParams()
+    params.append('query', query)
+
+    if (diet) params.append('diet', diet)
+    if (cuisine) params.append('cuisine', cuisine)
+    if (type) params.append('type', type)
+
+    const response = await api.get(`/recipes/facets?${params.toString()}`)
     return response.data
   },
 
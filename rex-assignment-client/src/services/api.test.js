@@ -92,12 +92,34 @@ describe('recipeApi', () => {
       expect(result.extendedIngredients[0]).toHaveProperty('name')
     })
 
+    it('returns only the requested fields', async () => {
+      const result = await recipeApi.getRecipeById(1, { fields: ['id', 'title'] })
+
+      expect(result.title).toBeDefined()
+      expect(result.nutrition).toBeUndefined()
+      expect(result.extendedIngredients).toBeUndefined()
+    })
+
     it('throws error for non-existent recipe', async () => {
       await expect(recipeApi.getRecipeById(999))
         .rejects.toThrow()
     })
   })
 
+  describe('getRecipeNutrition', () => {
+    it('returns nutrients and per-ingredient nutrition', async () => {
+      const result = await recipeApi.getRecipeNutrition(1)
+
+      expect(result.nutrients.length).toBeGreaterThan(0)
+      expect(result.ingredients).toBeDefined()
+    })
+
+    it('throws error for non-existent recipe', async () => {
+      await expect(recipeApi.getRecipeNutrition(999))
+        .rejects.toThrow()
+    })
+  })
+
   describe('getAutocompleteSuggestions', () => {
     it('returns suggestions for valid query', async () => {
       const result = await recipeApi.getAutocompleteSuggestions('pasta', 5)
@@ -140,6 +162,29 @@ describe('recipeApi', () => {
     })
   })
 
+  describe('getFacets', () => {
+    it('passes the query and filters and returns counts', async () => {
+      server.use(
+        http.get('*/api/recipes/facets', ({ request }) => {
+          const url = new URL(request.url)
+
+          return HttpResponse.json({
+            diets: { vegan: 2 },
+            cuisines: url.searchParams.get('diet') === 'vegan' ? { italian: 2 } : {},
+            types: {},
+            totalResults: 2,
+            indexedRecipes: 10,
+          })
+        })
+      )
+
+      const result = await recipeApi.getFacets({ query: 'pasta', diet: 'vegan' })
+
+      expect(result.cuisines.italian).toBe(2)
+      expect(result.indexedRecipes).toBe(10)
+    })
+  })
+
   describe('healthCheck', () => {
     it('returns health status', async () => {
       const result = await recipeApi.healthCheck()
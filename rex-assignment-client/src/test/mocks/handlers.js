@@ -110,6 +110,17 @@ export const handlers = [
     })
   }),
 
+  // Facet counts (empty local index)
+  http.get('*/api/recipes/facets', () => {
+    return HttpResponse.json({
+      diets: {},
+      cuisines: {},
+      types: {},
+      totalResults: 0,
+      indexedRecipes: 0,
+    })
+  }),
+
   // Search recipes
   http.get('*/api/recipes/search', ({ request }) => {
     const url = new URL(request.url)
@@ -149,8 +160,22 @@ export const handlers = [
     return HttpResponse.json(filtered)
   }),
 
+  // Get a recipe's nutrition
+  http.get(/\/api\/recipes\/(\d+)\/nutrition$/, ({ params }) => {
+    const id = parseInt(params[0] || '1')
+
+    if (id === 999) {
+      return HttpResponse.json(
+        { message: 'Recipe not found' },
+        { status: 404 }
+      )
+    }
+
+    return HttpResponse.json(mockRecipeDetail.nutrition)
+  }),
+
   // Get recipe by ID - Use regex to match /api/recipes/:id (but not other paths)
-  http.get(/\/api\/recipes\/(\d+)$/, ({ params }) => {
+  http.get(/\/api\/recipes\/(\d+)$/, ({ request, params }) => {
     // Extract the ID from the URL
     const url = params[0] || '1'
     const id = parseInt(url)
@@ -162,9 +187,15 @@ export const handlers = [
       )
     }
 
-    return HttpResponse.json({
-      ...mockRecipeDetail,
-      id,
-    })
+    const recipe = { ...mockRecipeDetail, id }
+    const fields = new URL(request.url).searchParams.get('fields')
+    if (fields) {
+      const names = fields.split(',')
+      return HttpResponse.json(
+        Object.fromEntries(Object.entries(recipe).filter(([name]) => names.includes(name)))
+      )
+    }
+
+    return HttpResponse.json(recipe)
   }),
 ]
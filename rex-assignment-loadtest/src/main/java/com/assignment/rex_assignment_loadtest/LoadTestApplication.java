@@ -0,0 +1,32 @@
+package com.assignment.rex_assignment_loadtest;
+
+import com.assignment.rex_assignment_loadtest.load.LoadGenerator;
+import com.assignment.rex_assignment_loadtest.stub.SpoonacularStub;
+
+import java.util.Arrays;
+
+/**
+ * Entry point: {@code stub} runs the Spoonacular stand-in, {@code run} drives load at a
+ * running server. See the README for the options of each.
+ */
+public final class LoadTestApplication {
+
+    private LoadTestApplication() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: java -jar rex-assignment-loadtest.jar (stub|run) [--name=value ...]");
+            System.exit(2);
+        }
+        Options options = Options.parse(Arrays.copyOfRange(args, 1, args.length));
+        switch (args[0]) {
+            case "stub" -> SpoonacularStub.main(options);
+            case "run" -> LoadGenerator.main(options);
+            default -> {
+                System.err.println("Unknown command: " + args[0]);
+                System.exit(2);
+            }
+        }
+    }
+}
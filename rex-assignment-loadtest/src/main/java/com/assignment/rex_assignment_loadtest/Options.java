@@ -0,0 +1,77 @@
+package com.assignment.rex_assignment_loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@code --name=value} command-line options. Durations are written {@code 250ms},
+ * {@code 30s} or {@code 5m}; a bare number means milliseconds.
+ */
+public final class Options {
+
+    private static final Pattern DURATION = Pattern.compile("(\\d+(?:\\.\\d+)?)\\s*(ms|s|m)?");
+
+    private final Map<String, String> values;
+
+    private Options(Map<String, String> values) {
+        this.values = values;
+    }
+
+    public static Options parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                values.put(arg.substring(2), "true");
+            } else {
+                values.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return new Options(values);
+    }
+
+    public String string(String name, String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+
+    public int integer(String name, int defaultValue) {
+        String value = values.get(name);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    public double decimal(String name, double defaultValue) {
+        String value = values.get(name);
+        return value != null ? Double.parseDouble(value) : defaultValue;
+    }
+
+    public boolean flag(String name, boolean defaultValue) {
+        String value = values.get(name);
+        return value != null ? Boolean.parseBoolean(value) : defaultValue;
+    }
+
+    public Duration duration(String name, Duration defaultValue) {
+        String value = values.get(name);
+        return value != null ? parseDuration(value) : defaultValue;
+    }
+
+    public static Duration parseDuration(String value) {
+        Matcher matcher = DURATION.matcher(value.trim());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Not a duration: " + value);
+        }
+        double amount = Double.parseDouble(matcher.group(1));
+        String unit = matcher.group(2) != null ? matcher.group(2) : "ms";
+        double millis = switch (unit) {
+            case "s" -> amount * 1_000;
+            case "m" -> amount * 60_000;
+            default -> amount;
+        };
+        return Duration.ofNanos(Math.round(millis * 1_000_000));
+    }
+}
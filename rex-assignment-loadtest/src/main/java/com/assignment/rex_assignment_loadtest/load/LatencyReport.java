@@ -0,0 +1,91 @@
+package com.assignment.rex_assignment_loadtest.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation latency histograms (microsecond resolution, up to one minute) with
+ * request, error and byte counts.
+ */
+public final class LatencyReport {
+
+    private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    public void record(String operation, long latencyNanos, int status, long bytes) {
+        Stats s = stats.computeIfAbsent(operation, o -> new Stats());
+        s.histogram.recordValue(Math.min(MAX_MICROS, Math.max(1, latencyNanos / 1_000)));
+        s.bytes.add(bytes);
+        if (status < 200 || status >= 400) {
+            s.errors.increment();
+        }
+    }
+
+    /**
+     * Forget everything recorded so far, e.g. at the end of the warm-up.
+     */
+    public void reset() {
+        stats.clear();
+    }
+
+    public void print(PrintStream out, double seconds) {
+        out.printf("%-14s %9s %7s %9s %9s %9s %9s %9s %9s %10s%n", "operation", "requests", "errors", "req/s",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "KB/resp");
+        Histogram total = new Histogram(MAX_MICROS, 3);
+        long totalErrors = 0;
+        long totalBytes = 0;
+        for (Map.Entry<String, Stats> entry : new TreeMap<>(stats).entrySet()) {
+            Stats s = entry.getValue();
+            total.add(s.histogram);
+            totalErrors += s.errors.sum();
+            totalBytes += s.bytes.sum();
+            line(out, entry.getKey(), s.histogram, s.errors.sum(), s.bytes.sum(), seconds);
+        }
+        line(out, "total", total, totalErrors, totalBytes, seconds);
+    }
+
+    /**
+     * Write each operation's percentile distribution as {@code <operation>.hgrm}, the
+     * format the HdrHistogram plotter reads.
+     */
+    public void writeDistributions(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, Stats> entry : stats.entrySet()) {
+            try (PrintStream out = new PrintStream(
+                    new FileOutputStream(directory.resolve(entry.getKey() + ".hgrm").toFile()))) {
+                entry.getValue().histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private static void line(PrintStream out, String name, Histogram histogram, long errors, long bytes,
+            double seconds) {
+        long count = histogram.getTotalCount();
+        out.printf("%-14s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %10.1f%n", name, count, errors,
+                count / seconds,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0,
+                count > 0 ? bytes / 1024.0 / count : 0);
+    }
+
+    private static final class Stats {
+        private final Histogram histogram = new ConcurrentHistogram(MAX_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+    }
+}
@@ -0,0 +1,268 @@
+package com.assignment.rex_assignment_loadtest.load;
+
+import com.assignment.rex_assignment_loadtest.Options;
+import com.assignment.rex_assignment_loadtest.stub.RecipeCorpus;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives {@code /api/recipes/*} at a fixed arrival rate with a weighted mix of operations:
+ * <ul>
+ *     <li>{@code detail} - one recipe, ids drawn Zipfian over the corpus;</li>
+ *     <li>{@code search} - a Zipfian-popular query word, sometimes with a cuisine filter,
+ *     mostly on the first page;</li>
+ *     <li>{@code bulk} - 5 to 20 Zipfian ids in one {@code POST /bulk};</li>
+ *     <li>{@code autocomplete} - a user typing a word, one request per keystroke.</li>
+ * </ul>
+ * The load is open-model by default: operations start on schedule whether or not earlier
+ * ones have finished, and each request's latency is measured from when it was due to be
+ * sent, so a stalled server shows up in the percentiles instead of quietly lowering the
+ * rate. With {@code --concurrency=N} it is closed-model instead: N workers each start
+ * their next operation as soon as the last one finishes, so N operations are always in
+ * flight and the throughput is whatever the server sustains at that concurrency.
+ */
+public final class LoadGenerator {
+
+    private static final String DEFAULT_MIX = "detail:50,search:25,autocomplete:15,bulk:10";
+    private static final List<Integer> PAGE_OFFSETS = List.of(0, 0, 0, 0, 0, 0, 0, 12, 12, 24);
+
+    private final HttpClient httpClient;
+    private final URI target;
+    private final Duration timeout;
+    private final boolean gzip;
+    private final Duration typingDelay;
+    private final ZipfSampler recipes;
+    private final ZipfSampler words;
+    private final List<String> vocabulary = RecipeCorpus.vocabulary();
+    private final LatencyReport report = new LatencyReport();
+    private volatile long measureFromNanos;
+
+    private LoadGenerator(URI target, int corpusSize, double zipfExponent, boolean gzip, Duration typingDelay,
+            Duration timeout) {
+        this.target = target;
+        this.gzip = gzip;
+        this.typingDelay = typingDelay;
+        this.timeout = timeout;
+        this.recipes = new ZipfSampler(corpusSize, zipfExponent);
+        this.words = new ZipfSampler(vocabulary.size(), zipfExponent);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    /**
+     * Options: {@code --target=http://localhost:4000 --rate=100 --concurrency=0 --duration=60s --warmup=15s
+     * --mix=detail:50,search:25,autocomplete:15,bulk:10 --recipes=1000 --zipf=1.0
+     * --gzip=true --typing-delay=120ms --timeout=10s --hgrm-dir=<dir>}. {@code --recipes}
+     * must match the stub's corpus size.
+     */
+    public static void main(Options options) throws Exception {
+        URI target = URI.create(options.string("target", "http://localhost:4000"));
+        double rate = options.decimal("rate", 100);
+        int concurrency = options.integer("concurrency", 0);
+        Duration warmup = options.duration("warmup", Duration.ofSeconds(15));
+        Duration duration = options.duration("duration", Duration.ofSeconds(60));
+        Map<String, Integer> mix = parseMix(options.string("mix", DEFAULT_MIX));
+
+        LoadGenerator generator = new LoadGenerator(target, options.integer("recipes", 1_000),
+                options.decimal("zipf", 1.0), options.flag("gzip", true),
+                options.duration("typing-delay", Duration.ofMillis(120)),
+                options.duration("timeout", Duration.ofSeconds(10)));
+        if (concurrency > 0) {
+            System.out.printf("Driving %s with %d operations in flight, mix %s, warm-up %ds, measuring %ds%n", target,
+                    concurrency, mix, warmup.toSeconds(), duration.toSeconds());
+            generator.runClosed(concurrency, warmup, duration, mix);
+        } else {
+            System.out.printf("Driving %s at %.0f ops/s, mix %s, warm-up %ds, measuring %ds%n", target, rate, mix,
+                    warmup.toSeconds(), duration.toSeconds());
+            generator.run(rate, warmup, duration, mix);
+        }
+
+        double seconds = duration.toNanos() / 1e9;
+        generator.report.print(System.out, seconds);
+        String hgrmDir = options.string("hgrm-dir", null);
+        if (hgrmDir != null) {
+            generator.report.writeDistributions(Path.of(hgrmDir));
+        }
+        System.exit(0);
+    }
+
+    private void run(double rate, Duration warmup, Duration duration, Map<String, Integer> mix)
+            throws InterruptedException {
+        List<String> operations = weighted(mix);
+        long intervalNanos = Math.round(1e9 / rate);
+        long start = System.nanoTime();
+        measureFromNanos = start + warmup.toNanos();
+        long end = measureFromNanos + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long due = start + i * intervalNanos;
+                if (due >= end) {
+                    break;
+                }
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                String operation = operations.get(ThreadLocalRandom.current().nextInt(operations.size()));
+                executor.execute(() -> perform(operation, due));
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(timeout.toMillis() + 5_000, TimeUnit.MILLISECONDS)) {
+                System.err.println("Some requests were still running when the run ended");
+            }
+        }
+    }
+
+    private void runClosed(int concurrency, Duration warmup, Duration duration, Map<String, Integer> mix)
+            throws InterruptedException {
+        List<String> operations = weighted(mix);
+        measureFromNanos = System.nanoTime() + warmup.toNanos();
+        long end = measureFromNanos + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < concurrency; worker++) {
+                executor.execute(() -> {
+                    for (long due = System.nanoTime(); due < end; due = System.nanoTime()) {
+                        perform(operations.get(ThreadLocalRandom.current().nextInt(operations.size())), due);
+                    }
+                });
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(duration.toMillis() + warmup.toMillis() + timeout.toMillis() + 5_000,
+                    TimeUnit.MILLISECONDS)) {
+                System.err.println("Some requests were still running when the run ended");
+            }
+        }
+    }
+
+    private static List<String> weighted(Map<String, Integer> mix) {
+        List<String> operations = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                operations.add(operation);
+            }
+        });
+        return operations;
+    }
+
+    private void perform(String operation, long due) {
+        switch (operation) {
+            case "detail" -> send("detail", get("/api/recipes/" + recipeId()), due);
+            case "search" -> send("search", get(searchPath()), due);
+            case "bulk" -> send("bulk", bulkRequest(), due);
+            case "autocomplete" -> typeWord(due);
+            default -> throw new IllegalArgumentException("Unknown operation: " + operation);
+        }
+    }
+
+    private void typeWord(long due) {
+        String word = vocabulary.get(words.sample());
+        for (int length = 1; length <= word.length(); length++) {
+            long keystrokeDue = due + (length - 1) * typingDelay.toNanos();
+            long wait = keystrokeDue - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send("autocomplete", get("/api/recipes/autocomplete?query=" + encode(word.substring(0, length))),
+                    keystrokeDue);
+        }
+    }
+
+    private void send(String operation, HttpRequest request, long due) {
+        int status;
+        long bytes = 0;
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            status = response.statusCode();
+            bytes = response.body().length;
+        } catch (IOException e) {
+            status = 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (due >= measureFromNanos) {
+            report.record(operation, System.nanoTime() - due, status, bytes);
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest bulkRequest() {
+        int count = 5 + ThreadLocalRandom.current().nextInt(16);
+        StringJoiner ids = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < count; i++) {
+            ids.add(String.valueOf(recipeId()));
+        }
+        return request("/api/recipes/bulk")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(ids.toString()))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(target.resolve(path)).timeout(timeout);
+        if (gzip) {
+            builder.header("Accept-Encoding", "gzip");
+        }
+        return builder;
+    }
+
+    private String searchPath() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringBuilder path = new StringBuilder("/api/recipes/search?number=12&query=")
+                .append(encode(vocabulary.get(words.sample())))
+                .append("&offset=").append(PAGE_OFFSETS.get(random.nextInt(PAGE_OFFSETS.size())));
+        if (random.nextInt(4) == 0) {
+            List<String> cuisines = RecipeCorpus.cuisines();
+            path.append("&cuisine=").append(encode(cuisines.get(random.nextInt(cuisines.size())).toLowerCase(Locale.ROOT)));
+        }
+        return path.toString();
+    }
+
+    private long recipeId() {
+        return RecipeCorpus.idOf(recipes.sample());
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    static Map<String, Integer> parseMix(String spec) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] weight = part.trim().split(":");
+            if (weight.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight but got: " + part);
+            }
+            if (!List.of("detail", "search", "bulk", "autocomplete").contains(weight[0])) {
+                throw new IllegalArgumentException("Unknown operation: " + weight[0]);
+            }
+            mix.put(weight[0], Integer.parseInt(weight[1]));
+        }
+        return mix;
+    }
+}
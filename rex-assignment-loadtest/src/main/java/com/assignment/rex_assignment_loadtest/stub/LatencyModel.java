@@ -0,0 +1,75 @@
+package com.assignment.rex_assignment_loadtest.stub;
+
+import com.assignment.rex_assignment_loadtest.Options;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How long the stub waits before answering. Specs:
+ * <ul>
+ *     <li>{@code none} - answer immediately;</li>
+ *     <li>{@code fixed:80ms} - always the same delay;</li>
+ *     <li>{@code uniform:20ms-120ms} - evenly spread between two bounds;</li>
+ *     <li>{@code lognormal:80ms-600ms} - log-normal with the given median and p99, the
+ *     long-tailed shape real API latencies have.</li>
+ * </ul>
+ */
+@FunctionalInterface
+public interface LatencyModel {
+
+    /** z-score of the 99th percentile of a standard normal distribution. */
+    double Z_99 = 2.3263;
+
+    LatencyModel NONE = () -> 0;
+
+    long sampleNanos();
+
+    static LatencyModel parse(String spec) {
+        String trimmed = spec.trim();
+        if (trimmed.isEmpty() || trimmed.equals("none") || trimmed.equals("0")) {
+            return NONE;
+        }
+        int colon = trimmed.indexOf(':');
+        if (colon < 0) {
+            throw new IllegalArgumentException("Latency spec needs a kind, e.g. fixed:50ms: " + spec);
+        }
+        String kind = trimmed.substring(0, colon);
+        String args = trimmed.substring(colon + 1);
+        return switch (kind) {
+            case "fixed" -> {
+                long nanos = Options.parseDuration(args).toNanos();
+                yield () -> nanos;
+            }
+            case "uniform" -> {
+                Duration[] range = range(args);
+                long min = range[0].toNanos();
+                long max = range[1].toNanos();
+                yield () -> min + ThreadLocalRandom.current().nextLong(max - min + 1);
+            }
+            case "lognormal" -> {
+                Duration[] range = range(args);
+                if (range[0].isZero()) {
+                    throw new IllegalArgumentException("Log-normal median must be positive: " + args);
+                }
+                double mu = Math.log(range[0].toNanos());
+                double sigma = (Math.log(range[1].toNanos()) - mu) / Z_99;
+                yield () -> Math.round(Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian()));
+            }
+            default -> throw new IllegalArgumentException("Unknown latency kind: " + kind);
+        };
+    }
+
+    private static Duration[] range(String args) {
+        String[] bounds = args.split("-");
+        if (bounds.length != 2) {
+            throw new IllegalArgumentException("Expected <low>-<high>, e.g. 20ms-120ms: " + args);
+        }
+        Duration low = Options.parseDuration(bounds[0]);
+        Duration high = Options.parseDuration(bounds[1]);
+        if (high.compareTo(low) < 0) {
+            throw new IllegalArgumentException("Expected low <= high: " + args);
+        }
+        return new Duration[]{low, high};
+    }
+}
@@ -0,0 +1,256 @@
+package com.assignment.rex_assignment_loadtest.stub;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A deterministic corpus of Spoonacular-shaped recipes. The same size and seed always
+ * produce the same recipes, so the load generator can pick real ids and queries without
+ * talking to the stub.
+ * <p>
+ * Each recipe carries a full {@code includeNutrition=true} payload (every ingredient with
+ * its nutrient list, ~40 KB of JSON), serialized once up front so the stub spends its CPU
+ * on nothing but writing bytes.
+ */
+public final class RecipeCorpus {
+
+    public static final long FIRST_ID = 100_000;
+
+    static final List<String> ADJECTIVES = List.of("creamy", "spicy", "lemon", "garlic", "roasted", "smoky",
+            "herbed", "quick", "crispy", "honey", "ginger", "classic", "rustic", "sticky", "zesty", "charred");
+    static final List<String> MAINS = List.of("chicken", "salmon", "tofu", "beef", "shrimp", "mushroom",
+            "chickpea", "lentil", "pork", "eggplant", "cauliflower", "halloumi");
+    static final List<String> DISHES = List.of("pasta", "salad", "soup", "curry", "tacos", "risotto",
+            "stir fry", "burger", "bowl", "stew", "skewers", "pie", "flatbread", "noodles");
+    static final List<String> CUISINES = List.of("Italian", "Mexican", "Indian", "Thai", "French", "Greek",
+            "Japanese", "Chinese", "Mediterranean", "American", "Korean", "Vietnamese");
+    static final List<String> DIETS = List.of("vegetarian", "vegan", "gluten free", "dairy free", "ketogenic",
+            "paleolithic", "pescatarian");
+    static final List<String> TYPES = List.of("main course", "side dish", "dessert", "appetizer", "salad",
+            "breakfast", "soup", "snack");
+    private static final List<String> NUTRIENTS = List.of("Calories", "Fat", "Saturated Fat", "Carbohydrates",
+            "Net Carbohydrates", "Sugar", "Cholesterol", "Sodium", "Protein", "Vitamin C", "Manganese",
+            "Selenium", "Vitamin K", "Vitamin A", "Folate", "Fiber", "Phosphorus", "Vitamin B1", "Copper",
+            "Magnesium", "Potassium", "Vitamin B6", "Vitamin B3", "Iron", "Vitamin E", "Zinc", "Vitamin B2",
+            "Vitamin B5", "Calcium", "Vitamin B12", "Choline", "Trans Fat");
+    private static final List<String> PANTRY = List.of("olive oil", "garlic", "onion", "salt", "black pepper",
+            "butter", "lemon juice", "parsley", "chili flakes", "cumin", "soy sauce", "rice", "tomatoes",
+            "coconut milk", "basil", "cilantro", "parmesan", "eggs", "flour", "honey");
+
+    private final List<Recipe> recipes;
+
+    private RecipeCorpus(List<Recipe> recipes) {
+        this.recipes = recipes;
+    }
+
+    public static RecipeCorpus generate(int size, long seed) {
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+        Random random = new Random(seed);
+        List<Recipe> recipes = new ArrayList<>(size);
+        for (int rank = 0; rank < size; rank++) {
+            recipes.add(recipe(idOf(rank), random, jsonMapper));
+        }
+        return new RecipeCorpus(recipes);
+    }
+
+    /**
+     * Id of the recipe at {@code rank} (0-based) in a corpus of any size.
+     */
+    public static long idOf(int rank) {
+        return FIRST_ID + rank;
+    }
+
+    /**
+     * Words recipe titles are built from, i.e. queries that find something.
+     */
+    public static List<String> vocabulary() {
+        List<String> words = new ArrayList<>(DISHES);
+        words.addAll(MAINS);
+        words.addAll(ADJECTIVES);
+        return words;
+    }
+
+    public static List<String> cuisines() {
+        return CUISINES;
+    }
+
+    public int size() {
+        return recipes.size();
+    }
+
+    public Recipe get(long id) {
+        long rank = id - FIRST_ID;
+        return rank >= 0 && rank < recipes.size() ? recipes.get((int) rank) : null;
+    }
+
+    /**
+     * Recipes whose title has every query word, matching Spoonacular's filter semantics:
+     * {@code ,} means all of, {@code |} any of.
+     */
+    public List<Recipe> search(String query, String diet, String cuisine, String type) {
+        String[] words = query == null || query.isBlank() ? new String[0]
+                : query.toLowerCase(Locale.ROOT).trim().split("\\s+");
+        List<Recipe> matches = new ArrayList<>();
+        for (Recipe recipe : recipes) {
+            if (Arrays.stream(words).allMatch(recipe.lowerTitle()::contains)
+                    && matchesFilter(recipe.diets(), diet)
+                    && matchesFilter(recipe.cuisines(), cuisine)
+                    && matchesFilter(recipe.dishTypes(), type)) {
+                matches.add(recipe);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Recipes with a title word starting with {@code prefix}, in corpus order.
+     */
+    public List<Recipe> autocomplete(String prefix, int number) {
+        String lower = prefix == null ? "" : prefix.toLowerCase(Locale.ROOT).trim();
+        List<Recipe> matches = new ArrayList<>();
+        for (Recipe recipe : recipes) {
+            if (matches.size() >= number) {
+                break;
+            }
+            if (recipe.lowerTitle().startsWith(lower) || recipe.lowerTitle().contains(" " + lower)) {
+                matches.add(recipe);
+            }
+        }
+        return matches;
+    }
+
+    private static boolean matchesFilter(List<String> values, String filter) {
+        if (filter == null || filter.isBlank()) {
+            return true;
+        }
+        for (String group : filter.toLowerCase(Locale.ROOT).split(",")) {
+            boolean any = false;
+            for (String option : group.split("\\|")) {
+                any |= values.stream().anyMatch(value -> value.equalsIgnoreCase(option.trim()));
+            }
+            if (!any) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Recipe recipe(long id, Random random, JsonMapper jsonMapper) {
+        String title = capitalize(pick(random, ADJECTIVES)) + " " + capitalize(pick(random, MAINS)) + " "
+                + capitalize(pick(random, DISHES));
+        List<String> cuisines = List.of(pick(random, CUISINES));
+        List<String> diets = random.nextInt(3) == 0 ? List.of(pick(random, DIETS)) : List.of();
+        List<String> dishTypes = List.of(pick(random, TYPES));
+        String image = "https://img.spoonacular.com/recipes/" + id + "-556x370.jpg";
+
+        List<Map<String, Object>> ingredients = new ArrayList<>();
+        List<Map<String, Object>> ingredientNutrition = new ArrayList<>();
+        int ingredientCount = 6 + random.nextInt(9);
+        for (int i = 0; i < ingredientCount; i++) {
+            String name = pick(random, PANTRY);
+            double amount = Math.round(random.nextDouble() * 400) / 4.0;
+            Map<String, Object> ingredient = new LinkedHashMap<>();
+            ingredient.put("id", 1000 + PANTRY.indexOf(name));
+            ingredient.put("aisle", "Pantry");
+            ingredient.put("image", name.replace(' ', '-') + ".jpg");
+            ingredient.put("consistency", "SOLID");
+            ingredient.put("name", name);
+            ingredient.put("original", amount + " g " + name);
+            ingredient.put("originalName", name);
+            ingredient.put("amount", amount);
+            ingredient.put("unit", "g");
+            ingredients.add(ingredient);
+
+            Map<String, Object> nutrition = new LinkedHashMap<>();
+            nutrition.put("id", 1000 + PANTRY.indexOf(name));
+            nutrition.put("name", name);
+            nutrition.put("amount", amount);
+            nutrition.put("unit", "g");
+            nutrition.put("nutrients", nutrients(random, NUTRIENTS.size()));
+            ingredientNutrition.add(nutrition);
+        }
+
+        Map<String, Object> nutrition = new LinkedHashMap<>();
+        nutrition.put("nutrients", nutrients(random, NUTRIENTS.size()));
+        nutrition.put("properties", List.of(Map.of("name", "Glycemic Index", "amount", 42.5, "unit", "")));
+        nutrition.put("ingredients", ingredientNutrition);
+        nutrition.put("caloricBreakdown", Map.of("percentProtein", 18.2, "percentFat", 37.9, "percentCarbs", 43.9));
+        nutrition.put("weightPerServing", Map.of("amount", 200 + random.nextInt(300), "unit", "g"));
+
+        Map<String, Object> detail = new LinkedHashMap<>();
+        detail.put("id", id);
+        detail.put("title", title);
+        detail.put("image", image);
+        detail.put("imageType", "jpg");
+        detail.put("servings", 2 + random.nextInt(5));
+        detail.put("readyInMinutes", 10 + random.nextInt(110));
+        detail.put("sourceUrl", "https://example.com/recipes/" + id);
+        detail.put("vegetarian", diets.contains("vegetarian") || diets.contains("vegan"));
+        detail.put("vegan", diets.contains("vegan"));
+        detail.put("glutenFree", diets.contains("gluten free"));
+        detail.put("dairyFree", diets.contains("dairy free") || diets.contains("vegan"));
+        detail.put("veryHealthy", random.nextInt(5) == 0);
+        detail.put("cheap", random.nextInt(6) == 0);
+        detail.put("veryPopular", random.nextInt(8) == 0);
+        detail.put("healthScore", random.nextInt(100));
+        detail.put("pricePerServing", Math.round(random.nextDouble() * 50_000) / 100.0);
+        detail.put("aggregateLikes", random.nextInt(5_000));
+        detail.put("summary", ("<b>" + title + "</b> is a " + dishTypes.get(0) + " from the "
+                + cuisines.get(0) + " kitchen. ").repeat(4));
+        detail.put("instructions", "<ol><li>Prepare the ingredients.</li><li>Cook until done.</li>"
+                + "<li>Season to taste and serve.</li></ol>");
+        detail.put("cuisines", cuisines);
+        detail.put("dishTypes", dishTypes);
+        detail.put("diets", diets);
+        detail.put("extendedIngredients", ingredients);
+        detail.put("nutrition", nutrition);
+
+        Map<String, Object> searchResult = new LinkedHashMap<>();
+        searchResult.put("id", id);
+        searchResult.put("title", title);
+        searchResult.put("image", "https://img.spoonacular.com/recipes/" + id + "-312x231.jpg");
+        searchResult.put("imageType", "jpg");
+        searchResult.put("nutrition", Map.of("nutrients", ((List<?>) nutrition.get("nutrients")).subList(0, 9)));
+
+        return new Recipe(id, title, title.toLowerCase(Locale.ROOT), cuisines, diets, dishTypes,
+                jsonMapper.writeValueAsBytes(detail), jsonMapper.writeValueAsBytes(searchResult),
+                jsonMapper.writeValueAsString(Map.of("id", id, "title", title, "imageType", "jpg"))
+                        .getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<Map<String, Object>> nutrients(Random random, int count) {
+        List<Map<String, Object>> nutrients = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> nutrient = new LinkedHashMap<>();
+            nutrient.put("name", NUTRIENTS.get(i));
+            nutrient.put("amount", Math.round(random.nextDouble() * 40_000) / 100.0);
+            nutrient.put("unit", i == 0 ? "kcal" : "g");
+            nutrient.put("percentOfDailyNeeds", Math.round(random.nextDouble() * 6_000) / 100.0);
+            nutrients.add(nutrient);
+        }
+        return nutrients;
+    }
+
+    private static String pick(Random random, List<String> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    /**
+     * One recipe with its pre-serialized detail, search-result and autocomplete JSON.
+     */
+    public record Recipe(long id, String title, String lowerTitle, List<String> cuisines, List<String> diets,
+            List<String> dishTypes, byte[] detailJson, byte[] searchResultJson, byte[] autocompleteJson) {
+    }
+}
@@ -0,0 +1,334 @@
+package com.assignment.rex_assignment_loadtest.stub;
+
+import com.assignment.rex_assignment_loadtest.Options;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Embedded stand-in for the Spoonacular endpoints the server calls, answering from a
+ * {@link RecipeCorpus}:
+ * <ul>
+ *     <li>{@code GET /recipes/complexSearch}</li>
+ *     <li>{@code GET /recipes/{id}/information}</li>
+ *     <li>{@code GET /recipes/informationBulk}</li>
+ *     <li>{@code GET /recipes/autocomplete}</li>
+ * </ul>
+ * Every request is first checked against an optional token bucket ({@code 429} with
+ * {@code Retry-After} when empty), then delayed by the endpoint's {@link LatencyModel},
+ * then failed with a {@code 500} at the configured error rate. Responses report their
+ * point cost in the same quota headers Spoonacular sends. The API key is ignored.
+ */
+public class SpoonacularStub {
+
+    public enum Endpoint {
+        SEARCH("search"), INFORMATION("information"), BULK("bulk"), AUTOCOMPLETE("autocomplete");
+
+        private final String option;
+
+        Endpoint(String option) {
+            this.option = option;
+        }
+    }
+
+    private static final String INFORMATION_PREFIX = "/recipes/";
+    private static final String INFORMATION_SUFFIX = "/information";
+
+    private final RecipeCorpus corpus;
+    private final Map<Endpoint, LatencyModel> latencies;
+    private final double errorRate;
+    private final TokenBucket throttle;
+    private final Map<Endpoint, LongAdder> requests = new EnumMap<>(Endpoint.class);
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final DoubleAdder pointsUsed = new DoubleAdder();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * @param throttleRps requests per second allowed before answering 429; 0 disables throttling
+     */
+    public SpoonacularStub(RecipeCorpus corpus, Map<Endpoint, LatencyModel> latencies, double errorRate,
+            double throttleRps, int throttleBurst) {
+        this.corpus = corpus;
+        this.latencies = new EnumMap<>(Endpoint.class);
+        this.latencies.putAll(latencies);
+        this.errorRate = errorRate;
+        this.throttle = throttleRps > 0 ? new TokenBucket(throttleRps, Math.max(1, throttleBurst)) : null;
+        for (Endpoint endpoint : Endpoint.values()) {
+            this.latencies.putIfAbsent(endpoint, LatencyModel.NONE);
+            requests.put(endpoint, new LongAdder());
+        }
+    }
+
+    /**
+     * Options: {@code --port=4100 --recipes=1000 --seed=42 --latency=lognormal:60ms-400ms
+     * --latency.<search|information|bulk|autocomplete>=... --error-rate=0.0
+     * --throttle-rps=0 --throttle-burst=<rps>}.
+     */
+    public static void main(Options options) throws Exception {
+        int recipes = options.integer("recipes", 1_000);
+        long start = System.nanoTime();
+        RecipeCorpus corpus = RecipeCorpus.generate(recipes, options.integer("seed", 42));
+        System.out.printf("Generated %d recipes in %d ms%n", recipes,
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+
+        LatencyModel defaultLatency = LatencyModel.parse(options.string("latency", "lognormal:60ms-400ms"));
+        Map<Endpoint, LatencyModel> latencies = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            String spec = options.string("latency." + endpoint.option, null);
+            latencies.put(endpoint, spec != null ? LatencyModel.parse(spec) : defaultLatency);
+        }
+        double throttleRps = options.decimal("throttle-rps", 0);
+        SpoonacularStub stub = new SpoonacularStub(corpus, latencies, options.decimal("error-rate", 0),
+                throttleRps, options.integer("throttle-burst", (int) Math.ceil(throttleRps)));
+        int port = stub.start(options.integer("port", 4100));
+        System.out.printf("Spoonacular stub listening on http://localhost:%d%n", port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            stub.stop();
+            System.out.println(stub.summary());
+        }));
+        while (true) {
+            Thread.sleep(10_000);
+            System.out.println(stub.summary());
+        }
+    }
+
+    /**
+     * Start listening; {@code port} 0 picks a free one.
+     *
+     * @return the bound port
+     */
+    public int start(int port) throws IOException {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress(port), 1_024);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        return server.getAddress().getPort();
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    public String summary() {
+        Map<Endpoint, Long> counts = new EnumMap<>(Endpoint.class);
+        requests.forEach((endpoint, count) -> counts.put(endpoint, count.sum()));
+        return String.format("Stub requests %s, throttled %d, failed %d, points %.1f", counts, throttled.sum(),
+                failed.sum(), pointsUsed.sum());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+            Endpoint endpoint = route(path);
+            if (endpoint == null || !"GET".equals(exchange.getRequestMethod())) {
+                send(exchange, 404, null, 0, "{\"status\":\"failure\",\"code\":404}".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            requests.get(endpoint).increment();
+
+            if (throttle != null && !throttle.tryAcquire()) {
+                throttled.increment();
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                send(exchange, 429, null, 0, "{\"status\":\"failure\",\"code\":429}".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            sleep(latencies.get(endpoint).sampleNanos());
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                failed.increment();
+                send(exchange, 500, null, 0, "{\"status\":\"failure\",\"code\":500}".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+
+            switch (endpoint) {
+                case SEARCH -> search(exchange, query);
+                case INFORMATION -> information(exchange, path);
+                case BULK -> bulk(exchange, query);
+                case AUTOCOMPLETE -> autocomplete(exchange, query);
+            }
+        }
+    }
+
+    private static Endpoint route(String path) {
+        return switch (path) {
+            case "/recipes/complexSearch" -> Endpoint.SEARCH;
+            case "/recipes/informationBulk" -> Endpoint.BULK;
+            case "/recipes/autocomplete" -> Endpoint.AUTOCOMPLETE;
+            default -> path.startsWith(INFORMATION_PREFIX) && path.endsWith(INFORMATION_SUFFIX)
+                    ? Endpoint.INFORMATION : null;
+        };
+    }
+
+    private void search(HttpExchange exchange, Map<String, String> query) throws IOException {
+        List<RecipeCorpus.Recipe> matches = corpus.search(query.get("query"), query.get("diet"),
+                query.get("cuisine"), query.get("type"));
+        int offset = Math.max(0, parseInt(query.get("offset"), 0));
+        int number = Math.clamp(parseInt(query.get("number"), 10), 1, 100);
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes("{\"results\":[".getBytes(StandardCharsets.UTF_8));
+        int end = Math.min(matches.size(), offset + number);
+        for (int i = offset; i < end; i++) {
+            if (i > offset) {
+                body.write(',');
+            }
+            body.writeBytes(matches.get(i).searchResultJson());
+        }
+        body.writeBytes(("],\"offset\":" + offset + ",\"number\":" + number + ",\"totalResults\":"
+                + matches.size() + "}").getBytes(StandardCharsets.UTF_8));
+        // One point, plus 0.01 per result and another 0.01 per result for the nutrition
+        send(exchange, 200, "application/json", 1 + 0.02 * number, body.toByteArray());
+    }
+
+    private void information(HttpExchange exchange, String path) throws IOException {
+        String id = path.substring(INFORMATION_PREFIX.length(), path.length() - INFORMATION_SUFFIX.length());
+        RecipeCorpus.Recipe recipe = corpus.get(parseLong(id));
+        if (recipe == null) {
+            send(exchange, 404, null, 1, "{\"status\":\"failure\",\"code\":404}".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        send(exchange, 200, "application/json", 1, recipe.detailJson());
+    }
+
+    private void bulk(HttpExchange exchange, Map<String, String> query) throws IOException {
+        List<byte[]> found = new ArrayList<>();
+        String ids = query.getOrDefault("ids", "");
+        for (String id : ids.split(",")) {
+            RecipeCorpus.Recipe recipe = corpus.get(parseLong(id.trim()));
+            if (recipe != null) {
+                found.add(recipe.detailJson());
+            }
+        }
+        send(exchange, 200, "application/json", found.isEmpty() ? 1 : 1 + 0.5 * (found.size() - 1), array(found));
+    }
+
+    private void autocomplete(HttpExchange exchange, Map<String, String> query) throws IOException {
+        int number = Math.clamp(parseInt(query.get("number"), 10), 1, 25);
+        List<byte[]> found = corpus.autocomplete(query.get("query"), number).stream()
+                .map(RecipeCorpus.Recipe::autocompleteJson)
+                .toList();
+        send(exchange, 200, "application/json", 0.1 * number, array(found));
+    }
+
+    private void send(HttpExchange exchange, int status, String contentType, double points, byte[] body)
+            throws IOException {
+        if (contentType != null) {
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+        }
+        if (points > 0) {
+            pointsUsed.add(points);
+            exchange.getResponseHeaders().set("X-API-Quota-Request", String.valueOf(points));
+            exchange.getResponseHeaders().set("X-API-Quota-Used", String.valueOf(pointsUsed.sum()));
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static byte[] array(List<byte[]> elements) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write('[');
+        for (int i = 0; i < elements.size(); i++) {
+            if (i > 0) {
+                body.write(',');
+            }
+            body.writeBytes(elements.get(i));
+        }
+        body.write(']');
+        return body.toByteArray();
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        Map<String, String> values = new HashMap<>();
+        if (rawQuery == null) {
+            return values;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                values.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return values;
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        try {
+            return value != null ? Integer.parseInt(value) : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static long parseLong(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static void sleep(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(Duration.ofNanos(nanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Refills {@code rate} tokens per second up to {@code burst}.
+     */
+    private static final class TokenBucket {
+
+        private final double rate;
+        private final double burst;
+        private double tokens;
+        private long refilledAt = System.nanoTime();
+
+        private TokenBucket(double rate, int burst) {
+            this.rate = rate;
+            this.burst = burst;
+            this.tokens = burst;
+        }
+
+        synchronized boolean tryAcquire() {
+            long now = System.nanoTime();
+            tokens = Math.min(burst, tokens + (now - refilledAt) * rate / 1e9);
+            refilledAt = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return true;
+            }
+            return false;
+        }
+    }
+}
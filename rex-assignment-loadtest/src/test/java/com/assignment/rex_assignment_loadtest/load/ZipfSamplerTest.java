@@ -0,0 +1,45 @@
+package com.assignment.rex_assignment_loadtest.load;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ZipfSampler Tests")
+class ZipfSamplerTest {
+
+    @Test
+    @DisplayName("should favour low ranks roughly in proportion to 1/rank")
+    void shouldFavourLowRanks() {
+        // Arrange
+        ZipfSampler sampler = new ZipfSampler(1_000, 1.0);
+        int[] counts = new int[1_000];
+
+        // Act
+        for (int i = 0; i < 200_000; i++) {
+            counts[sampler.sample()]++;
+        }
+
+        // Assert - rank 0 is drawn about twice as often as rank 1, and far more than the tail
+        assertThat((double) counts[0] / counts[1]).isBetween(1.8, 2.2);
+        assertThat(counts[0]).isGreaterThan(50 * counts[999]);
+    }
+
+    @Test
+    @DisplayName("should stay within range and be uniform with exponent zero")
+    void shouldBeUniformWithExponentZero() {
+        // Arrange
+        ZipfSampler sampler = new ZipfSampler(4, 0);
+        int[] counts = new int[4];
+
+        // Act
+        for (int i = 0; i < 40_000; i++) {
+            counts[sampler.sample()]++;
+        }
+
+        // Assert
+        assertThat(Arrays.stream(counts).boxed()).allSatisfy(count -> assertThat(count).isBetween(9_000, 11_000));
+    }
+}
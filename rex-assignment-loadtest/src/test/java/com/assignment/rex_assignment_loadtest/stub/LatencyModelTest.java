@@ -0,0 +1,45 @@
+package com.assignment.rex_assignment_loadtest.stub;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("LatencyModel Tests")
+class LatencyModelTest {
+
+    @Test
+    @DisplayName("should hit the configured median and p99 of a log-normal spec")
+    void shouldMatchLogNormalPercentiles() {
+        // Arrange
+        LatencyModel model = LatencyModel.parse("lognormal:50ms-500ms");
+        long[] samples = new long[100_000];
+
+        // Act
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = model.sampleNanos();
+        }
+        Arrays.sort(samples);
+
+        // Assert
+        assertThat(samples[samples.length / 2] / 1e6).isBetween(47.0, 53.0);
+        assertThat(samples[(int) (samples.length * 0.99)] / 1e6).isBetween(450.0, 550.0);
+    }
+
+    @Test
+    @DisplayName("should parse fixed, uniform and disabled specs")
+    void shouldParseSimpleSpecs() {
+        // Act
+        LatencyModel fixed = LatencyModel.parse("fixed:80ms");
+        LatencyModel uniform = LatencyModel.parse("uniform:1s-2s");
+
+        // Assert
+        assertThat(fixed.sampleNanos()).isEqualTo(80_000_000L);
+        assertThat(uniform.sampleNanos()).isBetween(1_000_000_000L, 2_000_000_000L);
+        assertThat(LatencyModel.parse("none")).isSameAs(LatencyModel.NONE);
+        assertThatThrownBy(() -> LatencyModel.parse("uniform:2s-1s")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
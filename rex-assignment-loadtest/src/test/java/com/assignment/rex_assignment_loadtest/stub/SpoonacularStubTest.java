@@ -0,0 +1,98 @@
+package com.assignment.rex_assignment_loadtest.stub;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SpoonacularStub Tests")
+class SpoonacularStubTest {
+
+    private static final RecipeCorpus CORPUS = RecipeCorpus.generate(200, 42);
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private SpoonacularStub stub;
+
+    @AfterEach
+    void tearDown() {
+        stub.stop();
+    }
+
+    @Test
+    @DisplayName("should serve recipe information, bulk and search results from the corpus")
+    void shouldServeCorpus() throws Exception {
+        // Arrange
+        int port = start(0);
+        long id = RecipeCorpus.idOf(7);
+        String word = CORPUS.get(id).title().split(" ")[2].toLowerCase(Locale.ROOT);
+
+        // Act
+        HttpResponse<String> detail = get(port, "/recipes/" + id + "/information?includeNutrition=true");
+        HttpResponse<String> bulk = get(port, "/recipes/informationBulk?ids=" + id + "," + RecipeCorpus.idOf(8)
+                + ",1&includeNutrition=true");
+        HttpResponse<String> search = get(port, "/recipes/complexSearch?query=" + word
+                + "&offset=0&number=5&addRecipeNutrition=true");
+        HttpResponse<String> missing = get(port, "/recipes/1/information");
+
+        // Assert
+        assertThat(detail.statusCode()).isEqualTo(200);
+        assertThat(jsonMapper.readTree(detail.body()).get("nutrition").get("ingredients").size()).isPositive();
+        assertThat(detail.headers().firstValue("X-API-Quota-Used")).isPresent();
+        assertThat(jsonMapper.readTree(bulk.body()).size()).isEqualTo(2);
+        JsonNode results = jsonMapper.readTree(search.body());
+        assertThat(results.get("results").size()).isBetween(1, 5);
+        assertThat(results.get("totalResults").asInt()).isGreaterThanOrEqualTo(results.get("results").size());
+        assertThat(missing.statusCode()).isEqualTo(404);
+    }
+
+    @Test
+    @DisplayName("should answer 429 with Retry-After once the throttle's burst is spent")
+    void shouldThrottle() throws Exception {
+        // Arrange
+        stub = new SpoonacularStub(CORPUS, Map.of(), 0, 0.1, 2);
+        int port = stub.start(0);
+
+        // Act
+        int first = get(port, "/recipes/autocomplete?query=cr&number=5").statusCode();
+        int second = get(port, "/recipes/autocomplete?query=cr&number=5").statusCode();
+        HttpResponse<String> third = get(port, "/recipes/autocomplete?query=cr&number=5");
+
+        // Assert
+        assertThat(first).isEqualTo(200);
+        assertThat(second).isEqualTo(200);
+        assertThat(third.statusCode()).isEqualTo(429);
+        assertThat(third.headers().firstValue("Retry-After")).hasValue("1");
+    }
+
+    @Test
+    @DisplayName("should fail every request with a 500 at error rate 1")
+    void shouldInjectErrors() throws Exception {
+        // Arrange
+        stub = new SpoonacularStub(CORPUS, Map.of(), 1.0, 0, 0);
+        int port = stub.start(0);
+
+        // Act & Assert
+        assertThat(get(port, "/recipes/" + RecipeCorpus.idOf(0) + "/information").statusCode()).isEqualTo(500);
+    }
+
+    private int start(int port) throws Exception {
+        stub = new SpoonacularStub(CORPUS, Map.of(), 0, 0, 0);
+        return stub.start(port);
+    }
+
+    private HttpResponse<String> get(int port, String path) throws Exception {
+        return httpClient.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}
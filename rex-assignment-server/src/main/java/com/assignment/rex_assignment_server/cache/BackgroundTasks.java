@@ -0,0 +1,125 @@
+package com.assignment.rex_assignment_server.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.event.Level;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Best-effort background work, keyed by what it works on.
+ * <p>
+ * At most one task per key is queued or running at a time; further tasks for the same key
+ * while one is pending are dropped, and so is a task that finds the queue full. Outcomes
+ * are counted under one metric tagged by {@code result}.
+ */
+@Slf4j
+final class BackgroundTasks implements MeterBinder {
+
+    private final String name;
+    private final Executor executor;
+    private final String metric;
+    private final String description;
+    private final Level failureLevel;
+    private final Set<Object> pending = ConcurrentHashMap.newKeySet();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * @param name         what a task is, for log messages
+     * @param failureLevel level to log failed tasks at
+     */
+    BackgroundTasks(String name, Executor executor, String metric, String description, Level failureLevel) {
+        this.name = name;
+        this.executor = executor;
+        this.metric = metric;
+        this.description = description;
+        this.failureLevel = failureLevel;
+    }
+
+    /**
+     * A pool of {@code threads} daemon threads, idle ones timing out, in front of a queue
+     * holding at most {@code queueCapacity} tasks.
+     */
+    static ThreadPoolExecutor boundedPool(String threadPrefix, int threads, int queueCapacity) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name(threadPrefix, 0).daemon().factory());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Run {@code task} in the background unless a task for {@code key} is already pending
+     * or the queue is full. Anything the task throws is logged and counted as a failure.
+     *
+     * @return whether the task was scheduled
+     */
+    boolean submit(Object key, Runnable task) {
+        if (!pending.add(key)) {
+            return false;
+        }
+        try {
+            executor.execute(() -> run(key, task));
+            return true;
+        } catch (RejectedExecutionException e) {
+            pending.remove(key);
+            dropped.increment();
+            log.debug("Background {} queue full, dropping {} of {}", name, name, key);
+            return false;
+        }
+    }
+
+    /**
+     * Whether a task for {@code key} is queued or running.
+     */
+    boolean isPending(Object key) {
+        return pending.contains(key);
+    }
+
+    void shutdown() {
+        if (executor instanceof ExecutorService service) {
+            service.shutdownNow();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindCounter(registry, succeeded, "success");
+        bindCounter(registry, failed, "failure");
+        bindCounter(registry, dropped, "dropped");
+    }
+
+    /**
+     * Register another outcome the owner counts itself, under the same metric.
+     */
+    void bindCounter(MeterRegistry registry, LongAdder counter, String result) {
+        FunctionCounter.builder(metric, counter, LongAdder::sum)
+                .description(description)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private void run(Object key, Runnable task) {
+        try {
+            task.run();
+            succeeded.increment();
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.atLevel(failureLevel).log("Background {} failed for {}: {}", name, key, e.getMessage());
+        } finally {
+            pending.remove(key);
+        }
+    }
+}
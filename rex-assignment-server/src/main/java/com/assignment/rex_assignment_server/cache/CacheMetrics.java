@@ -0,0 +1,63 @@
+package com.assignment.rex_assignment_server.cache;
+
+import com.assignment.rex_assignment_server.dto.RecipeDetailResponse;
+import com.assignment.rex_assignment_server.dto.RecipeSearchResponse;
+import com.assignment.rex_assignment_server.service.SearchKey;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the recipe caches' Caffeine statistics ({@code cache.size}, {@code cache.gets}
+ * by hit/miss, {@code cache.evictions}, ...) tagged {@code cache=recipe.detail},
+ * {@code cache=recipe.search}, {@code cache=recipe.view} and {@code cache=recipe.page}, plus the hit ratio and
+ * estimated heap weight of each.
+ */
+@Component
+public class CacheMetrics implements MeterBinder {
+
+    static final String DETAIL = "recipe.detail";
+    static final String SEARCH = "recipe.search";
+    static final String VIEW = "recipe.view";
+    static final String PAGE = "recipe.page";
+
+    private final Cache<Long, CachedResponse<RecipeDetailResponse>> recipeDetailCache;
+    private final Cache<SearchKey, CachedResponse<RecipeSearchResponse>> recipeSearchCache;
+    private final Cache<RecipeViews.Key, CachedResponse<?>> recipeViewCache;
+    private final Cache<SearchPages.Key, SearchPages.Page> searchPageCache;
+
+    public CacheMetrics(Cache<Long, CachedResponse<RecipeDetailResponse>> recipeDetailCache,
+            Cache<SearchKey, CachedResponse<RecipeSearchResponse>> recipeSearchCache,
+            Cache<RecipeViews.Key, CachedResponse<?>> recipeViewCache,
+            Cache<SearchPages.Key, SearchPages.Page> searchPageCache) {
+        this.recipeDetailCache = recipeDetailCache;
+        this.recipeSearchCache = recipeSearchCache;
+        this.recipeViewCache = recipeViewCache;
+        this.searchPageCache = searchPageCache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bind(registry, recipeDetailCache, DETAIL);
+        bind(registry, recipeSearchCache, SEARCH);
+        bind(registry, recipeViewCache, VIEW);
+        bind(registry, searchPageCache, PAGE);
+    }
+
+    private static void bind(MeterRegistry registry, Cache<?, ?> cache, String name) {
+        CaffeineCacheMetrics.monitor(registry, cache, name);
+        Gauge.builder("recipe.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Share of lookups served from the cache since startup")
+                .tag("cache", name)
+                .register(registry);
+        Gauge.builder("recipe.cache.weight", cache,
+                        c -> c.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L))
+                .description("Estimated heap bytes held by the cache")
+                .baseUnit("bytes")
+                .tag("cache", name)
+                .register(registry);
+    }
+}
@@ -0,0 +1,93 @@
+package com.assignment.rex_assignment_server.cache;
+
+import com.assignment.rex_assignment_server.upstream.UpstreamGuard;
+import com.assignment.rex_assignment_server.upstream.UpstreamPriority;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.event.Level;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Warms caches ahead of demand: the next search page and the top results' details.
+ * <p>
+ * Prefetches are strictly optional work. Their upstream calls run at
+ * {@link UpstreamPriority#PREFETCH}, so they only spend the bottom share of the daily
+ * quota (unless a user request joins one and raises it to its own priority), and a
+ * prefetch is skipped outright while upstream has no headroom (breaker not closed, or
+ * callers already queued for outbound slots). Like refreshes, at most one prefetch per
+ * key is pending and work is dropped when the queue is full.
+ */
+@Component
+@Slf4j
+public class CachePrefetcher implements MeterBinder {
+
+    private static final int QUEUE_CAPACITY = 64;
+
+    private final BackgroundTasks tasks;
+    private final UpstreamGuard upstreamGuard;
+    private final boolean enabled;
+    private final int detailCount;
+    private final LongAdder skipped = new LongAdder();
+
+    @Autowired
+    public CachePrefetcher(UpstreamGuard upstreamGuard,
+            @Value("${recipe.prefetch.enabled:true}") boolean enabled,
+            @Value("${recipe.prefetch.threads:2}") int threads,
+            @Value("${recipe.prefetch.details:3}") int detailCount) {
+        this(BackgroundTasks.boundedPool("cache-prefetch-", threads, QUEUE_CAPACITY), upstreamGuard, enabled,
+                detailCount);
+        log.info("Cache prefetch - enabled: {}, threads: {}, details per page: {}", enabled, threads, detailCount);
+    }
+
+    public CachePrefetcher(Executor executor, UpstreamGuard upstreamGuard, boolean enabled, int detailCount) {
+        // Failures are usually throttling at prefetch priority, which is expected
+        this.tasks = new BackgroundTasks("prefetch", executor, "recipe.cache.prefetches",
+                "Background prefetches of likely next search pages and recipe details", Level.DEBUG);
+        this.upstreamGuard = upstreamGuard;
+        this.enabled = enabled;
+        this.detailCount = detailCount;
+    }
+
+    /**
+     * How many of a search page's first results to prefetch details for.
+     */
+    public int detailCount() {
+        return enabled ? detailCount : 0;
+    }
+
+    /**
+     * Run {@code task} in the background unless prefetching is disabled, upstream is busy,
+     * or a prefetch for {@code key} is already pending.
+     *
+     * @return whether the prefetch was scheduled
+     */
+    public boolean prefetch(Object key, Runnable task) {
+        if (!enabled) {
+            return false;
+        }
+        if (!upstreamGuard.hasHeadroom()) {
+            skipped.increment();
+            log.debug("Upstream busy, skipping prefetch of {}", key);
+            return false;
+        }
+        return tasks.submit(key, task);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        tasks.shutdown();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        tasks.bindTo(registry);
+        tasks.bindCounter(registry, skipped, "skipped");
+    }
+}
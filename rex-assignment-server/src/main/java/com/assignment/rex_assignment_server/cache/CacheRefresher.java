@@ -0,0 +1,68 @@
+package com.assignment.rex_assignment_server.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.event.Level;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Runs background refreshes of stale cache entries.
+ * <p>
+ * At most one refresh per key is queued or running at a time; further requests for the
+ * same key while one is pending are dropped. Refreshes are best-effort: when the queue is
+ * full the request is dropped too and the stale entry keeps being served.
+ */
+@Component
+@Slf4j
+public class CacheRefresher implements MeterBinder {
+
+    private static final int QUEUE_CAPACITY = 256;
+
+    private final BackgroundTasks tasks;
+
+    @Autowired
+    public CacheRefresher(@Value("${recipe.cache.refresh.threads:4}") int threads) {
+        this(BackgroundTasks.boundedPool("cache-refresh-", threads, QUEUE_CAPACITY));
+        log.info("Cache refresh - threads: {}", threads);
+    }
+
+    public CacheRefresher(Executor executor) {
+        this.tasks = new BackgroundTasks("refresh", executor, "recipe.cache.refreshes",
+                "Background refreshes of stale cache entries", Level.WARN);
+    }
+
+    /**
+     * Refresh {@code key} in the background unless a refresh for it is already pending.
+     * <p>
+     * The task is expected to handle its own upstream errors; anything it throws is
+     * logged and counted as a failed refresh.
+     *
+     * @return whether a refresh was scheduled
+     */
+    public boolean refresh(Object key, Runnable task) {
+        return tasks.submit(key, task);
+    }
+
+    /**
+     * Whether a refresh for {@code key} is queued or running.
+     */
+    public boolean isPending(Object key) {
+        return tasks.isPending(key);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        tasks.shutdown();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        tasks.bindTo(registry);
+    }
+}
@@ -0,0 +1,49 @@
+package com.assignment.rex_assignment_server.cache;
+
+/**
+ * How a response was produced, reported to clients in the {@code X-Cache} header.
+ * Stale responses also carry an RFC 7234 {@code Warning} header.
+ */
+public enum CacheStatus {
+
+    /** Served from cache within its soft TTL. */
+    HIT("HIT", null),
+
+    /** Fetched from upstream for this request. */
+    MISS("MISS", null),
+
+    /** Past its soft TTL; served while a background refresh runs. */
+    STALE("STALE", "110 - \"Response is Stale\""),
+
+    /** Past its soft TTL and the last refresh failed; served instead of an upstream error. */
+    STALE_ON_ERROR("STALE", "111 - \"Revalidation Failed\""),
+
+    /** Answered from the local recipe index without calling upstream. */
+    LOCAL("LOCAL", null);
+
+    private final String header;
+    private final String warning;
+
+    CacheStatus(String header, String warning) {
+        this.header = header;
+        this.warning = warning;
+    }
+
+    /**
+     * Value for the {@code X-Cache} response header.
+     */
+    public String header() {
+        return header;
+    }
+
+    /**
+     * Value for the {@code Warning} response header, or {@code null} for fresh responses.
+     */
+    public String warning() {
+        return warning;
+    }
+
+    public boolean isStale() {
+        return warning != null;
+    }
+}
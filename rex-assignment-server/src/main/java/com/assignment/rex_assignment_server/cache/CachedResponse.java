@@ -0,0 +1,163 @@
+package com.assignment.rex_assignment_server.cache;
+
+import com.assignment.rex_assignment_server.jfr.ResponseSerializationEvent;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * A cached response: the DTO together with its final UTF-8 JSON encoding, so a cache hit
+ * can be written to the client without going through object mapping again.
+ * <p>
+ * Instances are immutable and shared between requests; never modify the returned arrays.
+ * The only state added later is the gzip variant of the JSON, computed once on first use
+ * and shared by every status variant of the entry.
+ */
+public final class CachedResponse<T> {
+
+    private final T value;
+    private final byte[] json;
+    private final long fetchedAt;
+    private final CacheStatus status;
+    private final String etag;
+    private final Compressed compressed;
+
+    private CachedResponse(T value, byte[] json, long fetchedAt, CacheStatus status, String etag,
+            Compressed compressed) {
+        this.value = value;
+        this.json = json;
+        this.fetchedAt = fetchedAt;
+        this.status = status;
+        this.etag = etag;
+        this.compressed = compressed;
+    }
+
+    private CachedResponse(T value, byte[] json, long fetchedAt) {
+        this(value, json, fetchedAt, CacheStatus.HIT, json != null ? etag(json) : null, new Compressed());
+    }
+
+    /**
+     * Wrap a value whose JSON encoding is already known, e.g. read back from disk.
+     */
+    public static <T> CachedResponse<T> of(T value, byte[] json, long fetchedAt) {
+        return new CachedResponse<>(value, json, fetchedAt);
+    }
+
+    /**
+     * Wrap a value that is never written out as-is, e.g. a search window served in slices.
+     * {@link #getJson()} returns {@code null} for such entries.
+     */
+    public static <T> CachedResponse<T> of(T value, long fetchedAt) {
+        return new CachedResponse<>(value, null, fetchedAt);
+    }
+
+    /**
+     * Serialize {@code value} once and keep both forms.
+     */
+    public static <T> CachedResponse<T> serialize(T value, JsonMapper jsonMapper, long fetchedAt) {
+        ResponseSerializationEvent event = new ResponseSerializationEvent();
+        event.begin();
+        byte[] json = jsonMapper.writeValueAsBytes(value);
+        event.complete(value, ResponseSerializationEvent.JSON, json.length);
+        return new CachedResponse<>(value, json, fetchedAt);
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    public byte[] getJson() {
+        return json;
+    }
+
+    /**
+     * When the value was fetched from upstream, in epoch milliseconds.
+     */
+    public long getFetchedAt() {
+        return fetchedAt;
+    }
+
+    /**
+     * Strong entity tag of the JSON bytes, quoted as it goes on the wire. Computed once
+     * when the entry is created and shared by its status variants; {@code null} when the
+     * entry holds no JSON.
+     */
+    public String getETag() {
+        return etag;
+    }
+
+    /**
+     * The gzip encoding of {@link #getJson()}, compressing it with {@code gzip} the first
+     * time it is asked for. Later calls, including through {@link #withStatus}, return the
+     * stored bytes.
+     */
+    public byte[] getGzip(UnaryOperator<byte[]> gzip) {
+        byte[] bytes = compressed.gzip;
+        if (bytes == null) {
+            // A lock rather than synchronized, so a virtual thread waiting for another
+            // request's compression doesn't pin its carrier
+            compressed.lock.lock();
+            try {
+                bytes = compressed.gzip;
+                if (bytes == null) {
+                    bytes = gzip.apply(json);
+                    compressed.gzip = bytes;
+                }
+            } finally {
+                compressed.lock.unlock();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * How this response was produced. Entries sitting in a cache are {@link CacheStatus#HIT},
+     * or {@link CacheStatus#STALE_ON_ERROR} once a refresh of them has failed.
+     */
+    public CacheStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * The same entry reported with a different status. Value and bytes are shared.
+     */
+    public CachedResponse<T> withStatus(CacheStatus status) {
+        return this.status == status ? this : new CachedResponse<>(value, json, fetchedAt, status, etag,
+                compressed);
+    }
+
+    /**
+     * Estimated heap bytes held by this entry, for weight-bounded caches. Caches weigh an
+     * entry when it is inserted, before any gzip variant exists, so an eighth of the JSON
+     * size is reserved for it (recipe JSON compresses about 8-10x).
+     */
+    public long weight() {
+        long json = ObjectSizeEstimator.estimate(this.json);
+        return ObjectSizeEstimator.estimate(value) + json + json / 8;
+    }
+
+    /**
+     * First 128 bits of the SHA-256 of the bytes, base64url-encoded.
+     */
+    private static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16)) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Encoded variants of the JSON, filled in lazily.
+     */
+    private static final class Compressed {
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile byte[] gzip;
+    }
+}
@@ -0,0 +1,88 @@
+package com.assignment.rex_assignment_server.cache;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Soft and hard expiry for cached responses, measured from when the value was fetched.
+ * <p>
+ * Within the soft TTL an entry is fresh. Between the soft TTL and the hard TTL it may
+ * still be served, marked stale, while a background refresh replaces it. After the hard
+ * TTL it is dropped and callers go to upstream.
+ */
+public final class Freshness {
+
+    private final long softTtlMillis;
+    private final long hardTtlMillis;
+
+    private Freshness(Duration softTtl, Duration hardTtl) {
+        this.softTtlMillis = softTtl.toMillis();
+        this.hardTtlMillis = hardTtl.toMillis();
+    }
+
+    /**
+     * @param ttl      how long an entry is fresh
+     * @param maxStale how long past {@code ttl} a stale entry may still be served
+     */
+    public static Freshness of(Duration ttl, Duration maxStale) {
+        if (ttl.isNegative() || maxStale.isNegative()) {
+            throw new IllegalArgumentException("Cache TTLs must not be negative");
+        }
+        return new Freshness(ttl, ttl.plus(maxStale));
+    }
+
+    public boolean isFresh(CachedResponse<?> entry, long now) {
+        return now - entry.getFetchedAt() < softTtlMillis;
+    }
+
+    /**
+     * Whether the entry is still before its hard expiry, fresh or stale.
+     */
+    public boolean isServable(CachedResponse<?> entry, long now) {
+        return now - entry.getFetchedAt() < hardTtlMillis;
+    }
+
+    public Duration softTtl() {
+        return Duration.ofMillis(softTtlMillis);
+    }
+
+    public Duration hardTtl() {
+        return Duration.ofMillis(hardTtlMillis);
+    }
+
+    /**
+     * Caffeine expiry that evicts entries at their hard expiry. It is computed from the
+     * fetch time rather than the write time, so re-inserting an entry (for example one
+     * loaded from disk, or re-marked after a failed refresh) never extends its life.
+     */
+    public <K, V> Expiry<K, CachedResponse<V>> expiry() {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(K key, CachedResponse<V> entry, long currentTime) {
+                return remainingNanos(entry);
+            }
+
+            @Override
+            public long expireAfterUpdate(K key, CachedResponse<V> entry, long currentTime, long currentDuration) {
+                return remainingNanos(entry);
+            }
+
+            @Override
+            public long expireAfterRead(K key, CachedResponse<V> entry, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+
+    private long remainingNanos(CachedResponse<?> entry) {
+        long remaining = entry.getFetchedAt() + hardTtlMillis - System.currentTimeMillis();
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remaining));
+    }
+
+    @Override
+    public String toString() {
+        return "soft " + softTtl() + ", hard " + hardTtl();
+    }
+}
@@ -0,0 +1,105 @@
+package com.assignment.rex_assignment_server.cache;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estimates the retained heap size of a DTO graph so caches can be bounded by
+ * bytes rather than entry count.
+ * <p>
+ * The estimate assumes a 64-bit JVM with compressed oops (12 byte headers, 4 byte
+ * references, 8 byte alignment) and compact Latin-1 strings. It is not exact, but
+ * it is stable and proportional, which is all the eviction policy needs.
+ */
+public final class ObjectSizeEstimator {
+
+    private static final int HEADER = 12;
+    private static final int REFERENCE = 4;
+    private static final int ARRAY_HEADER = 16;
+
+    private static final ClassValue<List<Field>> FIELDS = new ClassValue<>() {
+        @Override
+        protected List<Field> computeValue(Class<?> type) {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            return List.copyOf(fields);
+        }
+    };
+
+    private ObjectSizeEstimator() {
+    }
+
+    /**
+     * Estimated number of heap bytes retained by {@code value} and everything it references.
+     */
+    public static long estimate(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String s) {
+            // String object + backing byte[]
+            return align(HEADER + 12) + align(ARRAY_HEADER + s.length());
+        }
+        if (value instanceof Boolean) {
+            // Boolean.TRUE / Boolean.FALSE are shared
+            return 0;
+        }
+        if (value instanceof Long || value instanceof Double) {
+            return align(HEADER + 8);
+        }
+        if (value instanceof Number || value instanceof Character) {
+            return align(HEADER + 4);
+        }
+        if (value instanceof byte[] bytes) {
+            return align(ARRAY_HEADER + bytes.length);
+        }
+        if (value instanceof Collection<?> collection) {
+            // ArrayList-shaped: object + Object[] of references
+            long size = align(HEADER + 8) + align(ARRAY_HEADER + (long) REFERENCE * collection.size());
+            for (Object element : collection) {
+                size += estimate(element);
+            }
+            return size;
+        }
+        if (value instanceof Map<?, ?> map) {
+            // HashMap-shaped: table + one node per entry
+            long size = align(HEADER + 36) + align(ARRAY_HEADER + (long) REFERENCE * map.size() * 2);
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                size += align(HEADER + 16) + estimate(entry.getKey()) + estimate(entry.getValue());
+            }
+            return size;
+        }
+        if (value instanceof Enum<?>) {
+            return 0;
+        }
+
+        List<Field> fields = FIELDS.get(value.getClass());
+        long size = align(HEADER + (long) fields.size() * REFERENCE);
+        for (Field field : fields) {
+            if (field.getType().isPrimitive()) {
+                continue;
+            }
+            try {
+                size += estimate(field.get(value));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot read " + field, e);
+            }
+        }
+        return size;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
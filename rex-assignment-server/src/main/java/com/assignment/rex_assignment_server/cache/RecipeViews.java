@@ -0,0 +1,141 @@
+package com.assignment.rex_assignment_server.cache;
+
+import com.assignment.rex_assignment_server.dto.NutritionInfo;
+import com.assignment.rex_assignment_server.dto.RecipeDetailResponse;
+import com.assignment.rex_assignment_server.jfr.ResponseSerializationEvent;
+import com.assignment.rex_assignment_server.service.RecipeFields;
+import com.assignment.rex_assignment_server.timing.ServerTiming;
+import com.assignment.rex_assignment_server.timing.ServerTiming.Phase;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Parts of a cached recipe served on their own: the detail cut down to the fields a client
+ * asked for, and the nutrition alone.
+ * <p>
+ * A view is cut from the recipe entry's JSON at the token level, without mapping the DTO,
+ * and cached with its own bytes, ETag and gzip variant, so the cut is made once per recipe
+ * fetch rather than once per request. Views follow their recipe: one cut from an older
+ * fetch is replaced on its next use, and each is reported with the recipe entry's status.
+ */
+@Component
+public class RecipeViews {
+
+    static final String NUTRITION = "nutrition";
+
+    private final JsonMapper jsonMapper;
+    private final Cache<Key, CachedResponse<?>> recipeViewCache;
+
+    public RecipeViews(JsonMapper jsonMapper, Cache<Key, CachedResponse<?>> recipeViewCache) {
+        this.jsonMapper = jsonMapper;
+        this.recipeViewCache = recipeViewCache;
+    }
+
+    /**
+     * Cache key of a view: the recipe id and which view of it.
+     */
+    public record Key(Long id, String view) {
+    }
+
+    /**
+     * The recipe with only the given top-level fields, in their original order. The value
+     * is the full recipe, shared with the recipe entry; only the JSON is projected.
+     */
+    public CachedResponse<RecipeDetailResponse> project(Long id, CachedResponse<RecipeDetailResponse> recipe,
+            RecipeFields fields) {
+        if (fields.isAll()) {
+            return recipe;
+        }
+        return view(new Key(id, "fields=" + fields), recipe, recipe.getValue(),
+                json -> keep(json, fields::includes));
+    }
+
+    /**
+     * The recipe's {@code nutrition} object, or JSON {@code null} if it has none.
+     */
+    public CachedResponse<NutritionInfo> nutrition(Long id, CachedResponse<RecipeDetailResponse> recipe) {
+        NutritionInfo nutrition = recipe.getValue() != null ? recipe.getValue().getNutrition() : null;
+        return view(new Key(id, NUTRITION), recipe, nutrition, json -> extract(json, NUTRITION));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <V> CachedResponse<V> view(Key key, CachedResponse<RecipeDetailResponse> recipe, V value,
+            Function<byte[], byte[]> cut) {
+        CachedResponse<V> view = (CachedResponse<V>) recipeViewCache.getIfPresent(key);
+        if (view == null || view.getFetchedAt() != recipe.getFetchedAt()) {
+            long start = ServerTiming.begin();
+            ResponseSerializationEvent event = new ResponseSerializationEvent();
+            event.begin();
+            byte[] json = cut.apply(recipe.getJson());
+            event.complete(value, ResponseSerializationEvent.JSON, json.length);
+            view = CachedResponse.of(value, json, recipe.getFetchedAt());
+            recipeViewCache.put(key, view);
+            ServerTiming.record(Phase.SERIALIZE, start);
+        }
+        return view.withStatus(recipe.getStatus());
+    }
+
+    /**
+     * Copy a JSON object, keeping only the top-level properties {@code include} accepts.
+     */
+    private byte[] keep(byte[] json, Predicate<String> include) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 2);
+        try (JsonParser parser = jsonMapper.createParser(json);
+                JsonGenerator generator = jsonMapper.createGenerator(out)) {
+            expectObject(parser);
+            generator.writeStartObject();
+            while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                if (include.test(name)) {
+                    generator.writeName(name);
+                    generator.copyCurrentStructureExact(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            generator.writeEndObject();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Copy the value of one top-level property of a JSON object; JSON {@code null} if absent.
+     */
+    private byte[] extract(byte[] json, String property) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 2);
+        try (JsonParser parser = jsonMapper.createParser(json);
+                JsonGenerator generator = jsonMapper.createGenerator(out)) {
+            expectObject(parser);
+            boolean found = false;
+            while (!found && parser.nextToken() == JsonToken.PROPERTY_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                if (property.equals(name)) {
+                    generator.copyCurrentStructureExact(parser);
+                    found = true;
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (!found) {
+                generator.writeNull();
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static void expectObject(JsonParser parser) {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IllegalStateException("Cached recipe JSON is not an object");
+        }
+    }
+}
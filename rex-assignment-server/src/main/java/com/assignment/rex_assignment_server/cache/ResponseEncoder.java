@@ -0,0 +1,164 @@
+package com.assignment.rex_assignment_server.cache;
+
+import com.assignment.rex_assignment_server.jfr.ResponseSerializationEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Picks the encoding of a cached JSON response from the client's {@code Accept-Encoding}.
+ * <p>
+ * The gzip variant lives on the {@link CachedResponse} next to the identity bytes, so each
+ * cache entry is compressed once, on the first request that accepts gzip, and every later
+ * hit is written without touching the compressor. Responses below {@code min-size} are
+ * sent as-is. Every variant has its own ETag, as a strong validator must differ between
+ * representations.
+ */
+@Component
+@Slf4j
+public class ResponseEncoder implements MeterBinder {
+
+    static final String GZIP = "gzip";
+    static final String IDENTITY = "identity";
+
+    private final int minSize;
+    private final int level;
+    private final LongAdder identityBytes = new LongAdder();
+    private final LongAdder gzipBytes = new LongAdder();
+    private final LongAdder uncompressedBytes = new LongAdder();
+    private Timer compressions;
+
+    public ResponseEncoder(@Value("${recipe.http.compression.min-size:1KB}") DataSize minSize,
+            @Value("${recipe.http.compression.level:6}") int level) {
+        if (level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("recipe.http.compression.level must be between 1 and 9");
+        }
+        this.minSize = (int) minSize.toBytes();
+        this.level = level;
+        log.info("Response compression - min size: {} bytes, gzip level: {}", this.minSize, level);
+    }
+
+    /**
+     * The body, {@code Content-Encoding} and ETag to send for {@code response}.
+     */
+    public Encoded encode(CachedResponse<?> response, String acceptEncoding) {
+        byte[] json = response.getJson();
+        uncompressedBytes.add(json.length);
+        if (json.length >= minSize && acceptsGzip(acceptEncoding)) {
+            byte[] gzip = response.getGzip(this::gzip);
+            gzipBytes.add(gzip.length);
+            return new Encoded(gzip, GZIP, variantTag(response.getETag(), GZIP));
+        }
+        identityBytes.add(json.length);
+        return new Encoded(json, null, response.getETag());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("recipe.http.response.bytes", identityBytes, LongAdder::sum)
+                .description("Cached JSON bytes written to clients, by content encoding")
+                .tag("encoding", IDENTITY)
+                .register(registry);
+        FunctionCounter.builder("recipe.http.response.bytes", gzipBytes, LongAdder::sum)
+                .description("Cached JSON bytes written to clients, by content encoding")
+                .tag("encoding", GZIP)
+                .register(registry);
+        FunctionCounter.builder("recipe.http.response.uncompressed.bytes", uncompressedBytes, LongAdder::sum)
+                .description("Identity size of the cached JSON responses written, whatever their encoding")
+                .register(registry);
+        compressions = Timer.builder("recipe.http.compression")
+                .description("Time spent building compressed response variants")
+                .tag("encoding", GZIP)
+                .register(registry);
+    }
+
+    /**
+     * Whether the header lists gzip (or {@code *}) with a non-zero quality. An explicit
+     * {@code gzip;q=0} wins over a wildcard.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            String coding = params[0].trim().toLowerCase(Locale.ROOT);
+            boolean accepted = quality(params) > 0;
+            if (coding.equals(GZIP) || coding.equals("x-gzip")) {
+                return accepted;
+            }
+            if (coding.equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    private static double quality(String[] params) {
+        for (int i = 1; i < params.length; i++) {
+            String param = params[i].trim();
+            if (param.startsWith("q=") || param.startsWith("Q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * {@code "tag"} becomes {@code "tag-gzip"}.
+     */
+    private static String variantTag(String etag, String encoding) {
+        return etag.substring(0, etag.length() - 1) + '-' + encoding + '"';
+    }
+
+    private byte[] gzip(byte[] json) {
+        ResponseSerializationEvent event = new ResponseSerializationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new LeveledGzipOutputStream(out, level)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (compressions != null) {
+            compressions.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        event.complete(json, ResponseSerializationEvent.GZIP, out.size());
+        return out.toByteArray();
+    }
+
+    /**
+     * A response body with its {@code Content-Encoding} ({@code null} for identity) and
+     * the ETag of that representation.
+     */
+    public record Encoded(byte[] body, String contentEncoding, String etag) {
+    }
+
+    private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+
+        private LeveledGzipOutputStream(ByteArrayOutputStream out, int level) throws IOException {
+            super(out, 8192);
+            def.setLevel(level);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.assignment.rex_assignment_server.cache;
+
+import com.assignment.rex_assignment_server.dto.RecipeSearchResponse;
+import com.assignment.rex_assignment_server.service.SearchKey;
+import com.assignment.rex_assignment_server.timing.ServerTiming;
+import com.assignment.rex_assignment_server.timing.ServerTiming.Phase;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Serialized search pages, so the JSON, ETag and gzip variant of a page are made once and
+ * then shared by every request for it.
+ * <p>
+ * A page cut from upstream windows follows its windows the way a recipe view follows its
+ * recipe: it is rebuilt on its next use once any window it was cut from has been fetched
+ * again. A page answered from the local index is rebuilt when its results change, and
+ * keeps the time they were first served as its modification time until then.
+ */
+@Component
+public class SearchPages {
+
+    private final JsonMapper jsonMapper;
+    private final Cache<Key, Page> searchPageCache;
+
+    public SearchPages(JsonMapper jsonMapper, Cache<Key, Page> searchPageCache) {
+        this.jsonMapper = jsonMapper;
+        this.searchPageCache = searchPageCache;
+    }
+
+    /**
+     * Cache key of a page: the normalized request, including its offset and number, and
+     * whether it was answered locally.
+     */
+    public record Key(SearchKey request, boolean local) {
+    }
+
+    /**
+     * A serialized page with the fetch times of the windows it was cut from, empty for a
+     * local page.
+     */
+    public record Page(List<Long> windowsFetchedAt, CachedResponse<RecipeSearchResponse> response) {
+    }
+
+    /**
+     * The page for {@code request} cut from upstream windows fetched at
+     * {@code windowsFetchedAt}; {@code slice} is only called when the page isn't cached
+     * for those windows. Its modification time is the oldest window's fetch time.
+     */
+    public CachedResponse<RecipeSearchResponse> upstream(SearchKey request, List<Long> windowsFetchedAt,
+            Supplier<RecipeSearchResponse> slice) {
+        Key key = new Key(request, false);
+        Page page = searchPageCache.getIfPresent(key);
+        if (page == null || !page.windowsFetchedAt().equals(windowsFetchedAt)) {
+            long fetchedAt = windowsFetchedAt.stream().mapToLong(Long::longValue).min()
+                    .orElseGet(System::currentTimeMillis);
+            page = new Page(List.copyOf(windowsFetchedAt), serialize(slice.get(), fetchedAt));
+            searchPageCache.put(key, page);
+        }
+        return page.response();
+    }
+
+    /**
+     * The page for {@code request} answered from the local index as {@code results}.
+     */
+    public CachedResponse<RecipeSearchResponse> local(SearchKey request, RecipeSearchResponse results) {
+        Key key = new Key(request, true);
+        Page page = searchPageCache.getIfPresent(key);
+        if (page == null || !page.response().getValue().equals(results)) {
+            page = new Page(List.of(), serialize(results, System.currentTimeMillis()));
+            searchPageCache.put(key, page);
+        }
+        return page.response();
+    }
+
+    private CachedResponse<RecipeSearchResponse> serialize(RecipeSearchResponse page, long fetchedAt) {
+        long start = ServerTiming.begin();
+        try {
+            return CachedResponse.serialize(page, jsonMapper, fetchedAt);
+        } finally {
+            ServerTiming.record(Phase.SERIALIZE, start);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.assignment.rex_assignment_server.config;
+
+import com.assignment.rex_assignment_server.cache.CachedResponse;
+import com.assignment.rex_assignment_server.cache.Freshness;
+import com.assignment.rex_assignment_server.cache.ObjectSizeEstimator;
+import com.assignment.rex_assignment_server.cache.RecipeViews;
+import com.assignment.rex_assignment_server.cache.SearchPages;
+import com.assignment.rex_assignment_server.dto.RecipeDetailResponse;
+import com.assignment.rex_assignment_server.dto.RecipeSearchResponse;
+import com.assignment.rex_assignment_server.service.SearchKey;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Configuration
+@Slf4j
+public class CacheConfig {
+
+    @Bean
+    public Freshness recipeDetailFreshness(
+            @Value("${recipe.cache.detail.ttl:12h}") Duration ttl,
+            @Value("${recipe.cache.detail.max-stale:7d}") Duration maxStale) {
+        return Freshness.of(ttl, maxStale);
+    }
+
+    @Bean
+    public Freshness recipeSearchFreshness(
+            @Value("${recipe.cache.search.ttl:30m}") Duration ttl,
+            @Value("${recipe.cache.search.max-stale:24h}") Duration maxStale) {
+        return Freshness.of(ttl, maxStale);
+    }
+
+    /**
+     * Recipe details keyed by Spoonacular id, stored with their serialized JSON. Caffeine's
+     * W-TinyLFU admission keeps the popular recipes resident, and eviction is driven by the
+     * estimated heap weight of each entry (DTO graph plus bytes) so the cache stays well
+     * inside -Xmx512m. Entries are evicted at their hard expiry; between soft and hard
+     * expiry they are served stale while a refresh runs.
+     */
+    @Bean
+    public Cache<Long, CachedResponse<RecipeDetailResponse>> recipeDetailCache(
+            Freshness recipeDetailFreshness,
+            @Value("${recipe.cache.detail.max-weight:64MB}") DataSize maxWeight) {
+        log.info("Recipe detail cache - expiry: {}, max weight: {}", recipeDetailFreshness, maxWeight);
+
+        return Caffeine.newBuilder()
+                .maximumWeight(maxWeight.toBytes())
+                .weigher((Long id, CachedResponse<RecipeDetailResponse> entry) ->
+                        (int) Math.min(Integer.MAX_VALUE, entry.weight()))
+                .expireAfter(recipeDetailFreshness.<Long, RecipeDetailResponse>expiry())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Windows of search results keyed by their parameters and window range (see
+     * {@code SearchWindows}), with the same weighing and soft/hard expiry as recipe details.
+     */
+    @Bean
+    public Cache<SearchKey, CachedResponse<RecipeSearchResponse>> recipeSearchCache(
+            Freshness recipeSearchFreshness,
+            @Value("${recipe.cache.search.max-weight:16MB}") DataSize maxWeight) {
+        log.info("Recipe search cache - expiry: {}, max weight: {}", recipeSearchFreshness, maxWeight);
+
+        return Caffeine.newBuilder()
+                .maximumWeight(maxWeight.toBytes())
+                .weigher((SearchKey key, CachedResponse<RecipeSearchResponse> entry) ->
+                        (int) Math.min(Integer.MAX_VALUE, entry.weight()))
+                .expireAfter(recipeSearchFreshness.<SearchKey, RecipeSearchResponse>expiry())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Projections and nutrition-only views of cached recipes (see {@code RecipeViews}).
+     * A view's value is shared with its recipe entry, so only its JSON is weighed; views
+     * are checked against their recipe on every use, so they need no expiry of their own.
+     */
+    @Bean
+    public Cache<RecipeViews.Key, CachedResponse<?>> recipeViewCache(
+            @Value("${recipe.cache.view.max-weight:16MB}") DataSize maxWeight) {
+        log.info("Recipe view cache - max weight: {}", maxWeight);
+
+        return Caffeine.newBuilder()
+                .maximumWeight(maxWeight.toBytes())
+                .weigher((RecipeViews.Key key, CachedResponse<?> entry) ->
+                        (int) Math.min(Integer.MAX_VALUE, ObjectSizeEstimator.estimate(entry.getJson())))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Serialized search pages keyed by their normalized request (see {@code SearchPages}).
+     * A page's value shares its results with nothing else, so it is weighed in full; pages
+     * are checked against their windows on every use, so they need no expiry of their own.
+     */
+    @Bean
+    public Cache<SearchPages.Key, SearchPages.Page> searchPageCache(
+            @Value("${recipe.cache.page.max-weight:8MB}") DataSize maxWeight) {
+        log.info("Search page cache - max weight: {}", maxWeight);
+
+        return Caffeine.newBuilder()
+                .maximumWeight(maxWeight.toBytes())
+                .weigher((SearchPages.Key key, SearchPages.Page page) ->
+                        (int) Math.min(Integer.MAX_VALUE, page.response().weight()))
+                .recordStats()
+                .build();
+    }
+}
@@ -0,0 +1,42 @@
+package com.assignment.rex_assignment_server.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+
+import java.time.Duration;
+
+/**
+ * {@code Cache-Control} policies for the cacheable recipe endpoints. Browsers and shared
+ * caches may reuse a response for {@code max-age}, then serve it for up to
+ * {@code stale-while-revalidate} more while they revalidate with the ETag in the background.
+ */
+@Configuration
+@Slf4j
+public class HttpCacheConfig {
+
+    @Bean
+    public CacheControl recipeDetailCacheControl(
+            @Value("${recipe.http.detail.max-age:1h}") Duration maxAge,
+            @Value("${recipe.http.detail.stale-while-revalidate:1d}") Duration staleWhileRevalidate) {
+        return cacheControl("detail", maxAge, staleWhileRevalidate);
+    }
+
+    @Bean
+    public CacheControl recipeSearchCacheControl(
+            @Value("${recipe.http.search.max-age:5m}") Duration maxAge,
+            @Value("${recipe.http.search.stale-while-revalidate:30m}") Duration staleWhileRevalidate) {
+        return cacheControl("search", maxAge, staleWhileRevalidate);
+    }
+
+    private static CacheControl cacheControl(String endpoint, Duration maxAge, Duration staleWhileRevalidate) {
+        CacheControl cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+        if (!staleWhileRevalidate.isZero()) {
+            cacheControl = cacheControl.staleWhileRevalidate(staleWhileRevalidate);
+        }
+        log.info("Recipe {} Cache-Control: {}", endpoint, cacheControl.getHeaderValue());
+        return cacheControl;
+    }
+}
@@ -5,10 +5,13 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.security.autoconfigure.actuate.web.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -24,7 +27,28 @@ import java.util.List;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    /**
+     * Actuator endpoints: health stays open for probes, everything else (metrics, Prometheus
+     * scrape, info) needs HTTP Basic as {@code spring.security.user}.
+     */
     @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher(EndpointRequest.toAnyEndpoint())
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session
+                        .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(EndpointRequest.to("health")).permitAll()
+                        .anyRequest().authenticated())
+                .httpBasic(Customizer.withDefaults());
+
+        return http.build();
+    }
+
+    @Bean
+    @Order(2)
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
                 .cors(cors -> cors.disable())
@@ -39,7 +63,7 @@ public class SecurityConfig {
 }
 
 @Component
-@Order(Ordered.HIGHEST_PRECEDENCE)
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
 class CorsFilter extends OncePerRequestFilter {
 
     private final List<String> allowedOrigins;
@@ -60,6 +84,9 @@ class CorsFilter extends OncePerRequestFilter {
             FilterChain filterChain) throws ServletException, IOException {
 
         String origin = request.getHeader("Origin");
+        // The CORS headers below depend on the request's origin, so shared caches must not
+        // hand one origin's response to another (recipe responses are Cache-Control: public)
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ORIGIN);
 
         if (origin != null) {
             if (allowAll || allowedOrigins.contains(origin)) {
@@ -68,6 +95,8 @@ class CorsFilter extends OncePerRequestFilter {
                 response.setHeader("Access-Control-Allow-Methods", "GET, POST, PUT, DELETE, OPTIONS");
                 response.setHeader("Access-Control-Allow-Headers", "*");
                 response.setHeader("Access-Control-Max-Age", "3600");
+                // Lets the page read Server-Timing through the Resource Timing API
+                response.setHeader("Timing-Allow-Origin", origin);
             }
         }
 
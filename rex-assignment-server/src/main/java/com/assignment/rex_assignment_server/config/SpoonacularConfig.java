@@ -1,27 +1,154 @@
 package com.assignment.rex_assignment_server.config;
 
+import com.assignment.rex_assignment_server.dto.RecipeDetailResponse;
+import com.assignment.rex_assignment_server.upstream.CallRecordingInterceptor;
+import com.assignment.rex_assignment_server.upstream.CircuitBreaker;
+import com.assignment.rex_assignment_server.upstream.ConnectionLimiter;
+import com.assignment.rex_assignment_server.upstream.FieldProjection;
+import com.assignment.rex_assignment_server.upstream.OutboundScheduler;
+import com.assignment.rex_assignment_server.upstream.ProjectingJsonConverter;
+import com.assignment.rex_assignment_server.upstream.QuotaHeaderInterceptor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
 
 @Configuration
+@Slf4j
 public class SpoonacularConfig {
 
+    private static final String KEEP_ALIVE_PROPERTY = "jdk.httpclient.keepalive.timeout";
+    private static final String H2_KEEP_ALIVE_PROPERTY = "jdk.httpclient.keepalive.timeout.h2";
+
     @Value("${spoonacular.api.base-url}")
     private String baseUrl;
 
     @Value("${spoonacular.api.key}")
     private String apiKey;
 
+    /**
+     * Transport for Spoonacular: HTTP/2 (falling back to HTTP/1.1 if the server declines),
+     * so concurrent calls share one multiplexed TLS connection. Idle connections are kept
+     * for {@code keep-alive} so quiet periods don't cost a new handshake.
+     * <p>
+     * The JDK client only takes its keep-alive from JVM-wide system properties, which the
+     * launchers (Jib image, {@code spring-boot:run}) pass as {@code -D} options; this warns
+     * when they disagree with {@code keep-alive} rather than changing them for the whole JVM.
+     */
+    @Bean
+    public HttpClient spoonacularHttpClient(
+            @Value("${spoonacular.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${spoonacular.http.keep-alive:2m}") Duration keepAlive,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        checkKeepAlive(KEEP_ALIVE_PROPERTY, keepAlive);
+        checkKeepAlive(H2_KEEP_ALIVE_PROPERTY, keepAlive);
+
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout);
+        if (virtualThreads) {
+            builder.executor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Warn if a JVM keep-alive option is missing or disagrees with {@code keep-alive}, and
+     * report the value the client actually uses. The JVM option wins either way, so a
+     * mismatch tuned in one place only costs connection reuse, not startup.
+     */
+    private static void checkKeepAlive(String property, Duration keepAlive) {
+        String seconds = String.valueOf(keepAlive.toSeconds());
+        String value = System.getProperty(property);
+        if (value == null) {
+            log.warn("{} is not set, so the client keeps idle connections for {}s instead of "
+                    + "spoonacular.http.keep-alive={}; start the JVM with -D{}={}",
+                    property, effectiveKeepAlive(property), keepAlive, property, seconds);
+        } else if (!value.strip().equals(seconds)) {
+            log.warn("JVM option -D{}={} differs from spoonacular.http.keep-alive={} ({} seconds); "
+                    + "the client keeps idle connections for {}s", property, value, keepAlive, seconds,
+                    effectiveKeepAlive(property));
+        }
+    }
+
+    /**
+     * The keep-alive in seconds the JDK client reads from {@code property}: HTTP/2 falls
+     * back to the HTTP/1.1 option, and that to the JDK default of 30 seconds.
+     */
+    private static String effectiveKeepAlive(String property) {
+        String value = System.getProperty(property);
+        if (value != null) {
+            return value.strip();
+        }
+        return H2_KEEP_ALIVE_PROPERTY.equals(property) ? effectiveKeepAlive(KEEP_ALIVE_PROPERTY) : "30";
+    }
+
     @Bean
-    public RestClient spoonacularRestClient() {
+    public ConnectionLimiter spoonacularConnectionLimiter(
+            @Value("${spoonacular.http.max-concurrent:32}") int maxConcurrent,
+            @Value("${spoonacular.http.acquire-timeout:1s}") Duration acquireTimeout) {
+        return new ConnectionLimiter(maxConcurrent, acquireTimeout);
+    }
+
+    /**
+     * Spoonacular client. The deadline covers the whole exchange, response body included,
+     * so a hung upstream frees the calling thread instead of holding it indefinitely.
+     * Recipe details are parsed off the response stream with the configured fields pruned.
+     */
+    @Bean
+    public RestClient spoonacularRestClient(HttpClient spoonacularHttpClient,
+            ConnectionLimiter spoonacularConnectionLimiter,
+            OutboundScheduler outboundScheduler,
+            JsonMapper jsonMapper,
+            @Value("${spoonacular.http.deadline:5s}") Duration deadline,
+            @Value("${spoonacular.detail.exclude:}") List<String> detailExclude) {
+        FieldProjection detailProjection = FieldProjection.excluding(detailExclude);
+        log.info("Spoonacular client - version: {}, connect timeout: {}, deadline: {}, detail exclusions: {}",
+                spoonacularHttpClient.version(),
+                spoonacularHttpClient.connectTimeout().map(Duration::toString).orElse("none"), deadline,
+                detailProjection.isEmpty() ? "none" : detailProjection);
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(spoonacularHttpClient);
+        requestFactory.setReadTimeout(deadline);
+
         return RestClient.builder()
                 .baseUrl(baseUrl)
                 .defaultHeader("x-api-key", apiKey)
+                .requestFactory(requestFactory)
+                .requestInterceptor(spoonacularConnectionLimiter)
+                .requestInterceptor(new QuotaHeaderInterceptor(outboundScheduler))
+                .requestInterceptor(new CallRecordingInterceptor())
+                .configureMessageConverters(converters -> converters.registerDefaults()
+                        .addCustomConverter(new ProjectingJsonConverter(jsonMapper, detailProjection,
+                                Set.of(RecipeDetailResponse.class, RecipeDetailResponse[].class))))
                 .build();
     }
 
+    /**
+     * One breaker for all Spoonacular operations, since they share a host and fail together.
+     */
+    @Bean
+    public CircuitBreaker spoonacularCircuitBreaker(
+            @Value("${spoonacular.circuit.window-size:50}") int windowSize,
+            @Value("${spoonacular.circuit.minimum-calls:20}") int minimumCalls,
+            @Value("${spoonacular.circuit.failure-rate-threshold:50}") double failureRateThreshold,
+            @Value("${spoonacular.circuit.slow-call-rate-threshold:80}") double slowCallRateThreshold,
+            @Value("${spoonacular.circuit.slow-call-duration:3s}") Duration slowCallDuration,
+            @Value("${spoonacular.circuit.open-duration:30s}") Duration openDuration,
+            @Value("${spoonacular.circuit.half-open-calls:5}") int halfOpenCalls) {
+        return new CircuitBreaker("spoonacular", windowSize, minimumCalls, failureRateThreshold,
+                slowCallRateThreshold, slowCallDuration, openDuration, halfOpenCalls);
+    }
+
     public String getApiKey() {
         return apiKey;
     }
@@ -1,11 +1,21 @@
 package com.assignment.rex_assignment_server.controller;
 
+import com.assignment.rex_assignment_server.cache.CacheStatus;
+import com.assignment.rex_assignment_server.cache.CachedResponse;
+import com.assignment.rex_assignment_server.cache.ResponseEncoder;
 import com.assignment.rex_assignment_server.dto.AutocompleteResult;
+import com.assignment.rex_assignment_server.dto.FacetCountsResponse;
+import com.assignment.rex_assignment_server.dto.NutritionInfo;
 import com.assignment.rex_assignment_server.dto.RecipeDetailResponse;
 import com.assignment.rex_assignment_server.dto.RecipeSearchResponse;
+import com.assignment.rex_assignment_server.service.RecipeFields;
 import com.assignment.rex_assignment_server.service.RecipeService;
+import com.assignment.rex_assignment_server.timing.ServerTiming;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,7 +27,13 @@ import java.util.List;
 @Slf4j
 public class RecipeController {
 
+    private static final int MAX_BULK_IDS = 100;
+    private static final String CACHE_STATUS_HEADER = "X-Cache";
+
     private final RecipeService recipeService;
+    private final CacheControl recipeSearchCacheControl;
+    private final CacheControl recipeDetailCacheControl;
+    private final ResponseEncoder responseEncoder;
 
     /**
      * Search for recipes with optional filters
@@ -31,14 +47,15 @@ public class RecipeController {
      * @return List of matching recipes
      */
     @GetMapping("/search")
-    public ResponseEntity<RecipeSearchResponse> searchRecipes(
+    public ResponseEntity<byte[]> searchRecipes(
             @RequestParam(required = false, defaultValue = "") String query,
             @RequestParam(required = false) String diet,
             @RequestParam(required = false) String cuisine,
             @RequestParam(required = false) String type,
             @RequestParam(defaultValue = "0") int offset,
-            @RequestParam(defaultValue = "12") int number) {
-        log.info("Search request - query: {}, diet: {}, cuisine: {}, type: {}",
+            @RequestParam(defaultValue = "12") int number,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        log.debug("Search request - query: {}, diet: {}, cuisine: {}, type: {}",
                 query, diet, cuisine, type);
 
         // Validate number parameter
@@ -46,26 +63,89 @@ public class RecipeController {
             number = 12;
         }
 
-        RecipeSearchResponse response = recipeService.searchRecipes(
+        CachedResponse<RecipeSearchResponse> response = recipeService.searchRecipeResponse(
                 query, diet, cuisine, type, offset, number);
 
-        return ResponseEntity.ok(response);
+        return cachedJson(response, recipeSearchCacheControl, acceptEncoding);
     }
 
     /**
      * Get detailed recipe information by ID
      * 
-     * @param id Recipe ID
-     * @return Detailed recipe information including nutrition
+     * @param id     Recipe ID
+     * @param fields Comma-separated top-level fields to return (e.g. id,title,extendedIngredients);
+     *               all of them when omitted
+     * @return Detailed recipe information, including nutrition unless projected away
      */
     @GetMapping("/{id}")
-    public ResponseEntity<RecipeDetailResponse> getRecipeById(@PathVariable Long id) {
-        log.info("Get recipe request - id: {}", id);
+    public ResponseEntity<byte[]> getRecipeById(@PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        log.debug("Get recipe request - id: {}, fields: {}", id, fields);
+
+        // The cached entry already holds the serialized JSON, so skip Jackson entirely
+        RecipeFields projection = RecipeFields.parse(fields);
+        CachedResponse<RecipeDetailResponse> response = projection.isAll()
+                ? recipeService.getRecipeResponse(id)
+                : recipeService.getRecipeResponse(id, projection);
+        return cachedJson(response, recipeDetailCacheControl, acceptEncoding);
+    }
+
+    /**
+     * Get a recipe's nutrition on its own, so pages can load it after the rest of the recipe
+     * 
+     * @param id Recipe ID
+     * @return Nutrients, per-ingredient nutrition, caloric breakdown and weight per serving
+     */
+    @GetMapping("/{id}/nutrition")
+    public ResponseEntity<byte[]> getRecipeNutrition(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        log.debug("Get recipe nutrition request - id: {}", id);
+
+        CachedResponse<NutritionInfo> response = recipeService.getRecipeNutritionResponse(id);
+        return cachedJson(response, recipeDetailCacheControl, acceptEncoding);
+    }
+
+    /**
+     * Get detailed recipe information for several recipes at once
+     * 
+     * @param ids Recipe IDs (at most 100)
+     * @return Detailed recipe information in request order; unknown IDs are skipped
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<List<RecipeDetailResponse>> getRecipesByIds(@RequestBody List<Long> ids) {
+        log.debug("Bulk recipe request - {} ids", ids.size());
+
+        if (ids.isEmpty() || ids.size() > MAX_BULK_IDS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_BULK_IDS + " recipe ids are required");
+        }
 
-        RecipeDetailResponse response = recipeService.getRecipeById(id);
+        List<RecipeDetailResponse> response = recipeService.getRecipesByIds(ids);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Count recipes per diet, cuisine and meal type for the current search, so filter
+     * options that would return nothing can be flagged. Computed from locally known
+     * recipes only; never calls Spoonacular.
+     * 
+     * @param query   Search query string
+     * @param diet    Selected diet filter
+     * @param cuisine Selected cuisine filter
+     * @param type    Selected meal type filter
+     * @return Match counts per filter value
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<FacetCountsResponse> getFacets(
+            @RequestParam(required = false, defaultValue = "") String query,
+            @RequestParam(required = false) String diet,
+            @RequestParam(required = false) String cuisine,
+            @RequestParam(required = false) String type) {
+        log.debug("Facets request - query: {}, diet: {}, cuisine: {}, type: {}", query, diet, cuisine, type);
+
+        return ResponseEntity.ok(recipeService.getFacets(query, diet, cuisine, type));
+    }
+
     /**
      * Get autocomplete suggestions for recipe search
      * 
@@ -77,7 +157,7 @@ public class RecipeController {
     public ResponseEntity<List<AutocompleteResult>> getAutocompleteSuggestions(
             @RequestParam String query,
             @RequestParam(defaultValue = "5") int number) {
-        log.info("Autocomplete request - query: {}", query);
+        log.debug("Autocomplete request - query: {}", query);
 
         List<AutocompleteResult> suggestions = recipeService.getAutocompleteSuggestions(query, number);
         return ResponseEntity.ok(suggestions);
@@ -90,4 +170,32 @@ public class RecipeController {
     public ResponseEntity<String> healthCheck() {
         return ResponseEntity.ok("Recipe API is running");
     }
+
+    /**
+     * Write a cached response's JSON as-is, reporting how it was produced in X-Cache and,
+     * for stale responses, in a Warning header. The entry's ETag and fetch time become the
+     * validators, so Spring answers a matching If-None-Match or If-Modified-Since with a
+     * bodiless 304. Clients accepting gzip get the entry's stored gzip variant
+     */
+    private ResponseEntity<byte[]> cachedJson(CachedResponse<?> response, CacheControl cacheControl,
+            String acceptEncoding) {
+        CacheStatus status = response.getStatus();
+        long start = ServerTiming.begin();
+        ResponseEncoder.Encoded encoded = responseEncoder.encode(response, acceptEncoding);
+        ServerTiming.record(ServerTiming.Phase.ENCODE, start);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .eTag(encoded.etag())
+                .lastModified(response.getFetchedAt())
+                .header(CACHE_STATUS_HEADER, status.header());
+        if (encoded.contentEncoding() != null) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, encoded.contentEncoding());
+        }
+        if (status.isStale()) {
+            builder.header(HttpHeaders.WARNING, status.warning());
+        }
+        return builder.body(encoded.body());
+    }
 }
@@ -0,0 +1,20 @@
+package com.assignment.rex_assignment_server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetCountsResponse {
+    private Map<String, Integer> diets;
+    private Map<String, Integer> cuisines;
+    private Map<String, Integer> types;
+    private int totalResults;
+    private int indexedRecipes;
+}
@@ -1,6 +1,10 @@
 package com.assignment.rex_assignment_server.exception;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -9,35 +13,80 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Maps exceptions to JSON error responses, and counts them as {@code recipe.api.errors}
+ * tagged by exception and response status.
+ */
 @RestControllerAdvice
 @Slf4j
-public class GlobalExceptionHandler {
+public class GlobalExceptionHandler implements MeterBinder {
+
+    private final LongAdder recipeNotFound = new LongAdder();
+    private final LongAdder upstreamUnavailable = new LongAdder();
+    private final LongAdder spoonacularErrors = new LongAdder();
+    private final LongAdder invalidArguments = new LongAdder();
+    private final LongAdder unexpectedErrors = new LongAdder();
 
     @ExceptionHandler(RecipeNotFoundException.class)
     public ResponseEntity<Map<String, Object>> handleRecipeNotFound(RecipeNotFoundException ex) {
         log.warn("Recipe not found: {}", ex.getMessage());
+        recipeNotFound.increment();
         return buildErrorResponse(HttpStatus.NOT_FOUND, ex.getMessage());
     }
 
+    @ExceptionHandler(UpstreamUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleUpstreamUnavailable(UpstreamUnavailableException ex) {
+        log.warn("Upstream call refused: {}", ex.getMessage());
+        upstreamUnavailable.increment();
+        ResponseEntity<Map<String, Object>> response = buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE,
+                "External API service unavailable. Please try again shortly.");
+        long retryAfterSeconds = Math.max(1, ex.getRetryAfter().toSeconds());
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(response.getBody());
+    }
+
     @ExceptionHandler(SpoonacularApiException.class)
     public ResponseEntity<Map<String, Object>> handleSpoonacularApiException(SpoonacularApiException ex) {
         log.error("Spoonacular API error: {}", ex.getMessage());
+        spoonacularErrors.increment();
         return buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, "External API service unavailable. Please try again later.");
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Map<String, Object>> handleIllegalArgument(IllegalArgumentException ex) {
         log.warn("Invalid argument: {}", ex.getMessage());
+        invalidArguments.increment();
         return buildErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage());
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGenericException(Exception ex) {
         log.error("Unexpected error: ", ex);
+        unexpectedErrors.increment();
         return buildErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred. Please try again later.");
     }
 
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindCounter(registry, recipeNotFound, RecipeNotFoundException.class, HttpStatus.NOT_FOUND);
+        bindCounter(registry, upstreamUnavailable, UpstreamUnavailableException.class, HttpStatus.SERVICE_UNAVAILABLE);
+        bindCounter(registry, spoonacularErrors, SpoonacularApiException.class, HttpStatus.SERVICE_UNAVAILABLE);
+        bindCounter(registry, invalidArguments, IllegalArgumentException.class, HttpStatus.BAD_REQUEST);
+        bindCounter(registry, unexpectedErrors, Exception.class, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    private static void bindCounter(MeterRegistry registry, LongAdder counter, Class<? extends Exception> type,
+            HttpStatus status) {
+        FunctionCounter.builder("recipe.api.errors", counter, LongAdder::sum)
+                .description("Requests answered with an error response, by exception handled")
+                .tag("exception", type.getSimpleName())
+                .tag("status", String.valueOf(status.value()))
+                .register(registry);
+    }
+
     private ResponseEntity<Map<String, Object>> buildErrorResponse(HttpStatus status, String message) {
         Map<String, Object> error = new HashMap<>();
         error.put("timestamp", LocalDateTime.now().toString());
@@ -0,0 +1,14 @@
+package com.assignment.rex_assignment_server.exception;
+
+import java.time.Duration;
+
+/**
+ * An outbound Spoonacular call was not made because no rate or quota slot was available
+ * in time.
+ */
+public class UpstreamThrottledException extends UpstreamUnavailableException {
+
+    public UpstreamThrottledException(String message, Duration retryAfter) {
+        super(message, retryAfter);
+    }
+}
@@ -0,0 +1,26 @@
+package com.assignment.rex_assignment_server.exception;
+
+import java.time.Duration;
+
+/**
+ * A Spoonacular call was refused locally, without reaching upstream: the circuit breaker
+ * is open, the operation's bulkhead is full, or no rate or quota slot was available.
+ * Extends {@link SpoonacularApiException} so callers that fall back on upstream failures
+ * treat it the same way.
+ */
+public class UpstreamUnavailableException extends SpoonacularApiException {
+
+    private final Duration retryAfter;
+
+    public UpstreamUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * A hint for when a retry may succeed.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
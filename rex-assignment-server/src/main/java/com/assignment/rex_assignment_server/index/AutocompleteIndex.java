@@ -0,0 +1,260 @@
+package com.assignment.rex_assignment_server.index;
+
+import com.assignment.rex_assignment_server.dto.AutocompleteResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory prefix index over every recipe title the server has seen, used to answer
+ * autocomplete locally instead of calling Spoonacular on every keystroke.
+ * <p>
+ * Titles are indexed from each word start, so "carb" finds "Pasta Carbonara". Every trie
+ * node keeps the top-k titles below it ranked by popularity, which makes a lookup a walk
+ * down the query's characters plus a copy of at most k entries. Popularity grows each time
+ * a title is seen again, and the affected top-k lists are updated incrementally.
+ * <p>
+ * Writes are serialized; reads are lock-free because nodes publish their child and top-k
+ * arrays copy-on-write.
+ */
+@Component
+@Slf4j
+public class AutocompleteIndex {
+
+    /**
+     * Suffixes are indexed to this depth, enough for the prefixes typed while a word is
+     * completed; longer queries are matched against the candidates found at the deepest
+     * node. Every indexed character is a node with its own top-k array, so this bounds
+     * memory: about 0.6 KB per title at depth 10, against 3.7 KB at 24.
+     */
+    private static final int MAX_DEPTH = 10;
+
+    private final int topK;
+    private final int maxTitles;
+    private final int minLocalHits;
+    private final Node root = new Node();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public AutocompleteIndex(
+            @Value("${recipe.autocomplete.top-k:10}") int topK,
+            @Value("${recipe.autocomplete.max-titles:100000}") int maxTitles,
+            @Value("${recipe.autocomplete.min-local-hits:5}") int minLocalHits) {
+        this.topK = topK;
+        this.maxTitles = maxTitles;
+        this.minLocalHits = minLocalHits;
+    }
+
+    /**
+     * Record a title the server has seen, or bump its popularity if it is already indexed.
+     */
+    public void record(Long id, String title, String imageType, int weight) {
+        String normalized = normalize(title);
+        if (id == null || normalized.isEmpty()) {
+            return;
+        }
+
+        writeLock.lock();
+        try {
+            Entry entry = entries.get(normalized);
+            if (entry == null) {
+                if (entries.size() >= maxTitles) {
+                    return;
+                }
+                entry = new Entry(id, title.trim(), imageType, normalized);
+                entries.put(normalized, entry);
+            }
+            entry.score += weight;
+            for (int start : wordStarts(normalized)) {
+                index(entry, normalized, start);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void recordAll(List<AutocompleteResult> results) {
+        for (AutocompleteResult result : results) {
+            record(result.getId(), result.getTitle(), result.getImageType(), 1);
+        }
+    }
+
+    /**
+     * Local suggestions for {@code query}, or empty when the index has too few hits to
+     * answer without asking upstream.
+     */
+    public Optional<List<AutocompleteResult>> suggest(String query, int number) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || number < 1) {
+            return Optional.empty();
+        }
+
+        Node node = root;
+        int depth = Math.min(normalized.length(), MAX_DEPTH);
+        for (int i = 0; i < depth && node != null; i++) {
+            node = node.child(normalized.charAt(i));
+        }
+        if (node == null) {
+            return Optional.empty();
+        }
+
+        Entry[] candidates = node.top;
+        Set<Entry> ranked = new LinkedHashSet<>();
+        Arrays.stream(candidates)
+                .filter(entry -> normalized.length() <= MAX_DEPTH || matchesWordPrefix(entry.normalized, normalized))
+                .sorted((a, b) -> Long.compare(b.score, a.score))
+                .limit(number)
+                .forEach(ranked::add);
+
+        if (ranked.size() < Math.min(number, minLocalHits)) {
+            return Optional.empty();
+        }
+
+        List<AutocompleteResult> results = new ArrayList<>(ranked.size());
+        for (Entry entry : ranked) {
+            results.add(AutocompleteResult.builder()
+                    .id(entry.id)
+                    .title(entry.title)
+                    .imageType(entry.imageType)
+                    .build());
+        }
+        return Optional.of(results);
+    }
+
+    /**
+     * Number of distinct titles indexed.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private void index(Entry entry, String normalized, int start) {
+        Node node = root;
+        int end = Math.min(normalized.length(), start + MAX_DEPTH);
+        for (int i = start; i < end; i++) {
+            node = node.childOrCreate(normalized.charAt(i));
+            node.offer(entry, topK);
+        }
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    private static List<Integer> wordStarts(String normalized) {
+        List<Integer> starts = new ArrayList<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            if (normalized.charAt(i) != ' ' && (i == 0 || normalized.charAt(i - 1) == ' ')) {
+                starts.add(i);
+            }
+        }
+        return starts;
+    }
+
+    private static boolean matchesWordPrefix(String title, String query) {
+        int index = title.indexOf(query);
+        while (index >= 0) {
+            if (index == 0 || title.charAt(index - 1) == ' ') {
+                return true;
+            }
+            index = title.indexOf(query, index + 1);
+        }
+        return false;
+    }
+
+    private static final class Entry {
+        private final Long id;
+        private final String title;
+        private final String imageType;
+        private final String normalized;
+        private volatile long score;
+
+        private Entry(Long id, String title, String imageType, String normalized) {
+            this.id = id;
+            this.title = title;
+            this.imageType = imageType;
+            this.normalized = normalized;
+        }
+    }
+
+    /**
+     * Child keys and nodes, published together so readers never see them out of step.
+     */
+    private record Children(char[] keys, Node[] nodes) {
+        private static final Children EMPTY = new Children(new char[0], new Node[0]);
+    }
+
+    private static final class Node {
+        private static final Entry[] NO_ENTRIES = new Entry[0];
+
+        private volatile Children children = Children.EMPTY;
+        private volatile Entry[] top = NO_ENTRIES;
+
+        Node child(char c) {
+            Children current = children;
+            int index = Arrays.binarySearch(current.keys(), c);
+            return index >= 0 ? current.nodes()[index] : null;
+        }
+
+        Node childOrCreate(char c) {
+            Children current = children;
+            int index = Arrays.binarySearch(current.keys(), c);
+            if (index >= 0) {
+                return current.nodes()[index];
+            }
+            int insertAt = -index - 1;
+            int length = current.keys().length;
+            char[] keys = new char[length + 1];
+            Node[] nodes = new Node[length + 1];
+            System.arraycopy(current.keys(), 0, keys, 0, insertAt);
+            System.arraycopy(current.nodes(), 0, nodes, 0, insertAt);
+            System.arraycopy(current.keys(), insertAt, keys, insertAt + 1, length - insertAt);
+            System.arraycopy(current.nodes(), insertAt, nodes, insertAt + 1, length - insertAt);
+            Node child = new Node();
+            keys[insertAt] = c;
+            nodes[insertAt] = child;
+            children = new Children(keys, nodes);
+            return child;
+        }
+
+        void offer(Entry entry, int k) {
+            Entry[] current = top;
+            int existing = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == entry) {
+                    existing = i;
+                    break;
+                }
+            }
+
+            Entry[] updated;
+            if (existing >= 0) {
+                updated = current.clone();
+            } else if (current.length < k) {
+                updated = Arrays.copyOf(current, current.length + 1);
+                updated[current.length] = entry;
+            } else if (entry.score > current[current.length - 1].score) {
+                updated = current.clone();
+                updated[updated.length - 1] = entry;
+            } else {
+                return;
+            }
+            Arrays.sort(updated, (a, b) -> Long.compare(b.score, a.score));
+            top = updated;
+        }
+    }
+}
@@ -0,0 +1,568 @@
+package com.assignment.rex_assignment_server.index;
+
+import com.assignment.rex_assignment_server.cache.CachedResponse;
+import com.assignment.rex_assignment_server.dto.Ingredient;
+import com.assignment.rex_assignment_server.dto.RecipeDetailResponse;
+import com.assignment.rex_assignment_server.dto.RecipeSearchResponse;
+import com.assignment.rex_assignment_server.dto.RecipeSearchResult;
+import com.assignment.rex_assignment_server.store.RecipeStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Offline search over every recipe the server holds in full (cached or persisted).
+ * <p>
+ * Title and ingredient words go into an inverted index, each term's postings a sorted
+ * array of document numbers with a parallel array of term frequencies; diets, cuisines
+ * and dish types go into one bitmap per value over dense document numbers, so filtering
+ * is a handful of word-wise ANDs. Term postings are turned into bitmaps only for the terms
+ * of a query. A query matches recipes containing all of its
+ * words, ranked by BM25 (title words count double) plus a popularity boost from how
+ * often the recipe has been opened; an empty query ranks filtered recipes by popularity.
+ * <p>
+ * A recipe indexed again keeps its document number: its postings and facet bits are
+ * updated in place, so re-fetching recipes never grows the index past one document per
+ * recipe.
+ */
+@Component
+@Slf4j
+public class LocalSearchEngine implements MeterBinder {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 2;
+    private static final int PARALLEL_FACET_THRESHOLD = 50_000;
+
+    private final RecipeStore recipeStore;
+    private final LocalSearchMode mode;
+    private final int minRecipes;
+    private final int maxRecipes;
+    private final double popularityWeight;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    /** Written under the write lock, read without it to count views. */
+    private final Map<Long, Doc> docsById = new ConcurrentHashMap<>();
+    private final List<Doc> docs = new ArrayList<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<String, BitSet> diets = new HashMap<>();
+    private final Map<String, BitSet> cuisines = new HashMap<>();
+    private final Map<String, BitSet> dishTypes = new HashMap<>();
+    private long totalLength;
+
+    public LocalSearchEngine(RecipeStore recipeStore,
+            @Value("${recipe.search.local.mode:fallback}") LocalSearchMode mode,
+            @Value("${recipe.search.local.min-recipes:1000}") int minRecipes,
+            @Value("${recipe.search.local.max-recipes:100000}") int maxRecipes,
+            @Value("${recipe.search.local.popularity-weight:0.5}") double popularityWeight) {
+        this.recipeStore = recipeStore;
+        this.mode = mode;
+        this.minRecipes = minRecipes;
+        this.maxRecipes = maxRecipes;
+        this.popularityWeight = popularityWeight;
+        log.info("Local search - mode: {}, min recipes: {}, max recipes: {}", mode, minRecipes, maxRecipes);
+    }
+
+    /**
+     * Whether to search locally before going upstream: always when offline, and in
+     * {@link LocalSearchMode#AUTO} once at least {@code min-recipes} are indexed.
+     */
+    public boolean answersFirst() {
+        return mode == LocalSearchMode.OFFLINE || (mode == LocalSearchMode.AUTO && size() >= minRecipes);
+    }
+
+    /**
+     * Whether a local result may stand in for the upstream search: when offline, or when
+     * upstream's total for the same query and filters is known and the index holds at
+     * least that many matches. Judging by the whole result list rather than the requested
+     * page keeps every page of it coming from the same source, with the same total.
+     *
+     * @param upstreamTotal upstream's {@code totalResults} for the search, if cached
+     */
+    public boolean covers(RecipeSearchResponse local, OptionalInt upstreamTotal) {
+        return mode == LocalSearchMode.OFFLINE
+                || (upstreamTotal.isPresent() && local.getTotalResults() >= upstreamTotal.getAsInt());
+    }
+
+    /**
+     * Whether a failed upstream search may be answered locally instead.
+     */
+    public boolean answersOnFailure() {
+        return mode != LocalSearchMode.OFF;
+    }
+
+    /**
+     * Index every recipe in the on-disk store, so local search is available after a restart
+     * without waiting for recipes to be fetched again.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void indexStore() {
+        Thread.ofPlatform().name("local-search-indexer").daemon().start(() -> {
+            long start = System.nanoTime();
+            int indexed = 0;
+            for (Long id : recipeStore.ids()) {
+                if (recipeStore.get(id).map(CachedResponse::getValue).map(this::index).orElse(false)) {
+                    indexed++;
+                }
+            }
+            log.info("Local search indexed {} stored recipes in {}ms", indexed,
+                    (System.nanoTime() - start) / 1_000_000);
+        });
+    }
+
+    /**
+     * Add or update a recipe.
+     *
+     * @return whether the recipe is now indexed
+     */
+    public boolean index(RecipeDetailResponse recipe) {
+        if (recipe == null || recipe.getId() == null) {
+            return false;
+        }
+        Map<String, Integer> terms = terms(recipe);
+        int length = terms.values().stream().mapToInt(Integer::intValue).sum();
+
+        lock.writeLock().lock();
+        try {
+            Doc doc = docsById.get(recipe.getId());
+            if (doc == null) {
+                if (docsById.size() >= maxRecipes) {
+                    return false;
+                }
+                doc = new Doc(recipe.getId(), docs.size());
+                if (Boolean.TRUE.equals(recipe.getVeryPopular())) {
+                    doc.popularity.add(5);
+                }
+                docs.add(doc);
+                docsById.put(recipe.getId(), doc);
+            }
+
+            doc.title = recipe.getTitle();
+            doc.image = recipe.getImage();
+            totalLength += length - doc.length;
+            doc.length = length;
+            doc.terms = updatePostings(doc, terms);
+            updateFacets(diets, doc.docId, diets(recipe));
+            updateFacets(cuisines, doc.docId, values(recipe.getCuisines()));
+            updateFacets(dishTypes, doc.docId, values(recipe.getDishTypes()));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Count a view of a recipe towards its popularity. Takes no lock, so detail requests
+     * never wait for searches or indexing.
+     */
+    public void recordView(Long id) {
+        Doc doc = docsById.get(id);
+        if (doc != null) {
+            doc.popularity.increment();
+        }
+    }
+
+    /**
+     * Search the index. Parameters use the canonical form of a search key: lower-case,
+     * with {@code ,}/{@code |} separated filter values.
+     */
+    public RecipeSearchResponse search(String query, String diet, String cuisine, String type,
+            int offset, int number) {
+        List<String> queryTerms = tokenize(query);
+        lock.readLock().lock();
+        try {
+            BitSet matches = all();
+            matches.and(dietFilter(diet));
+            matches.and(anyOf(cuisines, cuisine));
+            matches.and(anyOf(dishTypes, type));
+
+            List<Postings> termPostings = new ArrayList<>(queryTerms.size());
+            for (String term : queryTerms) {
+                Postings termDocs = postings.get(term);
+                if (termDocs == null) {
+                    matches.clear();
+                    break;
+                }
+                matches.and(termDocs.docs());
+                termPostings.add(termDocs);
+            }
+
+            int[] candidates = matches.stream().toArray();
+            double[] scores = score(candidates, termPostings);
+            Integer[] order = new Integer[candidates.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(scores[b], scores[a]));
+
+            int from = Math.min(Math.max(0, offset), candidates.length);
+            int to = Math.min(candidates.length, from + Math.max(0, number));
+            List<RecipeSearchResult> results = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                Doc doc = docs.get(candidates[order[i]]);
+                results.add(RecipeSearchResult.builder()
+                        .id(doc.id)
+                        .title(doc.title)
+                        .image(doc.image)
+                        .imageType(imageType(doc.image))
+                        .build());
+            }
+            return RecipeSearchResponse.builder()
+                    .results(results)
+                    .offset(offset)
+                    .number(number)
+                    .totalResults(candidates.length)
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Count matching recipes per diet, cuisine and dish type value, for the given query
+     * and filters. Cuisine and type counts ignore the current cuisine and type selection
+     * respectively (they are alternatives to it); diet counts include the current diets,
+     * since diets combine.
+     */
+    public FacetCounts facets(String query, String diet, String cuisine, String type) {
+        List<String> queryTerms = tokenize(query);
+        lock.readLock().lock();
+        try {
+            BitSet base = all();
+            for (String term : queryTerms) {
+                Postings termDocs = postings.get(term);
+                if (termDocs == null) {
+                    base.clear();
+                    break;
+                }
+                base.and(termDocs.docs());
+            }
+            BitSet dietMatches = dietFilter(diet);
+            BitSet cuisineMatches = anyOf(cuisines, cuisine);
+            BitSet typeMatches = anyOf(dishTypes, type);
+
+            BitSet forDiets = and(base, dietMatches, cuisineMatches, typeMatches);
+            BitSet forCuisines = and(base, dietMatches, typeMatches);
+            BitSet forTypes = and(base, dietMatches, cuisineMatches);
+            boolean parallel = docs.size() >= PARALLEL_FACET_THRESHOLD;
+            return new FacetCounts(forDiets.cardinality(),
+                    counts(diets, forDiets, parallel),
+                    counts(cuisines, forCuisines, parallel),
+                    counts(dishTypes, forTypes, parallel));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of recipes indexed.
+     */
+    public int size() {
+        return docsById.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("recipe.search.local.recipes", this, LocalSearchEngine::size)
+                .description("Recipes indexed for local search")
+                .register(registry);
+    }
+
+    /**
+     * Point the document's terms at its new frequencies, dropping it from the postings of
+     * terms it no longer has (and those postings if nothing else has the term).
+     */
+    private Postings[] updatePostings(Doc doc, Map<String, Integer> terms) {
+        Postings[] current = new Postings[terms.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> term : terms.entrySet()) {
+            Postings termDocs = postings.computeIfAbsent(term.getKey(), Postings::new);
+            termDocs.put(doc.docId, term.getValue());
+            current[i++] = termDocs;
+        }
+        for (Postings termDocs : doc.terms) {
+            if (!terms.containsKey(termDocs.term)) {
+                termDocs.remove(doc.docId);
+                if (termDocs.isEmpty()) {
+                    postings.remove(termDocs.term);
+                }
+            }
+        }
+        return current;
+    }
+
+    private static void updateFacets(Map<String, BitSet> bitmaps, int docId, List<String> values) {
+        bitmaps.values().forEach(bitmap -> bitmap.clear(docId));
+        values.forEach(value -> bitmaps.computeIfAbsent(value, v -> new BitSet()).set(docId));
+    }
+
+    private double[] score(int[] candidates, List<Postings> termPostings) {
+        double[] scores = new double[candidates.length];
+        int documents = docs.size();
+        double averageLength = documents == 0 ? 1 : Math.max(1, (double) totalLength / documents);
+        for (Postings termDocs : termPostings) {
+            int documentFrequency = termDocs.size();
+            double idf = Math.log(1 + (documents - documentFrequency + 0.5) / (documentFrequency + 0.5));
+            for (int i = 0; i < candidates.length; i++) {
+                int frequency = termDocs.frequency(candidates[i]);
+                double norm = K1 * (1 - B + B * docs.get(candidates[i]).length / averageLength);
+                scores[i] += idf * frequency * (K1 + 1) / (frequency + norm);
+            }
+        }
+        for (int i = 0; i < candidates.length; i++) {
+            scores[i] += popularityWeight * Math.log1p(docs.get(candidates[i]).popularity.sum());
+        }
+        return scores;
+    }
+
+    /**
+     * Recipes matching a diet filter: Spoonacular reads diets as AND across commas and OR
+     * across pipes. A {@code null} filter matches everything.
+     */
+    private BitSet dietFilter(String diet) {
+        BitSet matches = all();
+        if (diet != null) {
+            for (String group : diet.split(",")) {
+                matches.and(union(diets, group.split("\\|")));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Recipes matching any of the filter's values (cuisines and types are OR lists).
+     */
+    private BitSet anyOf(Map<String, BitSet> bitmaps, String filter) {
+        return filter == null ? all() : union(bitmaps, filter.split("[,|]"));
+    }
+
+    /**
+     * Every indexed recipe.
+     */
+    private BitSet all() {
+        BitSet all = new BitSet(docs.size());
+        all.set(0, docs.size());
+        return all;
+    }
+
+    private static BitSet and(BitSet first, BitSet... others) {
+        BitSet result = (BitSet) first.clone();
+        for (BitSet other : others) {
+            result.and(other);
+        }
+        return result;
+    }
+
+    /**
+     * Intersection cardinality of every value's bitmap with {@code matches}, most frequent
+     * first, leaving out values with no matches. Values are counted in parallel on large
+     * indexes; the caller's read lock keeps the bitmaps stable meanwhile.
+     */
+    private static Map<String, Integer> counts(Map<String, BitSet> bitmaps, BitSet matches, boolean parallel) {
+        var entries = parallel ? bitmaps.entrySet().parallelStream() : bitmaps.entrySet().stream();
+        return entries
+                .map(e -> Map.entry(e.getKey(), and(e.getValue(), matches).cardinality()))
+                .filter(e -> e.getValue() > 0)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .collect(LinkedHashMap::new, (map, e) -> map.put(e.getKey(), e.getValue()), Map::putAll);
+    }
+
+    private static BitSet union(Map<String, BitSet> bitmaps, String[] values) {
+        BitSet union = new BitSet();
+        for (String value : values) {
+            BitSet bitmap = bitmaps.get(value.trim());
+            if (bitmap != null) {
+                union.or(bitmap);
+            }
+        }
+        return union;
+    }
+
+    private static Map<String, Integer> terms(RecipeDetailResponse recipe) {
+        Map<String, Integer> terms = new LinkedHashMap<>();
+        for (String term : tokenize(recipe.getTitle())) {
+            terms.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        if (recipe.getExtendedIngredients() != null) {
+            for (Ingredient ingredient : recipe.getExtendedIngredients()) {
+                for (String term : tokenize(ingredient.getName())) {
+                    terms.merge(term, 1, Integer::sum);
+                }
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Spoonacular's diet labels, plus the boolean flags under the names its diet filter uses.
+     */
+    private static List<String> diets(RecipeDetailResponse recipe) {
+        List<String> values = new ArrayList<>(values(recipe.getDiets()));
+        addFlag(values, recipe.getVegetarian(), "vegetarian");
+        addFlag(values, recipe.getVegan(), "vegan");
+        addFlag(values, recipe.getGlutenFree(), "gluten free");
+        addFlag(values, recipe.getDairyFree(), "dairy free");
+        return values;
+    }
+
+    private static void addFlag(List<String> values, Boolean flag, String value) {
+        if (Boolean.TRUE.equals(flag) && !values.contains(value)) {
+            values.add(value);
+        }
+    }
+
+    private static List<String> values(List<String> labels) {
+        if (labels == null) {
+            return List.of();
+        }
+        return labels.stream()
+                .filter(label -> label != null && !label.isBlank())
+                .map(label -> label.trim().toLowerCase(Locale.ROOT))
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * Lower-cased words with a plural "s" dropped, so "tomatoes" finds "tomato".
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String word : normalized.split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (word.length() > 3 && word.endsWith("es") && !word.endsWith("ses")) {
+                word = word.substring(0, word.length() - 2);
+            } else if (word.length() > 3 && word.endsWith("s") && !word.endsWith("ss")) {
+                word = word.substring(0, word.length() - 1);
+            }
+            tokens.add(word);
+        }
+        return tokens;
+    }
+
+    private static String imageType(String image) {
+        if (image == null) {
+            return null;
+        }
+        int dot = image.lastIndexOf('.');
+        return dot >= 0 && dot < image.length() - 1 ? image.substring(dot + 1) : null;
+    }
+
+    private static final class Doc {
+        private static final Postings[] NO_TERMS = new Postings[0];
+
+        private final Long id;
+        private final int docId;
+        private String title;
+        private String image;
+        private int length;
+        private Postings[] terms = NO_TERMS;
+        private final LongAdder popularity = new LongAdder();
+
+        private Doc(Long id, int docId) {
+            this.id = id;
+            this.docId = docId;
+        }
+    }
+
+    /**
+     * Per-value match counts for each filter, plus the number of recipes matching the query
+     * and all current filters.
+     */
+    public record FacetCounts(int totalResults, Map<String, Integer> diets, Map<String, Integer> cuisines,
+            Map<String, Integer> types) {
+    }
+
+    /**
+     * Documents containing a term, as ascending document numbers with their term
+     * frequencies alongside. A bitmap for intersecting with filters is only built per query.
+     */
+    private static final class Postings {
+        private final String term;
+        private int[] docs = new int[1];
+        private short[] frequencies = new short[1];
+        private int size;
+
+        Postings(String term) {
+            this.term = term;
+        }
+
+        /**
+         * Add a document, or update its frequency if it is already listed.
+         */
+        void put(int docId, int frequency) {
+            short value = (short) Math.min(frequency, Short.MAX_VALUE);
+            // Documents are mostly added in increasing order, so check the end first
+            int index = size == 0 || docs[size - 1] < docId ? -(size + 1) : Arrays.binarySearch(docs, 0, size, docId);
+            if (index >= 0) {
+                frequencies[index] = value;
+                return;
+            }
+            index = -(index + 1);
+            if (size == docs.length) {
+                int capacity = size + (size >> 1) + 1;
+                docs = Arrays.copyOf(docs, capacity);
+                frequencies = Arrays.copyOf(frequencies, capacity);
+            }
+            System.arraycopy(docs, index, docs, index + 1, size - index);
+            System.arraycopy(frequencies, index, frequencies, index + 1, size - index);
+            docs[index] = docId;
+            frequencies[index] = value;
+            size++;
+        }
+
+        void remove(int docId) {
+            int index = Arrays.binarySearch(docs, 0, size, docId);
+            if (index >= 0) {
+                System.arraycopy(docs, index + 1, docs, index, size - index - 1);
+                System.arraycopy(frequencies, index + 1, frequencies, index, size - index - 1);
+                size--;
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        BitSet docs() {
+            BitSet bitmap = new BitSet(size == 0 ? 0 : docs[size - 1] + 1);
+            for (int i = 0; i < size; i++) {
+                bitmap.set(docs[i]);
+            }
+            return bitmap;
+        }
+
+        int frequency(int docId) {
+            int index = Arrays.binarySearch(docs, 0, size, docId);
+            return index >= 0 ? frequencies[index] : 0;
+        }
+    }
+}
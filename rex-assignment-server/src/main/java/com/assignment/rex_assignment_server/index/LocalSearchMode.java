@@ -0,0 +1,22 @@
+package com.assignment.rex_assignment_server.index;
+
+/**
+ * When recipe searches are answered from the {@link LocalSearchEngine} instead of Spoonacular.
+ */
+public enum LocalSearchMode {
+
+    /** Always search upstream. */
+    OFF,
+
+    /** Search upstream; answer locally only when the upstream search fails. */
+    FALLBACK,
+
+    /**
+     * Also answer locally, without calling upstream, when the index is large enough and
+     * holds at least as many matches as upstream reported for the same search.
+     */
+    AUTO,
+
+    /** Never search upstream. */
+    OFFLINE
+}
@@ -0,0 +1,51 @@
+package com.assignment.rex_assignment_server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A lookup in one of the recipe cache tiers. Keys are recorded as their hash, so a
+ * recording shows repeated lookups of one key without holding user queries.
+ */
+@Name(CacheLookupEvent.NAME)
+@Label("Cache Lookup")
+@Category({"Recipe API", "Cache"})
+@Description("Lookup in the in-memory caches or the on-disk recipe store")
+@Enabled(false)
+@StackTrace(false)
+public class CacheLookupEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "com.assignment.recipes.CacheLookup";
+
+    public static final String DETAIL = "detail";
+    public static final String SEARCH = "search";
+    public static final String STORE = "store";
+
+    @Label("Tier")
+    @Description("detail or search (in-memory caches), or store (on-disk recipe store)")
+    public String tier;
+
+    @Label("Hit")
+    public boolean hit;
+
+    @Label("Key Hash")
+    public int keyHash;
+
+    /**
+     * End the lookup started by {@link #begin()} and commit it if the event is enabled and
+     * over its threshold.
+     */
+    public void complete(String tier, Object key, boolean hit) {
+        end();
+        if (shouldCommit()) {
+            this.tier = tier;
+            this.keyHash = key.hashCode();
+            this.hit = hit;
+            commit();
+        }
+    }
+}
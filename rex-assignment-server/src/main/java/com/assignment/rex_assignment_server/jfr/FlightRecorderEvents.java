@@ -0,0 +1,23 @@
+package com.assignment.rex_assignment_server.jfr;
+
+import jdk.jfr.FlightRecorder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registers the application's JFR events at startup, so they are listed and can be enabled
+ * in a recording started later (e.g. {@code jcmd <pid> JFR.start}) before any of them has
+ * been emitted. All of them are disabled by default; a disabled event costs a field check.
+ */
+@Component
+@Slf4j
+public class FlightRecorderEvents {
+
+    public FlightRecorderEvents() {
+        FlightRecorder.register(SpoonacularCallEvent.class);
+        FlightRecorder.register(CacheLookupEvent.class);
+        FlightRecorder.register(ResponseSerializationEvent.class);
+        log.info("Registered JFR events {}, {}, {}", SpoonacularCallEvent.NAME, CacheLookupEvent.NAME,
+                ResponseSerializationEvent.NAME);
+    }
+}
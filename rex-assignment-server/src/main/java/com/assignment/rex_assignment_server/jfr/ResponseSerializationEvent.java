@@ -0,0 +1,53 @@
+package com.assignment.rex_assignment_server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Writing a response value out as JSON, or compressing JSON already written.
+ */
+@Name(ResponseSerializationEvent.NAME)
+@Label("Response Serialization")
+@Category({"Recipe API", "Serialization"})
+@Description("JSON serialization or gzip compression of a cached response")
+@Enabled(false)
+@StackTrace(false)
+public class ResponseSerializationEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "com.assignment.recipes.ResponseSerialization";
+
+    public static final String JSON = "json";
+    public static final String GZIP = "gzip";
+
+    @Label("Type")
+    @Description("Simple class name of the value written; byte[] for compression")
+    public String type;
+
+    @Label("Format")
+    @Description("json or gzip")
+    public String format;
+
+    @Label("Bytes")
+    @Description("Bytes produced")
+    @DataAmount
+    public long bytes;
+
+    /**
+     * End the work started by {@link #begin()} and commit it if the event is enabled and
+     * over its threshold.
+     */
+    public void complete(Object value, String format, long bytes) {
+        end();
+        if (shouldCommit()) {
+            this.type = value == null ? "null" : value.getClass().getSimpleName();
+            this.format = format;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+}
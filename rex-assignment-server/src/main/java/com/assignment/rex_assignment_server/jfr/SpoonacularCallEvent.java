@@ -0,0 +1,39 @@
+package com.assignment.rex_assignment_server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One HTTP exchange with Spoonacular, from sending the request until the response body is
+ * closed, so the time spent reading (and parsing) the body is included.
+ */
+@Name(SpoonacularCallEvent.NAME)
+@Label("Spoonacular Call")
+@Category({"Recipe API", "Upstream"})
+@Description("HTTP exchange with the Spoonacular API, response body included")
+@Enabled(false)
+@StackTrace(false)
+public class SpoonacularCallEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "com.assignment.recipes.SpoonacularCall";
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Path")
+    public String path;
+
+    @Label("Status")
+    @Description("HTTP status, or 0 if no response was received")
+    public int status;
+
+    @Label("Bytes")
+    @Description("Response body bytes read")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,164 @@
+package com.assignment.rex_assignment_server.service;
+
+import com.assignment.rex_assignment_server.dto.RecipeDetailResponse;
+import com.assignment.rex_assignment_server.exception.RecipeNotFoundException;
+import com.assignment.rex_assignment_server.exception.SpoonacularApiException;
+import com.assignment.rex_assignment_server.upstream.CallPriority;
+import com.assignment.rex_assignment_server.upstream.MicroBatcher;
+import com.assignment.rex_assignment_server.upstream.SpoonacularCosts;
+import com.assignment.rex_assignment_server.upstream.UpstreamGuard;
+import com.assignment.rex_assignment_server.upstream.UpstreamOperation;
+import com.assignment.rex_assignment_server.upstream.UpstreamPriority;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Collectors;
+
+/**
+ * Loads recipe details from Spoonacular, micro-batching lookups that arrive within a
+ * short window into a single {@code /recipes/informationBulk} call.
+ * <p>
+ * A batch that ends up holding a single id uses the regular {@code information}
+ * endpoint, so an isolated lookup costs the same as before.
+ */
+@Component
+@Slf4j
+public class RecipeDetailLoader {
+
+    private final RestClient spoonacularRestClient;
+    private final UpstreamGuard upstreamGuard;
+    private final MicroBatcher<Long, RecipeDetailResponse> batcher;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService executor;
+
+    public RecipeDetailLoader(RestClient spoonacularRestClient, UpstreamGuard upstreamGuard,
+            @Value("${recipe.batch.detail.max-size:25}") int maxBatchSize,
+            @Value("${recipe.batch.detail.window:3ms}") Duration window,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.spoonacularRestClient = spoonacularRestClient;
+        this.upstreamGuard = upstreamGuard;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("recipe-batch-timer").daemon().factory());
+        // Batches spend nearly all their time blocked on Spoonacular, so in virtual-thread
+        // mode each one gets its own virtual thread instead of a pooled platform thread
+        this.executor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("recipe-batch-", 0).factory())
+                : Executors.newCachedThreadPool(Thread.ofPlatform().name("recipe-batch-", 0).daemon().factory());
+        this.batcher = new MicroBatcher<>("recipe detail", maxBatchSize, window, this::fetchRecipes,
+                id -> new RecipeNotFoundException("Recipe not found with id: " + id),
+                scheduler, executor);
+        log.info("Recipe detail batching - max size: {}, window: {}, virtual threads: {}",
+                maxBatchSize, window, virtualThreads);
+    }
+
+    /**
+     * Queue a single recipe lookup.
+     */
+    public CompletableFuture<RecipeDetailResponse> load(Long id) {
+        return batcher.load(id);
+    }
+
+    /**
+     * Queue several recipe lookups; they share batches with any concurrent lookups.
+     */
+    public List<CompletableFuture<RecipeDetailResponse>> loadAll(List<Long> ids) {
+        return batcher.loadAll(ids);
+    }
+
+    /**
+     * Fetch recipes straight away in one call at {@code priority}, outside the batcher, for
+     * warming the cache ahead of demand. Unknown ids are left out.
+     */
+    public Map<Long, RecipeDetailResponse> prefetch(List<Long> ids, CallPriority priority) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        if (ids.size() == 1) {
+            Long id = ids.get(0);
+            return Map.of(id, fetchRecipe(id, priority));
+        }
+        return fetchRecipesBulk(ids, priority);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private Map<Long, RecipeDetailResponse> fetchRecipes(List<Long> ids) {
+        if (ids.size() == 1) {
+            Long id = ids.get(0);
+            RecipeDetailResponse response = fetchRecipe(id, CallPriority.of(UpstreamPriority.DETAIL));
+            Map<Long, RecipeDetailResponse> result = new HashMap<>();
+            result.put(id, response);
+            return result;
+        }
+        return fetchRecipesBulk(ids, CallPriority.of(UpstreamPriority.DETAIL));
+    }
+
+    private RecipeDetailResponse fetchRecipe(Long id, CallPriority priority) {
+        try {
+            RecipeDetailResponse response = upstreamGuard.call(UpstreamOperation.DETAIL,
+                    priority, SpoonacularCosts.information(),
+                    () -> spoonacularRestClient.get()
+                            .uri("/recipes/{id}/information?includeNutrition=true", id)
+                            .retrieve()
+                            .body(RecipeDetailResponse.class));
+
+            if (response == null) {
+                throw new RecipeNotFoundException("Recipe not found with id: " + id);
+            }
+
+            log.info("Successfully fetched recipe: {}", response.getTitle());
+            return response;
+
+        } catch (RestClientException e) {
+            log.error("Error fetching recipe {}: {}", id, e.getMessage());
+            if (e.getMessage() != null && e.getMessage().contains("404")) {
+                throw new RecipeNotFoundException("Recipe not found with id: " + id);
+            }
+            throw new SpoonacularApiException("Failed to fetch recipe: " + e.getMessage());
+        }
+    }
+
+    private Map<Long, RecipeDetailResponse> fetchRecipesBulk(List<Long> ids, CallPriority priority) {
+        String joinedIds = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        try {
+            RecipeDetailResponse[] responses = upstreamGuard.call(UpstreamOperation.DETAIL,
+                    priority, SpoonacularCosts.informationBulk(ids.size()),
+                    () -> spoonacularRestClient.get()
+                            .uri("/recipes/informationBulk?ids={ids}&includeNutrition=true", joinedIds)
+                            .retrieve()
+                            .body(RecipeDetailResponse[].class));
+
+            Map<Long, RecipeDetailResponse> result = new HashMap<>();
+            if (responses != null) {
+                for (RecipeDetailResponse response : responses) {
+                    if (response != null && response.getId() != null) {
+                        result.put(response.getId(), response);
+                    }
+                }
+            }
+
+            log.info("Successfully fetched {} of {} recipes in bulk", result.size(), ids.size());
+            return result;
+
+        } catch (RestClientException e) {
+            log.error("Error fetching recipes {}: {}", joinedIds, e.getMessage());
+            throw new SpoonacularApiException("Failed to fetch recipes: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.assignment.rex_assignment_server.service;
+
+import com.assignment.rex_assignment_server.dto.RecipeDetailResponse;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Top-level recipe detail fields a client asked for with {@code fields=}, e.g.
+ * {@code fields=id,title,extendedIngredients}.
+ * <p>
+ * Build from the request parameter with {@link #parse}: names are checked against
+ * {@link RecipeDetailResponse} and kept as a set, so projections that mean the same thing
+ * ({@code title,id} and {@code id, title,id}) are equal and share one cached view.
+ */
+public record RecipeFields(Set<String> names) {
+
+    /**
+     * Every field: no {@code fields} parameter, or one naming all of them.
+     */
+    public static final RecipeFields ALL = new RecipeFields(Set.of());
+
+    private static final List<String> KNOWN = Arrays.stream(RecipeDetailResponse.class.getDeclaredFields())
+            .filter(field -> !Modifier.isStatic(field.getModifiers()))
+            .map(Field::getName)
+            .toList();
+
+    public RecipeFields {
+        names = Set.copyOf(names);
+    }
+
+    /**
+     * The projection named by a comma-separated {@code fields} parameter; {@link #ALL} when
+     * it is null or blank.
+     *
+     * @throws IllegalArgumentException if a name is not a recipe detail field
+     */
+    public static RecipeFields parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> requested = Arrays.stream(fields.split(","))
+                .map(String::strip)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toSet());
+        for (String name : requested) {
+            if (!KNOWN.contains(name)) {
+                throw new IllegalArgumentException("Unknown recipe field: " + name);
+            }
+        }
+        if (requested.isEmpty() || requested.size() == KNOWN.size()) {
+            return ALL;
+        }
+        return new RecipeFields(requested);
+    }
+
+    public boolean isAll() {
+        return names.isEmpty();
+    }
+
+    public boolean includes(String name) {
+        return isAll() || names.contains(name);
+    }
+
+    /**
+     * The names in declaration order, comma-separated, as a client would send them.
+     */
+    @Override
+    public String toString() {
+        if (isAll()) {
+            return "*";
+        }
+        return KNOWN.stream().filter(names::contains).collect(Collectors.joining(","));
+    }
+}
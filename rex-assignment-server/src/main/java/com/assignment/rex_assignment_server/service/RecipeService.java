@@ -1,6 +1,9 @@
 package com.assignment.rex_assignment_server.service;
 
+import com.assignment.rex_assignment_server.cache.CachedResponse;
 import com.assignment.rex_assignment_server.dto.AutocompleteResult;
+import com.assignment.rex_assignment_server.dto.FacetCountsResponse;
+import com.assignment.rex_assignment_server.dto.NutritionInfo;
 import com.assignment.rex_assignment_server.dto.RecipeDetailResponse;
 import com.assignment.rex_assignment_server.dto.RecipeSearchResponse;
 
@@ -19,11 +22,54 @@ public interface RecipeService {
             int offset,
             int number);
 
+    /**
+     * Search for recipes, returning the response together with its serialized JSON and
+     * cache status
+     */
+    CachedResponse<RecipeSearchResponse> searchRecipeResponse(
+            String query,
+            String diet,
+            String cuisine,
+            String type,
+            int offset,
+            int number);
+
     /**
      * Get detailed recipe information including nutrition
      */
     RecipeDetailResponse getRecipeById(Long id);
 
+    /**
+     * Get detailed recipe information together with its serialized JSON, so callers
+     * can write it out without mapping the DTO again. Stale entries are returned while
+     * a background refresh runs; see {@link CachedResponse#getStatus()}
+     */
+    CachedResponse<RecipeDetailResponse> getRecipeResponse(Long id);
+
+    /**
+     * Get recipe information with only the given top-level fields in its JSON, cached
+     * separately from the full recipe but refreshed with it
+     */
+    CachedResponse<RecipeDetailResponse> getRecipeResponse(Long id, RecipeFields fields);
+
+    /**
+     * Get a recipe's nutrition on its own, cached separately from the full recipe but
+     * refreshed with it
+     */
+    CachedResponse<NutritionInfo> getRecipeNutritionResponse(Long id);
+
+    /**
+     * Get detailed recipe information for several recipes, in request order.
+     * Unknown ids are skipped.
+     */
+    List<RecipeDetailResponse> getRecipesByIds(List<Long> ids);
+
+    /**
+     * Count known recipes per diet, cuisine and meal type for a query and filters,
+     * from the local index only
+     */
+    FacetCountsResponse getFacets(String query, String diet, String cuisine, String type);
+
     /**
      * Get autocomplete suggestions for recipe search
      */
@@ -1,15 +1,45 @@
 package com.assignment.rex_assignment_server.service;
 
+import com.assignment.rex_assignment_server.cache.CachePrefetcher;
+import com.assignment.rex_assignment_server.cache.CacheRefresher;
+import com.assignment.rex_assignment_server.cache.CacheStatus;
+import com.assignment.rex_assignment_server.cache.CachedResponse;
+import com.assignment.rex_assignment_server.cache.Freshness;
+import com.assignment.rex_assignment_server.cache.RecipeViews;
+import com.assignment.rex_assignment_server.cache.SearchPages;
 import com.assignment.rex_assignment_server.dto.*;
 import com.assignment.rex_assignment_server.exception.RecipeNotFoundException;
 import com.assignment.rex_assignment_server.exception.SpoonacularApiException;
+import com.assignment.rex_assignment_server.index.AutocompleteIndex;
+import com.assignment.rex_assignment_server.jfr.CacheLookupEvent;
+import com.assignment.rex_assignment_server.index.LocalSearchEngine;
+import com.assignment.rex_assignment_server.store.RecipeStore;
+import com.assignment.rex_assignment_server.timing.ServerTiming;
+import com.assignment.rex_assignment_server.timing.ServerTiming.Phase;
+import com.assignment.rex_assignment_server.upstream.CallPriority;
+import com.assignment.rex_assignment_server.upstream.Futures;
+import com.assignment.rex_assignment_server.upstream.InFlightRegistry;
+import com.assignment.rex_assignment_server.upstream.SpoonacularCosts;
+import com.assignment.rex_assignment_server.upstream.UpstreamGuard;
+import com.assignment.rex_assignment_server.upstream.UpstreamOperation;
+import com.assignment.rex_assignment_server.upstream.UpstreamPriority;
+import com.github.benmanes.caffeine.cache.Cache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientException;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -17,6 +47,23 @@ import java.util.List;
 public class RecipeServiceImpl implements RecipeService {
 
     private final RestClient spoonacularRestClient;
+    private final JsonMapper jsonMapper;
+    private final Cache<Long, CachedResponse<RecipeDetailResponse>> recipeDetailCache;
+    private final Freshness recipeDetailFreshness;
+    private final Cache<SearchKey, CachedResponse<RecipeSearchResponse>> recipeSearchCache;
+    private final Freshness recipeSearchFreshness;
+    private final SearchWindows searchWindows;
+    private final SearchKeyMetrics searchKeyMetrics;
+    private final CacheRefresher cacheRefresher;
+    private final CachePrefetcher cachePrefetcher;
+    private final InFlightRegistry inFlightRegistry;
+    private final UpstreamGuard upstreamGuard;
+    private final RecipeDetailLoader recipeDetailLoader;
+    private final RecipeStore recipeStore;
+    private final AutocompleteIndex autocompleteIndex;
+    private final LocalSearchEngine localSearchEngine;
+    private final RecipeViews recipeViews;
+    private final SearchPages searchPages;
 
     @Override
     public RecipeSearchResponse searchRecipes(
@@ -26,66 +73,120 @@ public class RecipeServiceImpl implements RecipeService {
             String type,
             int offset,
             int number) {
+        return searchRecipeResponse(query, diet, cuisine, type, offset, number).getValue();
+    }
+
+    @Override
+    public CachedResponse<RecipeSearchResponse> searchRecipeResponse(
+            String query,
+            String diet,
+            String cuisine,
+            String type,
+            int offset,
+            int number) {
         log.debug("Searching recipes with query: {}, diet: {}, cuisine: {}, type: {}",
                 query, diet, cuisine, type);
 
-        try {
-            StringBuilder uriBuilder = new StringBuilder("/recipes/complexSearch?");
-            uriBuilder.append("query=").append(query != null ? query : "");
-            uriBuilder.append("&offset=").append(offset);
-            uriBuilder.append("&number=").append(number);
-            uriBuilder.append("&addRecipeNutrition=true");
-
-            if (diet != null && !diet.isBlank()) {
-                uriBuilder.append("&diet=").append(diet);
-            }
-            if (cuisine != null && !cuisine.isBlank()) {
-                uriBuilder.append("&cuisine=").append(cuisine);
-            }
-            if (type != null && !type.isBlank()) {
-                uriBuilder.append("&type=").append(type);
+        SearchKey request = SearchKey.normalized(query, diet, cuisine, type, offset, number);
+        if (localSearchEngine.answersFirst()) {
+            RecipeSearchResponse local = searchLocally(request);
+            if (localSearchEngine.covers(local, upstreamTotal(request))) {
+                log.debug("Answering search {} from the local index ({} matches)", request, local.getTotalResults());
+                return searchPages.local(request, local).withStatus(CacheStatus.LOCAL);
             }
+        }
 
-            RecipeSearchResponse response = spoonacularRestClient.get()
-                    .uri(uriBuilder.toString())
-                    .retrieve()
-                    .body(RecipeSearchResponse.class);
-
-            log.info("Found {} recipes for query: {}",
-                    response != null ? response.getTotalResults() : 0, query);
-
+        try {
+            CachedResponse<RecipeSearchResponse> response = searchUpstream(request);
+            searchKeyMetrics.record(new SearchKey(query, diet, cuisine, type, offset, number),
+                    response.getStatus() != CacheStatus.MISS);
+            prefetchAfter(request, response.getValue());
             return response;
-
-        } catch (RestClientException e) {
-            log.error("Error calling Spoonacular API for search: {}", e.getMessage());
-            throw new SpoonacularApiException("Failed to search recipes: " + e.getMessage());
+        } catch (SpoonacularApiException e) {
+            if (localSearchEngine.answersOnFailure()) {
+                RecipeSearchResponse local = searchLocally(request);
+                if (!local.getResults().isEmpty()) {
+                    log.warn("Upstream search failed, answering from the local index: {}", e.getMessage());
+                    return searchPages.local(request, local).withStatus(CacheStatus.LOCAL);
+                }
+            }
+            throw e;
         }
     }
 
     @Override
     public RecipeDetailResponse getRecipeById(Long id) {
-        log.debug("Fetching recipe details for id: {}", id);
+        return getRecipeResponse(id).getValue();
+    }
 
-        try {
-            RecipeDetailResponse response = spoonacularRestClient.get()
-                    .uri("/recipes/{id}/information?includeNutrition=true", id)
-                    .retrieve()
-                    .body(RecipeDetailResponse.class);
+    @Override
+    public CachedResponse<RecipeDetailResponse> getRecipeResponse(Long id) {
+        localSearchEngine.recordView(id);
+        return recipeEntry(id);
+    }
+
+    @Override
+    public CachedResponse<RecipeDetailResponse> getRecipeResponse(Long id, RecipeFields fields) {
+        localSearchEngine.recordView(id);
+        return recipeViews.project(id, recipeEntry(id), fields);
+    }
 
-            if (response == null) {
-                throw new RecipeNotFoundException("Recipe not found with id: " + id);
+    /**
+     * Nutrition is requested alongside a detail view of the same recipe, so it is not
+     * counted as a view of its own.
+     */
+    @Override
+    public CachedResponse<NutritionInfo> getRecipeNutritionResponse(Long id) {
+        return recipeViews.nutrition(id, recipeEntry(id));
+    }
+
+    @Override
+    public List<RecipeDetailResponse> getRecipesByIds(List<Long> ids) {
+        log.debug("Fetching recipe details for ids: {}", ids);
+
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        long now = System.currentTimeMillis();
+        Map<Long, CachedResponse<RecipeDetailResponse>> entries = new HashMap<>(
+                recipeDetailCache.getAllPresent(distinctIds));
+        for (Long id : distinctIds) {
+            if (!entries.containsKey(id)) {
+                loadStored(id, now).ifPresent(entry -> entries.put(id, entry));
             }
+        }
 
-            log.info("Successfully fetched recipe: {}", response.getTitle());
-            return response;
+        Map<Long, RecipeDetailResponse> found = new HashMap<>();
+        entries.forEach((id, entry) -> {
+            if (!recipeDetailFreshness.isFresh(entry, now)) {
+                revalidate(recipeDetailCache, id, entry, () -> fetchRecipe(id));
+            }
+            found.put(id, entry.getValue());
+        });
 
-        } catch (RestClientException e) {
-            log.error("Error fetching recipe {}: {}", id, e.getMessage());
-            if (e.getMessage() != null && e.getMessage().contains("404")) {
-                throw new RecipeNotFoundException("Recipe not found with id: " + id);
+        List<Long> missing = distinctIds.stream().filter(id -> !found.containsKey(id)).toList();
+        List<CompletableFuture<RecipeDetailResponse>> futures = recipeDetailLoader.loadAll(missing);
+        for (int i = 0; i < missing.size(); i++) {
+            try {
+                found.put(missing.get(i), cacheFetched(Futures.join(futures.get(i))).getValue());
+            } catch (RecipeNotFoundException e) {
+                log.debug("Skipping unknown recipe in bulk lookup: {}", missing.get(i));
             }
-            throw new SpoonacularApiException("Failed to fetch recipe: " + e.getMessage());
         }
+
+        return distinctIds.stream().map(found::get).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    public FacetCountsResponse getFacets(String query, String diet, String cuisine, String type) {
+        SearchKey key = SearchKey.normalized(query, diet, cuisine, type, 0, 0);
+        LocalSearchEngine.FacetCounts facets = localSearchEngine.facets(key.query(), key.diet(), key.cuisine(),
+                key.type());
+        return FacetCountsResponse.builder()
+                .diets(facets.diets())
+                .cuisines(facets.cuisines())
+                .types(facets.types())
+                .totalResults(facets.totalResults())
+                .indexedRecipes(localSearchEngine.size())
+                .build();
     }
 
     @Override
@@ -96,23 +197,333 @@ public class RecipeServiceImpl implements RecipeService {
             return List.of();
         }
 
+        Optional<List<AutocompleteResult>> local = autocompleteIndex.suggest(query, number);
+        if (local.isPresent()) {
+            log.debug("Serving {} autocomplete suggestions for '{}' from the local index", local.get().size(), query);
+            return local.get();
+        }
+
+        AutocompleteKey key = new AutocompleteKey(query, number);
+        return inFlightRegistry.execute(UpstreamOperation.AUTOCOMPLETE, key, () -> fetchAutocomplete(key));
+    }
+
+    /**
+     * The recipe's cache entry: from memory, else from the on-disk store, else fetched.
+     */
+    private CachedResponse<RecipeDetailResponse> recipeEntry(Long id) {
+        log.debug("Fetching recipe details for id: {}", id);
+
+        long start = ServerTiming.begin();
+        CacheLookupEvent lookup = new CacheLookupEvent();
+        lookup.begin();
+        CachedResponse<RecipeDetailResponse> entry = recipeDetailCache.getIfPresent(id);
+        lookup.complete(CacheLookupEvent.DETAIL, id, entry != null);
+        ServerTiming.record(Phase.CACHE, start);
+        if (entry != null) {
+            log.debug("Recipe cache hit for id: {}", id);
+        } else {
+            start = ServerTiming.begin();
+            entry = loadStored(id, System.currentTimeMillis()).orElse(null);
+            ServerTiming.record(Phase.STORE, start);
+        }
+
+        return serve(recipeDetailCache, recipeDetailFreshness, id, entry, () -> fetchRecipe(id));
+    }
+
+    /**
+     * Return a cached entry according to its freshness: fresh entries as a hit, stale ones
+     * immediately while a background refresh runs, and anything past hard expiry (or
+     * missing) by fetching synchronously.
+     */
+    private <K, V> CachedResponse<V> serve(Cache<K, CachedResponse<V>> cache, Freshness freshness, K key,
+            CachedResponse<V> entry, Supplier<CachedResponse<V>> fetch) {
+        long now = System.currentTimeMillis();
+        if (entry != null && freshness.isFresh(entry, now)) {
+            return entry.withStatus(CacheStatus.HIT);
+        }
+        if (entry != null && freshness.isServable(entry, now)) {
+            log.debug("Serving stale entry for key: {}", key);
+            revalidate(cache, key, entry, fetch);
+            return entry.getStatus() == CacheStatus.STALE_ON_ERROR ? entry : entry.withStatus(CacheStatus.STALE);
+        }
+        return fetch.get().withStatus(CacheStatus.MISS);
+    }
+
+    /**
+     * Refresh a stale entry in the background. The fetch stores its own result; if it
+     * fails, the stale entry stays in place (until hard expiry) and is marked so later
+     * responses report the failed revalidation.
+     */
+    private <K, V> void revalidate(Cache<K, CachedResponse<V>> cache, K key, CachedResponse<V> stale,
+            Supplier<CachedResponse<V>> fetch) {
+        cacheRefresher.refresh(key, () -> {
+            try {
+                fetch.get();
+            } catch (RuntimeException e) {
+                cache.asMap().computeIfPresent(key, (k, current) ->
+                        current.getFetchedAt() == stale.getFetchedAt()
+                                ? current.withStatus(CacheStatus.STALE_ON_ERROR)
+                                : current);
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * Read a recipe back from the on-disk store into the cache, unless it is already past
+     * hard expiry.
+     */
+    private Optional<CachedResponse<RecipeDetailResponse>> loadStored(Long id, long now) {
+        CacheLookupEvent lookup = new CacheLookupEvent();
+        lookup.begin();
+        Optional<CachedResponse<RecipeDetailResponse>> stored = recipeStore.get(id)
+                .filter(entry -> recipeDetailFreshness.isServable(entry, now));
+        lookup.complete(CacheLookupEvent.STORE, id, stored.isPresent());
+        stored.ifPresent(entry -> {
+            log.debug("Recipe store hit for id: {}", id);
+            recipeDetailCache.put(id, entry);
+            recordTitle(entry.getValue());
+            localSearchEngine.index(entry.getValue());
+        });
+        return stored;
+    }
+
+    private CachedResponse<RecipeDetailResponse> fetchRecipe(Long id) {
+        return inFlightRegistry.execute(UpstreamOperation.DETAIL, id, UpstreamPriority.DETAIL, priority -> {
+            long start = ServerTiming.begin();
+            RecipeDetailResponse recipe;
+            try {
+                recipe = Futures.join(recipeDetailLoader.load(id));
+            } finally {
+                ServerTiming.record(Phase.UPSTREAM, start);
+            }
+            return cacheFetched(recipe);
+        });
+    }
+
+    /**
+     * Cut the requested page from cached windows of upstream results, fetching only the
+     * windows it reaches into that aren't cached yet. The page is serialized once for the
+     * windows it was cut from and reused until one of them is fetched again.
+     */
+    private CachedResponse<RecipeSearchResponse> searchUpstream(SearchKey request) {
+        List<SearchKey> windows = searchWindows.covering(request);
+        List<RecipeSearchResponse> responses = new ArrayList<>(windows.size());
+        List<Long> fetchedAt = new ArrayList<>(windows.size());
+        CacheStatus status = CacheStatus.HIT;
+        for (SearchKey window : windows) {
+            long start = ServerTiming.begin();
+            CacheLookupEvent lookup = new CacheLookupEvent();
+            lookup.begin();
+            CachedResponse<RecipeSearchResponse> cached = recipeSearchCache.getIfPresent(window);
+            lookup.complete(CacheLookupEvent.SEARCH, window, cached != null);
+            ServerTiming.record(Phase.CACHE, start);
+            CachedResponse<RecipeSearchResponse> entry = serve(recipeSearchCache, recipeSearchFreshness, window,
+                    cached,
+                    () -> inFlightRegistry.execute(UpstreamOperation.SEARCH, window, UpstreamPriority.SEARCH,
+                            priority -> cacheSearch(window, priority)));
+            responses.add(entry.getValue());
+            status = combine(status, entry.getStatus());
+            fetchedAt.add(entry.getFetchedAt());
+            if (!searchWindows.hasMore(window, entry.getValue())) {
+                break;
+            }
+        }
+
+        return searchPages.upstream(request, fetchedAt, () -> searchWindows.slice(request, windows, responses))
+                .withStatus(status);
+    }
+
+    /**
+     * Upstream's total for the request's query and filters, if its first window is cached.
+     */
+    private OptionalInt upstreamTotal(SearchKey request) {
+        CachedResponse<RecipeSearchResponse> first = recipeSearchCache.getIfPresent(searchWindows.first(request));
+        return first != null && first.getValue() != null
+                ? OptionalInt.of(first.getValue().getTotalResults())
+                : OptionalInt.empty();
+    }
+
+    private RecipeSearchResponse searchLocally(SearchKey request) {
+        long start = ServerTiming.begin();
         try {
-            AutocompleteResult[] results = spoonacularRestClient.get()
-                    .uri("/recipes/autocomplete?query={query}&number={number}", query, number)
-                    .retrieve()
-                    .body(AutocompleteResult[].class);
+            return localSearchEngine.search(request.query(), request.diet(), request.cuisine(), request.type(),
+                    request.offset(), request.number());
+        } finally {
+            ServerTiming.record(Phase.INDEX, start);
+        }
+    }
+
+    /**
+     * Warm what a user is likely to open next after seeing {@code page}: the windows of the
+     * following page that aren't cached or being fetched yet, and the details of its first
+     * few results. Prefetches share in-flight calls with user requests, which raise a
+     * prefetch they join to their own priority.
+     */
+    private void prefetchAfter(SearchKey request, RecipeSearchResponse page) {
+        SearchKey next = request.withRange(request.offset() + request.number(), request.number());
+        if (next.offset() < page.getTotalResults()) {
+            for (SearchKey window : searchWindows.covering(next)) {
+                if (recipeSearchCache.getIfPresent(window) == null
+                        && !inFlightRegistry.isInFlight(UpstreamOperation.SEARCH, window)) {
+                    cachePrefetcher.prefetch(window, () -> inFlightRegistry.execute(UpstreamOperation.SEARCH, window,
+                            UpstreamPriority.PREFETCH, priority -> cacheSearch(window, priority)));
+                }
+            }
+        }
+
+        int detailCount = cachePrefetcher.detailCount();
+        if (detailCount > 0 && page.getResults() != null) {
+            List<Long> ids = page.getResults().stream()
+                    .limit(detailCount)
+                    .map(RecipeSearchResult::getId)
+                    .filter(Objects::nonNull)
+                    .filter(id -> recipeDetailCache.getIfPresent(id) == null)
+                    .toList();
+            if (!ids.isEmpty()) {
+                cachePrefetcher.prefetch(ids, () -> prefetchDetails(ids));
+            }
+        }
+    }
+
+    /**
+     * Fetch the recipes that are neither cached, stored nor already being fetched, in one
+     * call registered for each id, so a user opening one of them joins it.
+     */
+    private void prefetchDetails(List<Long> ids) {
+        long now = System.currentTimeMillis();
+        List<Long> missing = ids.stream().filter(id -> loadStored(id, now).isEmpty()).toList();
+        inFlightRegistry.executeAll(UpstreamOperation.DETAIL, missing, UpstreamPriority.PREFETCH,
+                (claimed, priority) -> {
+                    Map<Long, CachedResponse<RecipeDetailResponse>> entries = new HashMap<>();
+                    recipeDetailLoader.prefetch(claimed, priority)
+                            .forEach((id, recipe) -> entries.put(id, cacheFetched(recipe)));
+                    return entries;
+                },
+                id -> new RecipeNotFoundException("Recipe not found with id: " + id));
+    }
+
+    /**
+     * The status to report for a page built from several windows: a stale window makes
+     * the page stale, otherwise any fetched window makes it a miss.
+     */
+    private static CacheStatus combine(CacheStatus page, CacheStatus window) {
+        return rank(window) > rank(page) ? window : page;
+    }
+
+    private static int rank(CacheStatus status) {
+        return switch (status) {
+            case HIT -> 0;
+            case MISS -> 1;
+            case STALE -> 2;
+            case STALE_ON_ERROR -> 3;
+            case LOCAL -> 0;
+        };
+    }
+
+    private CachedResponse<RecipeSearchResponse> cacheSearch(SearchKey key, CallPriority priority) {
+        long start = ServerTiming.begin();
+        RecipeSearchResponse response;
+        try {
+            response = fetchSearch(key, priority);
+        } finally {
+            ServerTiming.record(Phase.UPSTREAM, start);
+        }
+        // Windows are only ever served in slices, so they are kept unserialized
+        CachedResponse<RecipeSearchResponse> entry = CachedResponse.of(response, System.currentTimeMillis());
+        if (response != null) {
+            recipeSearchCache.put(key, entry);
+        }
+        return entry;
+    }
+
+    private RecipeSearchResponse fetchSearch(SearchKey key, CallPriority priority) {
+        try {
+            RecipeSearchResponse response = upstreamGuard.call(UpstreamOperation.SEARCH,
+                    priority, SpoonacularCosts.complexSearch(key.number()),
+                    () -> spoonacularRestClient.get()
+                            .uri(key.complexSearchUri(), key.uriVariables())
+                            .retrieve()
+                            .body(RecipeSearchResponse.class));
+
+            log.info("Found {} recipes for query: {}",
+                    response != null ? response.getTotalResults() : 0, key.query());
+
+            if (response != null && response.getResults() != null) {
+                for (RecipeSearchResult result : response.getResults()) {
+                    autocompleteIndex.record(result.getId(), result.getTitle(), result.getImageType(), 1);
+                }
+            }
+
+            return response;
+
+        } catch (RestClientException e) {
+            log.error("Error calling Spoonacular API for search: {}", e.getMessage());
+            throw new SpoonacularApiException("Failed to search recipes: " + e.getMessage());
+        }
+    }
+
+    private List<AutocompleteResult> fetchAutocomplete(AutocompleteKey key) {
+        try {
+            AutocompleteResult[] results = upstreamGuard.call(UpstreamOperation.AUTOCOMPLETE,
+                    UpstreamPriority.AUTOCOMPLETE, SpoonacularCosts.autocomplete(key.number()),
+                    () -> spoonacularRestClient.get()
+                            .uri("/recipes/autocomplete?query={query}&number={number}", key.query(), key.number())
+                            .retrieve()
+                            .body(AutocompleteResult[].class));
 
             if (results == null) {
                 return List.of();
             }
 
-            log.info("Found {} autocomplete suggestions for: {}", results.length, query);
-            return List.of(results);
+            log.info("Found {} autocomplete suggestions for: {}", results.length, key.query());
+            List<AutocompleteResult> suggestions = List.of(results);
+            autocompleteIndex.recordAll(suggestions);
+            return suggestions;
 
-        } catch (RestClientException e) {
+        } catch (RestClientException | SpoonacularApiException e) {
             log.error("Error getting autocomplete suggestions: {}", e.getMessage());
             // Return empty list instead of throwing - autocomplete should fail gracefully
             return List.of();
         }
     }
+
+    /**
+     * Serialize a recipe fetched from upstream once and keep it in every tier.
+     */
+    private CachedResponse<RecipeDetailResponse> cacheFetched(RecipeDetailResponse recipe) {
+        long start = ServerTiming.begin();
+        CachedResponse<RecipeDetailResponse> entry = CachedResponse.serialize(recipe, jsonMapper,
+                System.currentTimeMillis());
+        ServerTiming.record(Phase.SERIALIZE, start);
+        recipeDetailCache.put(recipe.getId(), entry);
+        start = ServerTiming.begin();
+        recipeStore.put(entry);
+        ServerTiming.record(Phase.STORE, start);
+        recordTitle(recipe);
+        localSearchEngine.index(recipe);
+        return entry;
+    }
+
+    /**
+     * Feed a recipe the server has fetched into the autocomplete index. Opened recipes
+     * weigh more than titles that merely appeared in a list.
+     */
+    private void recordTitle(RecipeDetailResponse recipe) {
+        autocompleteIndex.record(recipe.getId(), recipe.getTitle(), imageType(recipe.getImage()), 2);
+    }
+
+    private static String imageType(String image) {
+        if (image == null) {
+            return null;
+        }
+        int dot = image.lastIndexOf('.');
+        return dot >= 0 && dot < image.length() - 1 ? image.substring(dot + 1) : null;
+    }
+
+    /**
+     * Canonical key for identical autocomplete calls.
+     */
+    private record AutocompleteKey(String query, int number) {
+    }
 }
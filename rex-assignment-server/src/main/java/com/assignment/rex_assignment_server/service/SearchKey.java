@@ -0,0 +1,113 @@
+package com.assignment.rex_assignment_server.service;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Canonical key for a recipe search, used to coalesce identical calls and to cache
+ * their responses.
+ * <p>
+ * Build keys from request parameters with {@link #normalized}, so that searches which
+ * mean the same thing to Spoonacular ("Pasta ", "pasta", "ＰＡＳＴＡ") share one key and
+ * one upstream call.
+ */
+public record SearchKey(String query, String diet, String cuisine, String type, int offset, int number) {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final String COMPLEX_SEARCH =
+            "/recipes/complexSearch?query={query}&offset={offset}&number={number}&addRecipeNutrition=true";
+
+    /**
+     * The canonical key for a search: text is NFKC-normalized, trimmed, lower-cased and has
+     * runs of whitespace collapsed; multi-value filters ({@code ,} and {@code |} separated)
+     * are sorted and de-duplicated; blank filters become {@code null}.
+     */
+    public static SearchKey normalized(String query, String diet, String cuisine, String type,
+            int offset, int number) {
+        String text = normalizeText(query);
+        return new SearchKey(text != null ? text : "", normalizeFilter(diet), normalizeFilter(cuisine),
+                normalizeFilter(type), Math.max(0, offset), number);
+    }
+
+    /**
+     * The same search over a different range of results.
+     */
+    public SearchKey withRange(int offset, int number) {
+        return new SearchKey(query, diet, cuisine, type, offset, number);
+    }
+
+    /**
+     * URI template for Spoonacular's complexSearch with this key's filters. Values are bound
+     * from {@link #uriVariables()}, so the client encodes them rather than pasting them in.
+     */
+    public String complexSearchUri() {
+        StringBuilder template = new StringBuilder(COMPLEX_SEARCH);
+        appendFilter(template, "diet", diet);
+        appendFilter(template, "cuisine", cuisine);
+        appendFilter(template, "type", type);
+        return template.toString();
+    }
+
+    /**
+     * Values for the variables of {@link #complexSearchUri()}.
+     */
+    public Map<String, Object> uriVariables() {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("query", query != null ? query : "");
+        variables.put("offset", offset);
+        variables.put("number", number);
+        putFilter(variables, "diet", diet);
+        putFilter(variables, "cuisine", cuisine);
+        putFilter(variables, "type", type);
+        return variables;
+    }
+
+    private static void appendFilter(StringBuilder template, String name, String value) {
+        if (value != null && !value.isBlank()) {
+            template.append('&').append(name).append("={").append(name).append('}');
+        }
+    }
+
+    private static void putFilter(Map<String, Object> variables, String name, String value) {
+        if (value != null && !value.isBlank()) {
+            variables.put(name, value);
+        }
+    }
+
+    private static String normalizeText(String value) {
+        if (value == null) {
+            return null;
+        }
+        String normalized = Normalizer.normalize(value, Normalizer.Form.NFKC);
+        normalized = WHITESPACE.matcher(normalized.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    /**
+     * Spoonacular reads {@code ,} and {@code |} in filters as AND/OR lists, both of which
+     * are order-independent.
+     */
+    private static String normalizeFilter(String value) {
+        String text = normalizeText(value);
+        if (text == null) {
+            return null;
+        }
+        String normalized = Arrays.stream(text.split(","))
+                .map(group -> Arrays.stream(group.split("\\|"))
+                        .map(String::trim)
+                        .filter(s -> !s.isEmpty())
+                        .distinct()
+                        .sorted()
+                        .collect(Collectors.joining("|")))
+                .filter(s -> !s.isEmpty())
+                .distinct()
+                .sorted()
+                .collect(Collectors.joining(","));
+        return normalized.isEmpty() ? null : normalized;
+    }
+}
@@ -0,0 +1,76 @@
+package com.assignment.rex_assignment_server.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures what key normalization buys the search cache.
+ * <p>
+ * Alongside the real hit/miss of each (normalized) search, a shadow set of the raw request
+ * parameters seen within the search TTL tells whether the same lookup would have hit
+ * without normalization. Both are published as {@code recipe.search.lookups{key,result}}.
+ */
+@Component
+public class SearchKeyMetrics implements MeterBinder {
+
+    private static final int MAX_RAW_KEYS = 10_000;
+
+    private final Cache<SearchKey, Boolean> rawKeys;
+    private final LongAdder rawHits = new LongAdder();
+    private final LongAdder rawMisses = new LongAdder();
+    private final LongAdder normalizedHits = new LongAdder();
+    private final LongAdder normalizedMisses = new LongAdder();
+
+    @Autowired
+    public SearchKeyMetrics(@Value("${recipe.cache.search.ttl:30m}") Duration ttl) {
+        this(ttl, MAX_RAW_KEYS);
+    }
+
+    SearchKeyMetrics(Duration ttl, int maxRawKeys) {
+        this.rawKeys = Caffeine.newBuilder()
+                .maximumSize(maxRawKeys)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Record one search lookup.
+     *
+     * @param raw           the key built from the parameters exactly as received
+     * @param normalizedHit whether the normalized lookup was served without going upstream
+     */
+    public void record(SearchKey raw, boolean normalizedHit) {
+        if (rawKeys.asMap().putIfAbsent(raw, Boolean.TRUE) != null) {
+            rawHits.increment();
+        } else {
+            rawMisses.increment();
+        }
+        (normalizedHit ? normalizedHits : normalizedMisses).increment();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindCounter(registry, rawHits, "raw", "hit");
+        bindCounter(registry, rawMisses, "raw", "miss");
+        bindCounter(registry, normalizedHits, "normalized", "hit");
+        bindCounter(registry, normalizedMisses, "normalized", "miss");
+    }
+
+    private static void bindCounter(MeterRegistry registry, LongAdder counter, String key, String result) {
+        FunctionCounter.builder("recipe.search.lookups", counter, LongAdder::sum)
+                .description("Search cache lookups, as served (normalized key) and as they would have been "
+                        + "without normalization (raw key)")
+                .tag("key", key)
+                .tag("result", result)
+                .register(registry);
+    }
+}
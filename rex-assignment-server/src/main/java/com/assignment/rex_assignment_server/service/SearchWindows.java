@@ -0,0 +1,101 @@
+package com.assignment.rex_assignment_server.service;
+
+import com.assignment.rex_assignment_server.dto.RecipeSearchResponse;
+import com.assignment.rex_assignment_server.dto.RecipeSearchResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps requested result pages onto fixed, aligned windows of upstream results.
+ * <p>
+ * Searches are fetched from Spoonacular a whole window at a time (100 results, the most
+ * {@code complexSearch} returns per call) and cached per window, so paging through a
+ * result list 12 at a time costs one upstream call per window rather than one per page.
+ */
+@Component
+@Slf4j
+public class SearchWindows {
+
+    /**
+     * Largest {@code number} Spoonacular accepts for {@code complexSearch}.
+     */
+    static final int MAX_WINDOW_SIZE = 100;
+
+    private final int windowSize;
+
+    public SearchWindows(@Value("${recipe.search.window-size:100}") int windowSize) {
+        if (windowSize < 1 || windowSize > MAX_WINDOW_SIZE) {
+            throw new IllegalArgumentException("window-size must be between 1 and " + MAX_WINDOW_SIZE);
+        }
+        this.windowSize = windowSize;
+        log.info("Search window size: {}", windowSize);
+    }
+
+    /**
+     * Keys of the windows covering the requested range, in order.
+     */
+    public List<SearchKey> covering(SearchKey request) {
+        int offset = Math.max(0, request.offset());
+        int end = offset + Math.max(1, request.number());
+        List<SearchKey> windows = new ArrayList<>();
+        for (int start = offset - offset % windowSize; start < end; start += windowSize) {
+            windows.add(request.withRange(start, windowSize));
+        }
+        return windows;
+    }
+
+    /**
+     * Key of the first window of the request's result list, whose response carries the
+     * upstream total for its query and filters.
+     */
+    public SearchKey first(SearchKey request) {
+        return request.withRange(0, windowSize);
+    }
+
+    /**
+     * Whether results beyond this window can exist, judging by the window's own response.
+     */
+    public boolean hasMore(SearchKey window, RecipeSearchResponse response) {
+        if (response == null || response.getResults() == null) {
+            return false;
+        }
+        return response.getResults().size() >= window.number()
+                && window.offset() + window.number() < response.getTotalResults();
+    }
+
+    /**
+     * Cut the requested page out of the windows fetched for it, which must start with the
+     * window containing {@code request.offset()} and be contiguous. Windows may stop early
+     * when the result list ends.
+     */
+    public RecipeSearchResponse slice(SearchKey request, List<SearchKey> windows,
+            List<RecipeSearchResponse> responses) {
+        int offset = Math.max(0, request.offset());
+        int end = offset + Math.max(1, request.number());
+        List<RecipeSearchResult> results = new ArrayList<>();
+        int totalResults = 0;
+        for (int i = 0; i < responses.size(); i++) {
+            RecipeSearchResponse response = responses.get(i);
+            if (response == null) {
+                break;
+            }
+            totalResults = response.getTotalResults();
+            List<RecipeSearchResult> windowResults = response.getResults() != null ? response.getResults() : List.of();
+            int start = windows.get(i).offset();
+            int from = Math.min(windowResults.size(), Math.max(0, offset - start));
+            int to = Math.min(windowResults.size(), Math.max(0, end - start));
+            results.addAll(windowResults.subList(from, to));
+        }
+
+        return RecipeSearchResponse.builder()
+                .results(results)
+                .offset(request.offset())
+                .number(request.number())
+                .totalResults(totalResults)
+                .build();
+    }
+}
@@ -0,0 +1,163 @@
+package com.assignment.rex_assignment_server.store;
+
+import com.assignment.rex_assignment_server.cache.CachedResponse;
+import com.assignment.rex_assignment_server.dto.RecipeDetailResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * On-disk tier for fetched recipe details, so a freshly deployed container starts warm
+ * instead of sending its first minutes of traffic to Spoonacular.
+ * <p>
+ * Recipes are stored as the JSON the API serves, in a {@link SegmentLog}. Entries older than {@code max-age}
+ * are treated as absent and dropped by the periodic compaction. Failures are logged and
+ * treated as misses; the store never fails a request.
+ */
+@Component
+@Slf4j
+public class RecipeStore {
+
+    private final JsonMapper jsonMapper;
+    private final Duration maxAge;
+    private final Clock clock;
+    private final SegmentLog segmentLog;
+    private final ScheduledExecutorService compactor;
+
+    /**
+     * The store is only opened when {@code recipe.store.dir} names a directory: a default
+     * under the temp directory would be wiped with the container and never start it warm.
+     */
+    @Autowired
+    public RecipeStore(JsonMapper jsonMapper,
+            @Value("${recipe.store.enabled:true}") boolean enabled,
+            @Value("${recipe.store.dir:}") String directory,
+            @Value("${recipe.store.segment-size:64MB}") DataSize segmentSize,
+            @Value("${recipe.store.max-age:7d}") Duration maxAge,
+            @Value("${recipe.store.compaction-interval:1h}") Duration compactionInterval) {
+        this(jsonMapper, enabled && !directory.isBlank(), directory.isBlank() ? null : Path.of(directory),
+                segmentSize, maxAge, compactionInterval, Clock.systemUTC());
+        if (enabled && directory.isBlank()) {
+            log.info("Recipe store needs recipe.store.dir (RECIPE_STORE_DIR) on a persistent volume");
+        }
+    }
+
+    public RecipeStore(JsonMapper jsonMapper, boolean enabled, Path directory, DataSize segmentSize,
+            Duration maxAge, Duration compactionInterval) {
+        this(jsonMapper, enabled, directory, segmentSize, maxAge, compactionInterval, Clock.systemUTC());
+    }
+
+    RecipeStore(JsonMapper jsonMapper, boolean enabled, Path directory, DataSize segmentSize,
+            Duration maxAge, Duration compactionInterval, Clock clock) {
+        this.jsonMapper = jsonMapper;
+        this.maxAge = maxAge;
+        this.clock = clock;
+        this.segmentLog = enabled ? openLog(directory, segmentSize) : null;
+
+        if (segmentLog != null) {
+            log.info("Recipe store at {} - {} records", directory, segmentLog.size());
+            this.compactor = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("recipe-store-compactor").daemon().factory());
+            compactor.scheduleWithFixedDelay(this::compact, 0, compactionInterval.toMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            this.compactor = null;
+            log.info("Recipe store disabled");
+        }
+    }
+
+    public Optional<CachedResponse<RecipeDetailResponse>> get(Long id) {
+        if (segmentLog == null || id == null) {
+            return Optional.empty();
+        }
+        try {
+            SegmentLog.Entry entry = segmentLog.get(id);
+            if (entry == null || entry.timestamp() < oldestAllowed()) {
+                return Optional.empty();
+            }
+            RecipeDetailResponse recipe = jsonMapper.readValue(entry.payload(), RecipeDetailResponse.class);
+            return Optional.of(CachedResponse.of(recipe, entry.payload(), entry.timestamp()));
+        } catch (IOException | JacksonException e) {
+            log.warn("Failed to read recipe {} from store: {}", id, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Append a recipe using its already-serialized JSON.
+     */
+    public void put(CachedResponse<RecipeDetailResponse> recipe) {
+        Long id = recipe.getValue().getId();
+        if (segmentLog == null || id == null) {
+            return;
+        }
+        try {
+            segmentLog.append(id, recipe.getFetchedAt(), recipe.getJson());
+        } catch (IOException e) {
+            log.warn("Failed to write recipe {} to store: {}", id, e.getMessage());
+        }
+    }
+
+    /**
+     * Ids of all recipes currently held on disk.
+     */
+    public List<Long> ids() {
+        return segmentLog == null ? List.of() : segmentLog.keys();
+    }
+
+    public int size() {
+        return segmentLog == null ? 0 : segmentLog.size();
+    }
+
+    void compact() {
+        try {
+            int removed = segmentLog.compact(oldestAllowed());
+            if (removed > 0) {
+                log.info("Recipe store compaction removed {} segments - {} records, {} bytes on disk",
+                        removed, segmentLog.size(), segmentLog.diskBytes());
+            }
+        } catch (IOException e) {
+            log.warn("Recipe store compaction failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (segmentLog == null) {
+            return;
+        }
+        compactor.shutdownNow();
+        try {
+            segmentLog.close();
+        } catch (IOException e) {
+            log.warn("Failed to close recipe store: {}", e.getMessage());
+        }
+    }
+
+    private long oldestAllowed() {
+        return clock.millis() - maxAge.toMillis();
+    }
+
+    private static SegmentLog openLog(Path directory, DataSize segmentSize) {
+        try {
+            return SegmentLog.open(directory, segmentSize.toBytes());
+        } catch (IOException e) {
+            log.warn("Cannot open recipe store at {}, continuing without it: {}", directory, e.getMessage());
+            return null;
+        }
+    }
+}
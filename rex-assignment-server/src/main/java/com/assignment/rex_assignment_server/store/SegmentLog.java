@@ -0,0 +1,536 @@
+package com.assignment.rex_assignment_server.store;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only, segmented key/value log with an in-memory key → offset index.
+ * <p>
+ * Records are appended to the active segment; once it reaches {@code maxSegmentBytes} it is
+ * sealed, memory-mapped read-only and a hint file listing its live records is written next
+ * to it. On startup the index is rebuilt from hint files (sequential, a few bytes per record)
+ * and only the active segment is scanned, which keeps a restart well under a second for
+ * hundreds of thousands of records. {@link #compact(long)} rewrites the live records of
+ * mostly-superseded or expired segments and deletes them.
+ * <p>
+ * Record layout: {@code int payloadLength, int crc32c, long key, long timestamp, payload}.
+ * A removal is a tombstone record, a header with length {@code -1} and no payload, which
+ * hides the key's earlier records on rebuild. Compaction carries a tombstone forward while
+ * an older segment that may hold such a record is left on disk.
+ */
+@Slf4j
+public class SegmentLog implements Closeable {
+
+    static final int HEADER_BYTES = 24;
+    static final int TOMBSTONE = -1;
+
+    private static final int HINT_ENTRY_BYTES = 28;
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String HINT_SUFFIX = ".hint";
+    private static final double COMPACTION_THRESHOLD = 0.5;
+
+    /**
+     * A stored payload and the time it was written.
+     */
+    public record Entry(byte[] payload, long timestamp) {
+    }
+
+    private record Location(Segment segment, long offset, int length, long timestamp) {
+        long recordBytes() {
+            return HEADER_BYTES + (long) length;
+        }
+    }
+
+    private final Path directory;
+    private final long maxSegmentBytes;
+    private final ConcurrentMap<Long, Location> index = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Location> tombstones = new ConcurrentHashMap<>();
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // Written under writeLock; volatile so compaction can snapshot it without the lock
+    private volatile Segment active;
+
+    private SegmentLog(Path directory, long maxSegmentBytes) {
+        this.directory = directory;
+        this.maxSegmentBytes = maxSegmentBytes;
+    }
+
+    /**
+     * Open (or create) the log in {@code directory} and rebuild its index.
+     */
+    public static SegmentLog open(Path directory, long maxSegmentBytes) throws IOException {
+        Files.createDirectories(directory);
+        SegmentLog log = new SegmentLog(directory, maxSegmentBytes);
+        log.rebuild();
+        return log;
+    }
+
+    public void append(long key, long timestamp, byte[] payload) throws IOException {
+        writeLock.lock();
+        try {
+            write(key, timestamp, payload);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Latest entry for {@code key}, or {@code null} when absent or unreadable.
+     */
+    public Entry get(long key) throws IOException {
+        Location location = index.get(key);
+        if (location == null) {
+            return null;
+        }
+
+        ByteBuffer record = location.segment().read(location.offset(), (int) location.recordBytes());
+        int crc = record.getInt(4);
+        long storedKey = record.getLong(8);
+        byte[] payload = new byte[location.length()];
+        record.get(HEADER_BYTES, payload);
+
+        if (storedKey != key || crc != checksum(payload)) {
+            log.warn("Dropping corrupt record for key {} in {}", key, location.segment().path);
+            index.remove(key, location);
+            return null;
+        }
+        return new Entry(payload, location.timestamp());
+    }
+
+    public boolean contains(long key) {
+        return index.containsKey(key);
+    }
+
+    /**
+     * Remove {@code key} by appending a tombstone, so its records stay hidden after a restart.
+     */
+    public void remove(long key) throws IOException {
+        writeLock.lock();
+        try {
+            if (index.containsKey(key)) {
+                writeTombstone(key, System.currentTimeMillis());
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Number of live keys.
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Keys of all live records, in no particular order.
+     */
+    public List<Long> keys() {
+        return List.copyOf(index.keySet());
+    }
+
+    /**
+     * Total bytes on disk across all segments.
+     */
+    public long diskBytes() {
+        return segments.stream().mapToLong(segment -> segment.size).sum();
+    }
+
+    /**
+     * Rewrite live records out of sealed segments that are mostly superseded or hold records
+     * older than {@code minTimestamp}, dropping the expired ones, then delete those segments.
+     *
+     * @return number of segments removed
+     */
+    public int compact(long minTimestamp) throws IOException {
+        // Every segment older than the active one is sealed, even if a roll happens meanwhile
+        long activeId = active.id;
+        List<Segment> candidates = new ArrayList<>();
+        long oldestKept = activeId;
+        for (Segment segment : segments) {
+            if (segment.id < activeId && (segment.deadRatio() >= COMPACTION_THRESHOLD
+                    || hasExpired(segment, minTimestamp))) {
+                candidates.add(segment);
+            } else {
+                oldestKept = Math.min(oldestKept, segment.id);
+            }
+        }
+
+        for (Segment segment : candidates) {
+            for (Map.Entry<Long, Location> entry : index.entrySet()) {
+                Location location = entry.getValue();
+                if (location.segment() != segment) {
+                    continue;
+                }
+                if (location.timestamp() < minTimestamp) {
+                    index.remove(entry.getKey(), location);
+                    continue;
+                }
+                Entry current = get(entry.getKey());
+                if (current != null) {
+                    rewrite(entry.getKey(), location, current);
+                }
+            }
+            // Candidates are deleted oldest first, so a tombstone is only dropped once no
+            // older segment can bring its key back
+            for (Map.Entry<Long, Location> entry : tombstones.entrySet()) {
+                Location location = entry.getValue();
+                if (location.segment() != segment) {
+                    continue;
+                }
+                if (oldestKept < segment.id) {
+                    rewriteTombstone(entry.getKey(), location);
+                } else {
+                    tombstones.remove(entry.getKey(), location);
+                }
+            }
+            segments.remove(segment);
+            segment.delete();
+            log.debug("Compacted segment {}", segment.path.getFileName());
+        }
+        return candidates.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writeLock.lock();
+        try {
+            for (Segment segment : segments) {
+                segment.close();
+            }
+            segments.clear();
+            index.clear();
+            tombstones.clear();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void rewrite(long key, Location expected, Entry entry) throws IOException {
+        writeLock.lock();
+        try {
+            // Skip keys that were overwritten while compaction was running
+            if (index.get(key) == expected) {
+                write(key, entry.timestamp(), entry.payload());
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void rewriteTombstone(long key, Location expected) throws IOException {
+        writeLock.lock();
+        try {
+            // Skip keys that were written again while compaction was running
+            if (tombstones.get(key) == expected) {
+                writeTombstone(key, expected.timestamp());
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private boolean hasExpired(Segment segment, long minTimestamp) {
+        return index.values().stream()
+                .anyMatch(location -> location.segment() == segment && location.timestamp() < minTimestamp);
+    }
+
+    private void write(long key, long timestamp, byte[] payload) throws IOException {
+        long offset = appendRecord(payload.length, checksum(payload), key, timestamp, payload);
+        index(key, new Location(active, offset, payload.length, timestamp));
+    }
+
+    private void writeTombstone(long key, long timestamp) throws IOException {
+        long offset = appendRecord(TOMBSTONE, 0, key, timestamp, new byte[0]);
+        // A tombstone holds no live data, so it counts towards compacting its segment
+        active.deadBytes.addAndGet(HEADER_BYTES);
+        markRemoved(key, new Location(active, offset, 0, timestamp));
+    }
+
+    /**
+     * Append one record to the active segment, rolling it first if the record won't fit.
+     *
+     * @return the record's offset in the (possibly new) active segment
+     */
+    private long appendRecord(int length, int crc, long key, long timestamp, byte[] payload) throws IOException {
+        int recordBytes = HEADER_BYTES + payload.length;
+        if (active.size > 0 && active.size + recordBytes > maxSegmentBytes) {
+            roll();
+        }
+
+        ByteBuffer record = ByteBuffer.allocate(recordBytes)
+                .putInt(length)
+                .putInt(crc)
+                .putLong(key)
+                .putLong(timestamp)
+                .put(payload)
+                .flip();
+        long offset = active.size;
+        active.writeFully(record, offset);
+        active.size = offset + recordBytes;
+        return offset;
+    }
+
+    private void index(long key, Location location) {
+        tombstones.remove(key);
+        Location previous = index.put(key, location);
+        if (previous != null) {
+            previous.segment().deadBytes.addAndGet(previous.recordBytes());
+        }
+    }
+
+    /**
+     * Apply a tombstone: drop the key's live record and remember where the tombstone is,
+     * for hint files and compaction.
+     */
+    private void markRemoved(long key, Location tombstone) {
+        tombstones.put(key, tombstone);
+        Location previous = index.remove(key);
+        if (previous != null) {
+            previous.segment().deadBytes.addAndGet(previous.recordBytes());
+        }
+    }
+
+    private void roll() throws IOException {
+        writeHints(active);
+        active.seal();
+        active = Segment.create(segmentPath(active.id + 1), active.id + 1);
+        segments.add(active);
+    }
+
+    private void rebuild() throws IOException {
+        long start = System.nanoTime();
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+
+        for (int i = 0; i < files.size(); i++) {
+            Path path = files.get(i);
+            String name = path.getFileName().toString();
+            long id = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+            Segment segment = Segment.open(path, id);
+            segments.add(segment);
+
+            boolean last = i == files.size() - 1;
+            if (last) {
+                scan(segment, true);
+                active = segment;
+            } else {
+                if (!loadHints(segment)) {
+                    scan(segment, false);
+                    writeHints(segment);
+                }
+                segment.seal();
+            }
+        }
+
+        if (active == null) {
+            active = Segment.create(segmentPath(0), 0);
+            segments.add(active);
+        }
+
+        log.info("Recipe store index rebuilt - {} records in {} segments, {} ms",
+                index.size(), segments.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void scan(Segment segment, boolean truncateTornTail) throws IOException {
+        if (segment.size == 0) {
+            return;
+        }
+        MappedByteBuffer buffer = segment.channel.map(FileChannel.MapMode.READ_ONLY, 0, segment.size);
+        long position = 0;
+        while (position + HEADER_BYTES <= segment.size) {
+            int length = buffer.getInt((int) position);
+            long key = buffer.getLong((int) position + 8);
+            long timestamp = buffer.getLong((int) position + 16);
+            if (length == TOMBSTONE) {
+                segment.deadBytes.addAndGet(HEADER_BYTES);
+                markRemoved(key, new Location(segment, position, 0, timestamp));
+                position += HEADER_BYTES;
+                continue;
+            }
+            if (length < 0 || position + HEADER_BYTES + length > segment.size) {
+                break;
+            }
+            index(key, new Location(segment, position, length, timestamp));
+            position += HEADER_BYTES + length;
+        }
+
+        if (position < segment.size) {
+            log.warn("Segment {} has {} trailing bytes that do not form a record",
+                    segment.path.getFileName(), segment.size - position);
+            if (truncateTornTail) {
+                segment.channel.truncate(position);
+                segment.size = position;
+            } else {
+                segment.deadBytes.addAndGet(segment.size - position);
+            }
+        }
+    }
+
+    private boolean loadHints(Segment segment) throws IOException {
+        Path hintPath = hintPath(segment);
+        if (!Files.exists(hintPath)) {
+            return false;
+        }
+        ByteBuffer hints = ByteBuffer.wrap(Files.readAllBytes(hintPath));
+        if (hints.remaining() < 8 || hints.getLong() != segment.size
+                || hints.remaining() % HINT_ENTRY_BYTES != 0) {
+            log.warn("Ignoring stale hint file {}", hintPath.getFileName());
+            return false;
+        }
+
+        long liveBytes = 0;
+        while (hints.hasRemaining()) {
+            long key = hints.getLong();
+            long offset = hints.getLong();
+            int length = hints.getInt();
+            long timestamp = hints.getLong();
+            if (length == TOMBSTONE) {
+                markRemoved(key, new Location(segment, offset, 0, timestamp));
+                continue;
+            }
+            Location location = new Location(segment, offset, length, timestamp);
+            index(key, location);
+            liveBytes += location.recordBytes();
+        }
+        segment.deadBytes.addAndGet(segment.size - liveBytes);
+        return true;
+    }
+
+    private void writeHints(Segment segment) throws IOException {
+        List<Map.Entry<Long, Location>> live = inSegment(index, segment);
+        List<Map.Entry<Long, Location>> removed = inSegment(tombstones, segment);
+        ByteBuffer hints = ByteBuffer.allocate(8 + (live.size() + removed.size()) * HINT_ENTRY_BYTES)
+                .putLong(segment.size);
+        for (Map.Entry<Long, Location> entry : live) {
+            Location location = entry.getValue();
+            hints.putLong(entry.getKey())
+                    .putLong(location.offset())
+                    .putInt(location.length())
+                    .putLong(location.timestamp());
+        }
+        for (Map.Entry<Long, Location> entry : removed) {
+            hints.putLong(entry.getKey())
+                    .putLong(entry.getValue().offset())
+                    .putInt(TOMBSTONE)
+                    .putLong(entry.getValue().timestamp());
+        }
+        Path temp = hintPath(segment).resolveSibling(hintPath(segment).getFileName() + ".tmp");
+        Files.write(temp, hints.array());
+        Files.move(temp, hintPath(segment), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static List<Map.Entry<Long, Location>> inSegment(Map<Long, Location> locations, Segment segment) {
+        return locations.entrySet().stream()
+                .filter(entry -> entry.getValue().segment() == segment)
+                .toList();
+    }
+
+    private Path segmentPath(long id) {
+        return directory.resolve(String.format("%012d%s", id, SEGMENT_SUFFIX));
+    }
+
+    private static Path hintPath(Segment segment) {
+        String name = segment.path.getFileName().toString();
+        return segment.path.resolveSibling(name.substring(0, name.length() - SEGMENT_SUFFIX.length()) + HINT_SUFFIX);
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static final class Segment {
+        private final long id;
+        private final Path path;
+        private final FileChannel channel;
+        private final AtomicLong deadBytes = new AtomicLong();
+        private volatile long size;
+        private volatile MappedByteBuffer mapped;
+
+        private Segment(long id, Path path, FileChannel channel, long size) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.size = size;
+        }
+
+        static Segment open(Path path, long id) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(id, path, channel, channel.size());
+        }
+
+        static Segment create(Path path, long id) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            return new Segment(id, path, channel, channel.size());
+        }
+
+        void seal() throws IOException {
+            channel.force(false);
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        ByteBuffer read(long offset, int length) throws IOException {
+            MappedByteBuffer sealed = mapped;
+            if (sealed != null) {
+                return sealed.slice((int) offset, length);
+            }
+            // The active segment is still growing, so read it with positional reads
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of segment " + path.getFileName());
+                }
+            }
+            return buffer.flip();
+        }
+
+        void writeFully(ByteBuffer buffer, long offset) throws IOException {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, offset + buffer.position());
+            }
+        }
+
+        double deadRatio() {
+            return size == 0 ? 0.0 : (double) deadBytes.get() / size;
+        }
+
+        void close() throws IOException {
+            if (channel.isOpen()) {
+                channel.force(false);
+                channel.close();
+            }
+        }
+
+        void delete() throws IOException {
+            close();
+            Files.deleteIfExists(path);
+            Files.deleteIfExists(hintPath(this));
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.assignment.rex_assignment_server.timing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Per-request phase timings, reported to clients in a {@code Server-Timing} header.
+ * <p>
+ * {@link ServerTimingFilter} opens a recording for sampled requests, a fixed array of
+ * durations kept as a request attribute; code along the request path times its work with
+ * {@link #begin()} and {@link #record(Phase, long)}, and {@link ServerTimingAdvice} writes
+ * the header just before the body. The recorder is found through the request Spring has
+ * already bound to the thread, so a sampled request allocates its recorder and header
+ * string and an unsampled one nothing at all, on platform and virtual threads alike. Work
+ * done on other threads (batched detail fetches, refreshes, prefetches) is seen by the
+ * request as the time it spent waiting for it.
+ */
+public final class ServerTiming {
+
+    public static final String HEADER = "Server-Timing";
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final String RECORDER = ServerTiming.class.getName() + ".RECORDER";
+
+    private ServerTiming() {
+    }
+
+    /**
+     * Request phases, in the order they are reported. A phase entered several times in one
+     * request (a search page spanning two windows, say) reports the sum.
+     */
+    public enum Phase {
+        CACHE("cache", "In-memory cache lookup"),
+        STORE("store", "On-disk recipe store read/write"),
+        INDEX("index", "Local search index"),
+        UPSTREAM("upstream", "Spoonacular call, response parsing included"),
+        SERIALIZE("serialize", "JSON serialization"),
+        ENCODE("encode", "Response compression");
+
+        private final String metric;
+        private final String description;
+
+        Phase(String metric, String description) {
+            this.metric = metric;
+            this.description = description;
+        }
+    }
+
+    /**
+     * Start of a timed section; pass the result to {@link #record(Phase, long)}.
+     */
+    public static long begin() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Add the time since {@code start} to the phase, if the current request is sampled.
+     */
+    public static void record(Phase phase, long start) {
+        Recorder recorder = current();
+        if (recorder != null) {
+            recorder.durations[phase.ordinal()] += System.nanoTime() - start;
+        }
+    }
+
+    static void open(HttpServletRequest request, long requestStart) {
+        request.setAttribute(RECORDER, new Recorder(requestStart));
+    }
+
+    /**
+     * The header value for {@code request}: each phase that took time, then {@code total}
+     * since the filter opened the recording. Null when not sampled.
+     */
+    static String headerValue(HttpServletRequest request) {
+        Recorder recorder = (Recorder) request.getAttribute(RECORDER);
+        if (recorder == null) {
+            return null;
+        }
+        long total = System.nanoTime() - recorder.requestStart;
+        StringBuilder header = new StringBuilder(128);
+        for (Phase phase : PHASES) {
+            long duration = recorder.durations[phase.ordinal()];
+            if (duration > 0) {
+                append(header, phase.metric, phase.description, duration);
+            }
+        }
+        append(header, "total", "Time in the server before the response body", total);
+        return header.toString();
+    }
+
+    /**
+     * The recording of the request bound to this thread, if it is sampled. Threads outside
+     * a request have no request attributes.
+     */
+    private static Recorder current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null ? (Recorder) attributes.getAttribute(RECORDER, RequestAttributes.SCOPE_REQUEST)
+                : null;
+    }
+
+    private static void append(StringBuilder header, String metric, String description, long nanos) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        // Milliseconds with microsecond precision, without going through String.format
+        long micros = nanos / 1_000;
+        long fraction = micros % 1_000;
+        header.append(metric).append(";desc=\"").append(description).append("\";dur=")
+                .append(micros / 1_000).append('.');
+        if (fraction < 100) {
+            header.append('0');
+        }
+        if (fraction < 10) {
+            header.append('0');
+        }
+        header.append(fraction);
+    }
+
+    private static final class Recorder {
+        private final long[] durations = new long[PHASES.length];
+        private final long requestStart;
+
+        private Recorder(long requestStart) {
+            this.requestStart = requestStart;
+        }
+    }
+}
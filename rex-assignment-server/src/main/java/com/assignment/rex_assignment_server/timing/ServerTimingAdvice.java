@@ -0,0 +1,37 @@
+package com.assignment.rex_assignment_server.timing;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the {@code Server-Timing} header of a sampled request right before its body is
+ * written, when the headers can still be changed. Bodiless 304s are committed without
+ * passing through here and carry no timings.
+ */
+@ControllerAdvice
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+            ServerHttpResponse response) {
+        String timings = request instanceof ServletServerHttpRequest servletRequest
+                ? ServerTiming.headerValue(servletRequest.getServletRequest())
+                : null;
+        if (timings != null) {
+            response.getHeaders().set(ServerTiming.HEADER, timings);
+        }
+        return body;
+    }
+}
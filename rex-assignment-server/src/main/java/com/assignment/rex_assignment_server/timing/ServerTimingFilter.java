@@ -0,0 +1,52 @@
+package com.assignment.rex_assignment_server.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Opens a {@link ServerTiming} recording for a sample of recipe API requests. Runs first,
+ * ahead of the CORS filter, so {@code total} covers the whole filter chain.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private final double sampleRate;
+
+    public ServerTimingFilter(@Value("${recipe.http.server-timing.sample-rate:1.0}") double sampleRate) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("recipe.http.server-timing.sample-rate must be between 0 and 1");
+        }
+        this.sampleRate = sampleRate;
+        log.info("Server-Timing sample rate: {}", sampleRate);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return sampleRate == 0 || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ServerTiming.open(request, System.nanoTime());
+        filterChain.doFilter(request, response);
+    }
+}
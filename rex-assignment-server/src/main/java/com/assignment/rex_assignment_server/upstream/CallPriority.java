@@ -0,0 +1,69 @@
+package com.assignment.rex_assignment_server.upstream;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The priority of one upstream call, which callers sharing the call may raise while it
+ * waits for an outbound slot.
+ * <p>
+ * A prefetch starts at {@link UpstreamPriority#PREFETCH}; when a user request joins its
+ * flight in the {@link InFlightRegistry}, the request's priority is applied to the call, so
+ * the user never waits behind other prefetches or counts against their quota share.
+ */
+public final class CallPriority {
+
+    private final UpstreamPriority initial;
+    private final AtomicReference<UpstreamPriority> current;
+    private volatile Runnable onRaise;
+
+    private CallPriority(UpstreamPriority initial) {
+        this.initial = initial;
+        this.current = new AtomicReference<>(initial);
+    }
+
+    public static CallPriority of(UpstreamPriority priority) {
+        return new CallPriority(priority);
+    }
+
+    /**
+     * The priority the call was started with.
+     */
+    public UpstreamPriority initial() {
+        return initial;
+    }
+
+    public UpstreamPriority get() {
+        return current.get();
+    }
+
+    /**
+     * Raise the call to {@code priority} if that is higher than its current one.
+     *
+     * @return whether the priority changed
+     */
+    public boolean raise(UpstreamPriority priority) {
+        UpstreamPriority previous = current.getAndAccumulate(priority,
+                (a, b) -> b.ordinal() < a.ordinal() ? b : a);
+        if (priority.ordinal() >= previous.ordinal()) {
+            return false;
+        }
+        Runnable listener = onRaise;
+        if (listener != null) {
+            listener.run();
+        }
+        return true;
+    }
+
+    /**
+     * Set (or with {@code null}, clear) what to run when the priority is raised; the
+     * {@link OutboundScheduler} uses it to wake a queued call.
+     */
+    void onRaise(Runnable listener) {
+        this.onRaise = listener;
+    }
+
+    @Override
+    public String toString() {
+        return current.get().tag();
+    }
+}
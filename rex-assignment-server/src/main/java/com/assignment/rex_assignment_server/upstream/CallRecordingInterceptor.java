@@ -0,0 +1,148 @@
+package com.assignment.rex_assignment_server.upstream;
+
+import com.assignment.rex_assignment_server.jfr.SpoonacularCallEvent;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Emits a {@link SpoonacularCallEvent} per exchange while the event is enabled in a JFR
+ * recording. The event ends when the caller closes the response, after the body has been
+ * read and parsed, and carries the number of body bytes read. With the event disabled the
+ * exchange passes through untouched.
+ */
+public class CallRecordingInterceptor implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        SpoonacularCallEvent event = new SpoonacularCallEvent();
+        if (!event.isEnabled()) {
+            return execution.execute(request, body);
+        }
+
+        event.path = request.getURI().getPath();
+        event.operation = operationOf(event.path);
+        event.begin();
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            event.status = response.getStatusCode().value();
+            return new RecordingResponse(response, event);
+        } catch (IOException | RuntimeException e) {
+            event.commit();
+            throw e;
+        }
+    }
+
+    /**
+     * The Spoonacular endpoint a path belongs to, as a low-cardinality name.
+     */
+    static String operationOf(String path) {
+        if (path.endsWith("/complexSearch")) {
+            return "complexSearch";
+        }
+        if (path.endsWith("/informationBulk")) {
+            return "informationBulk";
+        }
+        if (path.endsWith("/information")) {
+            return "information";
+        }
+        if (path.endsWith("/autocomplete")) {
+            return "autocomplete";
+        }
+        return "other";
+    }
+
+    /**
+     * Counts the body bytes the caller reads and commits the event on close, once.
+     */
+    private static final class RecordingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final SpoonacularCallEvent event;
+        private InputStream body;
+        private boolean committed;
+
+        private RecordingResponse(ClientHttpResponse delegate, SpoonacularCallEvent event) {
+            this.delegate = delegate;
+            this.event = event;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new CountingInputStream(delegate.getBody(), event);
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (!committed) {
+                    committed = true;
+                    event.commit();
+                }
+            }
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private final SpoonacularCallEvent event;
+
+        private CountingInputStream(InputStream in, SpoonacularCallEvent event) {
+            super(in);
+            this.event = event;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                event.bytes++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                event.bytes += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            event.bytes += skipped;
+            return skipped;
+        }
+    }
+}
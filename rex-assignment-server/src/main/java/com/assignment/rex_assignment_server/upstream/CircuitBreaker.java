@@ -0,0 +1,197 @@
+package com.assignment.rex_assignment_server.upstream;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Count-based sliding-window circuit breaker.
+ * <p>
+ * While closed, the outcome of the last {@code windowSize} calls is kept. Once at least
+ * {@code minimumCalls} have been recorded, the breaker opens if the failure rate or the
+ * slow-call rate reaches its threshold. While open every call is refused. After
+ * {@code openDuration} it lets {@code halfOpenCalls} trial calls through and closes again
+ * if they stay under both thresholds, or re-opens otherwise.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenCalls;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final boolean[] failedWindow;
+    private final boolean[] slowWindow;
+    private int windowNext;
+    private int windowCount;
+    private int windowFailures;
+    private int windowSlow;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int trialPermits;
+    private int trialResults;
+    private int trialFailures;
+    private int trialSlow;
+
+    /**
+     * @param failureRateThreshold  percentage of failed calls that opens the breaker
+     * @param slowCallRateThreshold percentage of calls slower than {@code slowCallDuration} that opens it
+     */
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, double failureRateThreshold,
+            double slowCallRateThreshold, Duration slowCallDuration, Duration openDuration, int halfOpenCalls) {
+        if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize || halfOpenCalls < 1) {
+            throw new IllegalArgumentException("Invalid circuit breaker window configuration");
+        }
+        this.name = name;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = slowCallDuration.toNanos();
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+        this.failedWindow = new boolean[windowSize];
+        this.slowWindow = new boolean[windowSize];
+    }
+
+    /**
+     * Ask to make a call. Every granted permission must be followed by exactly one of
+     * {@link #onResult} or {@link #onIgnored}.
+     */
+    public boolean tryAcquirePermission() {
+        lock.lock();
+        try {
+            if (state == State.OPEN) {
+                if (System.nanoTime() - openedAt < openNanos) {
+                    return false;
+                }
+                transition(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                if (trialPermits >= halfOpenCalls) {
+                    return false;
+                }
+                trialPermits++;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Record the outcome of a permitted call.
+     */
+    public void onResult(long durationNanos, boolean failed) {
+        boolean slow = durationNanos >= slowCallNanos;
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                trialResults++;
+                trialFailures += failed ? 1 : 0;
+                trialSlow += slow ? 1 : 0;
+                if (trialResults >= halfOpenCalls) {
+                    boolean healthy = rate(trialFailures, trialResults) < failureRateThreshold
+                            && rate(trialSlow, trialResults) < slowCallRateThreshold;
+                    transition(healthy ? State.CLOSED : State.OPEN);
+                }
+            } else if (state == State.CLOSED) {
+                record(failed, slow);
+                if (windowCount >= minimumCalls
+                        && (rate(windowFailures, windowCount) >= failureRateThreshold
+                        || rate(windowSlow, windowCount) >= slowCallRateThreshold)) {
+                    transition(State.OPEN);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Give back a permission whose call was never made or whose outcome says nothing about
+     * upstream health.
+     */
+    public void onIgnored() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN && trialPermits > trialResults) {
+                trialPermits--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public State state() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Time until an open breaker lets trial calls through; zero otherwise.
+     */
+    public Duration retryAfter() {
+        lock.lock();
+        try {
+            if (state != State.OPEN) {
+                return Duration.ZERO;
+            }
+            return Duration.ofNanos(Math.max(0, openNanos - (System.nanoTime() - openedAt)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(boolean failed, boolean slow) {
+        if (windowCount == failedWindow.length) {
+            windowFailures -= failedWindow[windowNext] ? 1 : 0;
+            windowSlow -= slowWindow[windowNext] ? 1 : 0;
+        } else {
+            windowCount++;
+        }
+        failedWindow[windowNext] = failed;
+        slowWindow[windowNext] = slow;
+        windowFailures += failed ? 1 : 0;
+        windowSlow += slow ? 1 : 0;
+        windowNext = (windowNext + 1) % failedWindow.length;
+    }
+
+    private void transition(State next) {
+        log.warn("Circuit breaker '{}' {} -> {}", name, state, next);
+        state = next;
+        if (next == State.OPEN) {
+            openedAt = System.nanoTime();
+        }
+        if (next == State.HALF_OPEN) {
+            trialPermits = 0;
+            trialResults = 0;
+            trialFailures = 0;
+            trialSlow = 0;
+        }
+        if (next == State.CLOSED) {
+            windowNext = 0;
+            windowCount = 0;
+            windowFailures = 0;
+            windowSlow = 0;
+        }
+    }
+
+    private static double rate(int count, int total) {
+        return total == 0 ? 0.0 : 100.0 * count / total;
+    }
+}
@@ -0,0 +1,159 @@
+package com.assignment.rex_assignment_server.upstream;
+
+import com.assignment.rex_assignment_server.exception.UpstreamUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounds the number of concurrent exchanges on the Spoonacular transport.
+ * <p>
+ * The JDK {@code HttpClient} keeps its connection pool private: it multiplexes HTTP/2
+ * streams over one connection per origin and opens HTTP/1.1 connections on demand. This
+ * interceptor is therefore the pool bound. An exchange holds a permit from the moment it
+ * is sent until its response is closed, so body reads count too. Callers wait up to
+ * {@code acquireTimeout} for a permit and are refused after that.
+ */
+public class ConnectionLimiter implements ClientHttpRequestInterceptor, MeterBinder {
+
+    private final int maxConcurrent;
+    private final long acquireTimeoutNanos;
+    private final Semaphore permits;
+    private final AtomicInteger pending = new AtomicInteger();
+
+    public ConnectionLimiter(int maxConcurrent, Duration acquireTimeout) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("maxConcurrent must be at least 1");
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        acquire();
+        try {
+            return new PermitReleasingResponse(execution.execute(request, body), permits);
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Exchanges currently holding a permit.
+     */
+    public int active() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    /**
+     * Callers waiting for a permit.
+     */
+    public int pending() {
+        return pending.get();
+    }
+
+    /**
+     * Permits free for new exchanges. These say nothing about the client's connections,
+     * which may be fewer (HTTP/2 multiplexing) or already closed.
+     */
+    public int available() {
+        return permits.availablePermits();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("recipe.upstream.http.connections", this, ConnectionLimiter::active)
+                .description("Spoonacular exchanges by transport state")
+                .tag("state", "active")
+                .register(registry);
+        Gauge.builder("recipe.upstream.http.permits.available", this, ConnectionLimiter::available)
+                .description("Permits free for new Spoonacular exchanges")
+                .register(registry);
+        Gauge.builder("recipe.upstream.http.connections", this, ConnectionLimiter::pending)
+                .description("Spoonacular exchanges by transport state")
+                .tag("state", "pending")
+                .register(registry);
+    }
+
+    private void acquire() {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        pending.incrementAndGet();
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new UpstreamUnavailableException("No Spoonacular connection available", Duration.ofSeconds(1));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UpstreamUnavailableException("Interrupted waiting for a Spoonacular connection",
+                    Duration.ofSeconds(1));
+        } finally {
+            pending.decrementAndGet();
+        }
+    }
+
+    /**
+     * Gives the permit back once the caller has closed the response, at most once.
+     */
+    private static final class PermitReleasingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final Semaphore permits;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private PermitReleasingResponse(ClientHttpResponse delegate, Semaphore permits) {
+            this.delegate = delegate;
+            this.permits = permits;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    permits.release();
+                }
+            }
+        }
+    }
+}
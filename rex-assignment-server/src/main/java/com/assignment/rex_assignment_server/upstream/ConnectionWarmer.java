@@ -0,0 +1,61 @@
+package com.assignment.rex_assignment_server.upstream;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Opens the Spoonacular connection once the application is ready, so the TLS handshake
+ * and HTTP/2 setup are paid before the first user request rather than during it.
+ * <p>
+ * The warmup is a {@code HEAD} of the API root without the API key, which costs no quota
+ * points. It runs asynchronously and never delays startup; failures are only logged.
+ */
+@Component
+@Slf4j
+public class ConnectionWarmer {
+
+    private final HttpClient spoonacularHttpClient;
+    private final URI baseUri;
+    private final boolean enabled;
+    private final Duration timeout;
+
+    public ConnectionWarmer(HttpClient spoonacularHttpClient,
+            @Value("${spoonacular.api.base-url}") String baseUrl,
+            @Value("${spoonacular.http.warmup:true}") boolean enabled,
+            @Value("${spoonacular.http.deadline:5s}") Duration timeout) {
+        this.spoonacularHttpClient = spoonacularHttpClient;
+        this.baseUri = URI.create(baseUrl.endsWith("/") ? baseUrl : baseUrl + "/");
+        this.enabled = enabled;
+        this.timeout = timeout;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        HttpRequest request = HttpRequest.newBuilder(baseUri)
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .timeout(timeout)
+                .build();
+        long start = System.nanoTime();
+        spoonacularHttpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    long millis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+                    if (error != null) {
+                        log.warn("Spoonacular connection warmup failed after {}ms: {}", millis, error.getMessage());
+                    } else {
+                        log.info("Spoonacular connection warmed up in {}ms over {}", millis, response.version());
+                    }
+                });
+    }
+}
@@ -0,0 +1,97 @@
+package com.assignment.rex_assignment_server.upstream;
+
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.filter.FilteringParserDelegate;
+import tools.jackson.core.filter.TokenFilter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fields to drop from an upstream payload while it is parsed, as dotted paths such as
+ * {@code nutrition.ingredients.nutrients}. Arrays are transparent: the path applies to every
+ * element, and to every recipe in a bulk response. An excluded subtree is skipped at the
+ * token level, so none of its strings, numbers or objects are ever created.
+ */
+public final class FieldProjection extends TokenFilter {
+
+    private static final FieldProjection NONE = new FieldProjection();
+
+    /** Excluded subtrees below this node, by property name; an empty node is excluded whole. */
+    private final Map<String, FieldProjection> children = new HashMap<>();
+
+    private FieldProjection() {
+    }
+
+    /**
+     * A projection excluding the given paths; blank entries are ignored.
+     */
+    public static FieldProjection excluding(List<String> paths) {
+        FieldProjection root = new FieldProjection();
+        for (String path : paths) {
+            if (path == null || path.isBlank()) {
+                continue;
+            }
+            root.exclude(path.strip().split("\\."), 0);
+        }
+        return root.children.isEmpty() ? NONE : root;
+    }
+
+    private void exclude(String[] names, int depth) {
+        FieldProjection child = children.get(names[depth]);
+        if (child != null && child.isEmpty()) {
+            // Already excluded whole by a shorter path
+            return;
+        }
+        if (depth == names.length - 1) {
+            children.put(names[depth], new FieldProjection());
+            return;
+        }
+        if (child == null) {
+            child = new FieldProjection();
+            children.put(names[depth], child);
+        }
+        child.exclude(names, depth + 1);
+    }
+
+    public boolean isEmpty() {
+        return children.isEmpty();
+    }
+
+    /**
+     * The parser to read from: the given one when nothing is excluded, otherwise a view of
+     * it with the excluded subtrees removed.
+     */
+    public JsonParser apply(JsonParser parser) {
+        if (isEmpty()) {
+            return parser;
+        }
+        return new FilteringParserDelegate(parser, this, Inclusion.INCLUDE_ALL_AND_PATH, true);
+    }
+
+    @Override
+    public TokenFilter includeProperty(String name) {
+        FieldProjection child = children.get(name);
+        if (child == null) {
+            return TokenFilter.INCLUDE_ALL;
+        }
+        // Null makes the delegate skip the value without tokenizing it into the stream
+        return child.isEmpty() ? null : child;
+    }
+
+    @Override
+    public TokenFilter includeElement(int index) {
+        return this;
+    }
+
+    @Override
+    public TokenFilter includeRootValue(int index) {
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return children.toString();
+    }
+}
@@ -0,0 +1,31 @@
+package com.assignment.rex_assignment_server.upstream;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Helpers for waiting on futures shared between callers.
+ */
+public final class Futures {
+
+    private Futures() {
+    }
+
+    /**
+     * Wait for the future and rethrow its failure unwrapped, so every waiter sees the
+     * exception the loader actually threw rather than a {@link CompletionException}.
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
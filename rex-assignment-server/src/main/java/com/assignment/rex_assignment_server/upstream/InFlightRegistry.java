@@ -0,0 +1,223 @@
+package com.assignment.rex_assignment_server.upstream;
+
+import com.assignment.rex_assignment_server.exception.UpstreamThrottledException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight registry for upstream calls.
+ * <p>
+ * Concurrent callers asking for the same operation and canonical key share one
+ * upstream call: the first caller runs the loader, everyone else waits on its
+ * future and receives the same result or the same exception instance.
+ * <p>
+ * Calls registered with a priority carry a {@link CallPriority}: a caller joining one
+ * started at a lower priority (typically a prefetch) raises it to its own, so it never
+ * waits at the lower class's pace.
+ */
+@Component
+@Slf4j
+public class InFlightRegistry implements MeterBinder {
+
+    private final ConcurrentMap<FlightKey, Flight> inFlight = new ConcurrentHashMap<>();
+    private final Map<UpstreamOperation, Stats> stats = new EnumMap<>(UpstreamOperation.class);
+
+    public InFlightRegistry() {
+        for (UpstreamOperation operation : UpstreamOperation.values()) {
+            stats.put(operation, new Stats());
+        }
+    }
+
+    /**
+     * Run {@code loader} for the given key, or join an identical call that is already in flight.
+     */
+    public <T> T execute(UpstreamOperation operation, Object key, Supplier<T> loader) {
+        return execute(operation, key, null, priority -> loader.get(), false);
+    }
+
+    /**
+     * Run {@code loader} at {@code priority} for the given key, or join an identical call
+     * that is already in flight and raise it to {@code priority}. The loader receives the
+     * call's priority to make its upstream call with.
+     * <p>
+     * A joined call started at a lower priority may have been throttled by its own class
+     * (queue or daily share) before it was raised; the caller then makes its own call.
+     */
+    public <T> T execute(UpstreamOperation operation, Object key, UpstreamPriority priority,
+            Function<CallPriority, T> loader) {
+        return execute(operation, key, priority, loader, true);
+    }
+
+    /**
+     * Run one {@code loader} call at {@code priority} for every key that has no call in
+     * flight yet; keys already in flight are left to their call. Each claimed key is
+     * registered as its own flight sharing the one {@link CallPriority}, so a caller asking
+     * for any of them joins the call (and may raise it) instead of making another.
+     * <p>
+     * The loader receives the claimed keys and returns what it found for them; a claimed
+     * key it leaves out fails its joiners with {@code missing}.
+     *
+     * @return the loader's results for the claimed keys
+     */
+    public <K, T> Map<K, T> executeAll(UpstreamOperation operation, Collection<K> keys, UpstreamPriority priority,
+            BiFunction<List<K>, CallPriority, Map<K, T>> loader, Function<K, RuntimeException> missing) {
+        CallPriority callPriority = CallPriority.of(priority);
+        Map<K, Flight> mine = new LinkedHashMap<>();
+        for (K key : keys) {
+            Flight flight = new Flight(new CompletableFuture<>(), callPriority);
+            if (!mine.containsKey(key) && inFlight.putIfAbsent(new FlightKey(operation, key), flight) == null) {
+                mine.put(key, flight);
+            }
+        }
+        if (mine.isEmpty()) {
+            return Map.of();
+        }
+
+        stats.get(operation).executed.add(mine.size());
+        Map<K, T> results;
+        try {
+            results = loader.apply(List.copyOf(mine.keySet()), callPriority);
+        } catch (RuntimeException | Error e) {
+            mine.forEach((key, flight) -> {
+                inFlight.remove(new FlightKey(operation, key), flight);
+                flight.future().completeExceptionally(e);
+            });
+            throw e;
+        }
+        mine.forEach((key, flight) -> {
+            T result = results.get(key);
+            if (result != null) {
+                flight.future().complete(result);
+                inFlight.remove(new FlightKey(operation, key), flight);
+            } else {
+                inFlight.remove(new FlightKey(operation, key), flight);
+                flight.future().completeExceptionally(missing.apply(key));
+            }
+        });
+        return results;
+    }
+
+    /**
+     * Whether a call for the key is in flight.
+     */
+    public boolean isInFlight(UpstreamOperation operation, Object key) {
+        return inFlight.containsKey(new FlightKey(operation, key));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T execute(UpstreamOperation operation, Object key, UpstreamPriority priority,
+            Function<CallPriority, T> loader, boolean retryThrottled) {
+        FlightKey flightKey = new FlightKey(operation, key);
+        Flight mine = new Flight(new CompletableFuture<>(), priority != null ? CallPriority.of(priority) : null);
+        Flight existing = inFlight.putIfAbsent(flightKey, mine);
+        Stats operationStats = stats.get(operation);
+
+        if (existing != null) {
+            operationStats.coalesced.increment();
+            log.debug("Joining in-flight {} call for key: {}", operation.tag(), key);
+            boolean raising = priority != null && existing.priority() != null
+                    && priority.ordinal() < existing.priority().initial().ordinal();
+            if (raising && existing.priority().raise(priority)) {
+                log.debug("Raised in-flight {} call for key {} to {}", operation.tag(), key, priority.tag());
+            }
+            try {
+                return (T) Futures.join(existing.future());
+            } catch (UpstreamThrottledException e) {
+                if (raising && retryThrottled) {
+                    log.debug("Joined {} call for key {} was throttled at {}, calling again", operation.tag(), key,
+                            existing.priority().initial().tag());
+                    return execute(operation, key, priority, loader, false);
+                }
+                throw e;
+            }
+        }
+
+        operationStats.executed.increment();
+        T result;
+        try {
+            result = loader.apply(mine.priority());
+        } catch (RuntimeException | Error e) {
+            // Deregister first, so a joiner calling again starts a new call instead of
+            // joining this failed one
+            inFlight.remove(flightKey, mine);
+            mine.future().completeExceptionally(e);
+            throw e;
+        }
+        mine.future().complete(result);
+        inFlight.remove(flightKey, mine);
+        return result;
+    }
+
+    /**
+     * Number of upstream calls currently in flight for the operation.
+     */
+    public int inFlightCount(UpstreamOperation operation) {
+        return (int) inFlight.keySet().stream().filter(key -> key.operation() == operation).count();
+    }
+
+    /**
+     * Share of callers that were served by another caller's upstream call, between 0 and 1.
+     */
+    public double coalescingRatio(UpstreamOperation operation) {
+        Stats operationStats = stats.get(operation);
+        long coalesced = operationStats.coalesced.sum();
+        long total = coalesced + operationStats.executed.sum();
+        return total == 0 ? 0.0 : (double) coalesced / total;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (UpstreamOperation operation : UpstreamOperation.values()) {
+            Stats operationStats = stats.get(operation);
+            FunctionCounter.builder("recipe.upstream.coalescing.calls", operationStats.executed, LongAdder::sum)
+                    .description("Callers that executed their own upstream call")
+                    .tag("operation", operation.tag())
+                    .tag("result", "executed")
+                    .register(registry);
+            FunctionCounter.builder("recipe.upstream.coalescing.calls", operationStats.coalesced, LongAdder::sum)
+                    .description("Callers that joined an identical in-flight upstream call")
+                    .tag("operation", operation.tag())
+                    .tag("result", "coalesced")
+                    .register(registry);
+            Gauge.builder("recipe.upstream.coalescing.ratio", this, r -> r.coalescingRatio(operation))
+                    .description("Share of callers served by another caller's upstream call")
+                    .tag("operation", operation.tag())
+                    .register(registry);
+            Gauge.builder("recipe.upstream.inflight", this, r -> r.inFlightCount(operation))
+                    .description("Distinct upstream calls currently in flight")
+                    .tag("operation", operation.tag())
+                    .register(registry);
+        }
+    }
+
+    private record FlightKey(UpstreamOperation operation, Object key) {
+    }
+
+    /**
+     * A call's shared result, and its priority if it was registered with one.
+     */
+    private record Flight(CompletableFuture<Object> future, CallPriority priority) {
+    }
+
+    private static final class Stats {
+        private final LongAdder executed = new LongAdder();
+        private final LongAdder coalesced = new LongAdder();
+    }
+}
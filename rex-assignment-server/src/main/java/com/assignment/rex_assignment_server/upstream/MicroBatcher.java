@@ -0,0 +1,175 @@
+package com.assignment.rex_assignment_server.upstream;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * DataLoader-style batcher: keys requested within a short window are collected and
+ * loaded with a single call, and the results are fanned back out to each caller's future.
+ * <p>
+ * A batch is dispatched when it reaches {@code maxBatchSize} keys or when the window that
+ * started with its first key elapses, whichever comes first. Duplicate keys inside one
+ * window share a future.
+ */
+@Slf4j
+public class MicroBatcher<K, V> {
+
+    /**
+     * Loads a batch of keys. Keys missing from the returned map are completed with the
+     * batcher's missing-key exception.
+     */
+    @FunctionalInterface
+    public interface BatchLoader<K, V> {
+        Map<K, V> loadAll(List<K> keys);
+    }
+
+    private final String name;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final BatchLoader<K, V> loader;
+    private final Function<K, ? extends RuntimeException> missingKey;
+    private final ScheduledExecutorService scheduler;
+    private final Executor executor;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    public MicroBatcher(String name, int maxBatchSize, Duration window, BatchLoader<K, V> loader,
+            Function<K, ? extends RuntimeException> missingKey,
+            ScheduledExecutorService scheduler, Executor executor) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be at least 1");
+        }
+        this.name = name;
+        this.maxBatchSize = maxBatchSize;
+        this.windowNanos = window.toNanos();
+        this.loader = loader;
+        this.missingKey = missingKey;
+        this.scheduler = scheduler;
+        this.executor = executor;
+    }
+
+    /**
+     * Queue a key for the current batch.
+     */
+    public CompletableFuture<V> load(K key) {
+        List<Map<K, CompletableFuture<V>>> ready = new ArrayList<>(1);
+        CompletableFuture<V> future;
+
+        lock.lock();
+        try {
+            future = enqueue(key, ready);
+        } finally {
+            lock.unlock();
+        }
+
+        ready.forEach(this::dispatch);
+        return future;
+    }
+
+    /**
+     * Queue several keys; they are split into batches of at most {@code maxBatchSize}. The
+     * keys are queued under one lock, so the window can't close partway through them.
+     */
+    public List<CompletableFuture<V>> loadAll(List<K> keys) {
+        List<Map<K, CompletableFuture<V>>> ready = new ArrayList<>();
+        List<CompletableFuture<V>> futures = new ArrayList<>(keys.size());
+
+        lock.lock();
+        try {
+            for (K key : keys) {
+                futures.add(enqueue(key, ready));
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        ready.forEach(this::dispatch);
+        return futures;
+    }
+
+    /**
+     * Dispatch whatever is pending right away.
+     */
+    public void flush() {
+        Map<K, CompletableFuture<V>> ready;
+        lock.lock();
+        try {
+            ready = drain();
+        } finally {
+            lock.unlock();
+        }
+        if (!ready.isEmpty()) {
+            dispatch(ready);
+        }
+    }
+
+    /**
+     * Add {@code key} to the pending batch, or return its pending future; a batch this fills
+     * (or any batch, with no window) is added to {@code ready}. Call with the lock held.
+     */
+    private CompletableFuture<V> enqueue(K key, List<Map<K, CompletableFuture<V>>> ready) {
+        CompletableFuture<V> future = pending.get(key);
+        if (future != null) {
+            return future;
+        }
+        future = new CompletableFuture<>();
+        pending.put(key, future);
+
+        if (pending.size() >= maxBatchSize || windowNanos <= 0) {
+            ready.add(drain());
+        } else if (pending.size() == 1) {
+            scheduledFlush = scheduler.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+        }
+        return future;
+    }
+
+    private Map<K, CompletableFuture<V>> drain() {
+        Map<K, CompletableFuture<V>> ready = pending;
+        pending = new LinkedHashMap<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return ready;
+    }
+
+    private void dispatch(Map<K, CompletableFuture<V>> batch) {
+        try {
+            executor.execute(() -> run(batch));
+        } catch (RuntimeException e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private void run(Map<K, CompletableFuture<V>> batch) {
+        List<K> keys = List.copyOf(batch.keySet());
+        log.debug("Dispatching {} batch of {} keys", name, keys.size());
+        try {
+            Map<K, V> results = loader.loadAll(keys);
+            batch.forEach((key, future) -> {
+                V value = results.get(key);
+                if (value != null) {
+                    future.complete(value);
+                } else {
+                    future.completeExceptionally(missingKey.apply(key));
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+}
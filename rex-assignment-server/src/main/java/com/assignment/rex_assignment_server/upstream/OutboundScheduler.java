@@ -0,0 +1,383 @@
+package com.assignment.rex_assignment_server.upstream;
+
+import com.assignment.rex_assignment_server.exception.UpstreamThrottledException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Central gate for outbound Spoonacular calls.
+ * <p>
+ * A token bucket refilled at {@code points-per-second} bounds the call rate, and a daily
+ * point budget (reset at midnight UTC, like Spoonacular's) bounds total spend. Callers
+ * wait in a bounded queue per {@link UpstreamPriority}; whenever tokens are available the
+ * head of the highest non-empty class goes first. A caller is rejected with
+ * {@link UpstreamThrottledException} straight away when its queue is full, when the
+ * estimated wait already exceeds its class's deadline, or when its class has used up its
+ * share of the daily budget, and after its deadline if it is still waiting then.
+ * <p>
+ * Calls costing more than the bucket holds (large bulk lookups) are admitted once the
+ * bucket is full and leave it in debt, which later callers wait out.
+ */
+@Component
+@Slf4j
+public class OutboundScheduler implements MeterBinder {
+
+    private final double pointsPerSecond;
+    private final double burst;
+    private final double dailyPoints;
+    private final Clock clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotFreed = lock.newCondition();
+    private final Map<UpstreamPriority, Deque<Waiter>> queues = new EnumMap<>(UpstreamPriority.class);
+    private final Map<UpstreamPriority, Stats> stats = new EnumMap<>(UpstreamPriority.class);
+
+    private double tokens;
+    private long refilledAt;
+    private double usedToday;
+    private LocalDate day;
+
+    @Autowired
+    public OutboundScheduler(
+            @Value("${spoonacular.quota.points-per-second:1}") double pointsPerSecond,
+            @Value("${spoonacular.quota.burst:10}") double burst,
+            @Value("${spoonacular.quota.daily-points:150}") double dailyPoints) {
+        this(pointsPerSecond, burst, dailyPoints, Clock.systemUTC());
+    }
+
+    OutboundScheduler(double pointsPerSecond, double burst, double dailyPoints, Clock clock) {
+        if (pointsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("points-per-second and burst must be positive");
+        }
+        this.pointsPerSecond = pointsPerSecond;
+        this.burst = burst;
+        this.dailyPoints = dailyPoints;
+        this.clock = clock;
+        this.tokens = burst;
+        this.refilledAt = System.nanoTime();
+        this.day = LocalDate.now(clock.withZone(ZoneOffset.UTC));
+        for (UpstreamPriority priority : UpstreamPriority.values()) {
+            queues.put(priority, new ArrayDeque<>());
+            stats.put(priority, new Stats());
+        }
+        log.info("Outbound scheduler - {} points/s, burst: {}, daily points: {}",
+                pointsPerSecond, burst, dailyPoints > 0 ? dailyPoints : "unlimited");
+    }
+
+    /**
+     * Align the daily budget with the usage Spoonacular reports, which also counts calls
+     * made by other instances sharing the API key.
+     */
+    public void recordReportedUsage(double pointsUsedToday) {
+        lock.lock();
+        try {
+            rollDay();
+            usedToday = Math.max(usedToday, pointsUsedToday);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double usedToday() {
+        lock.lock();
+        try {
+            rollDay();
+            return usedToday;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int queued(UpstreamPriority priority) {
+        lock.lock();
+        try {
+            return queues.get(priority).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Whether any caller is waiting for a slot, i.e. the rate limit is currently binding.
+     */
+    public boolean hasBacklog() {
+        lock.lock();
+        try {
+            return queuedAtOrAbove(UpstreamPriority.PREFETCH) > 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (UpstreamPriority priority : UpstreamPriority.values()) {
+            Stats priorityStats = stats.get(priority);
+            for (Outcome outcome : Outcome.values()) {
+                FunctionCounter.builder("recipe.upstream.scheduler.calls", priorityStats.outcomes.get(outcome),
+                                LongAdder::sum)
+                        .description("Outbound Spoonacular calls by scheduling outcome")
+                        .tag("priority", priority.tag())
+                        .tag("result", outcome.tag)
+                        .register(registry);
+            }
+            Gauge.builder("recipe.upstream.scheduler.queued", this, s -> s.queued(priority))
+                    .description("Callers waiting for an outbound slot")
+                    .tag("priority", priority.tag())
+                    .register(registry);
+        }
+        Gauge.builder("recipe.upstream.quota.used", this, OutboundScheduler::usedToday)
+                .description("Spoonacular points spent today")
+                .register(registry);
+        if (dailyPoints > 0) {
+            Gauge.builder("recipe.upstream.quota.limit", this, s -> s.dailyPoints)
+                    .description("Daily Spoonacular point budget")
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Wait for a slot in the given class and charge {@code points} against the rate and
+     * daily budget; the caller makes the call itself.
+     *
+     * @throws UpstreamThrottledException if no slot is available in time
+     */
+    public void acquire(UpstreamPriority priority, double points) {
+        acquire(CallPriority.of(priority), points);
+    }
+
+    /**
+     * Like {@link #acquire(UpstreamPriority, double)}, for a call whose priority may be
+     * raised while it waits. A raised call moves to the back of its new class's queue and
+     * its deadline shortens to that class's if it is sooner; the daily share and queue
+     * capacity checked on entry are those of the class it started in.
+     *
+     * @throws UpstreamThrottledException if no slot is available in time
+     */
+    public void acquire(CallPriority callPriority, double points) {
+        lock.lock();
+        try {
+            UpstreamPriority priority = callPriority.get();
+            rollDay();
+            checkDailyBudget(priority, points);
+            refill();
+
+            if (queuedAtOrAbove(priority) == 0 && hasTokensFor(points)) {
+                grant(priority, points);
+                return;
+            }
+            if (queues.get(priority).size() >= priority.queueCapacity()) {
+                throw throttled(priority, Outcome.QUEUE_FULL,
+                        "Too many queued " + priority.tag() + " calls", Duration.ofSeconds(1));
+            }
+
+            Duration estimate = estimateWait(priority, points);
+            if (estimate.compareTo(priority.maxWait()) > 0) {
+                throw throttled(priority, Outcome.DEADLINE,
+                        "Upstream " + priority.tag() + " slot expected in " + estimate.toMillis() + "ms", estimate);
+            }
+
+            Waiter waiter = new Waiter(points, priority, System.nanoTime() + priority.maxWait().toNanos());
+            queues.get(priority).addLast(waiter);
+            callPriority.onRaise(this::wakeWaiters);
+            try {
+                while (true) {
+                    promote(waiter, callPriority.get());
+                    refill();
+                    if (isNext(waiter.priority, waiter) && hasTokensFor(points)) {
+                        queues.get(waiter.priority).removeFirst();
+                        grant(waiter.priority, points);
+                        slotFreed.signalAll();
+                        return;
+                    }
+                    long remaining = waiter.deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        queues.get(waiter.priority).remove(waiter);
+                        slotFreed.signalAll();
+                        throw throttled(waiter.priority, Outcome.DEADLINE,
+                                "No upstream " + waiter.priority.tag() + " slot within "
+                                        + waiter.priority.maxWait().toMillis() + "ms",
+                                Duration.ofSeconds(1));
+                    }
+                    long wait = isNext(waiter.priority, waiter)
+                            ? Math.min(remaining, nanosUntilTokens(points))
+                            : remaining;
+                    slotFreed.awaitNanos(Math.max(wait, 1));
+                }
+            } catch (InterruptedException e) {
+                queues.get(waiter.priority).remove(waiter);
+                slotFreed.signalAll();
+                Thread.currentThread().interrupt();
+                throw throttled(waiter.priority, Outcome.DEADLINE, "Interrupted waiting for an upstream slot",
+                        Duration.ofSeconds(1));
+            } finally {
+                callPriority.onRaise(null);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Move a queued caller to a higher class it has been raised to.
+     */
+    private void promote(Waiter waiter, UpstreamPriority raised) {
+        if (raised.ordinal() >= waiter.priority.ordinal()) {
+            return;
+        }
+        queues.get(waiter.priority).remove(waiter);
+        queues.get(raised).addLast(waiter);
+        waiter.priority = raised;
+        waiter.deadline = Math.min(waiter.deadline, System.nanoTime() + raised.maxWait().toNanos());
+        log.debug("Raised a queued upstream call to {}", raised.tag());
+    }
+
+    private void wakeWaiters() {
+        lock.lock();
+        try {
+            slotFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void checkDailyBudget(UpstreamPriority priority, double points) {
+        if (dailyPoints <= 0) {
+            return;
+        }
+        double allowance = dailyPoints * priority.dailyShare();
+        if (usedToday + points > allowance) {
+            throw throttled(priority, Outcome.QUOTA,
+                    "Daily Spoonacular quota reserved for higher-priority calls (" + priority.tag() + ")",
+                    Duration.between(clock.instant(), day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant()));
+        }
+    }
+
+    private void grant(UpstreamPriority priority, double points) {
+        tokens -= points;
+        usedToday += points;
+        stats.get(priority).outcomes.get(Outcome.GRANTED).increment();
+    }
+
+    private boolean hasTokensFor(double points) {
+        return tokens >= Math.min(points, burst);
+    }
+
+    private boolean isNext(UpstreamPriority priority, Waiter waiter) {
+        for (UpstreamPriority higher : UpstreamPriority.values()) {
+            if (higher == priority) {
+                return queues.get(priority).peekFirst() == waiter;
+            }
+            if (!queues.get(higher).isEmpty()) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private int queuedAtOrAbove(UpstreamPriority priority) {
+        int count = 0;
+        for (UpstreamPriority higher : UpstreamPriority.values()) {
+            count += queues.get(higher).size();
+            if (higher == priority) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    private Duration estimateWait(UpstreamPriority priority, double points) {
+        double ahead = 0;
+        for (UpstreamPriority higher : UpstreamPriority.values()) {
+            for (Waiter waiter : queues.get(higher)) {
+                ahead += waiter.points;
+            }
+            if (higher == priority) {
+                break;
+            }
+        }
+        double deficit = ahead + Math.min(points, burst) - tokens;
+        return deficit <= 0 ? Duration.ZERO : Duration.ofNanos((long) (deficit / pointsPerSecond * 1e9));
+    }
+
+    private long nanosUntilTokens(double points) {
+        double deficit = Math.min(points, burst) - tokens;
+        return deficit <= 0 ? 0 : (long) (deficit / pointsPerSecond * TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - refilledAt) * pointsPerSecond / TimeUnit.SECONDS.toNanos(1));
+        refilledAt = now;
+    }
+
+    private void rollDay() {
+        LocalDate today = LocalDate.now(clock.withZone(ZoneOffset.UTC));
+        if (!today.equals(day)) {
+            log.info("Resetting daily Spoonacular budget; {} points used on {}", usedToday, day);
+            day = today;
+            usedToday = 0;
+        }
+    }
+
+    private UpstreamThrottledException throttled(UpstreamPriority priority, Outcome outcome, String message,
+            Duration retryAfter) {
+        stats.get(priority).outcomes.get(outcome).increment();
+        log.warn("Throttled outbound call: {}", message);
+        return new UpstreamThrottledException(message, retryAfter);
+    }
+
+    private enum Outcome {
+        GRANTED("granted"),
+        QUEUE_FULL("queue_full"),
+        DEADLINE("deadline"),
+        QUOTA("quota");
+
+        private final String tag;
+
+        Outcome(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private static final class Waiter {
+        private final double points;
+        private UpstreamPriority priority;
+        private long deadline;
+
+        private Waiter(double points, UpstreamPriority priority, long deadline) {
+            this.points = points;
+            this.priority = priority;
+            this.deadline = deadline;
+        }
+    }
+
+    private static final class Stats {
+        private final Map<Outcome, LongAdder> outcomes = new EnumMap<>(Outcome.class);
+
+        private Stats() {
+            for (Outcome outcome : Outcome.values()) {
+                outcomes.put(outcome, new LongAdder());
+            }
+        }
+    }
+}
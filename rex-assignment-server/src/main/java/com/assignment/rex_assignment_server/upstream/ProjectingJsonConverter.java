@@ -0,0 +1,58 @@
+package com.assignment.rex_assignment_server.upstream;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Reads the given upstream types straight off the response stream through a
+ * {@link FieldProjection}, so excluded subtrees are skipped as they arrive rather than being
+ * bound and then thrown away. Registered ahead of the default converters on the Spoonacular
+ * client; every other type falls through to them.
+ */
+public class ProjectingJsonConverter extends AbstractHttpMessageConverter<Object> {
+
+    private final JsonMapper jsonMapper;
+    private final FieldProjection projection;
+    private final Set<Class<?>> types;
+
+    public ProjectingJsonConverter(JsonMapper jsonMapper, FieldProjection projection, Set<Class<?>> types) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.jsonMapper = jsonMapper;
+        this.projection = projection;
+        this.types = Set.copyOf(types);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return types.contains(clazz);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        try (JsonParser parser = projection.apply(jsonMapper.createParser(inputMessage.getBody()))) {
+            return jsonMapper.readValue(parser, clazz);
+        } catch (JacksonException e) {
+            throw new HttpMessageNotReadableException(
+                    "Could not read " + clazz.getSimpleName() + ": " + e.getOriginalMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) {
+        throw new UnsupportedOperationException("Read-only converter");
+    }
+}
@@ -0,0 +1,40 @@
+package com.assignment.rex_assignment_server.upstream;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Feeds the daily usage Spoonacular reports in {@code X-API-Quota-Used} back into the
+ * {@link OutboundScheduler}.
+ */
+@Slf4j
+public class QuotaHeaderInterceptor implements ClientHttpRequestInterceptor {
+
+    static final String QUOTA_USED_HEADER = "X-API-Quota-Used";
+
+    private final OutboundScheduler outboundScheduler;
+
+    public QuotaHeaderInterceptor(OutboundScheduler outboundScheduler) {
+        this.outboundScheduler = outboundScheduler;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        ClientHttpResponse response = execution.execute(request, body);
+        String used = response.getHeaders().getFirst(QUOTA_USED_HEADER);
+        if (used != null) {
+            try {
+                outboundScheduler.recordReportedUsage(Double.parseDouble(used));
+            } catch (NumberFormatException e) {
+                log.debug("Ignoring malformed {} header: {}", QUOTA_USED_HEADER, used);
+            }
+        }
+        return response;
+    }
+}
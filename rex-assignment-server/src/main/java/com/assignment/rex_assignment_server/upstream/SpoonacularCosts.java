@@ -0,0 +1,40 @@
+package com.assignment.rex_assignment_server.upstream;
+
+/**
+ * Estimated Spoonacular point costs of the endpoints we call, used to charge the
+ * {@link OutboundScheduler} before a call is made. The daily total is re-aligned with the
+ * {@code X-API-Quota-Used} header on every response, so small errors here do not add up.
+ */
+public final class SpoonacularCosts {
+
+    private SpoonacularCosts() {
+    }
+
+    /**
+     * {@code /recipes/{id}/information}.
+     */
+    public static double information() {
+        return 1.0;
+    }
+
+    /**
+     * {@code /recipes/informationBulk}: one point for the first recipe, half a point for each other.
+     */
+    public static double informationBulk(int recipes) {
+        return 1.0 + 0.5 * Math.max(0, recipes - 1);
+    }
+
+    /**
+     * {@code /recipes/complexSearch} with {@code addRecipeNutrition=true}.
+     */
+    public static double complexSearch(int results) {
+        return 1.0 + 0.035 * results;
+    }
+
+    /**
+     * {@code /recipes/autocomplete}.
+     */
+    public static double autocomplete(int results) {
+        return 0.1 + 0.01 * results;
+    }
+}
@@ -0,0 +1,214 @@
+package com.assignment.rex_assignment_server.upstream;
+
+import com.assignment.rex_assignment_server.exception.UpstreamUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Wraps every outbound Spoonacular call in the resilience layers, in this order:
+ * <ol>
+ *     <li>the shared {@link CircuitBreaker}, which fails fast while upstream is unhealthy;</li>
+ *     <li>a per-operation bulkhead, a semaphore that bounds how many request threads one
+ *     operation can tie up in upstream calls (including time queued for a slot);</li>
+ *     <li>the {@link OutboundScheduler}, which charges rate and quota.</li>
+ * </ol>
+ * Refusals surface as {@link UpstreamUnavailableException}. Only server errors, 429s and
+ * I/O failures such as timeouts count against the breaker; a 404 is a healthy answer.
+ * <p>
+ * Calls that get through are timed as {@code recipe.upstream.calls}, tagged by operation
+ * and {@link Outcome}.
+ */
+@Component
+@Slf4j
+public class UpstreamGuard implements MeterBinder {
+
+    private final CircuitBreaker circuitBreaker;
+    private final OutboundScheduler outboundScheduler;
+    private final Map<UpstreamOperation, Semaphore> bulkheads = new EnumMap<>(UpstreamOperation.class);
+    private final Map<UpstreamOperation, Integer> bulkheadLimits = new EnumMap<>(UpstreamOperation.class);
+    private final Map<UpstreamOperation, LongAdder> bulkheadRejections = new EnumMap<>(UpstreamOperation.class);
+    private final LongAdder circuitRejections = new LongAdder();
+    private final Map<UpstreamOperation, Map<Outcome, Timer>> callTimers = new EnumMap<>(UpstreamOperation.class);
+
+    public UpstreamGuard(CircuitBreaker spoonacularCircuitBreaker, OutboundScheduler outboundScheduler,
+            @Value("${spoonacular.bulkhead.search:16}") int searchLimit,
+            @Value("${spoonacular.bulkhead.detail:16}") int detailLimit,
+            @Value("${spoonacular.bulkhead.autocomplete:8}") int autocompleteLimit) {
+        this.circuitBreaker = spoonacularCircuitBreaker;
+        this.outboundScheduler = outboundScheduler;
+        bulkheadLimits.put(UpstreamOperation.SEARCH, searchLimit);
+        bulkheadLimits.put(UpstreamOperation.DETAIL, detailLimit);
+        bulkheadLimits.put(UpstreamOperation.AUTOCOMPLETE, autocompleteLimit);
+        for (UpstreamOperation operation : UpstreamOperation.values()) {
+            bulkheads.put(operation, new Semaphore(bulkheadLimits.get(operation)));
+            bulkheadRejections.put(operation, new LongAdder());
+        }
+        log.info("Upstream bulkheads - {}", bulkheadLimits);
+    }
+
+    /**
+     * Make an upstream call under the breaker, the operation's bulkhead and the scheduler.
+     *
+     * @param points estimated Spoonacular point cost of the call
+     * @throws UpstreamUnavailableException if any layer refuses the call
+     */
+    public <T> T call(UpstreamOperation operation, UpstreamPriority priority, double points, Supplier<T> call) {
+        return call(operation, CallPriority.of(priority), points, call);
+    }
+
+    /**
+     * Like {@link #call(UpstreamOperation, UpstreamPriority, double, Supplier)}, for a call
+     * whose priority callers joining it may raise while it waits for a slot.
+     */
+    public <T> T call(UpstreamOperation operation, CallPriority priority, double points, Supplier<T> call) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            circuitRejections.increment();
+            throw new UpstreamUnavailableException("Spoonacular circuit breaker is open",
+                    circuitBreaker.retryAfter());
+        }
+
+        boolean recorded = false;
+        try {
+            Semaphore bulkhead = bulkheads.get(operation);
+            if (!bulkhead.tryAcquire()) {
+                bulkheadRejections.get(operation).increment();
+                throw new UpstreamUnavailableException("Too many concurrent " + operation.tag() + " calls",
+                        Duration.ofSeconds(1));
+            }
+            try {
+                outboundScheduler.acquire(priority, points);
+                long start = System.nanoTime();
+                try {
+                    T result = call.get();
+                    long elapsed = System.nanoTime() - start;
+                    circuitBreaker.onResult(elapsed, false);
+                    recorded = true;
+                    recordCall(operation, Outcome.SUCCESS, elapsed);
+                    return result;
+                } catch (RuntimeException e) {
+                    long elapsed = System.nanoTime() - start;
+                    Outcome outcome = Outcome.of(e);
+                    // A local transport refusal never reached upstream, so it says nothing
+                    // about upstream health and gives the permission back (finally below)
+                    if (outcome != Outcome.REFUSED) {
+                        circuitBreaker.onResult(elapsed, outcome.isFailure());
+                        recorded = true;
+                    }
+                    recordCall(operation, outcome, elapsed);
+                    throw e;
+                }
+            } finally {
+                bulkhead.release();
+            }
+        } finally {
+            if (!recorded) {
+                circuitBreaker.onIgnored();
+            }
+        }
+    }
+
+    /**
+     * Whether upstream has room for optional work: the breaker is closed and nobody is
+     * waiting for an outbound slot.
+     */
+    public boolean hasHeadroom() {
+        return circuitBreaker.state() == CircuitBreaker.State.CLOSED && !outboundScheduler.hasBacklog();
+    }
+
+    public CircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            Gauge.builder("recipe.upstream.circuit.state", circuitBreaker, b -> b.state() == state ? 1 : 0)
+                    .description("1 for the Spoonacular circuit breaker's current state, 0 otherwise")
+                    .tag("state", state.name().toLowerCase())
+                    .register(registry);
+        }
+        FunctionCounter.builder("recipe.upstream.circuit.rejected", circuitRejections, LongAdder::sum)
+                .description("Calls refused while the circuit breaker was open")
+                .register(registry);
+        for (UpstreamOperation operation : UpstreamOperation.values()) {
+            Semaphore bulkhead = bulkheads.get(operation);
+            int limit = bulkheadLimits.get(operation);
+            Gauge.builder("recipe.upstream.bulkhead.active", bulkhead, b -> limit - b.availablePermits())
+                    .description("Upstream calls currently holding a bulkhead permit")
+                    .tag("operation", operation.tag())
+                    .register(registry);
+            FunctionCounter.builder("recipe.upstream.bulkhead.rejected", bulkheadRejections.get(operation),
+                            LongAdder::sum)
+                    .description("Calls refused because the operation's bulkhead was full")
+                    .tag("operation", operation.tag())
+                    .register(registry);
+            Map<Outcome, Timer> timers = new EnumMap<>(Outcome.class);
+            for (Outcome outcome : Outcome.values()) {
+                timers.put(outcome, Timer.builder("recipe.upstream.calls")
+                        .description("Spoonacular calls that passed the breaker, bulkhead and scheduler")
+                        .tag("operation", operation.tag())
+                        .tag("outcome", outcome.tag())
+                        .register(registry));
+            }
+            callTimers.put(operation, timers);
+        }
+    }
+
+    private void recordCall(UpstreamOperation operation, Outcome outcome, long elapsedNanos) {
+        Map<Outcome, Timer> timers = callTimers.get(operation);
+        if (timers != null) {
+            timers.get(outcome).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * How an upstream call ended. {@code REFUSED} is a local transport refusal; {@code ERROR}
+     * covers timeouts, I/O and unreadable responses.
+     */
+    enum Outcome {
+        SUCCESS, CLIENT_ERROR, THROTTLED, SERVER_ERROR, REFUSED, ERROR;
+
+        static Outcome of(RuntimeException e) {
+            if (e instanceof UpstreamUnavailableException) {
+                return REFUSED;
+            }
+            if (e instanceof RestClientResponseException response) {
+                HttpStatusCode status = response.getStatusCode();
+                if (status.value() == 429) {
+                    return THROTTLED;
+                }
+                return status.is5xxServerError() ? SERVER_ERROR : CLIENT_ERROR;
+            }
+            return ERROR;
+        }
+
+        /**
+         * Whether the outcome counts against upstream health: server errors, 429s and
+         * transport failures.
+         */
+        boolean isFailure() {
+            return this == THROTTLED || this == SERVER_ERROR || this == ERROR;
+        }
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+}
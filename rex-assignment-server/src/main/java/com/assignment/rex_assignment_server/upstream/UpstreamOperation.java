@@ -0,0 +1,23 @@
+package com.assignment.rex_assignment_server.upstream;
+
+/**
+ * The Spoonacular operations the service layer calls.
+ */
+public enum UpstreamOperation {
+    SEARCH("search"),
+    DETAIL("detail"),
+    AUTOCOMPLETE("autocomplete");
+
+    private final String tag;
+
+    UpstreamOperation(String tag) {
+        this.tag = tag;
+    }
+
+    /**
+     * Lower-case name used for metric tags and log lines.
+     */
+    public String tag() {
+        return tag;
+    }
+}
@@ -0,0 +1,57 @@
+package com.assignment.rex_assignment_server.upstream;
+
+import java.time.Duration;
+
+/**
+ * Priority classes for outbound Spoonacular calls, highest first.
+ * <p>
+ * Each class has its own bounded wait queue, a maximum time a caller may wait for a slot,
+ * and the share of the daily point quota it may consume. Lower classes stop spending
+ * earlier, so the remaining budget is kept for detail pages.
+ */
+public enum UpstreamPriority {
+    DETAIL("detail", 64, Duration.ofSeconds(2), 1.0),
+    SEARCH("search", 64, Duration.ofSeconds(2), 0.9),
+    AUTOCOMPLETE("autocomplete", 32, Duration.ofMillis(300), 0.7),
+    PREFETCH("prefetch", 128, Duration.ofSeconds(30), 0.5);
+
+    private final String tag;
+    private final int queueCapacity;
+    private final Duration maxWait;
+    private final double dailyShare;
+
+    UpstreamPriority(String tag, int queueCapacity, Duration maxWait, double dailyShare) {
+        this.tag = tag;
+        this.queueCapacity = queueCapacity;
+        this.maxWait = maxWait;
+        this.dailyShare = dailyShare;
+    }
+
+    /**
+     * Lower-case name used for metric tags and log lines.
+     */
+    public String tag() {
+        return tag;
+    }
+
+    /**
+     * Callers allowed to wait in this class at once; further callers are rejected.
+     */
+    public int queueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * How long a caller may wait for a slot before it is dropped.
+     */
+    public Duration maxWait() {
+        return maxWait;
+    }
+
+    /**
+     * Fraction of the daily point quota this class may spend, counting all classes' usage.
+     */
+    public double dailyShare() {
+        return dailyShare;
+    }
+}
@@ -0,0 +1,88 @@
+package com.assignment.rex_assignment_server.cache;
+
+import com.assignment.rex_assignment_server.upstream.CircuitBreaker;
+import com.assignment.rex_assignment_server.upstream.OutboundScheduler;
+import com.assignment.rex_assignment_server.upstream.UpstreamGuard;
+import com.assignment.rex_assignment_server.upstream.UpstreamOperation;
+import com.assignment.rex_assignment_server.upstream.UpstreamPriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CachePrefetcher Tests")
+class CachePrefetcherTest {
+
+    private UpstreamGuard upstreamGuard;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        upstreamGuard = new UpstreamGuard(new CircuitBreaker("test", 10, 4, 50, 100, Duration.ofSeconds(1),
+                Duration.ofSeconds(30), 2), new OutboundScheduler(1_000, 1_000, 0), 2, 2, 1);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("should queue one prefetch per key")
+    void shouldDeduplicatePendingPrefetches() {
+        // Arrange
+        List<Runnable> queued = new ArrayList<>();
+        CachePrefetcher prefetcher = new CachePrefetcher(queued::add, upstreamGuard, true, 3);
+        AtomicInteger runs = new AtomicInteger();
+
+        // Act
+        boolean first = prefetcher.prefetch("pasta", runs::incrementAndGet);
+        boolean second = prefetcher.prefetch("pasta", runs::incrementAndGet);
+        queued.forEach(Runnable::run);
+
+        // Assert
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(runs).hasValue(1);
+        assertThat(prefetcher.prefetch("pasta", runs::incrementAndGet)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should skip prefetches while the circuit breaker is open")
+    void shouldSkipWhenUpstreamHasNoHeadroom() {
+        // Arrange
+        CachePrefetcher prefetcher = new CachePrefetcher(Runnable::run, upstreamGuard, true, 3);
+        prefetcher.bindTo(meterRegistry);
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> upstreamGuard.call(UpstreamOperation.SEARCH, UpstreamPriority.SEARCH, 1, () -> {
+                throw new ResourceAccessException("Read timed out");
+            })).isInstanceOf(ResourceAccessException.class);
+        }
+        AtomicInteger runs = new AtomicInteger();
+
+        // Act
+        boolean scheduled = prefetcher.prefetch("pasta", runs::incrementAndGet);
+
+        // Assert
+        assertThat(scheduled).isFalse();
+        assertThat(runs).hasValue(0);
+        assertThat(meterRegistry.get("recipe.cache.prefetches").tag("result", "skipped").functionCounter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should do nothing when disabled")
+    void shouldDoNothingWhenDisabled() {
+        // Arrange
+        CachePrefetcher prefetcher = new CachePrefetcher(Runnable::run, upstreamGuard, false, 3);
+
+        // Act & Assert
+        assertThat(prefetcher.prefetch("pasta", () -> fail("should not run"))).isFalse();
+        assertThat(prefetcher.detailCount()).isZero();
+    }
+}
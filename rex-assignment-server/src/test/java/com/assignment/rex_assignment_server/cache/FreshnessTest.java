@@ -0,0 +1,55 @@
+package com.assignment.rex_assignment_server.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Freshness Tests")
+class FreshnessTest {
+
+    private final Freshness freshness = Freshness.of(Duration.ofMinutes(10), Duration.ofMinutes(50));
+
+    @Test
+    @DisplayName("should classify entries by age since fetch")
+    void shouldClassifyEntriesByAge() {
+        // Arrange
+        long now = 10_000_000L;
+        CachedResponse<String> fresh = CachedResponse.of("a", new byte[0], now - Duration.ofMinutes(5).toMillis());
+        CachedResponse<String> stale = CachedResponse.of("b", new byte[0], now - Duration.ofMinutes(30).toMillis());
+        CachedResponse<String> expired = CachedResponse.of("c", new byte[0], now - Duration.ofHours(2).toMillis());
+
+        // Act & Assert
+        assertThat(freshness.isFresh(fresh, now)).isTrue();
+        assertThat(freshness.isFresh(stale, now)).isFalse();
+        assertThat(freshness.isServable(stale, now)).isTrue();
+        assertThat(freshness.isServable(expired, now)).isFalse();
+        assertThat(freshness.hardTtl()).isEqualTo(Duration.ofHours(1));
+    }
+
+    @Test
+    @DisplayName("should expire cache entries at hard expiry measured from fetch time")
+    void shouldExpireAtHardExpiryFromFetchTime() {
+        // Arrange
+        long fetchedAt = System.currentTimeMillis() - Duration.ofMinutes(45).toMillis();
+        CachedResponse<String> entry = CachedResponse.of("a", new byte[0], fetchedAt);
+
+        // Act
+        long remaining = freshness.<Long, String>expiry().expireAfterCreate(1L, entry, 0L);
+
+        // Assert
+        assertThat(Duration.ofNanos(remaining))
+                .isLessThanOrEqualTo(Duration.ofMinutes(15))
+                .isGreaterThan(Duration.ofMinutes(14));
+    }
+
+    @Test
+    @DisplayName("should reject negative TTLs")
+    void shouldRejectNegativeTtls() {
+        assertThatThrownBy(() -> Freshness.of(Duration.ofMinutes(-1), Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,59 @@
+package com.assignment.rex_assignment_server.cache;
+
+import com.assignment.rex_assignment_server.dto.Ingredient;
+import com.assignment.rex_assignment_server.dto.Nutrient;
+import com.assignment.rex_assignment_server.dto.NutritionInfo;
+import com.assignment.rex_assignment_server.dto.RecipeDetailResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ObjectSizeEstimator Tests")
+class ObjectSizeEstimatorTest {
+
+    @Test
+    @DisplayName("should return zero for null")
+    void shouldReturnZeroForNull() {
+        assertThat(ObjectSizeEstimator.estimate(null)).isZero();
+    }
+
+    @Test
+    @DisplayName("should grow with string length")
+    void shouldGrowWithStringLength() {
+        assertThat(ObjectSizeEstimator.estimate("a".repeat(1000)))
+                .isGreaterThan(ObjectSizeEstimator.estimate("a"))
+                .isGreaterThanOrEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("should account for nested nutrition data")
+    void shouldAccountForNestedNutritionData() {
+        // Arrange
+        RecipeDetailResponse bare = RecipeDetailResponse.builder()
+                .id(1L)
+                .title("Pasta Carbonara")
+                .build();
+
+        List<Nutrient> nutrients = IntStream.range(0, 50)
+                .mapToObj(i -> Nutrient.builder().name("Nutrient " + i).amount(1.5).unit("g").build())
+                .toList();
+        RecipeDetailResponse withNutrition = RecipeDetailResponse.builder()
+                .id(1L)
+                .title("Pasta Carbonara")
+                .extendedIngredients(List.of(Ingredient.builder().name("pasta").amount(200.0).unit("g").build()))
+                .nutrition(NutritionInfo.builder().nutrients(nutrients).build())
+                .build();
+
+        // Act
+        long bareSize = ObjectSizeEstimator.estimate(bare);
+        long fullSize = ObjectSizeEstimator.estimate(withNutrition);
+
+        // Assert - 50 nutrients are at least a few KB on the heap
+        assertThat(bareSize).isPositive();
+        assertThat(fullSize - bareSize).isGreaterThan(50 * 64);
+    }
+}
@@ -0,0 +1,83 @@
+package com.assignment.rex_assignment_server.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ResponseEncoder Tests")
+class ResponseEncoderTest {
+
+    private ResponseEncoder encoder;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        encoder = new ResponseEncoder(DataSize.ofBytes(256), 6);
+        meterRegistry = new SimpleMeterRegistry();
+        encoder.bindTo(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("should honour gzip, wildcards and zero quality in Accept-Encoding")
+    void shouldNegotiateGzip() {
+        // Act & Assert
+        assertThat(ResponseEncoder.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(ResponseEncoder.acceptsGzip("br;q=1.0, GZIP;q=0.5")).isTrue();
+        assertThat(ResponseEncoder.acceptsGzip("*")).isTrue();
+        assertThat(ResponseEncoder.acceptsGzip("gzip;q=0, *")).isFalse();
+        assertThat(ResponseEncoder.acceptsGzip("identity")).isFalse();
+        assertThat(ResponseEncoder.acceptsGzip(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should compress an entry once and serve the stored variant afterwards")
+    void shouldCompressEntryOnce() throws IOException {
+        // Arrange
+        byte[] json = "{\"summary\":\"%s\"}".formatted("Creamy pasta. ".repeat(100)).getBytes(StandardCharsets.UTF_8);
+        CachedResponse<String> entry = CachedResponse.of("recipe", json, 0L);
+
+        // Act
+        ResponseEncoder.Encoded first = encoder.encode(entry, "gzip");
+        ResponseEncoder.Encoded second = encoder.encode(entry.withStatus(CacheStatus.STALE), "gzip");
+
+        // Assert
+        assertThat(first.contentEncoding()).isEqualTo("gzip");
+        assertThat(second.body()).isSameAs(first.body());
+        assertThat(first.etag()).isNotEqualTo(entry.getETag()).endsWith("-gzip\"");
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(first.body()))) {
+            assertThat(in.readAllBytes()).isEqualTo(json);
+        }
+        assertThat(meterRegistry.get("recipe.http.compression").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("recipe.http.response.bytes").tag("encoding", "gzip").functionCounter().count())
+                .isEqualTo(2.0 * first.body().length);
+    }
+
+    @Test
+    @DisplayName("should send small responses and non-gzip clients the identity bytes")
+    void shouldSendIdentityBytes() {
+        // Arrange
+        CachedResponse<String> small = CachedResponse.of("small", "{\"id\":1}".getBytes(StandardCharsets.UTF_8), 0L);
+        CachedResponse<String> large = CachedResponse.of("large", new byte[1024], 0L);
+
+        // Act
+        ResponseEncoder.Encoded smallGzip = encoder.encode(small, "gzip");
+        ResponseEncoder.Encoded largeIdentity = encoder.encode(large, "identity");
+
+        // Assert
+        assertThat(smallGzip.contentEncoding()).isNull();
+        assertThat(smallGzip.body()).isSameAs(small.getJson());
+        assertThat(largeIdentity.contentEncoding()).isNull();
+        assertThat(largeIdentity.etag()).isEqualTo(large.getETag());
+        assertThat(meterRegistry.get("recipe.http.compression").timer().count()).isZero();
+    }
+}
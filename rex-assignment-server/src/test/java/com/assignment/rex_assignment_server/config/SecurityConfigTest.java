@@ -0,0 +1,53 @@
+package com.assignment.rex_assignment_server.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.security.user.password=scrape-secret")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("SecurityConfig Tests")
+class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("should keep the health endpoint open")
+    void shouldPermitHealth() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("should require credentials for metrics and the Prometheus scrape")
+    void shouldProtectMetrics() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("metrics", "wrong")))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("metrics", "scrape-secret")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("should leave the recipe API open")
+    void shouldPermitApi() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/recipes/health"))
+                .andExpect(status().isOk());
+    }
+}
@@ -1,8 +1,11 @@
 package com.assignment.rex_assignment_server.controller;
 
+import com.assignment.rex_assignment_server.cache.CacheStatus;
+import com.assignment.rex_assignment_server.cache.CachedResponse;
 import com.assignment.rex_assignment_server.dto.*;
 import com.assignment.rex_assignment_server.exception.RecipeNotFoundException;
 import com.assignment.rex_assignment_server.exception.SpoonacularApiException;
+import com.assignment.rex_assignment_server.service.RecipeFields;
 import com.assignment.rex_assignment_server.service.RecipeService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -10,21 +13,34 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.ByteArrayInputStream;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(RecipeController.class)
-@Import(com.assignment.rex_assignment_server.config.SecurityConfig.class)
+@Import({ com.assignment.rex_assignment_server.config.SecurityConfig.class,
+                com.assignment.rex_assignment_server.config.HttpCacheConfig.class,
+                com.assignment.rex_assignment_server.cache.ResponseEncoder.class })
 @DisplayName("RecipeController Tests")
 class RecipeControllerTest {
 
@@ -44,8 +60,8 @@ class RecipeControllerTest {
                 void shouldReturnRecipesOnSuccessfulSearch() throws Exception {
                         // Arrange
                         RecipeSearchResponse mockResponse = createMockSearchResponse();
-                        when(recipeService.searchRecipes(anyString(), any(), any(), any(), anyInt(), anyInt()))
-                                        .thenReturn(mockResponse);
+                        when(recipeService.searchRecipeResponse(anyString(), any(), any(), any(), anyInt(), anyInt()))
+                                        .thenReturn(cached(mockResponse));
 
                         // Act & Assert
                         mockMvc.perform(get("/api/recipes/search")
@@ -62,10 +78,10 @@ class RecipeControllerTest {
                 void shouldReturnRecipesWithFilters() throws Exception {
                         // Arrange
                         RecipeSearchResponse mockResponse = createMockSearchResponse();
-                        when(recipeService.searchRecipes(eq("pasta"), eq("vegetarian"), eq("italian"),
+                        when(recipeService.searchRecipeResponse(eq("pasta"), eq("vegetarian"), eq("italian"),
                                         eq("main course"), anyInt(),
                                         anyInt()))
-                                        .thenReturn(mockResponse);
+                                        .thenReturn(cached(mockResponse));
 
                         // Act & Assert
                         mockMvc.perform(get("/api/recipes/search")
@@ -83,8 +99,8 @@ class RecipeControllerTest {
                 void shouldReturnWithDefaultValues() throws Exception {
                         // Arrange
                         RecipeSearchResponse mockResponse = createMockSearchResponse();
-                        when(recipeService.searchRecipes(eq(""), isNull(), isNull(), isNull(), eq(0), eq(12)))
-                                        .thenReturn(mockResponse);
+                        when(recipeService.searchRecipeResponse(eq(""), isNull(), isNull(), isNull(), eq(0), eq(12)))
+                                        .thenReturn(cached(mockResponse));
 
                         // Act & Assert
                         mockMvc.perform(get("/api/recipes/search"))
@@ -97,8 +113,8 @@ class RecipeControllerTest {
                 void shouldHandlePaginationParameters() throws Exception {
                         // Arrange
                         RecipeSearchResponse mockResponse = createMockSearchResponse();
-                        when(recipeService.searchRecipes(anyString(), any(), any(), any(), eq(24), eq(12)))
-                                        .thenReturn(mockResponse);
+                        when(recipeService.searchRecipeResponse(anyString(), any(), any(), any(), eq(24), eq(12)))
+                                        .thenReturn(cached(mockResponse));
 
                         // Act & Assert
                         mockMvc.perform(get("/api/recipes/search")
@@ -113,7 +129,7 @@ class RecipeControllerTest {
                 @DisplayName("should return 503 when external API fails")
                 void shouldReturn503WhenApiFails() throws Exception {
                         // Arrange
-                        when(recipeService.searchRecipes(anyString(), any(), any(), any(), anyInt(), anyInt()))
+                        when(recipeService.searchRecipeResponse(anyString(), any(), any(), any(), anyInt(), anyInt()))
                                         .thenThrow(new SpoonacularApiException("API unavailable"));
 
                         // Act & Assert
@@ -134,23 +150,181 @@ class RecipeControllerTest {
                 void shouldReturnRecipeDetailsWhenFound() throws Exception {
                         // Arrange
                         RecipeDetailResponse mockResponse = createMockRecipeDetail();
-                        when(recipeService.getRecipeById(123L)).thenReturn(mockResponse);
+                        when(recipeService.getRecipeResponse(123L)).thenReturn(cached(mockResponse));
 
                         // Act & Assert
                         mockMvc.perform(get("/api/recipes/123"))
                                         .andExpect(status().isOk())
+                                        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                                         .andExpect(jsonPath("$.id", is(123)))
                                         .andExpect(jsonPath("$.title", is("Pasta Carbonara")))
                                         .andExpect(jsonPath("$.readyInMinutes", is(30)))
                                         .andExpect(jsonPath("$.servings", is(4)));
                 }
 
+                @Test
+                @WithMockUser
+                @DisplayName("should report cache status in X-Cache header")
+                void shouldReportCacheStatus() throws Exception {
+                        // Arrange
+                        when(recipeService.getRecipeResponse(123L))
+                                        .thenReturn(cached(createMockRecipeDetail()).withStatus(CacheStatus.MISS));
+
+                        // Act & Assert
+                        mockMvc.perform(get("/api/recipes/123"))
+                                        .andExpect(status().isOk())
+                                        .andExpect(header().string("X-Cache", "MISS"))
+                                        .andExpect(header().doesNotExist("Warning"));
+                }
+
+                @Test
+                @WithMockUser
+                @DisplayName("should mark stale responses with X-Cache and Warning headers")
+                void shouldMarkStaleResponses() throws Exception {
+                        // Arrange
+                        when(recipeService.getRecipeResponse(123L))
+                                        .thenReturn(cached(createMockRecipeDetail()).withStatus(CacheStatus.STALE_ON_ERROR));
+
+                        // Act & Assert
+                        mockMvc.perform(get("/api/recipes/123"))
+                                        .andExpect(status().isOk())
+                                        .andExpect(header().string("X-Cache", "STALE"))
+                                        .andExpect(header().string("Warning", "111 - \"Revalidation Failed\""))
+                                        .andExpect(jsonPath("$.id", is(123)));
+                }
+
+                @Test
+                @WithMockUser
+                @DisplayName("should send ETag, Last-Modified and Cache-Control validators")
+                void shouldSendCacheValidators() throws Exception {
+                        // Arrange
+                        CachedResponse<RecipeDetailResponse> response = CachedResponse.serialize(
+                                        createMockRecipeDetail(), JsonMapper.builder().build(), 1_700_000_000_000L);
+                        when(recipeService.getRecipeResponse(123L)).thenReturn(response);
+
+                        // Act & Assert
+                        mockMvc.perform(get("/api/recipes/123"))
+                                        .andExpect(status().isOk())
+                                        .andExpect(header().string("ETag", response.getETag()))
+                                        .andExpect(header().string("ETag", org.hamcrest.Matchers.startsWith("\"")))
+                                        .andExpect(header().dateValue("Last-Modified", 1_700_000_000_000L))
+                                        .andExpect(header().string("Cache-Control",
+                                                        "max-age=3600, public, stale-while-revalidate=86400"));
+                }
+
+                @Test
+                @WithMockUser
+                @DisplayName("should answer a matching If-None-Match with 304 and no body")
+                void shouldReturnNotModifiedForMatchingETag() throws Exception {
+                        // Arrange
+                        CachedResponse<RecipeDetailResponse> response = cached(createMockRecipeDetail());
+                        when(recipeService.getRecipeResponse(123L)).thenReturn(response);
+
+                        // Act & Assert
+                        mockMvc.perform(get("/api/recipes/123").header("If-None-Match", response.getETag()))
+                                        .andExpect(status().isNotModified())
+                                        .andExpect(header().string("ETag", response.getETag()))
+                                        .andExpect(content().string(""));
+                        mockMvc.perform(get("/api/recipes/123").header("If-None-Match", "\"other\""))
+                                        .andExpect(status().isOk())
+                                        .andExpect(jsonPath("$.id", is(123)));
+                }
+
+                @Test
+                @WithMockUser
+                @DisplayName("should vary a cross-origin response by Origin so shared caches keep origins apart")
+                void shouldVaryCrossOriginResponseByOrigin() throws Exception {
+                        // Arrange
+                        when(recipeService.getRecipeResponse(123L)).thenReturn(cached(createMockRecipeDetail()));
+
+                        // Act & Assert
+                        mockMvc.perform(get("/api/recipes/123").header("Origin", "https://a.example.com"))
+                                        .andExpect(status().isOk())
+                                        .andExpect(header().string("Access-Control-Allow-Origin",
+                                                        "https://a.example.com"))
+                                        .andExpect(header().string("Cache-Control", containsString("public")))
+                                        .andExpect(header().stringValues("Vary",
+                                                        hasItems("Origin", "Accept-Encoding")));
+                }
+
+                @Test
+                @WithMockUser
+                @DisplayName("should send the stored gzip variant to clients that accept it")
+                void shouldSendGzipVariant() throws Exception {
+                        // Arrange
+                        RecipeDetailResponse recipe = createMockRecipeDetail();
+                        recipe.setSummary("Creamy pasta. ".repeat(200));
+                        CachedResponse<RecipeDetailResponse> response = cached(recipe);
+                        when(recipeService.getRecipeResponse(123L)).thenReturn(response);
+
+                        // Act
+                        byte[] body = mockMvc.perform(get("/api/recipes/123").header("Accept-Encoding", "gzip, deflate, br"))
+                                        .andExpect(status().isOk())
+                                        .andExpect(header().string("Content-Encoding", "gzip"))
+                                        .andExpect(header().stringValues("Vary", hasItem("Accept-Encoding")))
+                                        .andExpect(header().string("ETag", not(response.getETag())))
+                                        .andReturn().getResponse().getContentAsByteArray();
+
+                        // Assert
+                        try (GZIPInputStream in = new GZIPInputStream(
+                                        new ByteArrayInputStream(body))) {
+                                assertThat(in.readAllBytes()).isEqualTo(response.getJson());
+                        }
+                        assertThat(body.length).isLessThan(response.getJson().length / 4);
+                }
+
+                @Test
+                @WithMockUser
+                @DisplayName("should report the request's phase timings in Server-Timing")
+                void shouldReportServerTiming() throws Exception {
+                        // Arrange
+                        when(recipeService.getRecipeResponse(123L)).thenReturn(cached(createMockRecipeDetail()));
+
+                        // Act & Assert
+                        mockMvc.perform(get("/api/recipes/123"))
+                                        .andExpect(status().isOk())
+                                        .andExpect(header().string("Server-Timing", containsString("encode;")))
+                                        .andExpect(header().string("Server-Timing",
+                                                        matchesPattern(".*total;desc=\"[^\"]+\";dur=\\d+\\.\\d{3}$")));
+                }
+
+                @Test
+                @WithMockUser
+                @DisplayName("should serve the projection named by fields")
+                void shouldServeRequestedFields() throws Exception {
+                        // Arrange
+                        RecipeFields fields = RecipeFields.parse("id,title");
+                        CachedResponse<RecipeDetailResponse> projected = CachedResponse.of(createMockRecipeDetail(),
+                                        "{\"id\":123,\"title\":\"Pasta Carbonara\"}".getBytes(),
+                                        System.currentTimeMillis());
+                        when(recipeService.getRecipeResponse(123L, fields)).thenReturn(projected);
+
+                        // Act & Assert
+                        mockMvc.perform(get("/api/recipes/123").param("fields", "title, id"))
+                                        .andExpect(status().isOk())
+                                        .andExpect(jsonPath("$.title", is("Pasta Carbonara")))
+                                        .andExpect(jsonPath("$.readyInMinutes").doesNotExist())
+                                        .andExpect(header().string(HttpHeaders.ETAG, projected.getETag()));
+                        verify(recipeService, never()).getRecipeResponse(123L);
+                }
+
+                @Test
+                @WithMockUser
+                @DisplayName("should return 400 for unknown fields")
+                void shouldReturn400ForUnknownFields() throws Exception {
+                        // Act & Assert
+                        mockMvc.perform(get("/api/recipes/123").param("fields", "id,calories"))
+                                        .andExpect(status().isBadRequest())
+                                        .andExpect(jsonPath("$.message", is("Unknown recipe field: calories")));
+                        verifyNoInteractions(recipeService);
+                }
+
                 @Test
                 @WithMockUser
                 @DisplayName("should return 404 when recipe not found")
                 void shouldReturn404WhenRecipeNotFound() throws Exception {
                         // Arrange
-                        when(recipeService.getRecipeById(999L))
+                        when(recipeService.getRecipeResponse(999L))
                                         .thenThrow(new RecipeNotFoundException("Recipe not found with id: 999"));
 
                         // Act & Assert
@@ -164,7 +338,7 @@ class RecipeControllerTest {
                 @DisplayName("should return 503 when external API fails")
                 void shouldReturn503WhenApiFails() throws Exception {
                         // Arrange
-                        when(recipeService.getRecipeById(123L))
+                        when(recipeService.getRecipeResponse(123L))
                                         .thenThrow(new SpoonacularApiException("API unavailable"));
 
                         // Act & Assert
@@ -173,6 +347,120 @@ class RecipeControllerTest {
                 }
         }
 
+        @Nested
+        @DisplayName("GET /api/recipes/{id}/nutrition")
+        class GetRecipeNutritionTests {
+
+                @Test
+                @WithMockUser
+                @DisplayName("should return 200 and the recipe's nutrition as a cacheable response")
+                void shouldReturnNutrition() throws Exception {
+                        // Arrange
+                        NutritionInfo nutrition = NutritionInfo.builder()
+                                        .nutrients(List.of(new Nutrient("Calories", 584.0, "kcal", 29.2)))
+                                        .build();
+                        when(recipeService.getRecipeNutritionResponse(123L)).thenReturn(cached(nutrition));
+
+                        // Act & Assert
+                        mockMvc.perform(get("/api/recipes/123/nutrition"))
+                                        .andExpect(status().isOk())
+                                        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                                        .andExpect(jsonPath("$.nutrients[0].name", is("Calories")))
+                                        .andExpect(header().exists(HttpHeaders.ETAG))
+                                        .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("max-age")));
+                }
+
+                @Test
+                @WithMockUser
+                @DisplayName("should return 404 when recipe not found")
+                void shouldReturn404WhenRecipeNotFound() throws Exception {
+                        // Arrange
+                        when(recipeService.getRecipeNutritionResponse(999L))
+                                        .thenThrow(new RecipeNotFoundException("Recipe not found with id: 999"));
+
+                        // Act & Assert
+                        mockMvc.perform(get("/api/recipes/999/nutrition"))
+                                        .andExpect(status().isNotFound());
+                }
+        }
+
+        @Nested
+        @DisplayName("POST /api/recipes/bulk")
+        class GetRecipesByIdsTests {
+
+                @Test
+                @WithMockUser
+                @DisplayName("should return 200 and recipe details for the requested ids")
+                void shouldReturnRecipeDetailsForIds() throws Exception {
+                        // Arrange
+                        RecipeDetailResponse mockResponse = createMockRecipeDetail();
+                        when(recipeService.getRecipesByIds(List.of(123L, 999L))).thenReturn(List.of(mockResponse));
+
+                        // Act & Assert
+                        mockMvc.perform(post("/api/recipes/bulk")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content("[123, 999]"))
+                                        .andExpect(status().isOk())
+                                        .andExpect(jsonPath("$", hasSize(1)))
+                                        .andExpect(jsonPath("$[0].id", is(123)));
+                }
+
+                @Test
+                @WithMockUser
+                @DisplayName("should return 400 when no ids are given")
+                void shouldReturn400WhenNoIds() throws Exception {
+                        // Act & Assert
+                        mockMvc.perform(post("/api/recipes/bulk")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content("[]"))
+                                        .andExpect(status().isBadRequest());
+                }
+
+                @Test
+                @WithMockUser
+                @DisplayName("should return 503 when external API fails")
+                void shouldReturn503WhenApiFails() throws Exception {
+                        // Arrange
+                        when(recipeService.getRecipesByIds(anyList()))
+                                        .thenThrow(new SpoonacularApiException("API unavailable"));
+
+                        // Act & Assert
+                        mockMvc.perform(post("/api/recipes/bulk")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content("[1, 2]"))
+                                        .andExpect(status().isServiceUnavailable());
+                }
+        }
+
+        @Nested
+        @DisplayName("GET /api/recipes/facets")
+        class FacetsTests {
+
+                @Test
+                @WithMockUser
+                @DisplayName("should return 200 and counts per filter value")
+                void shouldReturnFacetCounts() throws Exception {
+                        // Arrange
+                        FacetCountsResponse facets = FacetCountsResponse.builder()
+                                        .diets(Map.of("vegan", 3))
+                                        .cuisines(Map.of("italian", 5, "thai", 2))
+                                        .types(Map.of("main course", 4))
+                                        .totalResults(3)
+                                        .indexedRecipes(120)
+                                        .build();
+                        when(recipeService.getFacets(eq("pasta"), eq("vegan"), isNull(), isNull())).thenReturn(facets);
+
+                        // Act & Assert
+                        mockMvc.perform(get("/api/recipes/facets")
+                                        .param("query", "pasta")
+                                        .param("diet", "vegan"))
+                                        .andExpect(status().isOk())
+                                        .andExpect(jsonPath("$.cuisines.italian", is(5)))
+                                        .andExpect(jsonPath("$.diets.vegan", is(3)))
+                                        .andExpect(jsonPath("$.indexedRecipes", is(120)));
+                }
+        }
+
         @Nested
         @DisplayName("GET /api/recipes/autocomplete")
         class AutocompleteTests {
@@ -254,6 +542,10 @@ class RecipeControllerTest {
 
         // Helper methods to create mock data
 
+        private <T> CachedResponse<T> cached(T value) {
+                return CachedResponse.serialize(value, JsonMapper.builder().build(), System.currentTimeMillis());
+        }
+
         private RecipeSearchResponse createMockSearchResponse() {
                 RecipeSearchResult result1 = RecipeSearchResult.builder()
                                 .id(1L)
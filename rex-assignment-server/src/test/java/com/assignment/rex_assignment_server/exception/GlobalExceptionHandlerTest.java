@@ -1,11 +1,14 @@
 package com.assignment.rex_assignment_server.exception;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.time.Duration;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -56,6 +59,23 @@ class GlobalExceptionHandlerTest {
         assertThat(message).containsIgnoringCase("unavailable");
     }
 
+    @Test
+    @DisplayName("should handle locally refused upstream calls with 503 status and Retry-After")
+    void shouldHandleUpstreamUnavailableWith503AndRetryAfter() {
+        // Arrange
+        UpstreamThrottledException exception = new UpstreamThrottledException("Too many queued search calls",
+                Duration.ofSeconds(3));
+
+        // Act
+        ResponseEntity<Map<String, Object>> response = exceptionHandler.handleUpstreamUnavailable(exception);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().get("status")).isEqualTo(503);
+    }
+
     @Test
     @DisplayName("should handle IllegalArgumentException with 400 status")
     void shouldHandleIllegalArgumentExceptionWith400() {
@@ -104,4 +124,25 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getBody()).containsKey("timestamp");
         assertThat(response.getBody().get("timestamp")).isNotNull();
     }
+
+    @Test
+    @DisplayName("should count handled errors by exception and status")
+    void shouldCountHandledErrors() {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        exceptionHandler.bindTo(meterRegistry);
+
+        // Act
+        exceptionHandler.handleRecipeNotFound(new RecipeNotFoundException("Recipe not found with id: 1"));
+        exceptionHandler.handleRecipeNotFound(new RecipeNotFoundException("Recipe not found with id: 2"));
+        exceptionHandler.handleSpoonacularApiException(new SpoonacularApiException("API rate limit exceeded"));
+
+        // Assert
+        assertThat(meterRegistry.get("recipe.api.errors").tag("exception", "RecipeNotFoundException")
+                .tag("status", "404").functionCounter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("recipe.api.errors").tag("exception", "SpoonacularApiException")
+                .tag("status", "503").functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("recipe.api.errors").tag("exception", "IllegalArgumentException")
+                .functionCounter().count()).isZero();
+    }
 }
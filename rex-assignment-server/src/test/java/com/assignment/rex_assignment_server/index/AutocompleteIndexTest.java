@@ -0,0 +1,119 @@
+package com.assignment.rex_assignment_server.index;
+
+import com.assignment.rex_assignment_server.dto.AutocompleteResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AutocompleteIndex Tests")
+class AutocompleteIndexTest {
+
+    private AutocompleteIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new AutocompleteIndex(10, 1_000, 2);
+    }
+
+    @Test
+    @DisplayName("should match titles by the prefix of any word")
+    void shouldMatchByPrefixOfAnyWord() {
+        // Arrange
+        index.record(1L, "Pasta Carbonara", "jpg", 1);
+        index.record(2L, "Chicken Carbonara Bake", "jpg", 1);
+        index.record(3L, "Pasta Primavera", "jpg", 1);
+
+        // Act
+        List<AutocompleteResult> results = index.suggest("carb", 5).orElseThrow();
+
+        // Assert
+        assertThat(results).extracting(AutocompleteResult::getId).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("should ignore case and extra whitespace in the query")
+    void shouldNormalizeQuery() {
+        // Arrange
+        index.record(1L, "Pasta Carbonara", "jpg", 1);
+        index.record(3L, "Pasta Primavera", "jpg", 1);
+
+        // Act & Assert
+        assertThat(index.suggest("  PASTA   c ", 1)).hasValueSatisfying(results ->
+                assertThat(results).extracting(AutocompleteResult::getTitle).containsExactly("Pasta Carbonara"));
+    }
+
+    @Test
+    @DisplayName("should rank suggestions by popularity and update ranking incrementally")
+    void shouldRankByPopularity() {
+        // Arrange
+        index.record(1L, "Pasta Carbonara", "jpg", 1);
+        index.record(3L, "Pasta Primavera", "jpg", 1);
+        index.record(3L, "Pasta Primavera", "jpg", 5);
+
+        // Act
+        List<AutocompleteResult> results = index.suggest("pasta", 5).orElseThrow();
+
+        // Assert
+        assertThat(results).extracting(AutocompleteResult::getId).containsExactly(3L, 1L);
+    }
+
+    @Test
+    @DisplayName("should keep only the top-k titles per prefix")
+    void shouldKeepOnlyTopK() {
+        // Arrange
+        AutocompleteIndex small = new AutocompleteIndex(3, 1_000, 1);
+        for (long id = 0; id < 10; id++) {
+            small.record(id, "Soup " + id, "jpg", (int) id + 1);
+        }
+
+        // Act
+        List<AutocompleteResult> results = small.suggest("soup", 10).orElseThrow();
+
+        // Assert
+        assertThat(results).extracting(AutocompleteResult::getId).containsExactly(9L, 8L, 7L);
+    }
+
+    @Test
+    @DisplayName("should report too few hits so the caller can fall back upstream")
+    void shouldReportTooFewHits() {
+        // Arrange
+        index.record(1L, "Pasta Carbonara", "jpg", 1);
+
+        // Act & Assert
+        assertThat(index.suggest("pasta", 5)).isEmpty();
+        assertThat(index.suggest("pizza", 5)).isEmpty();
+        assertThat(index.suggest("", 5)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should match queries longer than the indexed depth")
+    void shouldMatchLongQueries() {
+        // Arrange
+        index.record(1L, "Slow Cooker Chicken Tortilla Soup With Lime", "jpg", 1);
+        index.record(2L, "Slow Cooker Chicken Tortilla Soup With Beans", "jpg", 1);
+
+        // Act & Assert
+        assertThat(index.suggest("slow cooker chicken tortilla soup with l", 5)).isEmpty();
+        assertThat(index.suggest("slow cooker chicken tortilla soup with", 5)).hasValueSatisfying(results ->
+                assertThat(results).hasSize(2));
+    }
+
+    @Test
+    @DisplayName("should stop accepting new titles at the configured limit")
+    void shouldStopAtMaxTitles() {
+        // Arrange
+        AutocompleteIndex small = new AutocompleteIndex(10, 2, 1);
+
+        // Act
+        small.record(1L, "Pasta Carbonara", "jpg", 1);
+        small.record(2L, "Pasta Primavera", "jpg", 1);
+        small.record(3L, "Pasta Arrabbiata", "jpg", 1);
+
+        // Assert
+        assertThat(small.size()).isEqualTo(2);
+    }
+}
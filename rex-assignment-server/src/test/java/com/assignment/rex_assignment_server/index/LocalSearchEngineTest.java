@@ -0,0 +1,154 @@
+package com.assignment.rex_assignment_server.index;
+
+import com.assignment.rex_assignment_server.dto.Ingredient;
+import com.assignment.rex_assignment_server.dto.RecipeDetailResponse;
+import com.assignment.rex_assignment_server.dto.RecipeSearchResponse;
+import com.assignment.rex_assignment_server.dto.RecipeSearchResult;
+import com.assignment.rex_assignment_server.store.RecipeStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+@DisplayName("LocalSearchEngine Tests")
+class LocalSearchEngineTest {
+
+    @TempDir
+    Path storeDirectory;
+
+    private LocalSearchEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        RecipeStore recipeStore = new RecipeStore(JsonMapper.builder().build(), false, storeDirectory,
+                DataSize.ofMegabytes(1), Duration.ofDays(7), Duration.ofHours(1));
+        engine = new LocalSearchEngine(recipeStore, LocalSearchMode.AUTO, 2, 1_000, 0.5);
+        engine.index(recipe(1L, "Pasta Carbonara", List.of("pasta", "eggs", "guanciale"),
+                List.of(), List.of("italian"), List.of("main course")));
+        engine.index(recipe(2L, "Tomato Pasta", List.of("pasta", "tomatoes", "basil"),
+                List.of("vegan", "dairy free"), List.of("italian"), List.of("main course")));
+        engine.index(recipe(3L, "Tomato Soup", List.of("tomatoes", "onion"),
+                List.of("vegan", "gluten free"), List.of("american"), List.of("soup")));
+    }
+
+    @Test
+    @DisplayName("should match recipes containing every query word, title matches first")
+    void shouldRankByBm25() {
+        // Act
+        RecipeSearchResponse tomato = engine.search("tomatoes", null, null, null, 0, 10);
+        RecipeSearchResponse pastaWithTomato = engine.search("pasta tomato", null, null, null, 0, 10);
+
+        // Assert
+        assertThat(ids(tomato)).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(ids(pastaWithTomato)).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("should filter by diets (all of), cuisines and dish types (any of)")
+    void shouldFilterWithBitmaps() {
+        // Act & Assert
+        assertThat(ids(engine.search("", "vegan", null, null, 0, 10))).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(ids(engine.search("", "dairy free,vegan", null, null, 0, 10))).containsExactly(2L);
+        assertThat(ids(engine.search("", "dairy free|gluten free", null, null, 0, 10)))
+                .containsExactlyInAnyOrder(2L, 3L);
+        assertThat(ids(engine.search("", null, "american,italian", "soup", 0, 10))).containsExactly(3L);
+        assertThat(ids(engine.search("tomato", null, "french", null, 0, 10))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should boost popular recipes and page through the ranking")
+    void shouldBoostPopularRecipes() {
+        // Arrange
+        for (int i = 0; i < 20; i++) {
+            engine.recordView(1L);
+        }
+
+        // Act
+        RecipeSearchResponse first = engine.search("pasta", null, null, null, 0, 1);
+        RecipeSearchResponse second = engine.search("pasta", null, null, null, 1, 1);
+
+        // Assert
+        assertThat(ids(first)).containsExactly(1L);
+        assertThat(ids(second)).containsExactly(2L);
+        assertThat(first.getTotalResults()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should re-index a recipe whose content changed")
+    void shouldReindexChangedRecipe() {
+        // Act
+        engine.index(recipe(3L, "Pumpkin Soup", List.of("pumpkin", "onion"),
+                List.of("vegan"), List.of("american"), List.of("soup")));
+
+        // Assert
+        assertThat(ids(engine.search("tomato", null, null, null, 0, 10))).containsExactly(2L);
+        assertThat(ids(engine.search("pumpkin", null, null, null, 0, 10))).containsExactly(3L);
+        assertThat(engine.size()).isEqualTo(3);
+        assertThat(engine.answersFirst()).isTrue();
+    }
+
+    @Test
+    @DisplayName("should drop a re-indexed recipe's old words and facets, and keep it within max-recipes")
+    void shouldReuseDocumentOnReindex() {
+        // Arrange
+        RecipeStore recipeStore = new RecipeStore(JsonMapper.builder().build(), false, storeDirectory,
+                DataSize.ofMegabytes(1), Duration.ofDays(7), Duration.ofHours(1));
+        LocalSearchEngine capped = new LocalSearchEngine(recipeStore, LocalSearchMode.AUTO, 0, 2, 0.5);
+        capped.index(recipe(1L, "Pasta Carbonara", List.of("pasta"), List.of(), List.of("italian"), List.of()));
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            capped.index(recipe(2L, "Soup " + i, List.of("onion"), List.of(), List.of("cuisine" + i), List.of()));
+        }
+        boolean third = capped.index(recipe(3L, "Tomato Soup", List.of("tomatoes"), List.of(), List.of(), List.of()));
+
+        // Assert
+        assertThat(third).isFalse();
+        assertThat(capped.size()).isEqualTo(2);
+        assertThat(ids(capped.search("soup 0", null, null, null, 0, 10))).isEmpty();
+        assertThat(ids(capped.search("soup 9", null, null, null, 0, 10))).containsExactly(2L);
+        assertThat(capped.facets(null, null, null, null).cuisines())
+                .containsOnlyKeys("italian", "cuisine9");
+    }
+
+    @Test
+    @DisplayName("should count matches per facet value, keeping alternatives to the current selection")
+    void shouldCountFacets() {
+        // Act
+        LocalSearchEngine.FacetCounts facets = engine.facets("tomato", "vegan", "italian", null);
+
+        // Assert
+        assertThat(facets.totalResults()).isEqualTo(1);
+        assertThat(facets.diets()).containsExactly(entry("dairy free", 1), entry("vegan", 1));
+        assertThat(facets.cuisines()).containsExactly(entry("american", 1), entry("italian", 1));
+        assertThat(facets.types()).containsExactly(entry("main course", 1));
+    }
+
+    private static List<Long> ids(RecipeSearchResponse response) {
+        return response.getResults().stream().map(RecipeSearchResult::getId).toList();
+    }
+
+    private static RecipeDetailResponse recipe(Long id, String title, List<String> ingredients, List<String> diets,
+            List<String> cuisines, List<String> dishTypes) {
+        return RecipeDetailResponse.builder()
+                .id(id)
+                .title(title)
+                .image("https://example.com/" + id + ".jpg")
+                .extendedIngredients(ingredients.stream()
+                        .map(name -> Ingredient.builder().name(name).build())
+                        .toList())
+                .diets(diets)
+                .cuisines(cuisines)
+                .dishTypes(dishTypes)
+                .build();
+    }
+}
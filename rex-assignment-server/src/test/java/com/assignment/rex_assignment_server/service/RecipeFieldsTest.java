@@ -0,0 +1,44 @@
+package com.assignment.rex_assignment_server.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RecipeFields Tests")
+class RecipeFieldsTest {
+
+    @Test
+    @DisplayName("should treat reordered, repeated and padded names as the same projection")
+    void shouldNormalizeFieldNames() {
+        // Act
+        RecipeFields plain = RecipeFields.parse("id,title");
+        RecipeFields messy = RecipeFields.parse(" title, id,title,");
+
+        // Assert
+        assertThat(messy).isEqualTo(plain);
+        assertThat(messy).hasToString("id,title");
+        assertThat(messy.includes("title")).isTrue();
+        assertThat(messy.includes("nutrition")).isFalse();
+    }
+
+    @Test
+    @DisplayName("should select every field when none, or all of them, are named")
+    void shouldSelectAllFields() {
+        assertThat(RecipeFields.parse(null)).isSameAs(RecipeFields.ALL);
+        assertThat(RecipeFields.parse(" , ")).isSameAs(RecipeFields.ALL);
+        assertThat(RecipeFields.parse("id,title,image,servings,readyInMinutes,summary,instructions,sourceUrl,"
+                + "dishTypes,diets,cuisines,extendedIngredients,nutrition,vegetarian,vegan,glutenFree,dairyFree,"
+                + "veryHealthy,cheap,veryPopular,healthScore,pricePerServing")).isSameAs(RecipeFields.ALL);
+        assertThat(RecipeFields.ALL.includes("nutrition")).isTrue();
+    }
+
+    @Test
+    @DisplayName("should reject names that are not recipe fields")
+    void shouldRejectUnknownFields() {
+        assertThatThrownBy(() -> RecipeFields.parse("id,calories"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown recipe field: calories");
+    }
+}
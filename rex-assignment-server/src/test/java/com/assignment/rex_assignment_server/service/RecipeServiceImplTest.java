@@ -1,20 +1,48 @@
 package com.assignment.rex_assignment_server.service;
 
+import com.assignment.rex_assignment_server.cache.CachePrefetcher;
+import com.assignment.rex_assignment_server.cache.CacheRefresher;
+import com.assignment.rex_assignment_server.cache.CacheStatus;
+import com.assignment.rex_assignment_server.cache.CachedResponse;
+import com.assignment.rex_assignment_server.cache.Freshness;
+import com.assignment.rex_assignment_server.cache.RecipeViews;
+import com.assignment.rex_assignment_server.cache.SearchPages;
 import com.assignment.rex_assignment_server.dto.*;
 import com.assignment.rex_assignment_server.exception.RecipeNotFoundException;
 import com.assignment.rex_assignment_server.exception.SpoonacularApiException;
+import com.assignment.rex_assignment_server.index.AutocompleteIndex;
+import com.assignment.rex_assignment_server.index.LocalSearchEngine;
+import com.assignment.rex_assignment_server.index.LocalSearchMode;
+import com.assignment.rex_assignment_server.store.RecipeStore;
+import com.assignment.rex_assignment_server.upstream.InFlightRegistry;
+import com.assignment.rex_assignment_server.upstream.CircuitBreaker;
+import com.assignment.rex_assignment_server.upstream.OutboundScheduler;
+import com.assignment.rex_assignment_server.upstream.UpstreamGuard;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.client.RestClient;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.client.RestClientException;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -36,11 +64,74 @@ class RecipeServiceImplTest {
     @Mock
     private RestClient.ResponseSpec responseSpec;
 
+    private static final Duration DETAIL_TTL = Duration.ofHours(12);
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private Cache<Long, CachedResponse<RecipeDetailResponse>> recipeDetailCache;
+
+    private Cache<SearchKey, CachedResponse<RecipeSearchResponse>> recipeSearchCache;
+
+    private Cache<RecipeViews.Key, CachedResponse<?>> recipeViewCache;
+
+    private Cache<SearchPages.Key, SearchPages.Page> searchPageCache;
+
+    private RecipeDetailLoader recipeDetailLoader;
+
+    private RecipeStore recipeStore;
+
+    private AutocompleteIndex autocompleteIndex;
+
+    private UpstreamGuard upstreamGuard;
+
+    private SearchKeyMetrics searchKeyMetrics;
+
+    private SimpleMeterRegistry meterRegistry;
+
     private RecipeServiceImpl recipeService;
 
+    @TempDir
+    Path storeDirectory;
+
     @BeforeEach
     void setUp() {
-        recipeService = new RecipeServiceImpl(restClient);
+        recipeDetailCache = Caffeine.newBuilder().build();
+        recipeSearchCache = Caffeine.newBuilder().build();
+        recipeViewCache = Caffeine.newBuilder().build();
+        searchPageCache = Caffeine.newBuilder().build();
+        upstreamGuard = new UpstreamGuard(
+                new CircuitBreaker("test", 50, 20, 50, 80, Duration.ofSeconds(3), Duration.ofSeconds(30), 5),
+                new OutboundScheduler(1_000, 1_000, 0), 16, 16, 8);
+        recipeDetailLoader = new RecipeDetailLoader(restClient, upstreamGuard, 25, Duration.ofMillis(2), true);
+        recipeStore = new RecipeStore(jsonMapper, true, storeDirectory,
+                DataSize.ofMegabytes(1), Duration.ofDays(7), Duration.ofHours(1));
+        autocompleteIndex = new AutocompleteIndex(10, 1_000, 2);
+        searchKeyMetrics = new SearchKeyMetrics(Duration.ofMinutes(30));
+        meterRegistry = new SimpleMeterRegistry();
+        searchKeyMetrics.bindTo(meterRegistry);
+        recipeService = newService(new CachePrefetcher(Runnable::run, upstreamGuard, false, 0));
+    }
+
+    private RecipeServiceImpl newService(CachePrefetcher cachePrefetcher) {
+        return newService(cachePrefetcher, new LocalSearchEngine(recipeStore, LocalSearchMode.OFF, 0, 1_000, 0.5));
+    }
+
+    private RecipeServiceImpl newService(CachePrefetcher cachePrefetcher, LocalSearchEngine localSearchEngine) {
+        // Refreshes and prefetches run on the calling thread so their effects are visible
+        // when the call returns
+        return new RecipeServiceImpl(restClient, jsonMapper,
+                recipeDetailCache, Freshness.of(DETAIL_TTL, Duration.ofDays(7)),
+                recipeSearchCache, Freshness.of(Duration.ofMinutes(30), Duration.ofHours(24)),
+                new SearchWindows(100), searchKeyMetrics, new CacheRefresher(Runnable::run), cachePrefetcher,
+                new InFlightRegistry(), upstreamGuard, recipeDetailLoader, recipeStore, autocompleteIndex,
+                localSearchEngine, new RecipeViews(jsonMapper, recipeViewCache),
+                new SearchPages(jsonMapper, searchPageCache));
+    }
+
+    @AfterEach
+    void tearDown() {
+        recipeDetailLoader.shutdown();
+        recipeStore.close();
     }
 
     @Nested
@@ -54,7 +145,7 @@ class RecipeServiceImplTest {
             RecipeSearchResponse expectedResponse = createMockSearchResponse();
 
             when(restClient.get()).thenReturn(requestHeadersUriSpec);
-            when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
+            when(requestHeadersUriSpec.uri(anyString(), anyMap())).thenReturn(requestHeadersSpec);
             when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
             when(responseSpec.body(RecipeSearchResponse.class)).thenReturn(expectedResponse);
 
@@ -76,7 +167,7 @@ class RecipeServiceImplTest {
             RecipeSearchResponse expectedResponse = createMockSearchResponse();
 
             when(restClient.get()).thenReturn(requestHeadersUriSpec);
-            when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
+            when(requestHeadersUriSpec.uri(anyString(), anyMap())).thenReturn(requestHeadersSpec);
             when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
             when(responseSpec.body(RecipeSearchResponse.class)).thenReturn(expectedResponse);
 
@@ -84,7 +175,7 @@ class RecipeServiceImplTest {
             recipeService.searchRecipes("pasta", "vegetarian", null, null, 0, 12);
 
             // Assert
-            verify(requestHeadersUriSpec).uri(contains("diet=vegetarian"));
+            verify(requestHeadersUriSpec).uri(contains("diet={diet}"), variables(Map.of("diet", "vegetarian")));
         }
 
         @Test
@@ -94,7 +185,7 @@ class RecipeServiceImplTest {
             RecipeSearchResponse expectedResponse = createMockSearchResponse();
 
             when(restClient.get()).thenReturn(requestHeadersUriSpec);
-            when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
+            when(requestHeadersUriSpec.uri(anyString(), anyMap())).thenReturn(requestHeadersSpec);
             when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
             when(responseSpec.body(RecipeSearchResponse.class)).thenReturn(expectedResponse);
 
@@ -102,7 +193,7 @@ class RecipeServiceImplTest {
             recipeService.searchRecipes("pasta", null, "italian", null, 0, 12);
 
             // Assert
-            verify(requestHeadersUriSpec).uri(contains("cuisine=italian"));
+            verify(requestHeadersUriSpec).uri(contains("cuisine={cuisine}"), variables(Map.of("cuisine", "italian")));
         }
 
         @Test
@@ -112,7 +203,7 @@ class RecipeServiceImplTest {
             RecipeSearchResponse expectedResponse = createMockSearchResponse();
 
             when(restClient.get()).thenReturn(requestHeadersUriSpec);
-            when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
+            when(requestHeadersUriSpec.uri(anyString(), anyMap())).thenReturn(requestHeadersSpec);
             when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
             when(responseSpec.body(RecipeSearchResponse.class)).thenReturn(expectedResponse);
 
@@ -120,7 +211,7 @@ class RecipeServiceImplTest {
             recipeService.searchRecipes("pasta", null, null, "main course", 0, 12);
 
             // Assert
-            verify(requestHeadersUriSpec).uri(contains("type=main course"));
+            verify(requestHeadersUriSpec).uri(contains("type={type}"), variables(Map.of("type", "main course")));
         }
 
         @Test
@@ -128,7 +219,7 @@ class RecipeServiceImplTest {
         void shouldThrowExceptionWhenApiCallFails() {
             // Arrange
             when(restClient.get()).thenReturn(requestHeadersUriSpec);
-            when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
+            when(requestHeadersUriSpec.uri(anyString(), anyMap())).thenReturn(requestHeadersSpec);
             when(requestHeadersSpec.retrieve()).thenThrow(new RestClientException("API Error"));
 
             // Act & Assert
@@ -137,6 +228,303 @@ class RecipeServiceImplTest {
                     .hasMessageContaining("Failed to search recipes");
         }
 
+        @Test
+        @DisplayName("should serve repeated searches from the cache")
+        void shouldServeRepeatedSearchesFromCache() {
+            // Arrange
+            when(restClient.get()).thenReturn(requestHeadersUriSpec);
+            when(requestHeadersUriSpec.uri(anyString(), anyMap())).thenReturn(requestHeadersSpec);
+            when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+            when(responseSpec.body(RecipeSearchResponse.class)).thenReturn(createMockSearchResponse());
+
+            // Act
+            CachedResponse<RecipeSearchResponse> first = recipeService.searchRecipeResponse(
+                    "pasta", null, null, null, 0, 12);
+            CachedResponse<RecipeSearchResponse> second = recipeService.searchRecipeResponse(
+                    "pasta", null, null, null, 0, 12);
+
+            // Assert
+            assertThat(first.getStatus()).isEqualTo(CacheStatus.MISS);
+            assertThat(second.getStatus()).isEqualTo(CacheStatus.HIT);
+            assertThat(second.getJson()).isEqualTo(first.getJson());
+            verify(restClient, times(1)).get();
+        }
+
+        @Test
+        @DisplayName("should reuse a page's JSON, ETag and gzip variant while its window is unchanged")
+        void shouldReuseSerializedPage() {
+            // Arrange
+            when(restClient.get()).thenReturn(requestHeadersUriSpec);
+            when(requestHeadersUriSpec.uri(anyString(), anyMap())).thenReturn(requestHeadersSpec);
+            when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+            when(responseSpec.body(RecipeSearchResponse.class)).thenReturn(createSearchWindow(0, 100, 250));
+            AtomicInteger compressions = new AtomicInteger();
+            UnaryOperator<byte[]> gzip = json -> {
+                compressions.incrementAndGet();
+                return json;
+            };
+
+            // Act
+            CachedResponse<RecipeSearchResponse> first = recipeService.searchRecipeResponse(
+                    "pasta", null, null, null, 12, 12);
+            first.getGzip(gzip);
+            CachedResponse<RecipeSearchResponse> second = recipeService.searchRecipeResponse(
+                    "pasta", null, null, null, 12, 12);
+            second.getGzip(gzip);
+
+            // Assert
+            assertThat(second.getStatus()).isEqualTo(CacheStatus.HIT);
+            assertThat(second.getJson()).isSameAs(first.getJson());
+            assertThat(second.getETag()).isEqualTo(first.getETag());
+            assertThat(compressions).hasValue(1);
+        }
+
+        @Test
+        @DisplayName("should serialize a page again once its window is fetched again")
+        void shouldReserializePageWhenWindowChanges() {
+            // Arrange
+            SearchKey window = new SearchKey("pasta", null, null, null, 0, 100);
+            long fetchedAt = System.currentTimeMillis() - Duration.ofMinutes(5).toMillis();
+            recipeSearchCache.put(window, CachedResponse.of(createSearchWindow(0, 100, 250), fetchedAt));
+            CachedResponse<RecipeSearchResponse> before = recipeService.searchRecipeResponse(
+                    "pasta", null, null, null, 0, 12);
+
+            // Act
+            recipeSearchCache.put(window, CachedResponse.of(createSearchWindow(0, 100, 300), fetchedAt + 1_000));
+            CachedResponse<RecipeSearchResponse> after = recipeService.searchRecipeResponse(
+                    "pasta", null, null, null, 0, 12);
+
+            // Assert
+            assertThat(before.getFetchedAt()).isEqualTo(fetchedAt);
+            assertThat(after.getFetchedAt()).isEqualTo(fetchedAt + 1_000);
+            assertThat(after.getValue().getTotalResults()).isEqualTo(300);
+            assertThat(after.getETag()).isNotEqualTo(before.getETag());
+            verifyNoInteractions(restClient);
+        }
+
+        @Test
+        @DisplayName("should share one upstream call between searches that normalize alike")
+        void shouldNormalizeEquivalentSearches() {
+            // Arrange
+            when(restClient.get()).thenReturn(requestHeadersUriSpec);
+            when(requestHeadersUriSpec.uri(anyString(), anyMap())).thenReturn(requestHeadersSpec);
+            when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+            when(responseSpec.body(RecipeSearchResponse.class)).thenReturn(createMockSearchResponse());
+
+            // Act
+            recipeService.searchRecipes("Pasta ", "Vegan,gluten  free", null, null, 0, 12);
+            CachedResponse<RecipeSearchResponse> second = recipeService.searchRecipeResponse(
+                    "PASTA", "gluten free, vegan", null, null, 0, 12);
+
+            // Assert
+            assertThat(second.getStatus()).isEqualTo(CacheStatus.HIT);
+            verify(requestHeadersUriSpec).uri(anyString(),
+                    variables(Map.of("query", "pasta", "diet", "gluten free,vegan")));
+            verify(restClient, times(1)).get();
+            assertThat(meterRegistry.get("recipe.search.lookups").tags("key", "normalized", "result", "hit")
+                    .functionCounter().count()).isEqualTo(1.0);
+            assertThat(meterRegistry.get("recipe.search.lookups").tags("key", "raw", "result", "hit")
+                    .functionCounter().count()).isZero();
+        }
+
+        @Test
+        @DisplayName("should serve a stale search when the refresh fails")
+        void shouldServeStaleSearchWhenRefreshFails() {
+            // Arrange
+            SearchKey window = new SearchKey("pasta", null, null, null, 0, 100);
+            long fetchedAt = System.currentTimeMillis() - Duration.ofHours(1).toMillis();
+            recipeSearchCache.put(window, CachedResponse.of(createMockSearchResponse(), fetchedAt));
+
+            when(restClient.get()).thenReturn(requestHeadersUriSpec);
+            when(requestHeadersUriSpec.uri(anyString(), anyMap())).thenReturn(requestHeadersSpec);
+            when(requestHeadersSpec.retrieve()).thenThrow(new RestClientException("503 Service Unavailable"));
+
+            // Act
+            CachedResponse<RecipeSearchResponse> first = recipeService.searchRecipeResponse(
+                    "pasta", null, null, null, 0, 12);
+            CachedResponse<RecipeSearchResponse> second = recipeService.searchRecipeResponse(
+                    "pasta", null, null, null, 0, 12);
+
+            // Assert
+            assertThat(first.getStatus()).isEqualTo(CacheStatus.STALE);
+            assertThat(second.getStatus()).isEqualTo(CacheStatus.STALE_ON_ERROR);
+            assertThat(second.getValue().getTotalResults()).isEqualTo(100);
+        }
+
+        @Test
+        @DisplayName("should serve consecutive pages from one upstream window")
+        void shouldServePagesFromOneWindow() {
+            // Arrange
+            when(restClient.get()).thenReturn(requestHeadersUriSpec);
+            when(requestHeadersUriSpec.uri(anyString(), anyMap())).thenReturn(requestHeadersSpec);
+            when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+            when(responseSpec.body(RecipeSearchResponse.class)).thenReturn(createSearchWindow(0, 100, 250));
+
+            // Act
+            RecipeSearchResponse last = null;
+            for (int offset = 0; offset < 96; offset += 12) {
+                last = recipeService.searchRecipes("pasta", null, null, null, offset, 12);
+            }
+
+            // Assert
+            assertThat(last.getOffset()).isEqualTo(84);
+            assertThat(last.getNumber()).isEqualTo(12);
+            assertThat(last.getTotalResults()).isEqualTo(250);
+            assertThat(last.getResults()).extracting(RecipeSearchResult::getId).startsWith(84L).endsWith(95L);
+            verify(requestHeadersUriSpec, times(1)).uri(anyString(), variables(Map.of("offset", 0, "number", 100)));
+            verify(restClient, times(1)).get();
+        }
+
+        @Test
+        @DisplayName("should fetch the next window when a page runs past the cached one")
+        void shouldFetchNextWindowWhenPageCrossesBoundary() {
+            // Arrange
+            when(restClient.get()).thenReturn(requestHeadersUriSpec);
+            when(requestHeadersUriSpec.uri(anyString(), anyMap())).thenReturn(requestHeadersSpec);
+            when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+            when(responseSpec.body(RecipeSearchResponse.class))
+                    .thenReturn(createSearchWindow(0, 100, 150), createSearchWindow(100, 50, 150));
+            recipeService.searchRecipes("pasta", null, null, null, 0, 12);
+
+            // Act
+            RecipeSearchResponse page = recipeService.searchRecipes("pasta", null, null, null, 96, 12);
+
+            // Assert
+            assertThat(page.getResults()).extracting(RecipeSearchResult::getId)
+                    .containsExactly(96L, 97L, 98L, 99L, 100L, 101L, 102L, 103L, 104L, 105L, 106L, 107L);
+            verify(requestHeadersUriSpec).uri(anyString(), variables(Map.of("offset", 100, "number", 100)));
+            verify(restClient, times(2)).get();
+        }
+
+        @Test
+        @DisplayName("should prefetch the next window and the top results' details")
+        void shouldPrefetchNextWindowAndTopDetails() {
+            // Arrange
+            RecipeServiceImpl prefetchingService = newService(
+                    new CachePrefetcher(Runnable::run, upstreamGuard, true, 1));
+            when(restClient.get()).thenReturn(requestHeadersUriSpec);
+            when(requestHeadersUriSpec.uri(anyString(), anyMap())).thenReturn(requestHeadersSpec);
+            when(requestHeadersUriSpec.uri(anyString(), anyLong())).thenReturn(requestHeadersSpec);
+            when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+            when(responseSpec.body(RecipeSearchResponse.class))
+                    .thenReturn(createSearchWindow(0, 100, 150), createSearchWindow(100, 50, 150));
+            when(responseSpec.body(RecipeDetailResponse.class)).thenReturn(
+                    RecipeDetailResponse.builder().id(84L).title("Pasta 84").build(),
+                    RecipeDetailResponse.builder().id(96L).title("Pasta 96").build());
+
+            // Act
+            prefetchingService.searchRecipes("pasta", null, null, null, 84, 12);
+            CachedResponse<RecipeSearchResponse> nextPage = prefetchingService.searchRecipeResponse(
+                    "pasta", null, null, null, 96, 12);
+
+            // Assert
+            assertThat(nextPage.getStatus()).isEqualTo(CacheStatus.HIT);
+            assertThat(recipeDetailCache.getIfPresent(84L)).isNotNull();
+            assertThat(recipeDetailCache.getIfPresent(96L)).isNotNull();
+            verify(requestHeadersUriSpec).uri(anyString(), variables(Map.of("offset", 100, "number", 100)));
+            verify(restClient, times(4)).get();
+        }
+
+        @Test
+        @DisplayName("should answer from the local index without calling upstream when offline")
+        void shouldAnswerLocallyWhenOffline() {
+            // Arrange
+            LocalSearchEngine engine = new LocalSearchEngine(recipeStore, LocalSearchMode.OFFLINE, 0, 1_000, 0.5);
+            engine.index(createMockRecipeDetail());
+            RecipeServiceImpl offlineService = newService(
+                    new CachePrefetcher(Runnable::run, upstreamGuard, false, 0), engine);
+
+            // Act
+            CachedResponse<RecipeSearchResponse> result = offlineService.searchRecipeResponse(
+                    "Carbonara", null, null, null, 0, 12);
+
+            // Assert
+            assertThat(result.getStatus()).isEqualTo(CacheStatus.LOCAL);
+            assertThat(result.getValue().getResults()).extracting(RecipeSearchResult::getId).containsExactly(123L);
+            verifyNoInteractions(restClient);
+        }
+
+        @Test
+        @DisplayName("should keep a local answer's validators until its results change")
+        void shouldKeepLocalValidatorsUntilResultsChange() {
+            // Arrange
+            LocalSearchEngine engine = new LocalSearchEngine(recipeStore, LocalSearchMode.OFFLINE, 0, 1_000, 0.5);
+            engine.index(createMockRecipeDetail());
+            RecipeServiceImpl offlineService = newService(
+                    new CachePrefetcher(Runnable::run, upstreamGuard, false, 0), engine);
+            CachedResponse<RecipeSearchResponse> first = offlineService.searchRecipeResponse(
+                    "Carbonara", null, null, null, 0, 12);
+
+            // Act
+            CachedResponse<RecipeSearchResponse> unchanged = offlineService.searchRecipeResponse(
+                    "carbonara", null, null, null, 0, 12);
+            engine.index(RecipeDetailResponse.builder().id(456L).title("Quick Carbonara").build());
+            CachedResponse<RecipeSearchResponse> changed = offlineService.searchRecipeResponse(
+                    "carbonara", null, null, null, 0, 12);
+
+            // Assert
+            assertThat(unchanged.getJson()).isSameAs(first.getJson());
+            assertThat(unchanged.getFetchedAt()).isEqualTo(first.getFetchedAt());
+            assertThat(changed.getValue().getTotalResults()).isEqualTo(2);
+            assertThat(changed.getETag()).isNotEqualTo(first.getETag());
+        }
+
+        @Test
+        @DisplayName("should answer locally in auto mode only once the index covers upstream's total")
+        void shouldAnswerLocallyInAutoModeOnlyWhenCoveringUpstreamTotal() {
+            // Arrange
+            LocalSearchEngine engine = new LocalSearchEngine(recipeStore, LocalSearchMode.AUTO, 0, 1_000, 0.5);
+            engine.index(createMockRecipeDetail());
+            RecipeServiceImpl autoService = newService(
+                    new CachePrefetcher(Runnable::run, upstreamGuard, false, 0), engine);
+            when(restClient.get()).thenReturn(requestHeadersUriSpec);
+            when(requestHeadersUriSpec.uri(anyString(), anyMap())).thenReturn(requestHeadersSpec);
+            when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+            when(responseSpec.body(RecipeSearchResponse.class))
+                    .thenReturn(createSearchWindow(0, 2, 2), createSearchWindow(0, 1, 1));
+
+            // Act
+            CachedResponse<RecipeSearchResponse> pastaFirst = autoService.searchRecipeResponse(
+                    "pasta", null, null, null, 0, 1);
+            CachedResponse<RecipeSearchResponse> pastaAgain = autoService.searchRecipeResponse(
+                    "pasta", null, null, null, 0, 1);
+            CachedResponse<RecipeSearchResponse> carbonaraFirst = autoService.searchRecipeResponse(
+                    "carbonara", null, null, null, 0, 12);
+            CachedResponse<RecipeSearchResponse> carbonaraAgain = autoService.searchRecipeResponse(
+                    "carbonara", null, null, null, 0, 12);
+
+            // Assert
+            assertThat(pastaFirst.getStatus()).isEqualTo(CacheStatus.MISS);
+            assertThat(pastaAgain.getStatus()).isEqualTo(CacheStatus.HIT);
+            assertThat(pastaAgain.getValue().getTotalResults()).isEqualTo(2);
+            assertThat(carbonaraFirst.getStatus()).isEqualTo(CacheStatus.MISS);
+            assertThat(carbonaraAgain.getStatus()).isEqualTo(CacheStatus.LOCAL);
+            assertThat(carbonaraAgain.getValue().getResults()).extracting(RecipeSearchResult::getId)
+                    .containsExactly(123L);
+            verify(restClient, times(2)).get();
+        }
+
+        @Test
+        @DisplayName("should fall back to the local index when the upstream search fails")
+        void shouldFallBackToLocalIndexOnFailure() {
+            // Arrange
+            LocalSearchEngine engine = new LocalSearchEngine(recipeStore, LocalSearchMode.FALLBACK, 0, 1_000, 0.5);
+            engine.index(createMockRecipeDetail());
+            RecipeServiceImpl fallbackService = newService(
+                    new CachePrefetcher(Runnable::run, upstreamGuard, false, 0), engine);
+            when(restClient.get()).thenReturn(requestHeadersUriSpec);
+            when(requestHeadersUriSpec.uri(anyString(), anyMap())).thenReturn(requestHeadersSpec);
+            when(requestHeadersSpec.retrieve()).thenThrow(new RestClientException("503 Service Unavailable"));
+
+            // Act
+            CachedResponse<RecipeSearchResponse> result = fallbackService.searchRecipeResponse(
+                    "pasta", null, null, null, 0, 12);
+
+            // Assert
+            assertThat(result.getStatus()).isEqualTo(CacheStatus.LOCAL);
+            assertThat(result.getValue().getTotalResults()).isEqualTo(1);
+        }
+
         @Test
         @DisplayName("should handle null query gracefully")
         void shouldHandleNullQueryGracefully() {
@@ -144,7 +532,7 @@ class RecipeServiceImplTest {
             RecipeSearchResponse expectedResponse = createMockSearchResponse();
 
             when(restClient.get()).thenReturn(requestHeadersUriSpec);
-            when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
+            when(requestHeadersUriSpec.uri(anyString(), anyMap())).thenReturn(requestHeadersSpec);
             when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
             when(responseSpec.body(RecipeSearchResponse.class)).thenReturn(expectedResponse);
 
@@ -222,6 +610,268 @@ class RecipeServiceImplTest {
                     .isInstanceOf(SpoonacularApiException.class)
                     .hasMessageContaining("Failed to fetch recipe");
         }
+
+        @Test
+        @DisplayName("should serve repeated lookups from the cache")
+        void shouldServeRepeatedLookupsFromCache() {
+            // Arrange
+            RecipeDetailResponse expectedResponse = createMockRecipeDetail();
+
+            when(restClient.get()).thenReturn(requestHeadersUriSpec);
+            when(requestHeadersUriSpec.uri(anyString(), eq(123L))).thenReturn(requestHeadersSpec);
+            when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+            when(responseSpec.body(RecipeDetailResponse.class)).thenReturn(expectedResponse);
+
+            // Act
+            RecipeDetailResponse first = recipeService.getRecipeById(123L);
+            RecipeDetailResponse second = recipeService.getRecipeById(123L);
+
+            // Assert
+            assertThat(second).isSameAs(first);
+            verify(restClient, times(1)).get();
+            assertThat(new String(recipeService.getRecipeResponse(123L).getJson()))
+                    .contains("\"title\":\"Pasta Carbonara\"");
+            assertThat(recipeDetailCache.getIfPresent(123L).getValue()).isSameAs(expectedResponse);
+        }
+
+        @Test
+        @DisplayName("should serve recipes from the on-disk store before calling upstream")
+        void shouldServeFromStoreBeforeUpstream() {
+            // Arrange
+            recipeStore.put(CachedResponse.serialize(createMockRecipeDetail(), jsonMapper, System.currentTimeMillis()));
+
+            // Act
+            RecipeDetailResponse result = recipeService.getRecipeById(123L);
+
+            // Assert
+            assertThat(result.getTitle()).isEqualTo("Pasta Carbonara");
+            verifyNoInteractions(restClient);
+            assertThat(recipeDetailCache.getIfPresent(123L)).isNotNull();
+        }
+
+        @Test
+        @DisplayName("should write fetched recipes to the on-disk store")
+        void shouldWriteFetchedRecipesToStore() {
+            // Arrange
+            when(restClient.get()).thenReturn(requestHeadersUriSpec);
+            when(requestHeadersUriSpec.uri(anyString(), eq(123L))).thenReturn(requestHeadersSpec);
+            when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+            when(responseSpec.body(RecipeDetailResponse.class)).thenReturn(createMockRecipeDetail());
+
+            // Act
+            recipeService.getRecipeById(123L);
+
+            // Assert
+            assertThat(recipeStore.get(123L)).isPresent();
+        }
+
+        @Test
+        @DisplayName("should serve a stale recipe and refresh it in the background")
+        void shouldServeStaleRecipeAndRefresh() {
+            // Arrange
+            RecipeDetailResponse stale = createMockRecipeDetail();
+            RecipeDetailResponse refreshed = createMockRecipeDetail();
+            refreshed.setTitle("Pasta Carbonara (updated)");
+            recipeDetailCache.put(123L, CachedResponse.serialize(stale, jsonMapper, staleFetchTime()));
+
+            when(restClient.get()).thenReturn(requestHeadersUriSpec);
+            when(requestHeadersUriSpec.uri(anyString(), eq(123L))).thenReturn(requestHeadersSpec);
+            when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+            when(responseSpec.body(RecipeDetailResponse.class)).thenReturn(refreshed);
+
+            // Act
+            CachedResponse<RecipeDetailResponse> result = recipeService.getRecipeResponse(123L);
+
+            // Assert
+            assertThat(result.getStatus()).isEqualTo(CacheStatus.STALE);
+            assertThat(result.getValue()).isSameAs(stale);
+            assertThat(recipeService.getRecipeResponse(123L).getStatus()).isEqualTo(CacheStatus.HIT);
+            assertThat(recipeDetailCache.getIfPresent(123L).getValue()).isSameAs(refreshed);
+        }
+
+        @Test
+        @DisplayName("should keep serving a stale recipe when upstream fails")
+        void shouldServeStaleRecipeWhenUpstreamFails() {
+            // Arrange
+            recipeDetailCache.put(123L, CachedResponse.serialize(createMockRecipeDetail(), jsonMapper, staleFetchTime()));
+
+            when(restClient.get()).thenReturn(requestHeadersUriSpec);
+            when(requestHeadersUriSpec.uri(anyString(), eq(123L))).thenReturn(requestHeadersSpec);
+            when(requestHeadersSpec.retrieve()).thenThrow(new RestClientException("500 Server Error"));
+
+            // Act
+            recipeService.getRecipeResponse(123L);
+            CachedResponse<RecipeDetailResponse> result = recipeService.getRecipeResponse(123L);
+
+            // Assert
+            assertThat(result.getStatus()).isEqualTo(CacheStatus.STALE_ON_ERROR);
+            assertThat(result.getValue().getTitle()).isEqualTo("Pasta Carbonara");
+        }
+
+        @Test
+        @DisplayName("should not serve stored recipes past hard expiry")
+        void shouldNotServeStoredRecipesPastHardExpiry() {
+            // Arrange
+            long expired = System.currentTimeMillis() - DETAIL_TTL.plusDays(8).toMillis();
+            recipeStore.put(CachedResponse.serialize(createMockRecipeDetail(), jsonMapper, expired));
+
+            when(restClient.get()).thenReturn(requestHeadersUriSpec);
+            when(requestHeadersUriSpec.uri(anyString(), eq(123L))).thenReturn(requestHeadersSpec);
+            when(requestHeadersSpec.retrieve()).thenThrow(new RestClientException("500 Server Error"));
+
+            // Act & Assert
+            assertThatThrownBy(() -> recipeService.getRecipeResponse(123L))
+                    .isInstanceOf(SpoonacularApiException.class);
+        }
+
+        @Test
+        @DisplayName("should not cache failed lookups")
+        void shouldNotCacheFailedLookups() {
+            // Arrange
+            when(restClient.get()).thenReturn(requestHeadersUriSpec);
+            when(requestHeadersUriSpec.uri(anyString(), eq(999L))).thenReturn(requestHeadersSpec);
+            when(requestHeadersSpec.retrieve()).thenThrow(new RestClientException("404 Not Found"));
+
+            // Act
+            assertThatThrownBy(() -> recipeService.getRecipeById(999L))
+                    .isInstanceOf(RecipeNotFoundException.class);
+
+            // Assert
+            assertThat(recipeDetailCache.getIfPresent(999L)).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("recipe views")
+    class RecipeViewTests {
+
+        private RecipeDetailResponse recipeWithNutrition() {
+            RecipeDetailResponse recipe = createMockRecipeDetail();
+            recipe.setNutrition(NutritionInfo.builder()
+                    .nutrients(List.of(new Nutrient("Calories", 584.0, "kcal", 29.2)))
+                    .build());
+            return recipe;
+        }
+
+        @Test
+        @DisplayName("should serve only the requested fields, in their original order")
+        void shouldProjectRequestedFields() {
+            // Arrange
+            recipeDetailCache.put(123L, CachedResponse.serialize(recipeWithNutrition(), jsonMapper,
+                    System.currentTimeMillis()));
+
+            // Act
+            CachedResponse<RecipeDetailResponse> result = recipeService.getRecipeResponse(123L,
+                    RecipeFields.parse("title,id"));
+
+            // Assert
+            assertThat(new String(result.getJson())).isEqualTo("{\"id\":123,\"title\":\"Pasta Carbonara\"}");
+            assertThat(result.getETag()).isNotEqualTo(recipeDetailCache.getIfPresent(123L).getETag());
+            assertThat(result.getStatus()).isEqualTo(CacheStatus.HIT);
+        }
+
+        @Test
+        @DisplayName("should serve nutrition on its own and reuse the view while the recipe is unchanged")
+        void shouldServeNutritionView() {
+            // Arrange
+            recipeDetailCache.put(123L, CachedResponse.serialize(recipeWithNutrition(), jsonMapper,
+                    System.currentTimeMillis()));
+
+            // Act
+            CachedResponse<NutritionInfo> first = recipeService.getRecipeNutritionResponse(123L);
+            CachedResponse<NutritionInfo> second = recipeService.getRecipeNutritionResponse(123L);
+
+            // Assert
+            assertThat(jsonMapper.readValue(first.getJson(), NutritionInfo.class)).isEqualTo(first.getValue());
+            assertThat(first.getValue().getNutrients()).extracting(Nutrient::getName).containsExactly("Calories");
+            assertThat(second.getJson()).isSameAs(first.getJson());
+            verifyNoInteractions(restClient);
+        }
+
+        @Test
+        @DisplayName("should cut views again once their recipe is refreshed, reporting the recipe's status")
+        void shouldFollowRecipeRefreshes() {
+            // Arrange
+            recipeDetailCache.put(123L, CachedResponse.serialize(recipeWithNutrition(), jsonMapper, staleFetchTime()));
+            RecipeDetailResponse refreshed = recipeWithNutrition();
+            refreshed.getNutrition().setNutrients(List.of(new Nutrient("Calories", 400.0, "kcal", 20.0)));
+
+            when(restClient.get()).thenReturn(requestHeadersUriSpec);
+            when(requestHeadersUriSpec.uri(anyString(), eq(123L))).thenReturn(requestHeadersSpec);
+            when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+            when(responseSpec.body(RecipeDetailResponse.class)).thenReturn(refreshed);
+
+            // Act
+            CachedResponse<NutritionInfo> stale = recipeService.getRecipeNutritionResponse(123L);
+            CachedResponse<NutritionInfo> fresh = recipeService.getRecipeNutritionResponse(123L);
+
+            // Assert
+            assertThat(stale.getStatus()).isEqualTo(CacheStatus.STALE);
+            assertThat(new String(stale.getJson())).contains("584.0");
+            assertThat(fresh.getStatus()).isEqualTo(CacheStatus.HIT);
+            assertThat(new String(fresh.getJson())).contains("400.0").doesNotContain("584.0");
+            assertThat(fresh.getETag()).isNotEqualTo(stale.getETag());
+        }
+    }
+
+    @Nested
+    @DisplayName("getRecipesByIds")
+    class GetRecipesByIdsTests {
+
+        @Test
+        @DisplayName("should fetch uncached recipes with one bulk call")
+        void shouldFetchUncachedRecipesWithOneBulkCall() {
+            // Arrange
+            RecipeDetailResponse first = RecipeDetailResponse.builder().id(1L).title("Pasta Carbonara").build();
+            RecipeDetailResponse second = RecipeDetailResponse.builder().id(2L).title("Pasta Primavera").build();
+
+            when(restClient.get()).thenReturn(requestHeadersUriSpec);
+            when(requestHeadersUriSpec.uri(contains("informationBulk"), eq("1,2"))).thenReturn(requestHeadersSpec);
+            when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+            when(responseSpec.body(RecipeDetailResponse[].class))
+                    .thenReturn(new RecipeDetailResponse[] { second, first });
+
+            // Act
+            List<RecipeDetailResponse> result = recipeService.getRecipesByIds(List.of(1L, 2L));
+
+            // Assert
+            assertThat(result).extracting(RecipeDetailResponse::getId).containsExactly(1L, 2L);
+            verify(restClient, times(1)).get();
+            assertThat(recipeDetailCache.getIfPresent(2L).getValue()).isSameAs(second);
+        }
+
+        @Test
+        @DisplayName("should serve cached recipes and skip unknown ids")
+        void shouldServeCachedRecipesAndSkipUnknownIds() {
+            // Arrange
+            RecipeDetailResponse cached = RecipeDetailResponse.builder().id(1L).title("Pasta Carbonara").build();
+            recipeDetailCache.put(1L, CachedResponse.serialize(cached, jsonMapper, System.currentTimeMillis()));
+
+            when(restClient.get()).thenReturn(requestHeadersUriSpec);
+            when(requestHeadersUriSpec.uri(anyString(), eq(999L))).thenReturn(requestHeadersSpec);
+            when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+            when(responseSpec.body(RecipeDetailResponse.class)).thenReturn(null);
+
+            // Act
+            List<RecipeDetailResponse> result = recipeService.getRecipesByIds(List.of(1L, 999L, 1L));
+
+            // Assert
+            assertThat(result).containsExactly(cached);
+        }
+
+        @Test
+        @DisplayName("should throw SpoonacularApiException when the bulk call fails")
+        void shouldThrowWhenBulkCallFails() {
+            // Arrange
+            when(restClient.get()).thenReturn(requestHeadersUriSpec);
+            when(requestHeadersUriSpec.uri(contains("informationBulk"), eq("1,2"))).thenReturn(requestHeadersSpec);
+            when(requestHeadersSpec.retrieve()).thenThrow(new RestClientException("500 Server Error"));
+
+            // Act & Assert
+            assertThatThrownBy(() -> recipeService.getRecipesByIds(List.of(1L, 2L)))
+                    .isInstanceOf(SpoonacularApiException.class)
+                    .hasMessageContaining("Failed to fetch recipes");
+        }
     }
 
     @Nested
@@ -250,6 +900,46 @@ class RecipeServiceImplTest {
             assertThat(result.get(0).getTitle()).isEqualTo("Pasta Carbonara");
         }
 
+        @Test
+        @DisplayName("should serve suggestions from the local index when it has enough hits")
+        void shouldServeSuggestionsFromLocalIndex() {
+            // Arrange
+            autocompleteIndex.record(1L, "Pasta Carbonara", "jpg", 1);
+            autocompleteIndex.record(2L, "Pasta Primavera", "jpg", 1);
+
+            // Act
+            List<AutocompleteResult> result = recipeService.getAutocompleteSuggestions("pas", 5);
+
+            // Assert
+            assertThat(result).extracting(AutocompleteResult::getTitle)
+                    .containsExactlyInAnyOrder("Pasta Carbonara", "Pasta Primavera");
+            verifyNoInteractions(restClient);
+        }
+
+        @Test
+        @DisplayName("should index upstream suggestions for later lookups")
+        void shouldIndexUpstreamSuggestions() {
+            // Arrange
+            AutocompleteResult[] mockResults = {
+                    AutocompleteResult.builder().id(1L).title("Pasta Carbonara").build(),
+                    AutocompleteResult.builder().id(2L).title("Pasta Primavera").build()
+            };
+
+            when(restClient.get()).thenReturn(requestHeadersUriSpec);
+            when(requestHeadersUriSpec.uri(anyString(), anyString(), anyInt())).thenReturn(requestHeadersSpec);
+            when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+            when(responseSpec.body(AutocompleteResult[].class)).thenReturn(mockResults);
+
+            // Act
+            recipeService.getAutocompleteSuggestions("pasta", 5);
+            List<AutocompleteResult> second = recipeService.getAutocompleteSuggestions("pasta p", 5);
+
+            // Assert - the second query would need two local hits, so it goes upstream again
+            assertThat(autocompleteIndex.suggest("pasta", 5)).isPresent();
+            assertThat(second).hasSize(2);
+            verify(restClient, times(2)).get();
+        }
+
         @Test
         @DisplayName("should return empty list when query is null")
         void shouldReturnEmptyListWhenQueryIsNull() {
@@ -298,6 +988,15 @@ class RecipeServiceImplTest {
 
     // Helper methods to create mock data
 
+    private static Map<String, ?> variables(Map<String, ?> expected) {
+        return argThat(actual -> expected.entrySet().stream()
+                .allMatch(e -> e.getValue().equals(actual.get(e.getKey()))));
+    }
+
+    private long staleFetchTime() {
+        return System.currentTimeMillis() - DETAIL_TTL.plusHours(1).toMillis();
+    }
+
     private RecipeSearchResponse createMockSearchResponse() {
         RecipeSearchResult result1 = RecipeSearchResult.builder()
                 .id(1L)
@@ -319,6 +1018,19 @@ class RecipeServiceImplTest {
                 .build();
     }
 
+    private RecipeSearchResponse createSearchWindow(int offset, int size, int totalResults) {
+        List<RecipeSearchResult> results = new ArrayList<>();
+        for (int i = offset; i < offset + size; i++) {
+            results.add(RecipeSearchResult.builder().id((long) i).title("Pasta " + i).build());
+        }
+        return RecipeSearchResponse.builder()
+                .results(results)
+                .offset(offset)
+                .number(100)
+                .totalResults(totalResults)
+                .build();
+    }
+
     private RecipeDetailResponse createMockRecipeDetail() {
         return RecipeDetailResponse.builder()
                 .id(123L)
@@ -0,0 +1,59 @@
+package com.assignment.rex_assignment_server.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SearchKey Tests")
+class SearchKeyTest {
+
+    @Test
+    @DisplayName("should fold case, whitespace and compatibility characters in the query")
+    void shouldNormalizeQueryText() {
+        // Act
+        SearchKey plain = SearchKey.normalized("pasta  carbonara", null, null, null, 0, 12);
+        SearchKey messy = SearchKey.normalized("  Pasta\tCARBONARA ", null, null, null, 0, 12);
+        SearchKey fullWidth = SearchKey.normalized("ｐａｓｔａ　ｃａｒｂｏｎａｒａ", null, null, null, 0, 12);
+
+        // Assert
+        assertThat(plain.query()).isEqualTo("pasta carbonara");
+        assertThat(messy).isEqualTo(plain);
+        assertThat(fullWidth).isEqualTo(plain);
+    }
+
+    @Test
+    @DisplayName("should sort and de-duplicate multi-value filters")
+    void shouldSortMultiValueFilters() {
+        // Act
+        SearchKey key = SearchKey.normalized("", "Vegan, gluten free,vegan", "thai|Italian", " ", 0, 12);
+
+        // Assert
+        assertThat(key.diet()).isEqualTo("gluten free,vegan");
+        assertThat(key.cuisine()).isEqualTo("italian|thai");
+        assertThat(key.type()).isNull();
+    }
+
+    @Test
+    @DisplayName("should treat a missing query as an empty one")
+    void shouldTreatMissingQueryAsEmpty() {
+        assertThat(SearchKey.normalized(null, null, null, null, 0, 12))
+                .isEqualTo(SearchKey.normalized("   ", "", null, null, 0, 12));
+    }
+
+    @Test
+    @DisplayName("should only add filter variables to the complexSearch template when set")
+    void shouldBuildComplexSearchTemplate() {
+        // Act
+        SearchKey key = SearchKey.normalized("pasta & wine", null, "italian", null, 24, 12);
+
+        // Assert
+        assertThat(key.complexSearchUri()).isEqualTo("/recipes/complexSearch?query={query}&offset={offset}"
+                + "&number={number}&addRecipeNutrition=true&cuisine={cuisine}");
+        assertThat(key.uriVariables()).containsOnly(
+                Map.entry("query", "pasta & wine"), Map.entry("offset", 24), Map.entry("number", 12),
+                Map.entry("cuisine", "italian"));
+    }
+}
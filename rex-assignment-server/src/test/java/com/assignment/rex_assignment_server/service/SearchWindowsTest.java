@@ -0,0 +1,70 @@
+package com.assignment.rex_assignment_server.service;
+
+import com.assignment.rex_assignment_server.dto.RecipeSearchResponse;
+import com.assignment.rex_assignment_server.dto.RecipeSearchResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("SearchWindows Tests")
+class SearchWindowsTest {
+
+    private final SearchWindows searchWindows = new SearchWindows(100);
+
+    @Test
+    @DisplayName("should map a page onto the aligned windows covering it")
+    void shouldMapPageOntoCoveringWindows() {
+        // Act
+        List<SearchKey> inside = searchWindows.covering(key(24, 12));
+        List<SearchKey> crossing = searchWindows.covering(key(96, 12));
+
+        // Assert
+        assertThat(inside).containsExactly(key(0, 100));
+        assertThat(crossing).containsExactly(key(0, 100), key(100, 100));
+    }
+
+    @Test
+    @DisplayName("should slice a page out of its windows, stopping where results end")
+    void shouldSlicePageFromWindows() {
+        // Arrange
+        List<SearchKey> windows = searchWindows.covering(key(90, 20));
+        RecipeSearchResponse first = window(0, 100, 105);
+        RecipeSearchResponse second = window(100, 5, 105);
+
+        // Act
+        RecipeSearchResponse page = searchWindows.slice(key(90, 20), windows, List.of(first, second));
+
+        // Assert
+        assertThat(page.getResults()).extracting(RecipeSearchResult::getId)
+                .containsExactlyElementsOf(LongStream.range(90, 105).boxed().toList());
+        assertThat(page.getOffset()).isEqualTo(90);
+        assertThat(page.getNumber()).isEqualTo(20);
+        assertThat(page.getTotalResults()).isEqualTo(105);
+        assertThat(searchWindows.hasMore(windows.get(1), second)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should reject windows larger than Spoonacular allows")
+    void shouldRejectOversizedWindow() {
+        assertThatThrownBy(() -> new SearchWindows(101)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static SearchKey key(int offset, int number) {
+        return new SearchKey("pasta", null, null, null, offset, number);
+    }
+
+    private static RecipeSearchResponse window(int offset, int size, int totalResults) {
+        return RecipeSearchResponse.builder()
+                .results(LongStream.range(offset, offset + size)
+                        .mapToObj(id -> RecipeSearchResult.builder().id(id).build())
+                        .toList())
+                .offset(offset)
+                .number(100)
+                .totalResults(totalResults)
+                .build();
+    }
+}
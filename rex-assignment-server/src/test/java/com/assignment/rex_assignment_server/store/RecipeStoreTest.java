@@ -0,0 +1,101 @@
+package com.assignment.rex_assignment_server.store;
+
+import com.assignment.rex_assignment_server.cache.CachedResponse;
+import com.assignment.rex_assignment_server.dto.RecipeDetailResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RecipeStore Tests")
+class RecipeStoreTest {
+
+    private static final JsonMapper JSON_MAPPER = JsonMapper.builder().build();
+
+    @TempDir
+    Path directory;
+
+    private RecipeStore recipeStore;
+
+    @AfterEach
+    void tearDown() {
+        recipeStore.close();
+    }
+
+    @Test
+    @DisplayName("should persist recipes across restarts")
+    void shouldPersistRecipesAcrossRestarts() {
+        // Arrange
+        long fetchedAt = System.currentTimeMillis();
+        recipeStore = newStore(true, Clock.systemUTC());
+        recipeStore.put(CachedResponse.serialize(createRecipe(123L), JSON_MAPPER, fetchedAt));
+        recipeStore.close();
+
+        // Act
+        recipeStore = newStore(true, Clock.systemUTC());
+
+        // Assert
+        assertThat(recipeStore.get(123L)).hasValueSatisfying(entry -> {
+            assertThat(entry.getValue().getTitle()).isEqualTo("Pasta Carbonara");
+            assertThat(entry.getValue().getDiets()).containsExactly("vegetarian");
+            assertThat(entry.getJson()).isEqualTo(JSON_MAPPER.writeValueAsBytes(entry.getValue()));
+            assertThat(entry.getFetchedAt()).isEqualTo(fetchedAt);
+        });
+        assertThat(recipeStore.ids()).containsExactly(123L);
+    }
+
+    @Test
+    @DisplayName("should treat entries older than max age as missing")
+    void shouldTreatExpiredEntriesAsMissing() {
+        // Arrange
+        Instant fetchedAt = Instant.parse("2025-01-01T00:00:00Z");
+        recipeStore = newStore(true, Clock.fixed(fetchedAt, ZoneOffset.UTC));
+        recipeStore.put(CachedResponse.serialize(createRecipe(123L), JSON_MAPPER, fetchedAt.toEpochMilli()));
+        recipeStore.close();
+
+        // Act
+        recipeStore = newStore(true, Clock.fixed(Instant.parse("2025-02-01T00:00:00Z"), ZoneOffset.UTC));
+
+        // Assert
+        assertThat(recipeStore.get(123L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should do nothing when disabled")
+    void shouldDoNothingWhenDisabled() {
+        // Arrange
+        recipeStore = newStore(false, Clock.systemUTC());
+
+        // Act
+        recipeStore.put(CachedResponse.serialize(createRecipe(123L), JSON_MAPPER, 1_000L));
+
+        // Assert
+        assertThat(recipeStore.get(123L)).isEmpty();
+        assertThat(recipeStore.size()).isZero();
+    }
+
+    private RecipeStore newStore(boolean enabled, Clock clock) {
+        return new RecipeStore(JSON_MAPPER, enabled, directory, DataSize.ofMegabytes(1),
+                Duration.ofDays(7), Duration.ofHours(1), clock);
+    }
+
+    private static RecipeDetailResponse createRecipe(Long id) {
+        return RecipeDetailResponse.builder()
+                .id(id)
+                .title("Pasta Carbonara")
+                .diets(List.of("vegetarian"))
+                .readyInMinutes(30)
+                .build();
+    }
+}
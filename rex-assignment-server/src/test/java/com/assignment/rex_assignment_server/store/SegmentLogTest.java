@@ -0,0 +1,218 @@
+package com.assignment.rex_assignment_server.store;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SegmentLog Tests")
+class SegmentLogTest {
+
+    @TempDir
+    Path directory;
+
+    private SegmentLog segmentLog;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (segmentLog != null) {
+            segmentLog.close();
+        }
+    }
+
+    @Test
+    @DisplayName("should return the latest value written for a key")
+    void shouldReturnLatestValue() throws IOException {
+        // Arrange
+        segmentLog = SegmentLog.open(directory, 1024 * 1024);
+
+        // Act
+        segmentLog.append(1L, 100L, bytes("first"));
+        segmentLog.append(1L, 200L, bytes("second"));
+
+        // Assert
+        SegmentLog.Entry entry = segmentLog.get(1L);
+        assertThat(text(entry)).isEqualTo("second");
+        assertThat(entry.timestamp()).isEqualTo(200L);
+        assertThat(segmentLog.get(2L)).isNull();
+        assertThat(segmentLog.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should rebuild the index from sealed and active segments on reopen")
+    void shouldRebuildIndexOnReopen() throws IOException {
+        // Arrange - small segments force several rolls and hint files
+        segmentLog = SegmentLog.open(directory, 256);
+        for (long key = 0; key < 50; key++) {
+            segmentLog.append(key, key, bytes("recipe-" + key));
+        }
+        segmentLog.append(7L, 999L, bytes("recipe-7-updated"));
+        segmentLog.close();
+
+        // Act
+        segmentLog = SegmentLog.open(directory, 256);
+
+        // Assert
+        assertThat(segmentLog.size()).isEqualTo(50);
+        assertThat(text(segmentLog.get(42L))).isEqualTo("recipe-42");
+        assertThat(text(segmentLog.get(7L))).isEqualTo("recipe-7-updated");
+        assertThat(segmentFiles(".hint")).isPositive();
+    }
+
+    @Test
+    @DisplayName("should truncate a torn record at the end of the active segment")
+    void shouldTruncateTornTail() throws IOException {
+        // Arrange
+        segmentLog = SegmentLog.open(directory, 1024 * 1024);
+        segmentLog.append(1L, 1L, bytes("complete"));
+        segmentLog.close();
+        try (FileChannel channel = FileChannel.open(directory.resolve("000000000000.log"),
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            // Header of a record whose payload never made it to disk
+            channel.write(ByteBuffer.allocate(SegmentLog.HEADER_BYTES).putInt(0, 500));
+        }
+
+        // Act
+        segmentLog = SegmentLog.open(directory, 1024 * 1024);
+        segmentLog.append(2L, 2L, bytes("after restart"));
+
+        // Assert
+        assertThat(text(segmentLog.get(1L))).isEqualTo("complete");
+        assertThat(text(segmentLog.get(2L))).isEqualTo("after restart");
+    }
+
+    @Test
+    @DisplayName("should compact superseded segments and keep live records readable")
+    void shouldCompactSupersededSegments() throws IOException {
+        // Arrange
+        segmentLog = SegmentLog.open(directory, 256);
+        for (int round = 0; round < 5; round++) {
+            for (long key = 0; key < 10; key++) {
+                segmentLog.append(key, round, bytes("recipe-" + key + "-round-" + round));
+            }
+        }
+        long before = segmentLog.diskBytes();
+
+        // Act
+        int removed = segmentLog.compact(0L);
+
+        // Assert
+        assertThat(removed).isPositive();
+        assertThat(segmentLog.diskBytes()).isLessThan(before);
+        for (long key = 0; key < 10; key++) {
+            assertThat(text(segmentLog.get(key))).isEqualTo("recipe-" + key + "-round-4");
+        }
+    }
+
+    @Test
+    @DisplayName("should drop expired records during compaction")
+    void shouldDropExpiredRecordsDuringCompaction() throws IOException {
+        // Arrange
+        segmentLog = SegmentLog.open(directory, 128);
+        for (long key = 0; key < 10; key++) {
+            segmentLog.append(key, key < 5 ? 10L : 1_000L, bytes("recipe-" + key));
+        }
+
+        // Act
+        segmentLog.compact(500L);
+
+        // Assert
+        assertThat(segmentLog.get(9L)).isNotNull();
+        assertThat(segmentLog.contains(0L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should keep a removed key removed after reopening")
+    void shouldKeepRemovedKeyRemovedOnReopen() throws IOException {
+        // Arrange - key 3 is written to a segment that is sealed with a hint file before its removal
+        segmentLog = SegmentLog.open(directory, 128);
+        for (long key = 0; key < 10; key++) {
+            segmentLog.append(key, key, bytes("recipe-" + key));
+        }
+
+        // Act
+        segmentLog.remove(3L);
+        segmentLog.remove(5L);
+        segmentLog.append(5L, 50L, bytes("recipe-5-again"));
+        segmentLog.close();
+        segmentLog = SegmentLog.open(directory, 128);
+
+        // Assert
+        assertThat(segmentLog.contains(3L)).isFalse();
+        assertThat(segmentLog.get(3L)).isNull();
+        assertThat(text(segmentLog.get(5L))).isEqualTo("recipe-5-again");
+        assertThat(segmentLog.size()).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("should carry a tombstone through compaction while an older segment holds its key")
+    void shouldKeepTombstoneThroughCompaction() throws IOException {
+        // Arrange - segment 0 holds keys 0-3 and stays; key 0's tombstone lands in a
+        // segment that is otherwise superseded
+        segmentLog = SegmentLog.open(directory, 128);
+        for (long key = 0; key < 4; key++) {
+            segmentLog.append(key, key, bytes("recipe-" + key));
+        }
+        segmentLog.remove(0L);
+        for (int version = 0; version < 6; version++) {
+            segmentLog.append(10L, 100L + version, bytes("recipe-10-v" + version));
+        }
+
+        // Act
+        int removed = segmentLog.compact(0L);
+        segmentLog.close();
+        segmentLog = SegmentLog.open(directory, 128);
+
+        // Assert
+        assertThat(removed).isPositive();
+        assertThat(segmentLog.contains(0L)).isFalse();
+        assertThat(text(segmentLog.get(1L))).isEqualTo("recipe-1");
+        assertThat(text(segmentLog.get(10L))).isEqualTo("recipe-10-v5");
+        assertThat(segmentLog.size()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("should rebuild an index of 100k records across segments on reopen")
+    void shouldRebuildLargeIndex() throws IOException {
+        // Arrange
+        segmentLog = SegmentLog.open(directory, 8 * 1024 * 1024);
+        byte[] payload = new byte[256];
+        for (long key = 0; key < 100_000; key++) {
+            segmentLog.append(key, key, payload);
+        }
+        segmentLog.close();
+
+        // Act
+        segmentLog = SegmentLog.open(directory, 8 * 1024 * 1024);
+
+        // Assert
+        assertThat(segmentLog.size()).isEqualTo(100_000);
+        assertThat(segmentLog.get(99_999L).timestamp()).isEqualTo(99_999L);
+        assertThat(segmentFiles(".log")).isGreaterThan(1);
+    }
+
+    private long segmentFiles(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(suffix)).count();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(SegmentLog.Entry entry) {
+        return new String(entry.payload(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,91 @@
+package com.assignment.rex_assignment_server.timing;
+
+import com.assignment.rex_assignment_server.timing.ServerTiming.Phase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ServerTiming Tests")
+class ServerTimingTest {
+
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        request = new MockHttpServletRequest("GET", "/api/recipes/1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("should report recorded phases in order, summed, followed by the total")
+    void shouldReportRecordedPhases() {
+        // Arrange
+        long now = System.nanoTime();
+        ServerTiming.open(request, now - TimeUnit.MILLISECONDS.toNanos(50));
+
+        // Act
+        ServerTiming.record(Phase.UPSTREAM, now - TimeUnit.MILLISECONDS.toNanos(30));
+        ServerTiming.record(Phase.CACHE, now - TimeUnit.MICROSECONDS.toNanos(200));
+        ServerTiming.record(Phase.CACHE, now - TimeUnit.MICROSECONDS.toNanos(200));
+        String header = ServerTiming.headerValue(request);
+
+        // Assert
+        assertThat(header).matches("cache;desc=\"[^\"]+\";dur=0\\.\\d{3}, "
+                + "upstream;desc=\"[^\"]+\";dur=3\\d\\.\\d{3}, "
+                + "total;desc=\"[^\"]+\";dur=\\d+\\.\\d{3}");
+    }
+
+    @Test
+    @DisplayName("should record nothing outside a sampled request")
+    void shouldIgnoreUnsampledRequests() {
+        // Act
+        ServerTiming.record(Phase.UPSTREAM, ServerTiming.begin() - 1_000_000);
+
+        // Assert
+        assertThat(ServerTiming.headerValue(request)).isNull();
+    }
+
+    @Test
+    @DisplayName("should record nothing on a thread outside a request")
+    void shouldIgnoreThreadsOutsideRequests() {
+        // Arrange
+        ServerTiming.open(request, System.nanoTime());
+        RequestContextHolder.resetRequestAttributes();
+
+        // Act
+        ServerTiming.record(Phase.UPSTREAM, ServerTiming.begin() - 1_000_000);
+
+        // Assert
+        assertThat(ServerTiming.headerValue(request)).startsWith("total;");
+    }
+
+    @Test
+    @DisplayName("should start each request from zero")
+    void shouldResetBetweenRequests() {
+        // Arrange
+        ServerTiming.open(request, System.nanoTime());
+        ServerTiming.record(Phase.SERIALIZE, System.nanoTime() - 1_000_000);
+        MockHttpServletRequest next = new MockHttpServletRequest("GET", "/api/recipes/2");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(next));
+
+        // Act
+        ServerTiming.open(next, System.nanoTime());
+        String header = ServerTiming.headerValue(next);
+
+        // Assert
+        assertThat(header).startsWith("total;");
+    }
+}
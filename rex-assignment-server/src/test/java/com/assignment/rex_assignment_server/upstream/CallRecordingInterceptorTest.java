@@ -0,0 +1,108 @@
+package com.assignment.rex_assignment_server.upstream;
+
+import com.assignment.rex_assignment_server.jfr.SpoonacularCallEvent;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CallRecordingInterceptor Tests")
+class CallRecordingInterceptorTest {
+
+    private final CallRecordingInterceptor interceptor = new CallRecordingInterceptor();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("should record the operation, status and body bytes of an exchange once it is closed")
+    void shouldRecordExchange() throws IOException {
+        // Arrange
+        byte[] body = "{\"id\":716429,\"title\":\"Pasta\"}".getBytes();
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET,
+                URI.create("https://api.spoonacular.com/recipes/716429/information?includeNutrition=true"));
+
+        // Act
+        List<RecordedEvent> events = record(() -> {
+            ClientHttpResponse response = interceptor.intercept(request, new byte[0],
+                    (r, b) -> new MockClientHttpResponse(body, HttpStatus.OK));
+            try (InputStream in = response.getBody()) {
+                in.readAllBytes();
+            }
+            response.close();
+            response.close();
+        });
+
+        // Assert
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.getString("operation")).isEqualTo("information");
+            assertThat(event.getString("path")).isEqualTo("/recipes/716429/information");
+            assertThat(event.getInt("status")).isEqualTo(200);
+            assertThat(event.getLong("bytes")).isEqualTo(body.length);
+        });
+    }
+
+    @Test
+    @DisplayName("should record a failed exchange with no status")
+    void shouldRecordFailedExchange() throws IOException {
+        // Arrange
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET,
+                URI.create("https://api.spoonacular.com/recipes/complexSearch?query=pasta"));
+
+        // Act
+        List<RecordedEvent> events = record(() -> assertThatThrownBy(() -> interceptor.intercept(request,
+                new byte[0], (r, b) -> {
+                    throw new IOException("Connection reset");
+                })).isInstanceOf(IOException.class));
+
+        // Assert
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.getString("operation")).isEqualTo("complexSearch");
+            assertThat(event.getInt("status")).isZero();
+        });
+    }
+
+    @Test
+    @DisplayName("should name each Spoonacular endpoint")
+    void shouldNameOperations() {
+        assertThat(CallRecordingInterceptor.operationOf("/recipes/complexSearch")).isEqualTo("complexSearch");
+        assertThat(CallRecordingInterceptor.operationOf("/recipes/informationBulk")).isEqualTo("informationBulk");
+        assertThat(CallRecordingInterceptor.operationOf("/recipes/42/information")).isEqualTo("information");
+        assertThat(CallRecordingInterceptor.operationOf("/recipes/autocomplete")).isEqualTo("autocomplete");
+        assertThat(CallRecordingInterceptor.operationOf("/food/jokes/random")).isEqualTo("other");
+    }
+
+    private List<RecordedEvent> record(Exchange exchange) throws IOException {
+        Path file = tempDir.resolve("calls.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(SpoonacularCallEvent.NAME).withoutThreshold();
+            recording.start();
+            exchange.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(SpoonacularCallEvent.NAME))
+                .toList();
+    }
+
+    @FunctionalInterface
+    private interface Exchange {
+        void run() throws IOException;
+    }
+}
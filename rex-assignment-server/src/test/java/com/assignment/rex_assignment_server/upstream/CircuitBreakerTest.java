@@ -0,0 +1,122 @@
+package com.assignment.rex_assignment_server.upstream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CircuitBreaker Tests")
+class CircuitBreakerTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(2).toNanos();
+
+    private CircuitBreaker breaker(Duration openDuration) {
+        return new CircuitBreaker("test", 10, 4, 50, 75, Duration.ofSeconds(1), openDuration, 2);
+    }
+
+    @Test
+    @DisplayName("should stay closed until the minimum number of calls is recorded")
+    void shouldStayClosedBelowMinimumCalls() {
+        // Arrange
+        CircuitBreaker breaker = breaker(Duration.ofSeconds(30));
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            breaker.tryAcquirePermission();
+            breaker.onResult(FAST, true);
+        }
+
+        // Assert
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("should open on failure rate and refuse calls while open")
+    void shouldOpenOnFailureRate() {
+        // Arrange
+        CircuitBreaker breaker = breaker(Duration.ofSeconds(30));
+
+        // Act
+        record(breaker, FAST, false, 2);
+        record(breaker, FAST, true, 2);
+
+        // Assert
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+        assertThat(breaker.retryAfter()).isPositive();
+    }
+
+    @Test
+    @DisplayName("should open on slow-call rate")
+    void shouldOpenOnSlowCallRate() {
+        // Arrange
+        CircuitBreaker breaker = breaker(Duration.ofSeconds(30));
+
+        // Act
+        record(breaker, FAST, false, 1);
+        record(breaker, SLOW, false, 3);
+
+        // Assert
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    @DisplayName("should only count the sliding window of recent calls")
+    void shouldForgetCallsOutsideWindow() {
+        // Arrange
+        CircuitBreaker breaker = new CircuitBreaker("test", 4, 4, 50, 100, Duration.ofSeconds(1),
+                Duration.ofSeconds(30), 2);
+
+        // Act
+        record(breaker, FAST, true, 1);
+        record(breaker, FAST, false, 6);
+        record(breaker, FAST, true, 1);
+
+        // Assert - only one failure among the last four calls
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("should close again after healthy trial calls")
+    void shouldCloseAfterHealthyTrialCalls() throws InterruptedException {
+        // Arrange
+        CircuitBreaker breaker = breaker(Duration.ofMillis(20));
+        record(breaker, FAST, true, 4);
+        Thread.sleep(40);
+
+        // Act
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+        breaker.onResult(FAST, false);
+        breaker.onResult(FAST, false);
+
+        // Assert
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("should re-open when trial calls fail")
+    void shouldReopenWhenTrialCallsFail() throws InterruptedException {
+        // Arrange
+        CircuitBreaker breaker = breaker(Duration.ofMillis(20));
+        record(breaker, FAST, true, 4);
+        Thread.sleep(40);
+
+        // Act
+        record(breaker, FAST, true, 2);
+
+        // Assert
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    private static void record(CircuitBreaker breaker, long durationNanos, boolean failed, int times) {
+        for (int i = 0; i < times; i++) {
+            assertThat(breaker.tryAcquirePermission()).isTrue();
+            breaker.onResult(durationNanos, failed);
+        }
+    }
+}
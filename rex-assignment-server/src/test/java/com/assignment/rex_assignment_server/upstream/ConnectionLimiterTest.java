@@ -0,0 +1,82 @@
+package com.assignment.rex_assignment_server.upstream;
+
+import com.assignment.rex_assignment_server.exception.UpstreamUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ConnectionLimiter Tests")
+class ConnectionLimiterTest {
+
+    private static final ClientHttpRequestExecution OK =
+            (request, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+
+    private ConnectionLimiter limiter;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new ConnectionLimiter(2, Duration.ofMillis(50));
+        meterRegistry = new SimpleMeterRegistry();
+        limiter.bindTo(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("should hold a permit until the response is closed")
+    void shouldHoldPermitUntilResponseClosed() throws IOException {
+        // Act
+        ClientHttpResponse response = limiter.intercept(request(), new byte[0], OK);
+
+        // Assert
+        assertThat(limiter.active()).isEqualTo(1);
+        assertThat(meterRegistry.get("recipe.upstream.http.permits.available").gauge().value())
+                .isEqualTo(1.0);
+        response.close();
+        response.close();
+        assertThat(limiter.active()).isZero();
+        assertThat(limiter.available()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should refuse an exchange when no permit frees up in time")
+    void shouldRefuseWhenExhausted() throws IOException {
+        // Arrange
+        limiter.intercept(request(), new byte[0], OK);
+        limiter.intercept(request(), new byte[0], OK);
+
+        // Act & Assert
+        assertThatThrownBy(() -> limiter.intercept(request(), new byte[0], OK))
+                .isInstanceOf(UpstreamUnavailableException.class);
+        assertThat(limiter.pending()).isZero();
+    }
+
+    @Test
+    @DisplayName("should release the permit when the exchange fails")
+    void shouldReleasePermitOnFailure() {
+        // Act
+        assertThatThrownBy(() -> limiter.intercept(request(), new byte[0], (request, body) -> {
+            throw new IOException("Connection reset");
+        })).isInstanceOf(IOException.class);
+
+        // Assert
+        assertThat(limiter.active()).isZero();
+    }
+
+    private static MockClientHttpRequest request() {
+        return new MockClientHttpRequest(HttpMethod.GET, URI.create("https://api.spoonacular.com/recipes/1/information"));
+    }
+}
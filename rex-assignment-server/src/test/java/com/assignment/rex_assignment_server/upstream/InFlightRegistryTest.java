@@ -0,0 +1,274 @@
+package com.assignment.rex_assignment_server.upstream;
+
+import com.assignment.rex_assignment_server.exception.RecipeNotFoundException;
+import com.assignment.rex_assignment_server.exception.SpoonacularApiException;
+import com.assignment.rex_assignment_server.exception.UpstreamThrottledException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("InFlightRegistry Tests")
+class InFlightRegistryTest {
+
+    private static final int CALLERS = 8;
+
+    private InFlightRegistry registry;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new InFlightRegistry();
+        meterRegistry = new SimpleMeterRegistry();
+        registry.bindTo(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("should share one upstream call between concurrent identical callers")
+    void shouldShareOneCallBetweenConcurrentCallers() throws Exception {
+        // Arrange
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Act
+        List<Future<String>> results = runConcurrently(() -> registry.execute(UpstreamOperation.DETAIL, 42L, () -> {
+            upstreamCalls.incrementAndGet();
+            await(release);
+            return "recipe-42";
+        }), release);
+
+        // Assert
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("recipe-42");
+        }
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(registry.coalescingRatio(UpstreamOperation.DETAIL))
+                .isEqualTo((double) (CALLERS - 1) / CALLERS);
+        assertThat(registry.inFlightCount(UpstreamOperation.DETAIL)).isZero();
+    }
+
+    @Test
+    @DisplayName("should propagate the same exception to every coalesced caller")
+    void shouldPropagateSameExceptionToAllCallers() throws Exception {
+        // Arrange
+        SpoonacularApiException failure = new SpoonacularApiException("API unavailable");
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Act
+        List<Future<String>> results = runConcurrently(() -> registry.execute(UpstreamOperation.SEARCH, "pasta", () -> {
+            await(release);
+            throw failure;
+        }), release);
+
+        // Assert
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .hasCauseReference(failure);
+        }
+    }
+
+    @Test
+    @DisplayName("should raise a joined call to the joining caller's priority")
+    void shouldRaiseJoinedCallToJoinerPriority() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // Act
+            Future<UpstreamPriority> prefetch = executor.submit(() -> registry.execute(UpstreamOperation.SEARCH,
+                    "pasta", UpstreamPriority.PREFETCH, priority -> {
+                        await(release);
+                        return priority.get();
+                    }));
+            awaitInFlight(UpstreamOperation.SEARCH, "pasta");
+            Future<UpstreamPriority> user = executor.submit(() -> registry.execute(UpstreamOperation.SEARCH,
+                    "pasta", UpstreamPriority.SEARCH, priority -> fail("joined caller ran its own call")));
+            awaitJoined(2);
+            release.countDown();
+
+            // Assert
+            assertThat(prefetch.get(5, TimeUnit.SECONDS)).isEqualTo(UpstreamPriority.SEARCH);
+            assertThat(user.get(5, TimeUnit.SECONDS)).isEqualTo(UpstreamPriority.SEARCH);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("should call again when a joined lower-priority call was throttled in its own class")
+    void shouldCallAgainWhenJoinedCallWasThrottled() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // Act
+            Future<String> prefetch = executor.submit(() -> registry.execute(UpstreamOperation.DETAIL, 7L,
+                    UpstreamPriority.PREFETCH, priority -> {
+                        await(release);
+                        throw new UpstreamThrottledException("Daily quota reserved", Duration.ofHours(1));
+                    }));
+            awaitInFlight(UpstreamOperation.DETAIL, 7L);
+            Future<String> user = executor.submit(() -> registry.execute(UpstreamOperation.DETAIL, 7L,
+                    UpstreamPriority.DETAIL, priority -> "recipe-7 at " + priority));
+            awaitJoined(2);
+            release.countDown();
+
+            // Assert
+            assertThat(user.get(5, TimeUnit.SECONDS)).isEqualTo("recipe-7 at detail");
+            assertThatThrownBy(() -> prefetch.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(UpstreamThrottledException.class);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("should register each key of a multi-key call so single callers join it")
+    void shouldRegisterEachKeyOfMultiKeyCall() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<List<Long>> claimed = new ArrayList<>();
+
+        try {
+            Future<String> third = executor.submit(() -> registry.execute(UpstreamOperation.DETAIL, 3L, () -> {
+                await(release);
+                return "recipe-3";
+            }));
+            awaitInFlight(UpstreamOperation.DETAIL, 3L);
+
+            // Act
+            Future<Map<Long, String>> prefetch = executor.submit(() -> registry.executeAll(UpstreamOperation.DETAIL,
+                    List.of(1L, 2L, 3L), UpstreamPriority.PREFETCH, (ids, priority) -> {
+                        claimed.add(ids);
+                        await(release);
+                        return Map.of(1L, "recipe-1 at " + priority);
+                    }, id -> new RecipeNotFoundException("Recipe not found with id: " + id)));
+            awaitInFlight(UpstreamOperation.DETAIL, 2L);
+            Future<String> first = executor.submit(() -> registry.execute(UpstreamOperation.DETAIL, 1L,
+                    UpstreamPriority.DETAIL, priority -> fail("joined caller ran its own call")));
+            Future<String> second = executor.submit(() -> registry.execute(UpstreamOperation.DETAIL, 2L,
+                    UpstreamPriority.DETAIL, priority -> fail("joined caller ran its own call")));
+            awaitJoined(5);
+            release.countDown();
+
+            // Assert
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("recipe-1 at detail");
+            assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(RecipeNotFoundException.class);
+            assertThat(prefetch.get(5, TimeUnit.SECONDS)).containsOnlyKeys(1L);
+            assertThat(third.get(5, TimeUnit.SECONDS)).isEqualTo("recipe-3");
+            assertThat(claimed).containsExactly(List.of(1L, 2L));
+            assertThat(registry.inFlightCount(UpstreamOperation.DETAIL)).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("should not coalesce different keys or operations")
+    void shouldNotCoalesceDifferentKeys() {
+        // Act
+        String first = registry.execute(UpstreamOperation.DETAIL, 1L, () -> "one");
+        String second = registry.execute(UpstreamOperation.DETAIL, 2L, () -> "two");
+        String third = registry.execute(UpstreamOperation.AUTOCOMPLETE, 1L, () -> "three");
+
+        // Assert
+        assertThat(List.of(first, second, third)).containsExactly("one", "two", "three");
+        assertThat(registry.coalescingRatio(UpstreamOperation.DETAIL)).isZero();
+    }
+
+    @Test
+    @DisplayName("should run the loader again once the previous call completed")
+    void shouldRunLoaderAgainAfterCompletion() {
+        // Arrange
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        // Act
+        registry.execute(UpstreamOperation.DETAIL, 1L, upstreamCalls::incrementAndGet);
+        registry.execute(UpstreamOperation.DETAIL, 1L, upstreamCalls::incrementAndGet);
+
+        // Assert
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("should expose coalescing metrics per operation")
+    void shouldExposeCoalescingMetrics() {
+        // Act
+        registry.execute(UpstreamOperation.SEARCH, "pasta", () -> "result");
+
+        // Assert
+        assertThat(meterRegistry.get("recipe.upstream.coalescing.calls")
+                .tag("operation", "search").tag("result", "executed")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("recipe.upstream.coalescing.ratio")
+                .tag("operation", "search").gauge().value()).isZero();
+    }
+
+    private List<Future<String>> runConcurrently(Callable<String> task,
+            CountDownLatch release) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(task));
+            }
+            // Wait until every follower has joined the leader's call before releasing it
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (joinedCallers() < CALLERS && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void awaitInFlight(UpstreamOperation operation, Object key) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!registry.isInFlight(operation, key) && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private void awaitJoined(long callers) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (joinedCallers() < callers && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private long joinedCallers() {
+        return (long) meterRegistry.find("recipe.upstream.coalescing.calls").functionCounters().stream()
+                .mapToDouble(FunctionCounter::count)
+                .sum();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
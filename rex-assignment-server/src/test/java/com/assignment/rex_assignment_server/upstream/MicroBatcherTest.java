@@ -0,0 +1,185 @@
+package com.assignment.rex_assignment_server.upstream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("MicroBatcher Tests")
+class MicroBatcherTest {
+
+    private final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+
+    private ScheduledExecutorService scheduler;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("should merge keys requested within the window into one load")
+    void shouldMergeKeysWithinWindow() throws Exception {
+        // Arrange
+        MicroBatcher<Integer, String> batcher = newBatcher(100, Duration.ofMillis(20));
+
+        // Act
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            futures.add(batcher.load(i));
+        }
+
+        // Assert
+        for (int i = 0; i < 30; i++) {
+            assertThat(futures.get(i).get(5, TimeUnit.SECONDS)).isEqualTo("value-" + i);
+        }
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).hasSize(30);
+    }
+
+    @Test
+    @DisplayName("should dispatch as soon as a batch is full")
+    void shouldDispatchWhenBatchIsFull() throws Exception {
+        // Arrange - the window is long enough that only the size limit can trigger a dispatch
+        MicroBatcher<Integer, String> batcher = newBatcher(10, Duration.ofMinutes(1));
+
+        // Act
+        List<CompletableFuture<String>> futures = batcher.loadAll(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+
+        // Assert
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        assertThat(batches).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("should keep the keys of one loadAll call together when the window closes meanwhile")
+    void shouldKeepLoadAllKeysTogether() throws Exception {
+        // Arrange - a 1 ms window, and keys that take 2 ms each to read
+        MicroBatcher<Integer, String> batcher = newBatcher(100, Duration.ofMillis(1));
+        List<Integer> keys = new AbstractList<>() {
+            @Override
+            public Integer get(int index) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(2));
+                return index;
+            }
+
+            @Override
+            public int size() {
+                return 5;
+            }
+        };
+
+        // Act
+        List<CompletableFuture<String>> futures = batcher.loadAll(keys);
+
+        // Assert
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        assertThat(batches).containsExactly(List.of(0, 1, 2, 3, 4));
+    }
+
+    @Test
+    @DisplayName("should share one future for duplicate keys in the same window")
+    void shouldShareFutureForDuplicateKeys() {
+        // Arrange
+        MicroBatcher<Integer, String> batcher = newBatcher(10, Duration.ofMillis(20));
+
+        // Act
+        CompletableFuture<String> first = batcher.load(7);
+        CompletableFuture<String> second = batcher.load(7);
+
+        // Assert
+        assertThat(second).isSameAs(first);
+        assertThat(first.join()).isEqualTo("value-7");
+        assertThat(batches.get(0)).containsExactly(7);
+    }
+
+    @Test
+    @DisplayName("should complete missing keys with the missing-key exception")
+    void shouldCompleteMissingKeysExceptionally() {
+        // Arrange
+        MicroBatcher<Integer, String> batcher = new MicroBatcher<>("test", 10, Duration.ofMillis(5),
+                keys -> Map.of(1, "one"),
+                key -> new IllegalStateException("missing " + key),
+                scheduler, executor);
+
+        // Act
+        List<CompletableFuture<String>> futures = batcher.loadAll(List.of(1, 2));
+
+        // Assert
+        assertThat(futures.get(0).join()).isEqualTo("one");
+        assertThatThrownBy(() -> Futures.join(futures.get(1)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("missing 2");
+    }
+
+    @Test
+    @DisplayName("should fail every caller in the batch when the load fails")
+    void shouldFailEveryCallerWhenLoadFails() {
+        // Arrange
+        RuntimeException failure = new RuntimeException("upstream down");
+        MicroBatcher<Integer, String> batcher = new MicroBatcher<>("test", 10, Duration.ofMillis(5),
+                keys -> {
+                    throw failure;
+                },
+                key -> new IllegalStateException("missing " + key),
+                scheduler, executor);
+
+        // Act
+        List<CompletableFuture<String>> futures = batcher.loadAll(List.of(1, 2));
+
+        // Assert
+        for (CompletableFuture<String> future : futures) {
+            assertThatThrownBy(() -> Futures.join(future)).isSameAs(failure);
+        }
+    }
+
+    @Test
+    @DisplayName("should dispatch immediately when the window is zero")
+    void shouldDispatchImmediatelyWithZeroWindow() {
+        // Arrange
+        MicroBatcher<Integer, String> batcher = newBatcher(10, Duration.ZERO);
+
+        // Act
+        batcher.load(1).join();
+        batcher.load(2).join();
+
+        // Assert
+        assertThat(batches).containsExactly(List.of(1), List.of(2));
+    }
+
+    private MicroBatcher<Integer, String> newBatcher(int maxBatchSize, Duration window) {
+        return new MicroBatcher<>("test", maxBatchSize, window,
+                keys -> {
+                    batches.add(keys);
+                    return keys.stream().collect(Collectors.toMap(Function.identity(), key -> "value-" + key));
+                },
+                key -> new IllegalStateException("missing " + key),
+                scheduler, executor);
+    }
+}
@@ -0,0 +1,191 @@
+package com.assignment.rex_assignment_server.upstream;
+
+import com.assignment.rex_assignment_server.exception.UpstreamThrottledException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("OutboundScheduler Tests")
+class OutboundSchedulerTest {
+
+    @Test
+    @DisplayName("should run calls immediately while the bucket has tokens")
+    void shouldRunCallsWhileBucketHasTokens() {
+        // Arrange
+        OutboundScheduler scheduler = new OutboundScheduler(1, 3, 0);
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            scheduler.acquire(UpstreamPriority.SEARCH, 1);
+        }
+
+        // Assert
+        assertThat(scheduler.usedToday()).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("should admit two cold search windows at once with the default rate and burst")
+    void shouldAdmitTwoSearchWindowsWithDefaultBurst() throws Exception {
+        // Arrange
+        OutboundScheduler scheduler = new OutboundScheduler(1, 10, 150);
+        double window = SpoonacularCosts.complexSearch(100);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // Act
+            long start = System.nanoTime();
+            Future<?> first = executor.submit(() -> scheduler.acquire(UpstreamPriority.SEARCH, window));
+            Future<?> second = executor.submit(() -> scheduler.acquire(UpstreamPriority.SEARCH, window));
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+
+            // Assert
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(500));
+            assertThat(scheduler.usedToday()).isEqualTo(2 * window);
+            assertThatThrownBy(() -> scheduler.acquire(UpstreamPriority.SEARCH, window))
+                    .isInstanceOf(UpstreamThrottledException.class);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("should fail fast when the expected wait exceeds the class deadline")
+    void shouldFailFastWhenWaitExceedsDeadline() {
+        // Arrange
+        OutboundScheduler scheduler = new OutboundScheduler(1, 1, 0);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        scheduler.bindTo(meterRegistry);
+        scheduler.acquire(UpstreamPriority.AUTOCOMPLETE, 1);
+
+        // Act & Assert
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> scheduler.acquire(UpstreamPriority.AUTOCOMPLETE, 1))
+                .isInstanceOf(UpstreamThrottledException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(100));
+        assertThat(meterRegistry.get("recipe.upstream.scheduler.calls")
+                .tag("priority", "autocomplete").tag("result", "deadline")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should queue callers until the bucket refills")
+    void shouldQueueCallersUntilRefill() {
+        // Arrange
+        OutboundScheduler scheduler = new OutboundScheduler(10, 1, 0);
+        scheduler.acquire(UpstreamPriority.DETAIL, 1);
+
+        // Act
+        long start = System.nanoTime();
+        scheduler.acquire(UpstreamPriority.DETAIL, 1);
+
+        // Assert
+        assertThat(scheduler.usedToday()).isEqualTo(2.0);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(50));
+    }
+
+    @Test
+    @DisplayName("should serve queued higher-priority callers first")
+    void shouldServeHigherPriorityFirst() throws Exception {
+        // Arrange
+        OutboundScheduler scheduler = new OutboundScheduler(5, 1, 0);
+        scheduler.acquire(UpstreamPriority.DETAIL, 1);
+        List<UpstreamPriority> order = new CopyOnWriteArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // Act
+            Future<?> search = executor.submit(() -> {
+                scheduler.acquire(UpstreamPriority.SEARCH, 1);
+                order.add(UpstreamPriority.SEARCH);
+            });
+            awaitQueued(scheduler, UpstreamPriority.SEARCH);
+            Future<?> detail = executor.submit(() -> {
+                scheduler.acquire(UpstreamPriority.DETAIL, 1);
+                order.add(UpstreamPriority.DETAIL);
+            });
+            search.get(5, TimeUnit.SECONDS);
+            detail.get(5, TimeUnit.SECONDS);
+
+            // Assert
+            assertThat(order).containsExactly(UpstreamPriority.DETAIL, UpstreamPriority.SEARCH);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("should move a queued call raised to a higher priority ahead of lower classes")
+    void shouldServeRaisedCallInItsNewClass() throws Exception {
+        // Arrange
+        OutboundScheduler scheduler = new OutboundScheduler(5, 1, 0);
+        scheduler.acquire(UpstreamPriority.DETAIL, 1);
+        List<UpstreamPriority> order = new CopyOnWriteArrayList<>();
+        CallPriority prefetch = CallPriority.of(UpstreamPriority.PREFETCH);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // Act
+            Future<?> raised = executor.submit(() -> {
+                scheduler.acquire(prefetch, 1);
+                order.add(UpstreamPriority.PREFETCH);
+            });
+            awaitQueued(scheduler, UpstreamPriority.PREFETCH);
+            Future<?> search = executor.submit(() -> {
+                scheduler.acquire(UpstreamPriority.SEARCH, 1);
+                order.add(UpstreamPriority.SEARCH);
+            });
+            awaitQueued(scheduler, UpstreamPriority.SEARCH);
+            prefetch.raise(UpstreamPriority.DETAIL);
+            raised.get(5, TimeUnit.SECONDS);
+            search.get(5, TimeUnit.SECONDS);
+
+            // Assert
+            assertThat(order).containsExactly(UpstreamPriority.PREFETCH, UpstreamPriority.SEARCH);
+            assertThat(prefetch.get()).isEqualTo(UpstreamPriority.DETAIL);
+            assertThat(prefetch.raise(UpstreamPriority.SEARCH)).isFalse();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("should keep the end of the daily quota for higher-priority calls")
+    void shouldReserveDailyQuotaForHigherPriorities() {
+        // Arrange
+        Clock clock = Clock.fixed(Instant.parse("2025-01-15T12:00:00Z"), ZoneOffset.UTC);
+        OutboundScheduler scheduler = new OutboundScheduler(100, 100, 10, clock);
+        scheduler.recordReportedUsage(6.5);
+
+        // Act & Assert
+        assertThatThrownBy(() -> scheduler.acquire(UpstreamPriority.AUTOCOMPLETE, 1))
+                .isInstanceOf(UpstreamThrottledException.class)
+                .satisfies(e -> assertThat(((UpstreamThrottledException) e).getRetryAfter())
+                        .isEqualTo(Duration.ofHours(12)));
+        assertThatCode(() -> scheduler.acquire(UpstreamPriority.DETAIL, 1)).doesNotThrowAnyException();
+        assertThat(scheduler.usedToday()).isEqualTo(7.5);
+    }
+
+    private static void awaitQueued(OutboundScheduler scheduler, UpstreamPriority priority) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (scheduler.queued(priority) == 0) {
+            if (System.nanoTime() > deadline) {
+                fail("No " + priority.tag() + " caller was queued");
+            }
+            Thread.sleep(1);
+        }
+    }
+}
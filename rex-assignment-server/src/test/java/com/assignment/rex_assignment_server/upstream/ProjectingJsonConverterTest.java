@@ -0,0 +1,128 @@
+package com.assignment.rex_assignment_server.upstream;
+
+import com.assignment.rex_assignment_server.dto.RecipeDetailResponse;
+import com.assignment.rex_assignment_server.dto.RecipeSearchResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ProjectingJsonConverter Tests")
+class ProjectingJsonConverterTest {
+
+    private static final String RECIPE = """
+            {"id":716429,"title":"Pasta","servings":2,
+             "nutrition":{
+               "nutrients":[{"name":"Calories","amount":584.0,"unit":"kcal"}],
+               "flavonoids":[{"name":"Luteolin","amount":0.1,"unit":"mg"}],
+               "ingredients":[
+                 {"id":1,"name":"pasta","amount":200.0,"unit":"g",
+                  "nutrients":[{"name":"Calories","amount":300.0,"unit":"kcal"}]},
+                 {"id":2,"name":"butter","amount":1.0,"unit":"tbsp",
+                  "nutrients":[{"name":"Fat","amount":11.0,"unit":"g"}]}],
+               "caloricBreakdown":{"percentProtein":12.0,"percentFat":30.0,"percentCarbs":58.0}},
+             "healthScore":19}
+            """;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private ProjectingJsonConverter converter(String... exclude) {
+        return new ProjectingJsonConverter(jsonMapper, FieldProjection.excluding(List.of(exclude)),
+                Set.of(RecipeDetailResponse.class, RecipeDetailResponse[].class));
+    }
+
+    private static MockHttpInputMessage message(String json) {
+        MockHttpInputMessage message = new MockHttpInputMessage(json.getBytes());
+        message.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return message;
+    }
+
+    @Test
+    @DisplayName("should skip excluded subtrees inside arrays and keep everything around them")
+    void shouldPruneExcludedPaths() throws IOException {
+        // Act
+        Object read = converter("nutrition.ingredients.nutrients", "nutrition.flavonoids")
+                .read(RecipeDetailResponse.class, message(RECIPE));
+
+        // Assert
+        RecipeDetailResponse recipe = (RecipeDetailResponse) read;
+        assertThat(recipe.getTitle()).isEqualTo("Pasta");
+        assertThat(recipe.getHealthScore()).isEqualTo(19);
+        assertThat(recipe.getNutrition().getNutrients()).hasSize(1);
+        assertThat(recipe.getNutrition().getFlavonoids()).isNull();
+
+        JsonNode ingredients = jsonMapper.valueToTree(recipe.getNutrition()).get("ingredients");
+        assertThat(ingredients).hasSize(2);
+        assertThat(ingredients.get(1).get("name").asString()).isEqualTo("butter");
+        assertThat(ingredients.get(1).get("nutrients").isNull()).isTrue();
+        assertThat(jsonMapper.valueToTree(recipe.getNutrition()).get("caloricBreakdown").get("percentFat").asDouble())
+                .isEqualTo(30.0);
+    }
+
+    @Test
+    @DisplayName("should apply the projection to every recipe in a bulk response")
+    void shouldPruneBulkResponses() throws IOException {
+        // Act
+        Object read = converter("nutrition")
+                .read(RecipeDetailResponse[].class, message("[" + RECIPE + "," + RECIPE.replace("716429", "1") + "]"));
+
+        // Assert
+        RecipeDetailResponse[] recipes = (RecipeDetailResponse[]) read;
+        assertThat(recipes).extracting(RecipeDetailResponse::getId).containsExactly(716429L, 1L);
+        assertThat(recipes).extracting(RecipeDetailResponse::getNutrition).containsOnlyNulls();
+        assertThat(recipes).extracting(RecipeDetailResponse::getHealthScore).containsOnly(19);
+    }
+
+    @Test
+    @DisplayName("should read the full payload when nothing is excluded")
+    void shouldReadFullPayloadWithoutExclusions() throws IOException {
+        // Act
+        Object read = converter("", " ").read(RecipeDetailResponse.class, message(RECIPE));
+
+        // Assert
+        assertThat(read).isEqualTo(jsonMapper.readValue(RECIPE, RecipeDetailResponse.class));
+    }
+
+    @Test
+    @DisplayName("should let a shorter path override a longer one under it")
+    void shouldMergeOverlappingPaths() {
+        // Act
+        FieldProjection projection = FieldProjection.excluding(
+                List.of("nutrition.ingredients.nutrients", "nutrition.ingredients", "nutrition.ingredients.name"));
+
+        // Assert
+        assertThat(projection).hasToString("{nutrition={ingredients={}}}");
+    }
+
+    @Test
+    @DisplayName("should only handle the configured types, and never write")
+    void shouldOnlyReadConfiguredTypes() {
+        // Arrange
+        ProjectingJsonConverter converter = converter("nutrition");
+
+        // Assert
+        assertThat(converter.canRead(RecipeDetailResponse.class, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(converter.canRead(RecipeSearchResponse.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canRead(RecipeDetailResponse.class, MediaType.TEXT_HTML)).isFalse();
+        assertThat(converter.canWrite(RecipeDetailResponse.class, MediaType.APPLICATION_JSON)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should report malformed payloads as unreadable")
+    void shouldRejectMalformedPayloads() {
+        // Act & Assert
+        assertThatThrownBy(() -> converter("nutrition.ingredients.nutrients")
+                .read(RecipeDetailResponse.class, message("{\"id\":1,\"nutrition\":{\"ingredients\":[")))
+                .isInstanceOf(HttpMessageNotReadableException.class)
+                .hasMessageStartingWith("Could not read RecipeDetailResponse");
+    }
+}
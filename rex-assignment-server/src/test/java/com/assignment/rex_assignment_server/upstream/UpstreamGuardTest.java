@@ -0,0 +1,159 @@
+package com.assignment.rex_assignment_server.upstream;
+
+import com.assignment.rex_assignment_server.exception.UpstreamUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("UpstreamGuard Tests")
+class UpstreamGuardTest {
+
+    private UpstreamGuard guard;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 10, 4, 50, 100, Duration.ofSeconds(1),
+                Duration.ofSeconds(30), 2);
+        guard = new UpstreamGuard(breaker, new OutboundScheduler(1_000, 1_000, 0), 2, 2, 1);
+        meterRegistry = new SimpleMeterRegistry();
+        guard.bindTo(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("should fail fast once upstream errors open the breaker")
+    void shouldFailFastWhenBreakerOpens() {
+        // Arrange
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> guard.call(UpstreamOperation.SEARCH, UpstreamPriority.SEARCH, 1, () -> {
+                upstreamCalls.incrementAndGet();
+                throw new ResourceAccessException("Read timed out");
+            })).isInstanceOf(ResourceAccessException.class);
+        }
+
+        // Act & Assert
+        assertThatThrownBy(() -> guard.call(UpstreamOperation.DETAIL, UpstreamPriority.DETAIL, 1, () -> {
+            upstreamCalls.incrementAndGet();
+            return "recipe";
+        })).isInstanceOf(UpstreamUnavailableException.class);
+        assertThat(upstreamCalls).hasValue(4);
+        assertThat(guard.circuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(meterRegistry.get("recipe.upstream.circuit.state").tag("state", "open").gauge().value())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should not count client errors such as 404 against the breaker")
+    void shouldNotCountNotFoundAsFailure() {
+        // Act
+        for (int i = 0; i < 6; i++) {
+            assertThatThrownBy(() -> guard.call(UpstreamOperation.DETAIL, UpstreamPriority.DETAIL, 1, () -> {
+                throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null);
+            })).isInstanceOf(HttpClientErrorException.class);
+        }
+
+        // Assert
+        assertThat(guard.circuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("should not count local connection refusals as healthy calls")
+    void shouldIgnoreConnectionRefusals() {
+        // Arrange
+        for (int i = 0; i < 6; i++) {
+            assertThatThrownBy(() -> guard.call(UpstreamOperation.SEARCH, UpstreamPriority.SEARCH, 1, () -> {
+                throw new UpstreamUnavailableException("No Spoonacular connection available", Duration.ofSeconds(1));
+            })).isInstanceOf(UpstreamUnavailableException.class);
+        }
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> guard.call(UpstreamOperation.SEARCH, UpstreamPriority.SEARCH, 1, () -> {
+                throw new ResourceAccessException("Read timed out");
+            })).isInstanceOf(ResourceAccessException.class);
+        }
+
+        // Assert
+        assertThat(guard.circuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    @DisplayName("should reject calls beyond the operation's bulkhead without affecting other operations")
+    void shouldRejectCallsBeyondBulkhead() throws Exception {
+        // Arrange
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<String> slow = executor.submit(() -> guard.call(UpstreamOperation.AUTOCOMPLETE,
+                    UpstreamPriority.AUTOCOMPLETE, 1, () -> {
+                        entered.countDown();
+                        awaitQuietly(release);
+                        return "slow";
+                    }));
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // Act & Assert
+            assertThatThrownBy(() -> guard.call(UpstreamOperation.AUTOCOMPLETE, UpstreamPriority.AUTOCOMPLETE, 1,
+                    () -> "second"))
+                    .isInstanceOf(UpstreamUnavailableException.class)
+                    .hasMessageContaining("autocomplete");
+            assertThat(guard.call(UpstreamOperation.DETAIL, UpstreamPriority.DETAIL, 1, () -> "recipe"))
+                    .isEqualTo("recipe");
+
+            release.countDown();
+            assertThat(slow.get(5, TimeUnit.SECONDS)).isEqualTo("slow");
+            assertThat(meterRegistry.get("recipe.upstream.bulkhead.rejected").tag("operation", "autocomplete")
+                    .functionCounter().count()).isEqualTo(1.0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("should time calls that reach upstream by operation and outcome")
+    void shouldTimeCallsByOperationAndOutcome() {
+        // Arrange
+        guard.call(UpstreamOperation.DETAIL, UpstreamPriority.DETAIL, 1, () -> "recipe");
+        guard.call(UpstreamOperation.DETAIL, UpstreamPriority.DETAIL, 1, () -> "recipe");
+
+        // Act
+        assertThatThrownBy(() -> guard.call(UpstreamOperation.SEARCH, UpstreamPriority.SEARCH, 1, () -> {
+            throw HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests",
+                    null, null, null);
+        })).isInstanceOf(HttpClientErrorException.class);
+
+        // Assert
+        assertThat(meterRegistry.get("recipe.upstream.calls").tag("operation", "detail").tag("outcome", "success")
+                .timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("recipe.upstream.calls").tag("operation", "search").tag("outcome", "throttled")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("recipe.upstream.calls").tag("operation", "search").tag("outcome", "success")
+                .timer().count()).isZero();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}